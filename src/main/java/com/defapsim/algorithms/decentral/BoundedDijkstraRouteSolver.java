@@ -0,0 +1,171 @@
+package com.defapsim.algorithms.decentral;
+
+import com.defapsim.infrastructure.devices.Device;
+import com.defapsim.infrastructure.links.Link;
+import com.defapsim.misc.IndexedMinHeap;
+
+import java.util.Arrays;
+import java.util.Collection;
+
+/**
+ * Class BoundedDijkstraRouteSolver resolves the routes of a device only until a set of required target devices is resolved.
+ * The search is the same as the one of the DijkstraRouteSolver, so the resolved devices, their latencies and their
+ * predecessors are exactly the first devices resolved by the DijkstraRouteSolver. Only these devices are kept, thus the
+ * memory and time needed scale with the number of devices around the required targets instead of the whole infrastructure.
+ * The arrays used during the search are reused by all searches of a thread.
+ */
+public class BoundedDijkstraRouteSolver {
+
+    /**
+     * The arrays of the search, indexed by the device ordinals. Only the entries of the visited devices are reset.
+     */
+    private static final class Workspace {
+        private Device[] devices = new Device[0];
+        private float[] distances = new float[0];
+        private int[] predecessors = new int[0];
+        private boolean[] settled = new boolean[0];
+        private boolean[] required = new boolean[0];
+        private int[] visited = new int[0];
+        private int visitedCount = 0;
+        private final IndexedMinHeap heap = new IndexedMinHeap(16);
+
+        private void ensureCapacity(int capacity) {
+            if(capacity <= this.distances.length) return;
+            int length = this.distances.length;
+            int newCapacity = Math.max(capacity, 2 * length);
+            this.devices = Arrays.copyOf(this.devices, newCapacity);
+            this.distances = Arrays.copyOf(this.distances, newCapacity);
+            this.predecessors = Arrays.copyOf(this.predecessors, newCapacity);
+            this.settled = Arrays.copyOf(this.settled, newCapacity);
+            this.required = Arrays.copyOf(this.required, newCapacity);
+            this.visited = Arrays.copyOf(this.visited, newCapacity);
+            Arrays.fill(this.distances, length, newCapacity, Float.POSITIVE_INFINITY);
+            Arrays.fill(this.predecessors, length, newCapacity, -1);
+        }
+
+        private void visit(int ordinal, Device device) {
+            this.ensureCapacity(ordinal + 1);
+            if(this.devices[ordinal] == null) {
+                this.devices[ordinal] = device;
+                this.visited[this.visitedCount++] = ordinal;
+            }
+        }
+
+        private void reset() {
+            for(int i = 0; i < this.visitedCount; i++) {
+                int ordinal = this.visited[i];
+                this.devices[ordinal] = null;
+                this.distances[ordinal] = Float.POSITIVE_INFINITY;
+                this.predecessors[ordinal] = -1;
+                this.settled[ordinal] = false;
+                this.required[ordinal] = false;
+            }
+            this.visitedCount = 0;
+            this.heap.clear();
+        }
+    }
+
+    private static final ThreadLocal<Workspace> WORKSPACE = ThreadLocal.withInitial(Workspace::new);
+
+    /**
+     * The ordinals of the resolved devices in the order in which they were resolved.
+     */
+    private final int[] order;
+
+    /**
+     * The latency of the route to each resolved device (in the order of the resolved devices).
+     */
+    private final float[] distances;
+
+    /**
+     * The ordinal of the predecessor of each resolved device (in the order of the resolved devices).
+     */
+    private final int[] predecessors;
+
+    /**
+     * Specifies whether all devices that can be reached were resolved.
+     */
+    private final boolean complete;
+
+    /**
+     * Resolve the routes of a device until all required target devices and at least "minimumResolved" devices are resolved.
+     * @param source            The device whose routes are resolved
+     * @param requiredTargets   The target devices to which a route is needed
+     * @param minimumResolved   The minimum number of devices to be resolved (to resolve more devices at once)
+     */
+    public BoundedDijkstraRouteSolver(Device source, Collection<? extends Device> requiredTargets, int minimumResolved) {
+        Workspace workspace = WORKSPACE.get();
+        workspace.ensureCapacity(source.getInfrastructure().getOrdinalCount());
+
+        int remaining = 0;
+        for(Device target : requiredTargets) {
+            if(target == source || target.getOrdinal() < 0) continue;
+            workspace.visit(target.getOrdinal(), target);
+            if(!workspace.required[target.getOrdinal()]) {
+                workspace.required[target.getOrdinal()] = true;
+                remaining++;
+            }
+        }
+
+        int[] order = new int[Math.max(16, Math.min(2 * (remaining + minimumResolved), workspace.distances.length))];
+        int resolved = 0;
+        int start = source.getOrdinal();
+        workspace.visit(start, source);
+        workspace.distances[start] = 0.F;
+        workspace.heap.insertOrDecrease(start, 0.F);
+
+        while(!workspace.heap.isEmpty() && (remaining > 0 || resolved < minimumResolved)) {
+            int current = workspace.heap.poll();
+            workspace.settled[current] = true;
+            if(current != start) {
+                if(resolved == order.length) order = Arrays.copyOf(order, 2 * resolved);
+                order[resolved++] = current;
+                if(workspace.required[current]) remaining--;
+            }
+
+            float distance = workspace.distances[current];
+            for(Link link : workspace.devices[current].getLinks()) {
+                int target = link.getTarget().getOrdinal();
+                workspace.visit(target, link.getTarget());
+                if(workspace.settled[target]) continue;
+
+                float latency = distance + link.getLatency();
+                if(Float.compare(latency, workspace.distances[target]) < 0) {
+                    workspace.distances[target] = latency;
+                    workspace.predecessors[target] = current;
+                    workspace.heap.insertOrDecrease(target, latency);
+                }
+            }
+        }
+
+        this.complete = workspace.heap.isEmpty();
+        this.order = Arrays.copyOf(order, resolved);
+        this.distances = new float[resolved];
+        this.predecessors = new int[resolved];
+        for(int i = 0; i < resolved; i++) {
+            this.distances[i] = workspace.distances[this.order[i]];
+            this.predecessors[i] = workspace.predecessors[this.order[i]];
+        }
+        workspace.reset();
+    }
+
+    /**
+     * Getter
+     */
+
+    public int[] getOrder() {
+        return this.order;
+    }
+
+    public float[] getDistances() {
+        return this.distances;
+    }
+
+    public int[] getPredecessors() {
+        return this.predecessors;
+    }
+
+    public boolean isComplete() {
+        return this.complete;
+    }
+}
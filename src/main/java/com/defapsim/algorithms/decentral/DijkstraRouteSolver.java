@@ -0,0 +1,124 @@
+package com.defapsim.algorithms.decentral;
+
+import com.defapsim.infrastructure.devices.Device;
+import com.defapsim.infrastructure.links.Link;
+import com.defapsim.infrastructure.links.Route;
+import com.defapsim.infrastructure.routing.ShortestPathTree;
+import com.defapsim.misc.IndexedMinHeap;
+
+import java.util.Arrays;
+import java.util.LinkedList;
+import java.util.List;
+
+/**
+ * Class DijkstraRouteSolver is used to automatically generate routes to the other devices within the infrastructure.
+ * It performs a single-source shortest path search (Dijkstra) with a binary heap, so that all routes of a device
+ * are resolved in O(E log V). The result is a shortest path tree indexed by the device ordinals.
+ * The devices are resolved in the order of ascending latency.
+ */
+public class DijkstraRouteSolver {
+
+    private final Device source;
+
+    /**
+     * The devices discovered by the search, indexed by their ordinal.
+     */
+    private Device[] devices;
+
+    /**
+     * The latency of the best known route to each device.
+     */
+    private float[] distances;
+
+    /**
+     * The ordinal of the device preceding each device on its best known route (-1 if the device has not been discovered).
+     */
+    private int[] predecessors;
+
+    /**
+     * The ordinals of the resolved devices in the order in which they were resolved.
+     */
+    private int[] order;
+
+    private int resolved = 0;
+
+    public DijkstraRouteSolver(Device device) {
+        this.source = device;
+        int capacity = Math.max(device.getInfrastructure().getOrdinalCount(), device.getOrdinal() + 1);
+        this.devices = new Device[capacity];
+        this.distances = new float[capacity];
+        this.predecessors = new int[capacity];
+        this.order = new int[capacity];
+        Arrays.fill(this.distances, Float.POSITIVE_INFINITY);
+        Arrays.fill(this.predecessors, -1);
+        boolean[] settled = new boolean[capacity];
+
+        IndexedMinHeap heap = new IndexedMinHeap(capacity);
+        int source = device.getOrdinal();
+        this.devices[source] = device;
+        this.distances[source] = 0.F;
+        heap.insertOrDecrease(source, 0.F);
+
+        while(!heap.isEmpty()) {
+            int current = heap.poll();
+            settled[current] = true;
+            if(current != source) this.order[this.resolved++] = current;
+
+            float distance = this.distances[current];
+            for(Link link : this.devices[current].getLinks()) {
+                int target = link.getTarget().getOrdinal();
+                if(target >= settled.length) {
+                    this.ensureCapacity(target + 1);
+                    settled = Arrays.copyOf(settled, this.distances.length);
+                }
+                if(settled[target]) continue;
+
+                // New metrics in route calculation can be added by changing the following instruction
+                float latency = distance + link.getLatency();
+                if(Float.compare(latency, this.distances[target]) < 0) {
+                    this.devices[target] = link.getTarget();
+                    this.distances[target] = latency;
+                    this.predecessors[target] = current;
+                    heap.insertOrDecrease(target, latency);
+                }
+            }
+        }
+        // The source device has no route to itself
+        this.distances[source] = Float.POSITIVE_INFINITY;
+    }
+
+    private void ensureCapacity(int capacity) {
+        int length = this.distances.length;
+        this.devices = Arrays.copyOf(this.devices, capacity);
+        this.distances = Arrays.copyOf(this.distances, capacity);
+        this.predecessors = Arrays.copyOf(this.predecessors, capacity);
+        this.order = Arrays.copyOf(this.order, capacity);
+        Arrays.fill(this.distances, length, capacity, Float.POSITIVE_INFINITY);
+        Arrays.fill(this.predecessors, length, capacity, -1);
+    }
+
+    /**
+     * Get the shortest path tree of the source device
+     * @return      The shortest path tree
+     */
+    public ShortestPathTree getShortestPathTree() {
+        return new ShortestPathTree(this.source, this.distances, this.predecessors, Arrays.copyOf(this.order, this.resolved));
+    }
+
+    /**
+     * Get the routes of the source device with their hops, in the order in which the target devices were resolved.
+     * @return      The routes of the source device
+     */
+    public List<Route> getRoutes() {
+        List<Route> routes = new LinkedList<>();
+        for(int i = 0; i < this.resolved; i++) {
+            int target = this.order[i];
+            LinkedList<Link> hops = new LinkedList<>();
+            for(int current = target; current != this.source.getOrdinal(); current = this.predecessors[current]) {
+                hops.addFirst(this.devices[this.predecessors[current]].getFastestLinkTo(this.devices[current]));
+            }
+            routes.add(new Route(this.devices[target], hops));
+        }
+        return routes;
+    }
+}
@@ -0,0 +1,127 @@
+package com.defapsim.algorithms.decentral;
+
+import com.defapsim.infrastructure.Infrastructure;
+import com.defapsim.infrastructure.devices.Device;
+import com.defapsim.infrastructure.links.Link;
+import com.defapsim.infrastructure.routing.RouteTable;
+import com.defapsim.misc.IndexedMinHeap;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Class IncrementalRouteSolver repairs the routes stored in the RouteTable of an infrastructure after its topology has changed.
+ * Only the shortest path trees that are affected by a change are touched:
+ * - If a link is added or its latency decreases, the routes of each source device are relaxed starting at the target of the
+ *   link, so that only the devices whose routes actually improve are visited.
+ * - If a link is removed or its latency increases, only the source devices whose shortest path tree contains the link are
+ *   resolved again.
+ * The repair relies on the routes being shortest path trees, as resolved by the DijkstraRouteSolver.
+ */
+public class IncrementalRouteSolver {
+
+    private final Infrastructure infrastructure;
+
+    private final IndexedMinHeap heap = new IndexedMinHeap(16);
+
+    /**
+     * The predecessors of the improved routes that have not been stored yet, indexed by the ordinal of their target device.
+     */
+    private final Map<Integer, Device> pendingPredecessors = new HashMap<>();
+
+    public IncrementalRouteSolver(Infrastructure infrastructure) {
+        this.infrastructure = infrastructure;
+    }
+
+    /**
+     * Repair the routes after a link was added or its latency decreased.
+     * @param from      The device from which the link starts
+     * @param link      The added link
+     */
+    public void linkImproved(Device from, Link link) {
+        for(Device source : this.infrastructure.getDevices()) {
+            this.relax(source, from, link);
+        }
+    }
+
+    /**
+     * Repair the routes after a link was removed or its latency increased.
+     * @param from      The device from which the link starts
+     * @param link      The removed link
+     */
+    public void linkDeteriorated(Device from, Link link) {
+        for(Device source : this.infrastructure.getDevices()) {
+            if(this.usesLink(source, from, link.getTarget())) {
+                source.solveRoutes();
+            }
+        }
+    }
+
+    /**
+     * Repair the routes after a device and all of its links were removed.
+     * @param device        The removed device
+     * @param links         The links that started at the removed device
+     */
+    public void deviceRemoved(Device device, List<Link> links) {
+        RouteTable routeTable = this.infrastructure.getRouteTable();
+        routeTable.removeRoutes(device);
+
+        for(Device source : this.infrastructure.getDevices()) {
+            boolean affected = false;
+            for(Link link : links) {
+                if(this.usesLink(source, device, link.getTarget())) {
+                    affected = true;
+                    break;
+                }
+            }
+            if(affected) {
+                source.solveRoutes();
+            } else {
+                routeTable.removeRoute(source, device);
+            }
+        }
+    }
+
+    /**
+     * Check whether the shortest path tree of a source device contains the link between two devices.
+     */
+    private boolean usesLink(Device source, Device from, Device to) {
+        return this.infrastructure.getRouteTable().getPredecessor(source, to) == from;
+    }
+
+    /**
+     * Relax the routes of a source device over a new or improved link.
+     */
+    private void relax(Device source, Device from, Link link) {
+        RouteTable routeTable = this.infrastructure.getRouteTable();
+        if(link.getTarget() == source) return;
+
+        float latency = from == source ? 0.F : routeTable.getLatency(source, from);
+        if(latency == Float.POSITIVE_INFINITY) return;
+        latency += link.getLatency();
+        if(Float.compare(latency, routeTable.getLatency(source, link.getTarget())) >= 0) return;
+
+        this.pendingPredecessors.put(link.getTarget().getOrdinal(), from);
+        this.heap.insertOrDecrease(link.getTarget().getOrdinal(), latency);
+
+        while(!this.heap.isEmpty()) {
+            int ordinal = this.heap.poll();
+            float distance = this.heap.getKey(ordinal);
+            Device device = this.infrastructure.getDeviceByOrdinal(ordinal);
+            routeTable.putRoute(source, device, distance, this.pendingPredecessors.remove(ordinal));
+
+            for(Link next : device.getLinks()) {
+                Device target = next.getTarget();
+                if(target == source) continue;
+
+                float candidate = distance + next.getLatency();
+                float current = this.heap.contains(target.getOrdinal()) ? this.heap.getKey(target.getOrdinal()) : routeTable.getLatency(source, target);
+                if(Float.compare(candidate, current) < 0) {
+                    this.pendingPredecessors.put(target.getOrdinal(), device);
+                    this.heap.insertOrDecrease(target.getOrdinal(), candidate);
+                }
+            }
+        }
+    }
+}
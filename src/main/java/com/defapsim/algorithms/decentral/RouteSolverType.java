@@ -0,0 +1,19 @@
+package com.defapsim.algorithms.decentral;
+
+/**
+ * The route solvers which can be used to resolve the routes of the devices within an infrastructure
+ */
+public enum RouteSolverType {
+
+    /**
+     * Single-source shortest path search with a binary heap ( see DijkstraRouteSolver class )
+     */
+    DIJKSTRA,
+
+    /**
+     * The original recursive search ( see RouteSolver class ), which can be used to compare the resolved routes.
+     * It returns routes that are not the shortest ones in meshed topologies ( e.g. phase 3 ), so it reproduces the results
+     * of the simulations before the DijkstraRouteSolver was introduced.
+     */
+    RECURSIVE
+}
@@ -0,0 +1,187 @@
+package com.defapsim.algorithms.decentral.fogdecap;
+
+import com.defapsim.application.Application;
+import com.defapsim.application.migration.PlacementSnapshot;
+import com.defapsim.evaluation.TerminationReason;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The AuctionBudget makes FogDecAp an anytime algorithm: the auctions are stopped when the wall-clock time, the number of
+ * auctions or the number of rounds without an improvement of the application latency runs out, even though not all
+ * components are in their sweet spot. The budget keeps the best placement found so far, which is restored if the
+ * algorithm is stopped at a worse placement ( see finish() ).
+ * A round is one pass of all auctioneers ( see FogDecApSimulation ) or one synchronous round ( see SynchronousRounds ).
+ * The concurrent runtime has no rounds, so only the time and the auctions are limited there ( see ConcurrentAuctionRuntime ).
+ * The budget can be used by several threads at the same time.
+ */
+public class AuctionBudget {
+
+    /**
+     * The wall-clock time of the auctions in milliseconds
+     */
+    private long maximumTime = Long.MAX_VALUE;
+
+    private long maximumAuctions = Long.MAX_VALUE;
+
+    private int maximumRoundsWithoutImprovement = Integer.MAX_VALUE;
+
+    private Application application;
+
+    private long start;
+
+    private long auctions = 0;
+
+    private int rounds = 0;
+
+    private int roundsWithoutImprovement = 0;
+
+    private boolean isImprovedInRound = false;
+
+    private Float bestLatency;
+
+    private PlacementSnapshot bestPlacement;
+
+    /**
+     * The budget that ran out ( null as long as the budget is not exhausted )
+     */
+    private volatile TerminationReason terminationReason = null;
+
+    /**
+     * Setter (according to Expression Builder pattern)
+     */
+
+    public AuctionBudget withMaximumTime(long maximumTime) {
+        this.maximumTime = maximumTime;
+        return this;
+    }
+
+    public AuctionBudget withMaximumAuctions(long maximumAuctions) {
+        this.maximumAuctions = maximumAuctions;
+        return this;
+    }
+
+    public AuctionBudget withMaximumRoundsWithoutImprovement(int maximumRoundsWithoutImprovement) {
+        this.maximumRoundsWithoutImprovement = maximumRoundsWithoutImprovement;
+        return this;
+    }
+
+    /**
+     * Start the budget for a run of the algorithm, whose current placement is the best placement so far.
+     * @param application       The application whose components are auctioned
+     */
+    public synchronized void start(Application application) {
+        this.application = application;
+        this.start = System.nanoTime();
+        this.auctions = 0;
+        this.rounds = 0;
+        this.roundsWithoutImprovement = 0;
+        this.isImprovedInRound = false;
+        this.bestLatency = application.getCurrentLatency();
+        this.bestPlacement = new PlacementSnapshot(application);
+        this.terminationReason = null;
+    }
+
+    /**
+     * @return      true if a budget ran out
+     */
+    public boolean isExhausted() {
+        if(this.terminationReason != null)
+            return true;
+        if(System.nanoTime() - this.start > TimeUnit.MILLISECONDS.toNanos(this.maximumTime)) {
+            this.exhaust(TerminationReason.TIME_BUDGET);
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Count an auction if the budget allows it.
+     * @return      true if the auction may be started
+     */
+    public boolean nextAuction() {
+        return this.nextAuctions(1) == 1;
+    }
+
+    /**
+     * Count the auctions which the budget allows.
+     * @param auctions      The number of auctions that should be started
+     * @return              The number of auctions that may be started ( the first ones )
+     */
+    public synchronized int nextAuctions(int auctions) {
+        if(this.isExhausted())
+            return 0;
+        int allowed = (int) Math.min(auctions, this.maximumAuctions - this.auctions);
+        this.auctions += allowed;
+        if(allowed < auctions)
+            this.exhaust(TerminationReason.AUCTION_BUDGET);
+        return allowed;
+    }
+
+    /**
+     * Keep the placement if it is the best placement so far. It has to be called after a migration or trade while the
+     * placement does not change.
+     */
+    public synchronized void placementChanged() {
+        Float latency = this.application.getCurrentLatency();
+        if(Float.compare(latency, this.bestLatency) < 0) {
+            this.bestLatency = latency;
+            this.bestPlacement = new PlacementSnapshot(this.application);
+            this.isImprovedInRound = true;
+        }
+    }
+
+    /**
+     * Count a round, which exhausts the budget if the best latency did not improve for too many rounds.
+     */
+    public synchronized void roundFinished() {
+        this.rounds++;
+        this.roundsWithoutImprovement = this.isImprovedInRound ? 0 : this.roundsWithoutImprovement + 1;
+        this.isImprovedInRound = false;
+        if(this.roundsWithoutImprovement >= this.maximumRoundsWithoutImprovement)
+            this.exhaust(TerminationReason.NO_IMPROVEMENT);
+    }
+
+    /**
+     * End the run of the algorithm. If the algorithm did not converge, the best placement so far is restored.
+     * @param isConverged       specifies whether all components are in their sweet spot
+     * @return                  The reason why the algorithm ended
+     */
+    public synchronized TerminationReason finish(boolean isConverged) {
+        if(isConverged)
+            return TerminationReason.CONVERGED;
+        if(Float.compare(this.bestLatency, this.application.getCurrentLatency()) < 0)
+            this.bestPlacement.restore();
+        // Without an exhausted budget, only the maximum duration of the concurrent runtime stops the auctions
+        return this.terminationReason == null ? TerminationReason.MAXIMUM_DURATION : this.terminationReason;
+    }
+
+    private synchronized void exhaust(TerminationReason terminationReason) {
+        if(this.terminationReason == null)
+            this.terminationReason = terminationReason;
+    }
+
+    /**
+     * Getter
+     */
+
+    public long getAuctions() {
+        return this.auctions;
+    }
+
+    public int getRounds() {
+        return this.rounds;
+    }
+
+    public Float getBestLatency() {
+        return this.bestLatency;
+    }
+
+    public PlacementSnapshot getBestPlacement() {
+        return this.bestPlacement;
+    }
+
+    public TerminationReason getTerminationReason() {
+        return this.terminationReason;
+    }
+}
@@ -0,0 +1,111 @@
+package com.defapsim.algorithms.decentral.fogdecap;
+
+import com.defapsim.application.Component;
+import com.defapsim.application.Connectable;
+import com.defapsim.application.Connector;
+import com.defapsim.infrastructure.devices.ApplicationHostDevice;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Class AuctionWorklist schedules the auctions of the FogDecAp algorithm by the sweet spots of the components.
+ * Without a worklist, every migration or trade resets the sweet spots of all components, so the whole application is
+ * auctioned again. The worklist only resets the sweet spots of the components whose auction can have another result:
+ * the moved components, the components connected to them ( their contributions changed ) and the components hosted on the
+ * devices whose resources changed, on the hosts of the connected components or on a device whose domain contains one of
+ * these devices. The resources and the contributions of the hosted components of a device decide its bids and trade
+ * candidates, so the auctions of all devices that ask it for bids can have another result.
+ * The auctions of the other components are skipped and counted as avoided.
+ */
+public class AuctionWorklist {
+
+    /**
+     * The sweet spots of the components ( true if the component is converged )
+     */
+    private final Map<Component, Boolean> sweetSpotsDetermination;
+
+    private long avoidedAuctions = 0;
+
+    private long reenqueuedComponents = 0;
+
+    public AuctionWorklist(Map<Component, Boolean> sweetSpotsDetermination) {
+        this.sweetSpotsDetermination = sweetSpotsDetermination;
+    }
+
+    /**
+     * Check if a component has to be auctioned, otherwise the auction is counted as avoided.
+     * @param component     The component which is up for auction
+     * @return              true if the component is not converged
+     */
+    public boolean isPending(Component component) {
+        if(Boolean.TRUE.equals(this.sweetSpotsDetermination.get(component))) {
+            this.avoidedAuctions++;
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Re-enqueue the components whose auction can have another result after components were placed on other devices,
+     * i.e. the moved components, their neighbours and the components whose host asks one of the devices or one of the hosts
+     * of the neighbours for bids ( the contributions of the neighbours decide the trade candidates of their hosts ).
+     * @param components    The moved components
+     * @param devices       The devices from and to which the components were moved
+     */
+    public void placementChanged(Collection<Component> components, Collection<ApplicationHostDevice> devices) {
+        Set<ApplicationHostDevice> changedDevices = new LinkedHashSet<>(devices);
+        for(Component component : components) {
+            this.enqueue(component);
+            for(Connector connector : component.getConnectors()) {
+                if(connector.getTarget() instanceof Component) this.neighbourChanged((Component) connector.getTarget(), changedDevices);
+            }
+            for(Connectable connectable : component.getBeeingTarget()) {
+                if(connectable instanceof Component) this.neighbourChanged((Component) connectable, changedDevices);
+            }
+        }
+        for(ApplicationHostDevice device : changedDevices) {
+            device.getComponents().forEach(this::enqueue);
+        }
+        List<Component> auctionedByOthers = new ArrayList<>();
+        for(Map.Entry<Component, Boolean> entry : this.sweetSpotsDetermination.entrySet()) {
+            if(!Boolean.TRUE.equals(entry.getValue())) continue;
+            ApplicationHostDevice host = entry.getKey().getHostDevice();
+            for(ApplicationHostDevice device : changedDevices) {
+                if(host.getDevicesInDomain().contains(device)) {
+                    auctionedByOthers.add(entry.getKey());
+                    break;
+                }
+            }
+        }
+        auctionedByOthers.forEach(this::enqueue);
+    }
+
+    private void neighbourChanged(Component neighbour, Set<ApplicationHostDevice> changedDevices) {
+        this.enqueue(neighbour);
+        if(neighbour.getHostDevice() != null) changedDevices.add(neighbour.getHostDevice());
+    }
+
+    private void enqueue(Component component) {
+        if(Boolean.TRUE.equals(this.sweetSpotsDetermination.get(component))) {
+            this.sweetSpotsDetermination.put(component, false);
+            this.reenqueuedComponents++;
+        }
+    }
+
+    /**
+     * Getter
+     */
+
+    public long getAvoidedAuctions() {
+        return this.avoidedAuctions;
+    }
+
+    public long getReenqueuedComponents() {
+        return this.reenqueuedComponents;
+    }
+}
@@ -5,15 +5,19 @@ import com.defapsim.application.Component;
 import com.defapsim.application.migration.MigrationRequest;
 import com.defapsim.application.migration.TradeRequest;
 import com.defapsim.evaluation.Evaluation;
+import com.defapsim.exceptions.BiddingException;
 import com.defapsim.exceptions.InvalidAlgorithmParameterException;
 import com.defapsim.infrastructure.devices.ApplicationHostDevice;
 import com.defapsim.infrastructure.devices.clouddevice.CloudServer;
 import com.defapsim.infrastructure.devices.fognode.FogNode;
 import com.defapsim.misc.print.algorithm.FogDecApPrinter;
-import com.defapsim.misc.Tupel;
 import com.defapsim.simulations.FogDecApSimulation;
 
 import java.util.*;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 import java.util.stream.Collectors;
 
 /**
@@ -26,11 +30,44 @@ public class Auctioneer extends PlacementAlgorithm implements Sender {
 
     private FogDecApPrinter fogDecApPrinter = new FogDecApPrinter();
 
-    private Component componentToBeAuctioned;
-    private ApplicationHostDevice host;
+    /**
+     * The state of the algorithm in the simulation of the auctioneer
+     */
+    protected final FogDecApContext context;
 
-    private FogDecApSimulation fogDecApSimulation;
-    private Evaluation evaluation;
+    protected Component componentToBeAuctioned;
+    protected ApplicationHostDevice host;
+
+    protected FogDecApSimulation fogDecApSimulation;
+    protected Evaluation evaluation;
+
+    // The messages without content, which are sent in all auctions ( see Message )
+    protected final Message intentMessage = new Message(MessageType.AUCTION_INTENT, this);
+    protected final Message cancelMessage = new Message(MessageType.AUCTION_CANCEL, this);
+    protected final Message terminationMessage = new Message(MessageType.AUCTION_TERMINATION, this);
+
+    // The AUCTION_START message, whose maxBid is set for each auction ( see StartMessage )
+    protected final StartMessage startMessage = new StartMessage(this, 0.F);
+
+    /**
+     * The placement under which the deteriorations of the trade candidates are computed ( see FogDecApFunctions.calcDif() )
+     */
+    protected final HypotheticalPlacement placement = new HypotheticalPlacement();
+
+    /**
+     * The answers of the bidders to the AUCTION_START message of the current auction
+     */
+    private final List<BidMessage> answers = new ArrayList<>();
+
+    /**
+     * The components moved by the current auction and the devices from and to which they were moved ( see AuctionWorklist )
+     */
+    private final List<Component> movedComponents = new ArrayList<>(2);
+    private final List<ApplicationHostDevice> changedDevices = new ArrayList<>(2);
+
+    public Auctioneer(FogDecApContext context) {
+        this.context = context;
+    }
 
     public ApplicationHostDevice getHost(){
         return host;
@@ -82,6 +119,14 @@ public class Auctioneer extends PlacementAlgorithm implements Sender {
         for(int i = 0; i < componentList.size(); i++) {
             this.componentToBeAuctioned = componentList.get(i);
 
+            AuctionWorklist worklist = this.fogDecApSimulation.getWorklist();
+            if(worklist != null && !worklist.isPending(this.componentToBeAuctioned))
+                continue;
+
+            AuctionBudget budget = this.fogDecApSimulation.getBudget();
+            if(budget != null && !budget.nextAuction())
+                return;
+
             if(this.evaluation != null) {
                 this.evaluation.withAmountOfAuctions(this.evaluation.getAmountOfAuctions() + 1);
             }
@@ -90,22 +135,26 @@ public class Auctioneer extends PlacementAlgorithm implements Sender {
                 fogDecApPrinter.withComponentToBeAuctioned(this.componentToBeAuctioned).withHost(this.host);
             }
 
-            bidderDevice = bidderDevice.stream()
-                    .filter(device -> !this.componentToBeAuctioned.getHostBlacklist().contains(device))
-                    .filter(device -> device.getComponents().stream().noneMatch(
-                            component -> this.componentToBeAuctioned.getComponentBlacklist().contains(component)))
-                    .collect(Collectors.toList());
+            bidderDevice.removeIf(device -> !this.isAllowedOn(device));
 
 
             // Needed for testing purposes
-            FogDecApSimulation.results.add(this.componentToBeAuctioned.getComponentApplication().getApplicationLatency());
+            this.context.getResults().add(this.componentToBeAuctioned.getComponentApplication().getCurrentLatency());
 
-            Float maxBid = FogDecApFunctions.contribution(this.componentToBeAuctioned, this.host);
+            Float maxBid = this.context.getContributionCache().get(this.componentToBeAuctioned, this.host);
 
             if(this.fogDecApSimulation.isBeingDebugged()) {
                 fogDecApPrinter.withMaxbid(maxBid);
             }
 
+            // No bidder can undercut maxBid, so the component stays in its sweet spot without an auction ( see ContributionBounds )
+            ContributionBounds bounds = this.context.getContributionBounds();
+            if(bounds != null && bounds.pruneAuction(this.componentToBeAuctioned, bidderDevice, maxBid)) {
+                this.context.getSweetSpotsDetermination().put(componentToBeAuctioned, true);
+                this.context.getResults().add(this.componentToBeAuctioned.getComponentApplication().getCurrentLatency());
+                continue;
+            }
+
             // If the algorithm is intended to be executed in parallel, the "time1" has to be waited at this place.
             // After the time time1 has expired, the auction for the component "componentToBeAuctioned" is restarted.
             /*if(DecApSimulation.statusMap.get(this.host) != Status.FREE) {
@@ -117,106 +166,190 @@ public class Auctioneer extends PlacementAlgorithm implements Sender {
                 i--;
                 continue;
             }*/
-            FogDecApSimulation.statusMap.put(this.host, Status.AUCTIONING);
-            bidderDevice.forEach(o -> o.algorithm(FogDecApSimulation.bidderMap.get(o)).start(new Message(MessageType.AUCTION_INTENT, this)));
+            this.context.getStatusMap().put(this.host, Status.AUCTIONING);
+            for(ApplicationHostDevice device : bidderDevice) this.bidder(device).receive(this.intentMessage);
 
             // If the algorithm is intended to be executed in parallel, the "time2" has to be waited at this place.
             // This means that the time in which the auctioneer is waiting for the bidders' AUCTION_ACCEPT answers has expired.
-            List<Message> answers = new LinkedList<>();
-            bidderDevice.forEach(o -> answers.add(FogDecApSimulation.bidderMap.get(o).getAnswer()));
 
             // This step checks if an AUCTION_CANCEL was sent by the bidder. This is not possible in a deterministic execution of the algorithm.
             /*if(answers.stream().filter(answer -> answer.getMessageType() == MessageType.AUCTION_ACCEPT).count() < bidderDevice.size()) {
                 bidderDevice.forEach(o -> o.algorithm(DecApSimulation.bidderMap.get(o)).start(new Message(MessageType.AUCTION_CANCEL, this)));
             }*/
 
-            bidderDevice.forEach(o -> o.algorithm(FogDecApSimulation.bidderMap.get(o)).start(new Message(MessageType.AUCTION_START, this, maxBid)));
+            this.startBidding(bidderDevice, this.startMessage.withMaxBid(maxBid));
 
             // If the algorithm is intended to be executed in parallel, the "time3" has to be waited at this place.
             // This means that the time in which the auctioneer is waiting for the bidders' answers has expired.
-            answers.clear();
-            bidderDevice.forEach(o -> answers.add(FogDecApSimulation.bidderMap.get(o).getAnswer()));
-
             if(fogDecApSimulation.isBeingDebugged()) {
-                fogDecApPrinter.withAnswersAfterAuctionStart(answers);
+                fogDecApPrinter.withAnswersAfterAuctionStart(new ArrayList<>(this.answers));
             }
 
-            Map<Bidder, Float> fixedBids = new LinkedHashMap<>();
-            Map<Bidder, Component> tradeCandidate = new LinkedHashMap<>();
-
-            answers.forEach(answer -> {
-                Map<Component,Float> tradeComponents = (Map<Component, Float>)((Tupel) answer.getBody()).getAttributeB();
-                if(tradeComponents.size() > 0) {
-                    // adjust bids
-                    Map<Component,Float> bids = new LinkedHashMap<>();
-                    tradeComponents.keySet().forEach(c_x -> {
-                        Float dif = FogDecApFunctions.calcDif(c_x, this.host, this.componentToBeAuctioned);
-                        if(this.host.getComponents().stream().filter(o -> !o.equals(this.componentToBeAuctioned))
-                                .noneMatch(component -> component.getComponentBlacklist().contains(c_x)) && !c_x.getHostBlacklist().contains(this.host))
-                            bids.put(c_x, dif);
-                        else
-                            bids.put(c_x, maxBid);
-                    });
-                    Map.Entry<Component, Float> min = minimum(bids);
+            this.adjustBids(maxBid);
 
+            Bidder winner = null;
+            Bid winningBid = null;
+            float winnerValue = maxBid;
+            boolean hasTradeCandidate = false;
+            for(BidMessage answer : this.answers) {
+                Bid bid = answer.getBid();
+                if(bid.getBestTradeCandidate() != null) {
+                    hasTradeCandidate = true;
                     if(fogDecApSimulation.isBeingDebugged()) {
-                        fogDecApPrinter.getBiddersBestTradableComponents().put(((Bidder)answer.getSender()), min.getKey());
+                        fogDecApPrinter.getBiddersBestTradableComponents().put((Bidder) answer.getSender(), bid.getBestTradeCandidate());
+                        fogDecApPrinter.getAdjustedgBiddersBid().put((Bidder) answer.getSender(), bid.getFixedValue());
                     }
-
-                    Float fixedBid = (Float)((Tupel) answer.getBody()).getAttributeA() + min.getValue();
-
-                    if(fogDecApSimulation.isBeingDebugged())
-                        fogDecApPrinter.getAdjustedgBiddersBid().put(((Bidder)answer.getSender()), fixedBid);
-
-                    fixedBids.put((Bidder) answer.getSender(), fixedBid);
-                    tradeCandidate.put((Bidder) answer.getSender(), min.getKey());
-
-                } else {
-                    fixedBids.put((Bidder) answer.getSender(), (Float)((Tupel) answer.getBody()).getAttributeA());
                 }
-            });
-
-            if(fixedBids.isEmpty()) fixedBids.put(null, maxBid);
-            Map.Entry<Bidder, Float> winner = minimum(fixedBids);
+                // The first bidder with the lowest bid wins
+                if(winner == null || Float.compare(bid.getFixedValue(), winnerValue) < 0) {
+                    winner = (Bidder) answer.getSender();
+                    winningBid = bid;
+                    winnerValue = bid.getFixedValue();
+                }
+            }
 
+            // The trades were evaluated by temporarily moving the auctioned component, which placed it at the end of the
+            // component list of its host. The following auctions depend on this order, so it is kept.
+            if(hasTradeCandidate) {
+                this.host.getComponents().remove(this.componentToBeAuctioned);
+                this.host.getComponents().add(this.componentToBeAuctioned);
+            }
 
             if(fogDecApSimulation.isBeingDebugged()) {
+                Map<Bidder, Float> fixedBids = new LinkedHashMap<>();
+                Map<Bidder, Component> tradeCandidate = new LinkedHashMap<>();
+                this.answers.forEach(answer -> {
+                    fixedBids.put((Bidder) answer.getSender(), answer.getBid().getFixedValue());
+                    if(answer.getBid().getBestTradeCandidate() != null)
+                        tradeCandidate.put((Bidder) answer.getSender(), answer.getBid().getBestTradeCandidate());
+                });
                 fogDecApPrinter.withFixedBids(fixedBids);
                 fogDecApPrinter.withTradeCandidate(tradeCandidate);
-                fogDecApPrinter.withWinner(winner);
+                fogDecApPrinter.withWinner(new AbstractMap.SimpleEntry<>(winner, winnerValue));
             }
 
-
-            if(Float.compare(winner.getValue(), maxBid.intValue()) < 0) {
-                if(tradeCandidate.get(winner.getKey()) == null) {
+            if(Float.compare(winnerValue, maxBid.intValue()) < 0) {
+                this.movedComponents.clear();
+                this.movedComponents.add(this.componentToBeAuctioned);
+                Component tradeCandidate = winningBid.getBestTradeCandidate();
+                if(tradeCandidate == null) {
                     // MIGRATION
                     if(this.evaluation != null) {
                         this.evaluation.withAmountOfMigrations(this.evaluation.getAmountOfMigrations() + 1);
                     }
-                    MigrationRequest migrationRequest = new MigrationRequest(this.componentToBeAuctioned).to(winner.getKey().getHost());
+                    MigrationRequest migrationRequest = new MigrationRequest(this.componentToBeAuctioned).to(winner.getHost());
                     migrationRequest.perform();
                 } else {
                     // TRADE
                     if(this.evaluation != null) {
                         this.evaluation.withAmountOfTrades(this.evaluation.getAmountOfTrades() + 1);
                     }
-                    TradeRequest tradeRequest = new TradeRequest(componentToBeAuctioned, tradeCandidate.get(winner.getKey()));
+                    TradeRequest tradeRequest = new TradeRequest(componentToBeAuctioned, tradeCandidate);
                     tradeRequest.perform();
+                    this.movedComponents.add(tradeCandidate);
+                }
+                if(worklist != null) {
+                    this.changedDevices.clear();
+                    this.changedDevices.add(this.host);
+                    this.changedDevices.add(winner.getHost());
+                    worklist.placementChanged(this.movedComponents, this.changedDevices);
+                } else {
+                    this.context.getSweetSpotsDetermination().forEach((entry, value) -> this.context.getSweetSpotsDetermination().put(entry, false));
                 }
-                FogDecApSimulation.sweetSpotsDetermination.forEach((entry, value) -> FogDecApSimulation.sweetSpotsDetermination.put(entry, false));
+                if(budget != null)
+                    budget.placementChanged();
             } else {
-                FogDecApSimulation.sweetSpotsDetermination.put(componentToBeAuctioned, true);
+                this.context.getSweetSpotsDetermination().put(componentToBeAuctioned, true);
             }
 
-            FogDecApSimulation.results.add(this.componentToBeAuctioned.getComponentApplication().getApplicationLatency());
-            bidderDevice.forEach(o -> FogDecApSimulation.bidderMap.get(o).start(new Message(MessageType.AUCTION_TERMINATION, this)));
-            FogDecApSimulation.statusMap.put(this.host, Status.FREE);
+            this.context.getResults().add(this.componentToBeAuctioned.getComponentApplication().getCurrentLatency());
+            for(ApplicationHostDevice device : bidderDevice) this.bidder(device).receive(this.terminationMessage);
+            this.context.getStatusMap().put(this.host, Status.FREE);
 
             if(fogDecApSimulation.isBeingDebugged())
                 fogDecApPrinter.print();
         }
     }
 
+    /**
+     * @return  The bidder of the device, which is started on the device
+     */
+    private Bidder bidder(ApplicationHostDevice device) {
+        Bidder bidder = this.context.getBidderMap().get(device);
+        device.algorithm(bidder);
+        return bidder;
+    }
+
+    /**
+     * @return  true if the auctioned component may be placed on the device regarding the blacklists
+     */
+    private boolean isAllowedOn(ApplicationHostDevice device) {
+        if(this.componentToBeAuctioned.getHostBlacklist().contains(device))
+            return false;
+        for(Component component : device.getComponents()) {
+            if(this.componentToBeAuctioned.getComponentBlacklist().contains(component))
+                return false;
+        }
+        return true;
+    }
+
+    /**
+     * Start the auction at the bidders and collect their answers, which are computed in parallel if the simulation has a
+     * bidding executor.
+     */
+    private void startBidding(List<ApplicationHostDevice> bidderDevice, StartMessage message) {
+        this.answers.clear();
+        ExecutorService executor = this.fogDecApSimulation.getBiddingExecutor();
+        if(executor == null) {
+            for(ApplicationHostDevice device : bidderDevice) this.answers.add((BidMessage) this.bidder(device).receive(message));
+            return;
+        }
+
+        List<Callable<BidMessage>> tasks = new ArrayList<>(bidderDevice.size());
+        for(ApplicationHostDevice device : bidderDevice) {
+            Bidder bidder = this.bidder(device);
+            tasks.add(() -> (BidMessage) bidder.receive(message));
+        }
+        this.answers.addAll(this.invokeAll(executor, tasks));
+    }
+
+    /**
+     * Adjust the bids of the bidders by the deterioration of their trade candidates ( see FogDecApFunctions.adjustBid() ).
+     * The adjustments are computed in parallel if the simulation has a bidding executor.
+     * @param maxBid        The contribution of the auctioned component on the auctioneer device
+     */
+    private void adjustBids(float maxBid) {
+        ExecutorService executor = this.fogDecApSimulation.getBiddingExecutor();
+        if(executor == null) {
+            for(BidMessage answer : this.answers)
+                FogDecApFunctions.adjustBid(answer.getBid(), this.host, this.componentToBeAuctioned, maxBid, this.placement);
+            return;
+        }
+
+        List<Callable<Void>> tasks = new ArrayList<>(this.answers.size());
+        this.answers.forEach(answer -> tasks.add(() -> {
+            FogDecApFunctions.adjustBid(answer.getBid(), this.host, this.componentToBeAuctioned, maxBid);
+            return null;
+        }));
+        this.invokeAll(executor, tasks);
+    }
+
+    private <T> List<T> invokeAll(ExecutorService executor, List<Callable<T>> tasks) {
+        List<T> results = new ArrayList<>(tasks.size());
+        try {
+            for(Future<T> future : executor.invokeAll(tasks)) {
+                results.add(future.get());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new BiddingException("The auction of " + this.componentToBeAuctioned.getIdentifier() + " was interrupted.", e);
+        } catch (ExecutionException e) {
+            if(e.getCause() instanceof RuntimeException) throw (RuntimeException) e.getCause();
+            throw new BiddingException("The auction of " + this.componentToBeAuctioned.getIdentifier() + " failed.", e.getCause());
+        }
+        return results;
+    }
+
     public Component getComponentToBeAuctioned() {
         return this.componentToBeAuctioned;
     }
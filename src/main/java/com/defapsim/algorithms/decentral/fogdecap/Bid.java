@@ -0,0 +1,149 @@
+package com.defapsim.algorithms.decentral.fogdecap;
+
+import com.defapsim.application.Component;
+import com.defapsim.infrastructure.devices.HostedComponents;
+
+import java.util.Arrays;
+import java.util.function.ObjLongConsumer;
+
+/**
+ * The bid of a bidder device for an auctioned component ( see FogDecApFunctions.bid() ), i.e. the contribution of the
+ * component on the bidder device and the components of the bidder device that could be traded for the auctioned component
+ * with their contributions on the bidder device.
+ * The auctioneer fixes the bid by the smallest deterioration of the trade candidates ( see FogDecApFunctions.adjustBid() ).
+ * The trade candidates are stored in arrays that only grow, so a Bid can be reused for any number of bids.
+ * They are collected from the capacity index of the bidder device without allocating objects ( see collectTradeCandidates() ).
+ */
+public class Bid {
+
+    private float value;
+
+    private Component[] tradeCandidates = new Component[8];
+
+    private float[] contributions = new float[8];
+
+    /**
+     * The placement orders of the trade candidates on the bidder device, by which they are sorted
+     */
+    private long[] placementOrders = new long[8];
+
+    private int tradeCandidateCount = 0;
+
+    /**
+     * Receives the trade candidates from the capacity index ( see HostedComponents.forEachTradeCandidate() )
+     */
+    private final ObjLongConsumer<Component> tradeCandidateCollector = this::addTradeCandidate;
+
+    /**
+     * The trade candidate with the smallest deterioration ( null if there is no trade candidate )
+     */
+    private Component bestTradeCandidate;
+
+    /**
+     * The bid adjusted by the deterioration of the best trade candidate
+     */
+    private float fixedValue;
+
+    /**
+     * Start a new bid without trade candidates.
+     * @param value     The contribution of the auctioned component on the bidder device
+     * @return          this object
+     */
+    public Bid reset(float value) {
+        Arrays.fill(this.tradeCandidates, 0, this.tradeCandidateCount, null);
+        this.tradeCandidateCount = 0;
+        this.value = value;
+        this.bestTradeCandidate = null;
+        this.fixedValue = value;
+        return this;
+    }
+
+    /**
+     * Collect the components of the bidder device that could be traded for the auctioned component in the order in which
+     * they were placed. Their contributions are set afterwards ( see setContribution() ).
+     * @param components                      The components of the bidder device
+     * @param toBeAuctioned                   The auctioned component
+     * @param bidderFreeMemory                The free memory of the bidder device
+     * @param bidderFreeComputingPower        The free computing power of the bidder device
+     * @param auctioneerFreeMemory            The free memory of the auctioneer device
+     * @param auctioneerFreeComputingPower    The free computing power of the auctioneer device
+     */
+    public void collectTradeCandidates(HostedComponents components, Component toBeAuctioned, float bidderFreeMemory,
+                                       float bidderFreeComputingPower, float auctioneerFreeMemory, float auctioneerFreeComputingPower) {
+        components.forEachTradeCandidate(toBeAuctioned, bidderFreeMemory, bidderFreeComputingPower, auctioneerFreeMemory,
+                auctioneerFreeComputingPower, this.tradeCandidateCollector);
+    }
+
+    /**
+     * Add a component that could be traded for the auctioned component, sorted by its placement order.
+     * @param component         The component of the bidder device
+     * @param placementOrder    The placement order of the component on the bidder device
+     */
+    public void addTradeCandidate(Component component, long placementOrder) {
+        if(this.tradeCandidateCount == this.tradeCandidates.length) {
+            this.tradeCandidates = Arrays.copyOf(this.tradeCandidates, 2 * this.tradeCandidateCount);
+            this.contributions = Arrays.copyOf(this.contributions, 2 * this.tradeCandidateCount);
+            this.placementOrders = Arrays.copyOf(this.placementOrders, 2 * this.tradeCandidateCount);
+        }
+        int index = this.tradeCandidateCount;
+        while(index > 0 && this.placementOrders[index - 1] > placementOrder) {
+            this.tradeCandidates[index] = this.tradeCandidates[index - 1];
+            this.placementOrders[index] = this.placementOrders[index - 1];
+            index--;
+        }
+        this.tradeCandidates[index] = component;
+        this.placementOrders[index] = placementOrder;
+        this.tradeCandidateCount++;
+    }
+
+    /**
+     * Fix the bid by the trade candidate with the smallest deterioration.
+     * @param bestTradeCandidate    The trade candidate
+     * @param fixedValue            The adjusted bid
+     */
+    public void fix(Component bestTradeCandidate, float fixedValue) {
+        this.bestTradeCandidate = bestTradeCandidate;
+        this.fixedValue = fixedValue;
+    }
+
+    /**
+     * Getter
+     */
+
+    public float getValue() {
+        return this.value;
+    }
+
+    public int getTradeCandidateCount() {
+        return this.tradeCandidateCount;
+    }
+
+    public Component getTradeCandidate(int index) {
+        return this.tradeCandidates[index];
+    }
+
+    public float getContribution(int index) {
+        return this.contributions[index];
+    }
+
+    public Component getBestTradeCandidate() {
+        return this.bestTradeCandidate;
+    }
+
+    public float getFixedValue() {
+        return this.fixedValue;
+    }
+
+    /**
+     * Setter
+     */
+
+    public void setContribution(int index, float contribution) {
+        this.contributions[index] = contribution;
+    }
+
+    public void setValue(float value) {
+        this.value = value;
+        this.fixedValue = value;
+    }
+}
@@ -0,0 +1,24 @@
+package com.defapsim.algorithms.decentral.fogdecap;
+
+/**
+ * The AUCTION_BID message, which is the answer of a bidder to the AUCTION_START message.
+ * A bidder sends the same BidMessage in all of its auctions, i.e. the bid is only valid until the auctioneer terminates the
+ * auction ( the bidder does not bid for another auctioneer before ).
+ */
+public class BidMessage extends Message {
+
+    private final Bid bid = new Bid();
+
+    public BidMessage(Bidder sender) {
+        super(MessageType.AUCTION_BID, sender);
+    }
+
+    /**
+     * Getter
+     */
+
+    public Bid getBid() {
+        return this.bid;
+    }
+
+}
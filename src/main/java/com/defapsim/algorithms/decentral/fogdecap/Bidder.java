@@ -4,11 +4,6 @@ import com.defapsim.algorithms.PlacementAlgorithm;
 import com.defapsim.application.Component;
 import com.defapsim.exceptions.InvalidAlgorithmParameterException;
 import com.defapsim.infrastructure.devices.ApplicationHostDevice;
-import com.defapsim.misc.Tupel;
-import com.defapsim.simulations.FogDecApSimulation;
-
-import java.util.LinkedHashMap;
-import java.util.Map;
 
 /**
  * The Bidder is a part of the FogDecAp algorithm.
@@ -17,11 +12,25 @@ import java.util.Map;
 
 public class Bidder extends PlacementAlgorithm implements Sender {
 
+    /**
+     * The state of the algorithm in the simulation of the bidder
+     */
+    private final FogDecApContext context;
+
     private ApplicationHostDevice host;
 
     private Message answer;
     private Message receiveMessage;
-    private Auctioneer currentAuctioneer;
+    private volatile Auctioneer currentAuctioneer;
+
+    // The answers of the bidder, which are reused in all auctions ( see Message and BidMessage )
+    private final Message acceptMessage = new Message(MessageType.AUCTION_ACCEPT, this);
+    private final Message rejectMessage = new Message(MessageType.AUCTION_REJECT, this);
+    private final BidMessage bidMessage = new BidMessage(this);
+
+    public Bidder(FogDecApContext context) {
+        this.context = context;
+    }
 
     public ApplicationHostDevice getHost() {
         return this.host;
@@ -48,58 +57,48 @@ public class Bidder extends PlacementAlgorithm implements Sender {
     public void start(Object... algorithmParameters) {
         this.castAlgorithmParameters(algorithmParameters);
 
+        Message answer = this.receive(this.receiveMessage);
+        if(answer != null)
+            this.answer = answer;
+    }
+
+    /**
+     * Receive a message of an auctioneer.
+     * The status of the device changes atomically, so the messages of several auctioneers can be received concurrently
+     * ( see ConcurrentAuctionRuntime ). Only the auctioneer for which the device is bidding sends the AUCTION_START message.
+     * @param message       The message of the auctioneer
+     * @return              The answer to the auctioneer ( null if the message is not answered )
+     */
+    public Message receive(Message message) {
         this.host = (ApplicationHostDevice) this.algorithmInitDevice;
 
-        switch(this.receiveMessage.getMessageType())
+        switch(message.getMessageType())
         {
             case AUCTION_INTENT:
-                if(FogDecApSimulation.statusMap.get(this.host).equals(Status.FREE)) {
-                    FogDecApSimulation.statusMap.put(this.host, Status.BIDDING);
-                    this.currentAuctioneer = (Auctioneer) this.receiveMessage.getSender();
-                    this.answer = new Message(MessageType.AUCTION_ACCEPT, this);
-                } else {
-                    this.answer = new Message(MessageType.AUCTION_REJECT, this);
+                if(this.context.getStatusMap().replace(this.host, Status.FREE, Status.BIDDING)) {
+                    this.currentAuctioneer = (Auctioneer) message.getSender();
+                    return this.acceptMessage;
                 }
-                break;
+                return this.rejectMessage;
 
             case AUCTION_CANCEL:
             case AUCTION_TERMINATION:
-                if(this.receiveMessage.getSender() == this.currentAuctioneer) {
+                if(message.getSender() == this.currentAuctioneer) {
                     this.currentAuctioneer = null;
-                    FogDecApSimulation.statusMap.put(this.host, Status.FREE);
+                    this.context.getStatusMap().put(this.host, Status.FREE);
                 }
-                break;
+                return null;
 
             case AUCTION_START:
-                Component toBeAuctioned = currentAuctioneer.getComponentToBeAuctioned();
-                Float bid = FogDecApFunctions.contribution(toBeAuctioned, this.host);
-                Float maxBid = (Float) this.receiveMessage.getBody();
-
-                Map<Component, Float> tradeableComponents = new LinkedHashMap<>();
-                Tupel R = new Tupel(bid, tradeableComponents);
-
-                // if(bid < maxBid)
-                if(Float.compare(bid, maxBid) < 0) {
-
-                    if(Float.compare(this.host.getFreeMemory(), currentAuctioneer.getComponentToBeAuctioned().getMemoryDemand()) < 0
-                            || Float.compare(this.host.getFreeComputingPower(), currentAuctioneer.getComponentToBeAuctioned().getComputingPowerDemand()) < 0) {
-
-                        for(Component component : this.host.getComponents()) {
-                            if(Float.compare(toBeAuctioned.getMemoryDemand(),(component.getMemoryDemand() + this.host.getFreeMemory())) <= 0
-                                    && Float.compare(component.getMemoryDemand(), (toBeAuctioned.getMemoryDemand() + currentAuctioneer.getHost().getFreeMemory())) <= 0
-                                    && Float.compare(toBeAuctioned.getComputingPowerDemand(), (component.getComputingPowerDemand() + this.host.getFreeComputingPower())) <= 0
-                                    && Float.compare(component.getComputingPowerDemand(), (toBeAuctioned.getComputingPowerDemand() + currentAuctioneer.getHost().getFreeComputingPower())) <= 0) {
-
-                                Float tmpbid = FogDecApFunctions.contribution(component, this.getHost());
-                                tradeableComponents.put(component, tmpbid);
-                            }
-                        }
-                        if(tradeableComponents.size() == 0) {
-                            R.setAttributeA(maxBid);
-                        }
-                    }
-                }
-                this.answer = new Message(MessageType.AUCTION_BID, this, R);
+                Auctioneer auctioneer = this.currentAuctioneer;
+                Component toBeAuctioned = auctioneer.getComponentToBeAuctioned();
+                float maxBid = ((StartMessage) message).getMaxBid();
+                FogDecApFunctions.bid(toBeAuctioned, auctioneer.getHost(), this.host, maxBid, this.context.getContributionCache(),
+                        this.context.getContributionBounds(), this.bidMessage.getBid());
+                return this.bidMessage;
+
+            default:
+                return null;
         }
     }
 }
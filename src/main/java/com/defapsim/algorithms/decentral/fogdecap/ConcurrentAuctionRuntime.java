@@ -0,0 +1,550 @@
+package com.defapsim.algorithms.decentral.fogdecap;
+
+import com.defapsim.application.Application;
+import com.defapsim.application.Component;
+import com.defapsim.application.migration.MigrationRequest;
+import com.defapsim.application.migration.TradeRequest;
+import com.defapsim.evaluation.Evaluation;
+import com.defapsim.exceptions.BiddingException;
+import com.defapsim.infrastructure.devices.ApplicationHostDevice;
+import com.defapsim.infrastructure.devices.clouddevice.CloudServer;
+import com.defapsim.infrastructure.devices.fognode.FogNode;
+import com.defapsim.simulations.FogDecApSimulation;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Collectors;
+
+/**
+ * Class ConcurrentAuctionRuntime executes the FogDecAp algorithm with an auctioneer thread for each device.
+ * The auctioneers follow the protocol of the parallel execution of the algorithm:
+ * An auctioneer waits the dormant time before it auctions the components of its device. If its device is not FREE, it waits
+ * time1 and tries again. Otherwise it sends an AUCTION_INTENT to the bidders of its domain, which change from FREE to BIDDING
+ * and accept, or reject. If not all bidders accept within time2, the auction is cancelled ( AUCTION_CANCEL ) and restarted
+ * after time1. Otherwise the bidders answer the AUCTION_START within time3, late bids are ignored, and the auction ends with
+ * an AUCTION_TERMINATION, which sets the bidders FREE again.
+ * The messages are delivered on the message executor. All devices of an auction are reserved by their status, so only the
+ * auction changes their components. The bids are computed while the placement of the other components can change, so the
+ * best bid is checked against the current placement before the component is migrated or traded.
+ */
+public class ConcurrentAuctionRuntime {
+
+    /**
+     * The times of the protocol in milliseconds
+     */
+    private long dormantTime = 5;
+    private long time1 = 5;
+    private long time2 = 100;
+    private long time3 = 1000;
+
+    /**
+     * The time in milliseconds after which the auctioneers are stopped even though the algorithm has not converged
+     */
+    private long maximumDuration = 60000;
+
+    private long seed = 0;
+
+    // The executor which delivers the messages ( null to use a thread pool with a thread per processor )
+    private ExecutorService messageExecutor = null;
+
+    /**
+     * The placement is read while bids are computed and written while a component is migrated or traded
+     */
+    private final ReadWriteLock placementLock = new ReentrantReadWriteLock(true);
+
+    /**
+     * Guards the sweet spots and the number of active auctions, which together determine the convergence
+     */
+    private final Object sweetSpotsMonitor = new Object();
+    private int activeAuctions = 0;
+
+    private FogDecApSimulation fogDecApSimulation;
+    private FogDecApContext context;
+    private Application application;
+    private Evaluation evaluation;
+    private ExecutorService executor;
+    private long deadline;
+    private volatile boolean isStopped;
+
+    private boolean converged = false;
+    private long convergenceTime = 0;
+
+    private final AtomicLong auctions = new AtomicLong();
+    private final AtomicLong cancellations = new AtomicLong();
+    private final AtomicLong busyWaits = new AtomicLong();
+    private final AtomicLong lateAnswers = new AtomicLong();
+    private final AtomicLong staleBids = new AtomicLong();
+    private final AtomicLong migrations = new AtomicLong();
+    private final AtomicLong trades = new AtomicLong();
+
+    public ConcurrentAuctionRuntime withDormantTime(long dormantTime) {
+        this.dormantTime = dormantTime;
+        return this;
+    }
+
+    public ConcurrentAuctionRuntime withTime1(long time1) {
+        this.time1 = time1;
+        return this;
+    }
+
+    public ConcurrentAuctionRuntime withTime2(long time2) {
+        this.time2 = time2;
+        return this;
+    }
+
+    public ConcurrentAuctionRuntime withTime3(long time3) {
+        this.time3 = time3;
+        return this;
+    }
+
+    public ConcurrentAuctionRuntime withMaximumDuration(long maximumDuration) {
+        this.maximumDuration = maximumDuration;
+        return this;
+    }
+
+    /**
+     * Set the seed of the random waiting times after which the auctioneers retry cancelled auctions.
+     */
+    public ConcurrentAuctionRuntime withSeed(long seed) {
+        this.seed = seed;
+        return this;
+    }
+
+    public ConcurrentAuctionRuntime withMessageExecutor(ExecutorService messageExecutor) {
+        this.messageExecutor = messageExecutor;
+        return this;
+    }
+
+    /**
+     * Run the auctioneers of the devices until all components are in their sweet spot or the maximum duration expired.
+     * @param fogDecApSimulation    The prepared simulation
+     * @param application           The application whose components are auctioned
+     * @param hosts                 The devices which run an auctioneer
+     * @param evaluation            The evaluation which counts the auctions, migrations and trades ( can be null )
+     */
+    public void run(FogDecApSimulation fogDecApSimulation, Application application, List<ApplicationHostDevice> hosts, Evaluation evaluation) {
+        this.fogDecApSimulation = fogDecApSimulation;
+        this.context = fogDecApSimulation.getContext();
+        this.application = application;
+        this.evaluation = evaluation;
+        this.executor = this.messageExecutor == null ? Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors()) : this.messageExecutor;
+        this.converged = false;
+        this.isStopped = false;
+        this.activeAuctions = 0;
+        Arrays.asList(this.auctions, this.cancellations, this.busyWaits, this.lateAnswers, this.staleBids, this.migrations, this.trades)
+                .forEach(counter -> counter.set(0));
+
+        hosts.forEach(device -> device.algorithm(this.context.getBidderMap().get(device)));
+        this.context.getResults().add(application.getCurrentLatency());
+
+        long start = System.nanoTime();
+        this.deadline = start + TimeUnit.MILLISECONDS.toNanos(this.maximumDuration);
+        List<Thread> threads = new ArrayList<>(hosts.size());
+        List<Throwable> failures = Collections.synchronizedList(new ArrayList<>());
+        for(int i = 0; i < hosts.size(); i++) {
+            DeviceAuctioneer auctioneer = new DeviceAuctioneer(hosts.get(i), new Random(this.seed + i));
+            Thread thread = new Thread(auctioneer, "auctioneer-" + hosts.get(i).getIdentifier());
+            thread.setUncaughtExceptionHandler((t, e) -> {
+                failures.add(e);
+                this.isStopped = true;
+            });
+            threads.add(thread);
+        }
+
+        try {
+            threads.forEach(Thread::start);
+            for(Thread thread : threads) {
+                thread.join();
+            }
+        } catch (InterruptedException e) {
+            threads.forEach(Thread::interrupt);
+            Thread.currentThread().interrupt();
+            throw new BiddingException("The concurrent auctions were interrupted.", e);
+        } finally {
+            if(this.messageExecutor == null) this.executor.shutdownNow();
+        }
+        this.convergenceTime = System.nanoTime() - start;
+        synchronized (this.sweetSpotsMonitor) {
+            this.converged = !this.context.getSweetSpotsDetermination().containsValue(false);
+        }
+
+        if(!failures.isEmpty()) {
+            if(failures.get(0) instanceof RuntimeException) throw (RuntimeException) failures.get(0);
+            throw new BiddingException("An auctioneer failed.", failures.get(0));
+        }
+    }
+
+    private boolean isFinished() {
+        if(this.isStopped || System.nanoTime() - this.deadline > 0)
+            return true;
+        if(this.fogDecApSimulation.getBudget() != null && this.fogDecApSimulation.getBudget().isExhausted())
+            return true;
+        synchronized (this.sweetSpotsMonitor) {
+            return this.activeAuctions == 0 && !this.context.getSweetSpotsDetermination().containsValue(false);
+        }
+    }
+
+    private boolean isPending(Component component) {
+        synchronized (this.sweetSpotsMonitor) {
+            return !Boolean.TRUE.equals(this.context.getSweetSpotsDetermination().get(component));
+        }
+    }
+
+    /**
+     * Begin the auction of a component unless it is already in its sweet spot.
+     */
+    private boolean beginAuction(Component component) {
+        synchronized (this.sweetSpotsMonitor) {
+            if(Boolean.TRUE.equals(this.context.getSweetSpotsDetermination().get(component)))
+                return false;
+            AuctionBudget budget = this.fogDecApSimulation.getBudget();
+            if(budget != null && !budget.nextAuction())
+                return false;
+            this.activeAuctions++;
+            if(this.evaluation != null) {
+                this.evaluation.withAmountOfAuctions(this.evaluation.getAmountOfAuctions() + 1);
+            }
+        }
+        this.auctions.incrementAndGet();
+        return true;
+    }
+
+    private void endAuction(Component component, boolean isInSweetSpot) {
+        synchronized (this.sweetSpotsMonitor) {
+            if(isInSweetSpot) this.context.getSweetSpotsDetermination().put(component, true);
+            this.activeAuctions--;
+        }
+    }
+
+    private void placementChanged(List<Component> components, List<ApplicationHostDevice> devices) {
+        synchronized (this.sweetSpotsMonitor) {
+            AuctionWorklist worklist = this.fogDecApSimulation.getWorklist();
+            if(worklist != null) {
+                worklist.placementChanged(components, devices);
+            } else {
+                this.context.getSweetSpotsDetermination().replaceAll((component, value) -> false);
+            }
+        }
+    }
+
+    /**
+     * Deliver a message to the bidders of the devices on the message executor.
+     * The bidders receive the message while the placement is not changed.
+     * @param timeout       The time in milliseconds in which the answers have to arrive
+     * @return              The answers in the order of the devices ( null if the answer did not arrive in time )
+     */
+    private List<Message> send(List<ApplicationHostDevice> devices, Message message, long timeout) {
+        List<Future<Message>> futures = new ArrayList<>(devices.size());
+        for(ApplicationHostDevice device : devices) {
+            Bidder bidder = this.context.getBidderMap().get(device);
+            futures.add(this.executor.submit(() -> {
+                this.placementLock.readLock().lock();
+                try {
+                    return bidder.receive(message);
+                } finally {
+                    this.placementLock.readLock().unlock();
+                }
+            }));
+        }
+
+        long end = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeout);
+        List<Message> answers = new ArrayList<>(devices.size());
+        for(Future<Message> future : futures) {
+            answers.add(this.await(future, end));
+        }
+        return answers;
+    }
+
+    private Message await(Future<Message> future, long end) {
+        try {
+            try {
+                return future.get(Math.max(0, end - System.nanoTime()), TimeUnit.NANOSECONDS);
+            } catch (TimeoutException e) {
+                this.lateAnswers.incrementAndGet();
+                // A message that is already being received is received completely, so no bidder accepts after the auction ended
+                if(!future.cancel(false)) future.get();
+                return null;
+            }
+        } catch (CancellationException e) {
+            return null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            future.cancel(false);
+            return null;
+        } catch (ExecutionException e) {
+            if(e.getCause() instanceof RuntimeException) throw (RuntimeException) e.getCause();
+            throw new BiddingException("A bidder failed.", e.getCause());
+        }
+    }
+
+    /**
+     * Getter
+     */
+
+    public boolean isConverged() {
+        return this.converged;
+    }
+
+    /**
+     * @return      The elapsed time of the auctions in nanoseconds
+     */
+    public long getConvergenceTime() {
+        return this.convergenceTime;
+    }
+
+    public long getAuctions() {
+        return this.auctions.get();
+    }
+
+    public long getCancellations() {
+        return this.cancellations.get();
+    }
+
+    public long getBusyWaits() {
+        return this.busyWaits.get();
+    }
+
+    public long getLateAnswers() {
+        return this.lateAnswers.get();
+    }
+
+    public long getStaleBids() {
+        return this.staleBids.get();
+    }
+
+    public long getMigrations() {
+        return this.migrations.get();
+    }
+
+    public long getTrades() {
+        return this.trades.get();
+    }
+
+    private enum AuctionResult {
+        /**
+         * The component is in its sweet spot
+         */
+        SWEET_SPOT,
+        /**
+         * The component was migrated or traded
+         */
+        MOVED,
+        /**
+         * The auction was not decided because of late bids or because the best bid was outdated
+         */
+        UNDECIDED,
+        /**
+         * The component is already in its sweet spot or not on the device anymore
+         */
+        SKIPPED,
+        /**
+         * The device of the auctioneer is bidding in another auction
+         */
+        BUSY,
+        /**
+         * Not all bidders accepted the auction
+         */
+        CANCELLED
+    }
+
+    /**
+     * Migrate or trade the auctioned component if the best bid is still better than its current device.
+     * The neighbours of the component can have been moved since the bids were computed.
+     * @return      true if the component was migrated or traded
+     */
+    private boolean commit(Component component, ApplicationHostDevice from, ApplicationHostDevice to, Component c_x) {
+        this.placementLock.writeLock().lock();
+        try {
+            Float maxBid = FogDecApFunctions.contribution(component, from);
+            Float bid = FogDecApFunctions.contribution(component, to);
+            if(c_x != null) bid += FogDecApFunctions.calcDif(c_x, from, component);
+            if(Float.compare(bid, maxBid.intValue()) >= 0) {
+                this.staleBids.incrementAndGet();
+                return false;
+            }
+
+            if(c_x == null) {
+                if(this.evaluation != null) this.evaluation.withAmountOfMigrations(this.evaluation.getAmountOfMigrations() + 1);
+                new MigrationRequest(component).to(to).perform();
+                this.migrations.incrementAndGet();
+                this.placementChanged(Collections.singletonList(component), Arrays.asList(from, to));
+            } else {
+                if(this.evaluation != null) this.evaluation.withAmountOfTrades(this.evaluation.getAmountOfTrades() + 1);
+                new TradeRequest(component, c_x).perform();
+                this.trades.incrementAndGet();
+                this.placementChanged(Arrays.asList(component, c_x), Arrays.asList(from, to));
+            }
+            if(this.fogDecApSimulation.getBudget() != null)
+                this.fogDecApSimulation.getBudget().placementChanged();
+            this.context.getResults().add(this.application.getCurrentLatency());
+            return true;
+        } finally {
+            this.placementLock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * The auctioneer of a device, which runs on its own thread
+     */
+    private class DeviceAuctioneer extends Auctioneer implements Runnable {
+
+        private final Random random;
+
+        private DeviceAuctioneer(ApplicationHostDevice host, Random random) {
+            super(ConcurrentAuctionRuntime.this.context);
+            this.host = host;
+            this.random = random;
+            this.setAlgorithmInitDevice(host);
+        }
+
+        @Override
+        public void start(Object... algorithmParameters) {
+            this.run();
+        }
+
+        @Override
+        public void run() {
+            while(!isFinished()) {
+                if(!this.sleep(dormantTime))
+                    return;
+
+                List<Component> componentList;
+                placementLock.readLock().lock();
+                try {
+                    componentList = new ArrayList<>(this.host.getComponents());
+                } finally {
+                    placementLock.readLock().unlock();
+                }
+
+                for(Component component : componentList) {
+                    // The device is only reserved for the components which are not in their sweet spot
+                    for(int attempt = 0; isPending(component); attempt++) {
+                        if(isFinished())
+                            return;
+                        AuctionResult result = this.auction(component);
+                        if(result != AuctionResult.BUSY && result != AuctionResult.CANCELLED)
+                            break;
+                        // Wait time1, which grows with every attempt, so that the competing auctioneers get a chance
+                        if(!this.sleep(time1 * (1 + this.random.nextInt(1 << Math.min(attempt, 6)))))
+                            return;
+                    }
+                }
+            }
+        }
+
+        private boolean sleep(long time) {
+            try {
+                Thread.sleep(time);
+                return true;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        }
+
+        private AuctionResult auction(Component component) {
+            if(!this.context.getStatusMap().replace(this.host, Status.FREE, Status.AUCTIONING)) {
+                busyWaits.incrementAndGet();
+                return AuctionResult.BUSY;
+            }
+            try {
+                // The component can have been traded to another device before this device was reserved
+                if(component.getHostDevice() != this.host || !beginAuction(component))
+                    return AuctionResult.SKIPPED;
+
+                AuctionResult result = AuctionResult.UNDECIDED;
+                try {
+                    result = this.auctionReserved(component);
+                    return result;
+                } finally {
+                    endAuction(component, result == AuctionResult.SWEET_SPOT);
+                }
+            } finally {
+                this.context.getStatusMap().put(this.host, Status.FREE);
+            }
+        }
+
+        private AuctionResult auctionReserved(Component component) {
+            this.componentToBeAuctioned = component;
+
+            List<ApplicationHostDevice> bidderDevice = this.host.getDevicesInDomain().stream()
+                    .filter(o -> o instanceof CloudServer || o instanceof FogNode)
+                    .filter(o -> !o.equals(this.host))
+                    .map(ApplicationHostDevice.class::cast)
+                    .collect(Collectors.toList());
+            if(bidderDevice.isEmpty())
+                return AuctionResult.SWEET_SPOT;
+
+            // Each bidder receives either the AUCTION_CANCEL or the AUCTION_TERMINATION of the auction
+            boolean isCancelled = false;
+            try {
+                List<Message> answers = send(bidderDevice, this.intentMessage, time2);
+                if(answers.stream().anyMatch(answer -> answer == null || answer.getMessageType() != MessageType.AUCTION_ACCEPT)) {
+                    isCancelled = true;
+                    bidderDevice.forEach(o -> this.context.getBidderMap().get(o).receive(this.cancelMessage));
+                    cancellations.incrementAndGet();
+                    return AuctionResult.CANCELLED;
+                }
+                return this.auctionAccepted(component, bidderDevice);
+            } finally {
+                if(!isCancelled)
+                    bidderDevice.forEach(o -> this.context.getBidderMap().get(o).receive(this.terminationMessage));
+            }
+        }
+
+        /**
+         * The auction after all bidders accepted, so all devices of the auction are reserved
+         */
+        private AuctionResult auctionAccepted(Component component, List<ApplicationHostDevice> bidderDevice) {
+            Float maxBid;
+            placementLock.readLock().lock();
+            try {
+                bidderDevice = bidderDevice.stream()
+                        .filter(device -> !component.getHostBlacklist().contains(device))
+                        .filter(device -> device.getComponents().stream().noneMatch(
+                                other -> component.getComponentBlacklist().contains(other)))
+                        .collect(Collectors.toList());
+                maxBid = this.context.getContributionCache().get(component, this.host);
+            } finally {
+                placementLock.readLock().unlock();
+            }
+
+            // The bounds don't depend on the placement, so a hopeless auction needs no AUCTION_START ( see ContributionBounds )
+            ContributionBounds bounds = this.context.getContributionBounds();
+            if(bounds != null && bounds.pruneAuction(component, bidderDevice, maxBid))
+                return AuctionResult.SWEET_SPOT;
+
+            List<Message> answers = send(bidderDevice, this.startMessage.withMaxBid(maxBid), time3);
+
+            ApplicationHostDevice winner = null;
+            Component winnerTradeCandidate = null;
+            float winnerValue = maxBid;
+            placementLock.readLock().lock();
+            try {
+                // The bids are read before the auction is terminated, so the bidders don't reuse them meanwhile ( see BidMessage )
+                for(Message answer : answers) {
+                    if(answer == null)
+                        continue;
+                    Bid bid = ((BidMessage) answer).getBid();
+                    FogDecApFunctions.adjustBid(bid, this.host, component, maxBid, this.placement);
+                    if(winner == null || Float.compare(bid.getFixedValue(), winnerValue) < 0) {
+                        winner = ((Bidder) answer.getSender()).getHost();
+                        winnerTradeCandidate = bid.getBestTradeCandidate();
+                        winnerValue = bid.getFixedValue();
+                    }
+                }
+            } finally {
+                placementLock.readLock().unlock();
+            }
+
+            if(Float.compare(winnerValue, maxBid.intValue()) >= 0)
+                return answers.contains(null) ? AuctionResult.UNDECIDED : AuctionResult.SWEET_SPOT;
+
+            return commit(component, this.host, winner, winnerTradeCandidate)
+                    ? AuctionResult.MOVED : AuctionResult.UNDECIDED;
+        }
+    }
+}
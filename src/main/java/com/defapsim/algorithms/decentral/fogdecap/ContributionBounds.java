@@ -0,0 +1,131 @@
+package com.defapsim.algorithms.decentral.fogdecap;
+
+import com.defapsim.application.Component;
+import com.defapsim.application.Connectable;
+import com.defapsim.application.Connector;
+import com.defapsim.infrastructure.devices.ApplicationHostDevice;
+import com.defapsim.infrastructure.devices.enddevice.EndDevice;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Class ContributionBounds holds lower bounds of the contributions of the components on the devices
+ * ( see FogDecApFunctions.contribution() ), which prune the bids and auctions that cannot lead to a migration or trade.
+ * The lower bound of a component on a device is its execution time on the device plus the latencies to and from its end
+ * devices. The latencies to its neighbour components are left out, as a neighbour can be placed on the same device. So the
+ * bound does not depend on the placement and is computed once for each component and device.
+ * The terms are added in the same order as in the contribution. As all terms are non-negative and the float addition is
+ * monotone, the bound is a lower bound of the computed contribution without any rounding margin.
+ * A bid whose bound is not lower than maxBid has neither a lower contribution nor trade candidates, so it cannot win
+ * ( see pruneBid() ). An auction in which no bid can win leaves the component in its sweet spot ( see pruneAuction() ).
+ * The bounds are only valid as long as the routes don't change ( see clear() ).
+ */
+public class ContributionBounds {
+
+    private final Map<Component, Map<ApplicationHostDevice, Float>> bounds = new ConcurrentHashMap<>();
+
+    /**
+     * The bids that were requested and the bids that were not evaluated due to their bound
+     */
+    private final LongAdder bids = new LongAdder();
+
+    private final LongAdder prunedBids = new LongAdder();
+
+    private final LongAdder prunedAuctions = new LongAdder();
+
+    /**
+     * Get the lower bound of the contribution of a component on a device, which is computed if it is not known yet.
+     * @param component     The component whose contribution should be bounded
+     * @param device        The device on which it is assumed that the component is placed there
+     * @return              The lower bound
+     */
+    public float get(Component component, ApplicationHostDevice device) {
+        Map<ApplicationHostDevice, Float> bounds = this.bounds.computeIfAbsent(component, key -> new ConcurrentHashMap<>());
+        Float bound = bounds.get(device);
+        if(bound == null) {
+            bound = lowerBound(component, device);
+            bounds.put(device, bound);
+        }
+        return bound;
+    }
+
+    /**
+     * Count a bid, which is pruned if its contribution cannot be lower than maxBid.
+     * @param toBeAuctioned     The auctioned component
+     * @param bidderHost        The device of the bidder
+     * @param maxBid            The contribution of the auctioned component on the auctioneer device
+     * @return                  true if the bid does not have to be evaluated
+     */
+    public boolean pruneBid(Component toBeAuctioned, ApplicationHostDevice bidderHost, float maxBid) {
+        this.bids.increment();
+        if(Float.compare(this.get(toBeAuctioned, bidderHost), maxBid) < 0)
+            return false;
+        this.prunedBids.increment();
+        return true;
+    }
+
+    /**
+     * Check whether an auction is hopeless, i.e. whether no bid of the bidders can be lower than maxBid. The bids of a
+     * hopeless auction are counted as pruned.
+     * @param toBeAuctioned     The auctioned component
+     * @param bidderDevice      The devices of the bidders
+     * @param maxBid            The contribution of the auctioned component on the auctioneer device
+     * @return                  true if the auction leaves the component in its sweet spot
+     */
+    public boolean pruneAuction(Component toBeAuctioned, List<ApplicationHostDevice> bidderDevice, float maxBid) {
+        for(ApplicationHostDevice device : bidderDevice) {
+            if(Float.compare(this.get(toBeAuctioned, device), maxBid) < 0)
+                return false;
+        }
+        this.bids.add(bidderDevice.size());
+        this.prunedBids.add(bidderDevice.size());
+        this.prunedAuctions.increment();
+        return true;
+    }
+
+    /**
+     * The contribution of the component on the device without the latencies to its neighbour components, whose terms are
+     * added in the order of FogDecApFunctions.contribution().
+     */
+    private static float lowerBound(Component component, ApplicationHostDevice device) {
+        float bound = 0.0F;
+        for(Connectable connectable : component.getBeeingTarget()) {
+            if(connectable instanceof EndDevice) {
+                bound += ((EndDevice) connectable).getLatencyTo(device);
+            }
+        }
+        for(Connector connector : component.getConnectors()) {
+            if(connector.getTarget() instanceof EndDevice) {
+                bound += device.getLatencyTo((EndDevice) connector.getTarget());
+            }
+        }
+        bound += component.getWorstCaseExecutionTime() * (1 / device.getProcessingSpeed());
+        return bound;
+    }
+
+    /**
+     * Remove all bounds ( e.g. after the routes changed ).
+     */
+    public void clear() {
+        this.bounds.clear();
+    }
+
+    /**
+     * Getter
+     */
+
+    public long getBids() {
+        return this.bids.sum();
+    }
+
+    public long getPrunedBids() {
+        return this.prunedBids.sum();
+    }
+
+    public long getPrunedAuctions() {
+        return this.prunedAuctions.sum();
+    }
+}
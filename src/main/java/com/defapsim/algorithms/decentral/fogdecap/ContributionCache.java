@@ -0,0 +1,105 @@
+package com.defapsim.algorithms.decentral.fogdecap;
+
+import com.defapsim.application.Component;
+import com.defapsim.application.Connectable;
+import com.defapsim.application.Connector;
+import com.defapsim.application.migration.PlacementListener;
+import com.defapsim.infrastructure.devices.ApplicationHostDevice;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Class ContributionCache memoizes the contributions of the components on the devices ( see FogDecApFunctions.contribution() ).
+ * The contribution of a component only depends on the devices on which its connected components ( its neighbours ) are
+ * placed, so the cached contributions of a component are removed exactly when one of its neighbours is placed on another
+ * device. The cache is notified of the migrations and trades as PlacementListener of the application.
+ * The cached contributions are only valid as long as the routes don't change ( see clear() ).
+ * The contributions can be queried concurrently ( e.g. by bidders computing their bids in parallel ), but the placement
+ * must not change meanwhile.
+ */
+public class ContributionCache implements PlacementListener {
+
+    private final Map<Component, Map<ApplicationHostDevice, Float>> contributions = new ConcurrentHashMap<>();
+
+    private final LongAdder hits = new LongAdder();
+
+    private final LongAdder misses = new LongAdder();
+
+    private final LongAdder invalidations = new LongAdder();
+
+    /**
+     * Get the contribution of a component on a device, which is computed if it is not cached.
+     * @param component     The component whose contribution should be calculated
+     * @param device        The device on which it is assumed that the component is placed there
+     * @return              The contribution
+     */
+    public Float get(Component component, ApplicationHostDevice device) {
+        Map<ApplicationHostDevice, Float> contributions = this.contributions.computeIfAbsent(component, key -> new ConcurrentHashMap<>());
+        Float contribution = contributions.get(device);
+        if(contribution != null) {
+            this.hits.increment();
+            return contribution;
+        }
+        this.misses.increment();
+        contribution = FogDecApFunctions.contribution(component, device);
+        contributions.put(device, contribution);
+        return contribution;
+    }
+
+    /**
+     * Remove the cached contributions of the neighbours of the components that were placed on other devices.
+     */
+    @Override
+    public void placementChanged(Collection<Component> components) {
+        for(Component component : components) {
+            for(Connector connector : component.getConnectors()) {
+                if(connector.getTarget() instanceof Component) this.invalidate((Component) connector.getTarget());
+            }
+            for(Connectable connectable : component.getBeeingTarget()) {
+                if(connectable instanceof Component) this.invalidate((Component) connectable);
+            }
+        }
+    }
+
+    private void invalidate(Component component) {
+        Map<ApplicationHostDevice, Float> contributions = this.contributions.get(component);
+        if(contributions == null || contributions.isEmpty()) return;
+        contributions.clear();
+        this.invalidations.increment();
+    }
+
+    /**
+     * Remove all cached contributions ( e.g. after the routes changed ).
+     */
+    public void clear() {
+        this.contributions.clear();
+    }
+
+    /**
+     * @return      The share of the queries that were answered from the cache
+     */
+    public float getHitRate() {
+        long hits = this.hits.sum();
+        long queries = hits + this.misses.sum();
+        return queries == 0 ? 0.F : (float) hits / queries;
+    }
+
+    /**
+     * Getter
+     */
+
+    public long getHits() {
+        return this.hits.sum();
+    }
+
+    public long getMisses() {
+        return this.misses.sum();
+    }
+
+    public long getInvalidations() {
+        return this.invalidations.sum();
+    }
+}
@@ -0,0 +1,24 @@
+package com.defapsim.algorithms.decentral.fogdecap;
+
+/**
+ * The ways in which the auctions of the FogDecAp algorithm can be executed
+ */
+public enum ExecutionType {
+
+    /**
+     * The auctioneers auction their components one after another ( see Auctioneer class )
+     */
+    SEQUENTIAL,
+
+    /**
+     * The auctions of a round are computed in parallel against the same placement and the non-conflicting moves are
+     * applied at the end of the round ( see SynchronousRounds class )
+     */
+    SYNCHRONOUS_ROUNDS,
+
+    /**
+     * Each auctioneer runs on its own thread and reserves the devices of its auctions by their status
+     * ( see ConcurrentAuctionRuntime class )
+     */
+    CONCURRENT
+}
@@ -0,0 +1,78 @@
+package com.defapsim.algorithms.decentral.fogdecap;
+
+import com.defapsim.application.Component;
+import com.defapsim.infrastructure.devices.ApplicationHostDevice;
+
+import java.util.LinkedHashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The state of the FogDecAp algorithm in one simulation, which is shared by its auctioneers and bidders.
+ * Every simulation has its own context ( see FogDecApSimulation.prepareSimulation() ), so several simulations can run
+ * at the same time.
+ */
+public class FogDecApContext {
+
+    // Devices in simulator do not hold information about the bidder since it is only for FogDecAp algorithm
+    private final Map<ApplicationHostDevice, Bidder> bidderMap          = new LinkedHashMap<>();
+    // Devices in simulator do not have a status field since it is only for FogDecAp algorithm
+    private final Map<ApplicationHostDevice, Status> statusMap;
+    // Components in simulator do not have a Sweet-Spot field since it is only for FogDecAp algorithm
+    private final Map<Component, Boolean> sweetSpotsDetermination       = new LinkedHashMap<>();
+
+    // The application latencies during the simulation ( needed for testing purposes )
+    private final List<Float> results                                   = new LinkedList<>();
+
+    // The contributions of the components, which are reused until a connected component is migrated
+    private final ContributionCache contributionCache                   = new ContributionCache();
+
+    // The lower bounds of the contributions, which prune hopeless bids and auctions ( null to evaluate all of them )
+    private final ContributionBounds contributionBounds;
+
+    /**
+     * @param isConcurrent      specifies whether the status of the devices is changed by several threads
+     */
+    public FogDecApContext(boolean isConcurrent) {
+        this(isConcurrent, true);
+    }
+
+    /**
+     * @param isConcurrent      specifies whether the status of the devices is changed by several threads
+     * @param isBoundPruned     specifies whether hopeless bids and auctions are pruned ( see ContributionBounds )
+     */
+    public FogDecApContext(boolean isConcurrent, boolean isBoundPruned) {
+        this.statusMap = isConcurrent ? new ConcurrentHashMap<>() : new LinkedHashMap<>();
+        this.contributionBounds = isBoundPruned ? new ContributionBounds() : null;
+    }
+
+    /**
+     * Getter
+     */
+
+    public Map<ApplicationHostDevice, Bidder> getBidderMap() {
+        return this.bidderMap;
+    }
+
+    public Map<ApplicationHostDevice, Status> getStatusMap() {
+        return this.statusMap;
+    }
+
+    public Map<Component, Boolean> getSweetSpotsDetermination() {
+        return this.sweetSpotsDetermination;
+    }
+
+    public List<Float> getResults() {
+        return this.results;
+    }
+
+    public ContributionCache getContributionCache() {
+        return this.contributionCache;
+    }
+
+    public ContributionBounds getContributionBounds() {
+        return this.contributionBounds;
+    }
+}
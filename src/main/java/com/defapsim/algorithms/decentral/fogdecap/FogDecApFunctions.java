@@ -15,20 +15,29 @@ public class FogDecApFunctions {
      * @return
      */
     public static Float contribution(Component component, ApplicationHostDevice device) {
-        Float contribution = 0.0F;
+        return contribution(component, device, null);
+    }
+
+    /**
+     * The contribution of a component on a device under a hypothetical placement of the other components
+     * @param placement     The hypothetical placement (null for the current placement)
+     */
+    static Float contribution(Component component, ApplicationHostDevice device, HypotheticalPlacement placement) {
+        // A primitive sum, so the additions don't box a Float each
+        float contribution = 0.0F;
         // Consider routes for the following connectors: (Component | EndDvice) ----> Component "component"
         for(Connectable connectable : component.getBeeingTarget()) {
 
             if(connectable instanceof Component) {
-                ApplicationHostDevice applicationHostDevice = ((Component) connectable).getHostDevice();
+                ApplicationHostDevice applicationHostDevice = hostDevice((Component) connectable, placement);
                 if(!device.equals(applicationHostDevice)) {
-                    contribution += applicationHostDevice.getRouteTo(device).getLatency();
+                    contribution += applicationHostDevice.getLatencyTo(device);
                 }
             }
 
             if(connectable instanceof EndDevice) {
                 EndDevice endDevice = (EndDevice) connectable;
-                contribution += endDevice.getRouteTo(device).getLatency();
+                contribution += endDevice.getLatencyTo(device);
             }
         }
 
@@ -36,9 +45,9 @@ public class FogDecApFunctions {
         for(Connector connector : component.getConnectors()) {
 
             if(connector.getTarget() instanceof Component) {
-                Component target = (Component)connector.getTarget();
-                if(!device.equals(target.getHostDevice())) {
-                    contribution += device.getRouteTo(target.getHostDevice()).getLatency();
+                ApplicationHostDevice targetHost = hostDevice((Component) connector.getTarget(), placement);
+                if(!device.equals(targetHost)) {
+                    contribution += device.getLatencyTo(targetHost);
                 }
                 continue;
             }
@@ -46,7 +55,7 @@ public class FogDecApFunctions {
             // Execution time on the "component" on the "device"
             if(connector.getTarget() instanceof EndDevice) {
                 EndDevice target = (EndDevice)connector.getTarget();
-                contribution += device.getRouteTo(target).getLatency();
+                contribution += device.getLatencyTo(target);
             }
         }
 
@@ -56,8 +65,13 @@ public class FogDecApFunctions {
     }
 
 
+    private static ApplicationHostDevice hostDevice(Component component, HypotheticalPlacement placement) {
+        return placement == null ? component.getHostDevice() : placement.getHostDevice(component);
+    }
+
     /**
      * The function that calculates the deterioration that happens due to a trade under the assumption that the auctioned component was migrated
+     * The migration of the auctioned component is only assumed ( see HypotheticalPlacement ), no component is moved.
      * @param c_x           The Trade Candidate for which the deterioration should be calculated
      * @param device        The bidder Device
      * @param c_a           The initial auctioned Component
@@ -65,22 +79,121 @@ public class FogDecApFunctions {
      */
     public static Float calcDif(Component c_x, ApplicationHostDevice device,
                                 Component c_a) {
+        return calcDif(c_x, device, c_a, new HypotheticalPlacement());
+    }
 
-        ApplicationHostDevice componentRealHost_c_x = c_x.getHostDevice();
-        ApplicationHostDevice componentRealHost_c_a = c_a.getHostDevice();
+    /**
+     * The deterioration of a trade ( see calcDif() ), which reuses a HypotheticalPlacement.
+     * @param placement     The placement, which is cleared and overwritten
+     */
+    static Float calcDif(Component c_x, ApplicationHostDevice device, Component c_a, HypotheticalPlacement placement) {
 
-        c_a.setHostDevice(componentRealHost_c_x);
-        componentRealHost_c_x.getComponents().add(c_a);
-        componentRealHost_c_a.getComponents().remove(c_a);
+        placement.clear().move(c_a, c_x.getHostDevice());
 
-        Float contribution_1 = FogDecApFunctions.contribution(c_x, device);
-        Float contribution_2 = FogDecApFunctions.contribution(c_x, c_x.getHostDevice());
+        Float contribution_1 = placement.contribution(c_x, device);
+        Float contribution_2 = placement.contribution(c_x, c_x.getHostDevice());
 
-        c_a.setHostDevice(componentRealHost_c_a);
-        componentRealHost_c_x.getComponents().remove(c_a);
-        componentRealHost_c_a.getComponents().add(c_a);
+        return contribution_1 - contribution_2;
+    }
 
+    /**
+     * The function that calculates the bid of a bidder device for the auctioned component ( see Bidder )
+     * The bid is the contribution of the component on the bidder device. If the bidder device does not have enough resources
+     * for the component, the components that could be traded for it are offered with their contribution on the bidder device.
+     * @param toBeAuctioned     The auctioned component
+     * @param auctioneerHost    The device of the auctioneer
+     * @param bidderHost        The device of the bidder
+     * @param maxBid            The contribution of the auctioned component on the auctioneer device
+     * @param cache             The cache of the contributions
+     * @param R                 The bid, which is overwritten
+     * @return                  The bid with the tradeable components
+     */
+    public static Bid bid(Component toBeAuctioned, ApplicationHostDevice auctioneerHost, ApplicationHostDevice bidderHost,
+                          float maxBid, ContributionCache cache, Bid R) {
+        return bid(toBeAuctioned, auctioneerHost, bidderHost, maxBid, cache, null, R);
+    }
 
-        return contribution_1 - contribution_2;
+    /**
+     * The bid of a bidder device, which is pruned if the lower bound of the contribution is not lower than maxBid
+     * ( see ContributionBounds ). A pruned bid is the lower bound without trade candidates, as the bid cannot win anyway.
+     * @param bounds            The lower bounds of the contributions ( null to evaluate every bid )
+     */
+    public static Bid bid(Component toBeAuctioned, ApplicationHostDevice auctioneerHost, ApplicationHostDevice bidderHost,
+                          float maxBid, ContributionCache cache, ContributionBounds bounds, Bid R) {
+        if(bounds != null && bounds.pruneBid(toBeAuctioned, bidderHost, maxBid)) {
+            return R.reset(bounds.get(toBeAuctioned, bidderHost));
+        }
+
+        float bid = cache.get(toBeAuctioned, bidderHost);
+        R.reset(bid);
+
+        // if(bid < maxBid)
+        if(Float.compare(bid, maxBid) < 0) {
+            float bidderFreeMemory = bidderHost.getFreeMemory();
+            float bidderFreeComputingPower = bidderHost.getFreeComputingPower();
+
+            if(Float.compare(bidderFreeMemory, toBeAuctioned.getMemoryDemand()) < 0
+                    || Float.compare(bidderFreeComputingPower, toBeAuctioned.getComputingPowerDemand()) < 0) {
+
+                // The components c of the bidder with
+                //  toBeAuctioned.memory <= c.memory + free memory of the bidder, c.memory <= toBeAuctioned.memory + free memory of the auctioneer
+                //  and likewise for the computing power, found by range queries on the capacity index of the bidder
+                R.collectTradeCandidates(bidderHost.getComponents(), toBeAuctioned, bidderFreeMemory, bidderFreeComputingPower,
+                        auctioneerHost.getFreeMemory(), auctioneerHost.getFreeComputingPower());
+                for(int i = 0; i < R.getTradeCandidateCount(); i++) {
+                    R.setContribution(i, cache.get(R.getTradeCandidate(i), bidderHost));
+                }
+                if(R.getTradeCandidateCount() == 0) {
+                    R.setValue(maxBid);
+                }
+            }
+        }
+        return R;
+    }
+
+    /**
+     * The function that adjusts the bid of a bidder by the deterioration of its trade candidates ( see calcDif() )
+     * A trade candidate that must not be placed on the auctioneer device is adjusted by maxBid.
+     * The bid is fixed by the first trade candidate with the smallest adjustment ( see Bid.fix() ).
+     * @param R                 The bid of the bidder
+     * @param auctioneerHost    The device of the auctioneer
+     * @param c_a               The auctioned component
+     * @param maxBid            The contribution of the auctioned component on the auctioneer device
+     */
+    public static void adjustBid(Bid R, ApplicationHostDevice auctioneerHost, Component c_a, float maxBid) {
+        adjustBid(R, auctioneerHost, c_a, maxBid, new HypotheticalPlacement());
+    }
+
+    /**
+     * Adjust a bid ( see adjustBid() ) with a reused HypotheticalPlacement, so the deteriorations of the trade candidates
+     * allocate no placement. The placement must not be used by another thread meanwhile.
+     * @param placement         The placement, which is overwritten
+     */
+    static void adjustBid(Bid R, ApplicationHostDevice auctioneerHost, Component c_a, float maxBid, HypotheticalPlacement placement) {
+        Component best = null;
+        float min = 0.F;
+        for(int i = 0; i < R.getTradeCandidateCount(); i++) {
+            Component c_x = R.getTradeCandidate(i);
+            float dif = isAllowedOn(c_x, auctioneerHost, c_a) ? FogDecApFunctions.calcDif(c_x, auctioneerHost, c_a, placement) : maxBid;
+            if(best == null || Float.compare(dif, min) < 0) {
+                best = c_x;
+                min = dif;
+            }
+        }
+        if(best != null)
+            R.fix(best, R.getValue() + min);
+    }
+
+    /**
+     * @return  true if the component c_x may be placed on the auctioneer device instead of the auctioned component c_a
+     */
+    private static boolean isAllowedOn(Component c_x, ApplicationHostDevice auctioneerHost, Component c_a) {
+        if(c_x.getHostBlacklist().contains(auctioneerHost))
+            return false;
+        for(Component component : auctioneerHost.getComponents()) {
+            if(!component.equals(c_a) && component.getComponentBlacklist().contains(c_x))
+                return false;
+        }
+        return true;
     }
 }
@@ -0,0 +1,96 @@
+package com.defapsim.algorithms.decentral.fogdecap;
+
+import com.defapsim.application.Application;
+import com.defapsim.application.Component;
+import com.defapsim.application.Connector;
+import com.defapsim.infrastructure.devices.ApplicationHostDevice;
+import com.defapsim.infrastructure.devices.enddevice.EndDevice;
+
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+/**
+ * A HypotheticalPlacement answers contribution and latency queries as if some components were placed on other devices,
+ * without changing the components or the devices. It can therefore be used by several threads at the same time as long as
+ * the real placement does not change.
+ * The values are computed in the same order as by FogDecApFunctions.contribution() and Application.getApplicationLatency(),
+ * so they are bit-identical to the values after actually migrating the components.
+ * A HypotheticalPlacement can be reused for another placement after clear().
+ */
+public class HypotheticalPlacement {
+
+    /**
+     * The components that are assumed to be placed on another device
+     */
+    private final Map<Component, ApplicationHostDevice> movedComponents = new IdentityHashMap<>();
+
+    /**
+     * Assume that a component is placed on a device.
+     * @param component     The component
+     * @param device        The device on which the component is assumed to be placed
+     * @return              this object
+     */
+    public HypotheticalPlacement move(Component component, ApplicationHostDevice device) {
+        this.movedComponents.put(component, device);
+        return this;
+    }
+
+    /**
+     * Assume that all components are placed on their current devices.
+     * @return              this object
+     */
+    public HypotheticalPlacement clear() {
+        this.movedComponents.clear();
+        return this;
+    }
+
+    /**
+     * @return      The device on which the component is assumed to be placed
+     */
+    public ApplicationHostDevice getHostDevice(Component component) {
+        ApplicationHostDevice device = this.movedComponents.get(component);
+        return device == null ? component.getHostDevice() : device;
+    }
+
+    /**
+     * The contribution of a component on a device ( see FogDecApFunctions.contribution() ) under this placement.
+     */
+    public Float contribution(Component component, ApplicationHostDevice device) {
+        return FogDecApFunctions.contribution(component, device, this);
+    }
+
+    /**
+     * The application latency ( see Application.getApplicationLatency() ) under this placement.
+     */
+    public Float applicationLatency(Application application) {
+        Float overallLatency = 0.F;
+
+        for(Component component: application.getComponents()) {
+            ApplicationHostDevice host = this.getHostDevice(component);
+            overallLatency += component.getWorstCaseExecutionTime()  * (1 / host.getProcessingSpeed());
+
+            for(Connector connector: component.getConnectors()) {
+
+                if(connector.getTarget() instanceof EndDevice) {
+                    overallLatency += host.getLatencyTo((EndDevice)connector.getTarget());
+
+                } else if(connector.getTarget() instanceof Component) {
+                    ApplicationHostDevice targetHost = this.getHostDevice((Component) connector.getTarget());
+
+                    if(host == targetHost)
+                        continue;
+
+                    overallLatency += host.getLatencyTo(targetHost);
+                }
+            }
+        }
+
+        for (EndDevice endDevice: application.getEndDevices()) {
+
+            for(Connector connector: endDevice.getConnectors()) {
+                overallLatency += endDevice.getLatencyTo(this.getHostDevice((Component) connector.getTarget()));
+            }
+        }
+        return overallLatency;
+    }
+}
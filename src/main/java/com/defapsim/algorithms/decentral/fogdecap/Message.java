@@ -2,35 +2,27 @@ package com.defapsim.algorithms.decentral.fogdecap;
 
 /**
  * A message which is sent between the auctioneer and the bidder on different devices
+ * The messages without content ( AUCTION_INTENT, AUCTION_ACCEPT, AUCTION_REJECT, AUCTION_CANCEL and AUCTION_TERMINATION ) are
+ * immutable, so each sender creates them once and sends them in all of its auctions. The messages with content are typed
+ * ( see StartMessage and BidMessage ).
  */
 public class Message {
 
     /**
      * The message type ( see MessageType class )
      */
-    private MessageType messageType;
+    private final MessageType messageType;
 
     /**
      * The sender of the message ( Auctioneer or Bidder )
      */
-    private Sender sender;
-
-    /**
-     * The body of a message
-     */
-    private Object body;
+    private final Sender sender;
 
     public Message(MessageType messageType, Sender sender) {
         this.messageType = messageType;
         this.sender = sender;
     }
 
-    public Message(MessageType messageType, Sender sender, Object body) {
-        this.messageType = messageType;
-        this.body = body;
-        this.sender = sender;
-    }
-
     /**
      * Getter
      */
@@ -43,8 +35,4 @@ public class Message {
         return this.sender;
     }
 
-    public Object getBody() {
-        return body;
-    }
-
 }
@@ -0,0 +1,37 @@
+package com.defapsim.algorithms.decentral.fogdecap;
+
+/**
+ * The AUCTION_START message, which asks the bidders for their bids on the auctioned component
+ * An auctioneer reuses its StartMessage in all of its auctions ( see withMaxBid() ). The bidders read maxBid before they
+ * answer, and no bidder answers an AUCTION_START after the auction has ended ( see ConcurrentAuctionRuntime.send() ).
+ */
+public class StartMessage extends Message {
+
+    /**
+     * The contribution of the auctioned component on the auctioneer device
+     */
+    private float maxBid;
+
+    public StartMessage(Auctioneer sender, float maxBid) {
+        super(MessageType.AUCTION_START, sender);
+        this.maxBid = maxBid;
+    }
+
+    /**
+     * Getter
+     */
+
+    public float getMaxBid() {
+        return this.maxBid;
+    }
+
+    /**
+     * Setter (according to Expression Builder pattern)
+     */
+
+    public StartMessage withMaxBid(float maxBid) {
+        this.maxBid = maxBid;
+        return this;
+    }
+
+}
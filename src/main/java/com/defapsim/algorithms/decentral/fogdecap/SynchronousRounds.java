@@ -0,0 +1,312 @@
+package com.defapsim.algorithms.decentral.fogdecap;
+
+import com.defapsim.application.Application;
+import com.defapsim.application.Component;
+import com.defapsim.application.Connectable;
+import com.defapsim.application.Connector;
+import com.defapsim.application.migration.MigrationRequest;
+import com.defapsim.application.migration.TradeRequest;
+import com.defapsim.evaluation.Evaluation;
+import com.defapsim.exceptions.BiddingException;
+import com.defapsim.infrastructure.devices.ApplicationHostDevice;
+import com.defapsim.infrastructure.devices.clouddevice.CloudServer;
+import com.defapsim.infrastructure.devices.fognode.FogNode;
+import com.defapsim.simulations.FogDecApSimulation;
+
+import java.util.*;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+/**
+ * Class SynchronousRounds executes the FogDecAp algorithm in synchronous rounds.
+ * In each round, the auctions of all pending components are computed against the placement at the beginning of the round,
+ * which does not change meanwhile, so the auctions can be computed in parallel on the bidding executor of the simulation.
+ * Each auction that found a better device proposes a migration or trade. In the commit phase, the proposals are applied in
+ * the order of their gain ( in the order of the auctions for equal gains ) unless they conflict with an applied proposal,
+ * i.e. unless they share a device or a neighbour component with it. The rounds are therefore the same for any number of threads.
+ */
+public class SynchronousRounds {
+
+    private final FogDecApSimulation fogDecApSimulation;
+
+    private final FogDecApContext context;
+
+    private final Application application;
+
+    /**
+     * The devices whose components are auctioned ( in the order of the auctions )
+     */
+    private final List<ApplicationHostDevice> hosts;
+
+    private Evaluation evaluation;
+
+    private int rounds = 0;
+
+    private long committedMoves = 0;
+
+    private long conflicts = 0;
+
+    /**
+     * The summed computation time of the auctions in all threads in nanoseconds
+     */
+    private final LongAdder auctionTime = new LongAdder();
+
+    /**
+     * The elapsed time of the auction phases in nanoseconds
+     */
+    private long auctionPhaseTime = 0;
+
+    public SynchronousRounds(FogDecApSimulation fogDecApSimulation, Application application, List<ApplicationHostDevice> hosts) {
+        this.fogDecApSimulation = fogDecApSimulation;
+        this.context = fogDecApSimulation.getContext();
+        this.application = application;
+        this.hosts = hosts;
+    }
+
+    public SynchronousRounds withEvaluation(Evaluation evaluation) {
+        this.evaluation = evaluation;
+        return this;
+    }
+
+    /**
+     * Execute rounds until all components are in their sweet spot or the budget of the simulation ran out.
+     */
+    public void run() {
+        AuctionBudget budget = this.fogDecApSimulation.getBudget();
+        while(this.context.getSweetSpotsDetermination().containsValue(false) && (budget == null || !budget.isExhausted())) {
+            this.round();
+            if(budget != null) budget.roundFinished();
+        }
+    }
+
+    private void round() {
+        this.rounds++;
+        AuctionWorklist worklist = this.fogDecApSimulation.getWorklist();
+
+        List<Component> pending = new ArrayList<>();
+        for(ApplicationHostDevice host : this.hosts) {
+            for(Component component : host.getComponents()) {
+                if(!this.context.getSweetSpotsDetermination().containsKey(component))
+                    continue;
+                if(worklist != null ? worklist.isPending(component) : !Boolean.TRUE.equals(this.context.getSweetSpotsDetermination().get(component)))
+                    pending.add(component);
+            }
+        }
+        // Only the first auctions are executed if the budget does not allow all of them
+        AuctionBudget budget = this.fogDecApSimulation.getBudget();
+        if(budget != null)
+            pending = pending.subList(0, budget.nextAuctions(pending.size()));
+        if(this.evaluation != null) {
+            this.evaluation.withAmountOfAuctions(this.evaluation.getAmountOfAuctions() + pending.size());
+        }
+        this.context.getResults().add(this.application.getCurrentLatency());
+
+        long start = System.nanoTime();
+        List<Move> proposals = this.auction(pending);
+        this.auctionPhaseTime += System.nanoTime() - start;
+
+        for(int i = 0; i < pending.size(); i++) {
+            if(proposals.get(i) == null) this.context.getSweetSpotsDetermination().put(pending.get(i), true);
+        }
+        List<Move> committed = this.commit(proposals.stream().filter(Objects::nonNull).collect(Collectors.toList()));
+
+        if(committed.isEmpty())
+            return;
+
+        if(worklist != null) {
+            committed.forEach(move -> worklist.placementChanged(move.getMovedComponents(), Arrays.asList(move.from, move.to)));
+        } else {
+            this.context.getSweetSpotsDetermination().replaceAll((component, value) -> false);
+        }
+        if(budget != null)
+            budget.placementChanged();
+        this.context.getResults().add(this.application.getCurrentLatency());
+    }
+
+    /**
+     * Compute the auctions of the components against the current placement.
+     * @return      The proposed move of each component ( null if the component is in its sweet spot )
+     */
+    private List<Move> auction(List<Component> components) {
+        ExecutorService executor = this.fogDecApSimulation.getBiddingExecutor();
+        if(executor == null) {
+            return components.stream().map(this::auction).collect(Collectors.toList());
+        }
+
+        List<Callable<Move>> tasks = new ArrayList<>(components.size());
+        components.forEach(component -> tasks.add(() -> this.auction(component)));
+        List<Move> proposals = new ArrayList<>(components.size());
+        try {
+            for(Future<Move> future : executor.invokeAll(tasks)) {
+                proposals.add(future.get());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new BiddingException("The auctions of round " + this.rounds + " were interrupted.", e);
+        } catch (ExecutionException e) {
+            if(e.getCause() instanceof RuntimeException) throw (RuntimeException) e.getCause();
+            throw new BiddingException("The auctions of round " + this.rounds + " failed.", e.getCause());
+        }
+        return proposals;
+    }
+
+    /**
+     * The auction of a component ( see Auctioneer and Bidder ) without changing the placement.
+     */
+    private Move auction(Component component) {
+        long start = System.nanoTime();
+        try {
+            ApplicationHostDevice host = component.getHostDevice();
+            List<ApplicationHostDevice> bidderDevice = host.getDevicesInDomain().stream()
+                    .filter(o -> o instanceof CloudServer || o instanceof FogNode)
+                    .filter(o -> !o.equals(host))
+                    .map(ApplicationHostDevice.class::cast)
+                    .filter(device -> !component.getHostBlacklist().contains(device))
+                    .filter(device -> device.getComponents().stream().noneMatch(
+                            other -> component.getComponentBlacklist().contains(other)))
+                    .collect(Collectors.toList());
+
+            Float maxBid = this.context.getContributionCache().get(component, host);
+            ContributionBounds bounds = this.context.getContributionBounds();
+            if(bounds != null && bounds.pruneAuction(component, bidderDevice, maxBid))
+                return null;
+
+            // The bids of the bidders are computed one after another, so one Bid and one placement are reused ( see Bid )
+            Bid bid = new Bid();
+            HypotheticalPlacement placement = new HypotheticalPlacement();
+            ApplicationHostDevice winner = null;
+            Component winnerTradeCandidate = null;
+            float winnerValue = 0.F;
+
+            for(ApplicationHostDevice bidder : bidderDevice) {
+                FogDecApFunctions.bid(component, host, bidder, maxBid, this.context.getContributionCache(), bounds, bid);
+                FogDecApFunctions.adjustBid(bid, host, component, maxBid, placement);
+                if(winner == null || Float.compare(bid.getFixedValue(), winnerValue) < 0) {
+                    winner = bidder;
+                    winnerTradeCandidate = bid.getBestTradeCandidate();
+                    winnerValue = bid.getFixedValue();
+                }
+            }
+
+            if(winner == null || Float.compare(winnerValue, maxBid.intValue()) >= 0)
+                return null;
+            return new Move(component, host, winner, winnerTradeCandidate, maxBid - winnerValue);
+        } finally {
+            this.auctionTime.add(System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Apply the proposals that don't conflict with each other, starting with the largest gain.
+     * @param proposals     The proposals in the order of the auctions
+     * @return              The applied proposals
+     */
+    private List<Move> commit(List<Move> proposals) {
+        List<Move> order = new ArrayList<>(proposals);
+        // The sort is stable, so proposals with equal gains keep the order of the auctions
+        order.sort((a, b) -> Float.compare(b.gain, a.gain));
+
+        Set<ApplicationHostDevice> lockedDevices = Collections.newSetFromMap(new IdentityHashMap<>());
+        Set<Component> lockedComponents = Collections.newSetFromMap(new IdentityHashMap<>());
+        List<Move> committed = new ArrayList<>();
+
+        for(Move move : order) {
+            Set<Component> involved = move.getInvolvedComponents();
+            if(lockedDevices.contains(move.from) || lockedDevices.contains(move.to)
+                    || involved.stream().anyMatch(lockedComponents::contains)) {
+                this.conflicts++;
+                continue;
+            }
+            lockedDevices.add(move.from);
+            lockedDevices.add(move.to);
+            lockedComponents.addAll(involved);
+
+            move.perform(this.evaluation);
+            committed.add(move);
+        }
+        this.committedMoves += committed.size();
+        return committed;
+    }
+
+    /**
+     * Getter
+     */
+
+    public int getRounds() {
+        return this.rounds;
+    }
+
+    public long getCommittedMoves() {
+        return this.committedMoves;
+    }
+
+    public long getConflicts() {
+        return this.conflicts;
+    }
+
+    /**
+     * The summed computation time of the auctions divided by the elapsed time of the auction phases, i.e. the average number
+     * of auctions computed at the same time. It is not the speedup against the sequential execution type, whose auctions
+     * change the placement one after another and therefore differ from the auctions of the rounds ( see
+     * Evaluation.getSpeedupOf() for the measured speedup ).
+     * @return      The auction parallelism ( 1 if no auction phase was executed )
+     */
+    public float getAuctionParallelism() {
+        return this.auctionPhaseTime == 0 ? 1.F : (float) this.auctionTime.sum() / this.auctionPhaseTime;
+    }
+
+    /**
+     * A migration or trade proposed by the auction of a component
+     */
+    private static class Move {
+
+        private final Component component;
+        private final ApplicationHostDevice from;
+        private final ApplicationHostDevice to;
+        private final Component tradeCandidate;
+        private final float gain;
+
+        private Move(Component component, ApplicationHostDevice from, ApplicationHostDevice to, Component tradeCandidate, float gain) {
+            this.component = component;
+            this.from = from;
+            this.to = to;
+            this.tradeCandidate = tradeCandidate;
+            this.gain = gain;
+        }
+
+        private List<Component> getMovedComponents() {
+            return this.tradeCandidate == null ? Collections.singletonList(this.component) : Arrays.asList(this.component, this.tradeCandidate);
+        }
+
+        /**
+         * @return      The moved components and their neighbours, whose contributions change due to the move
+         */
+        private Set<Component> getInvolvedComponents() {
+            Set<Component> involved = Collections.newSetFromMap(new IdentityHashMap<>());
+            for(Component component : this.getMovedComponents()) {
+                involved.add(component);
+                for(Connector connector : component.getConnectors()) {
+                    if(connector.getTarget() instanceof Component) involved.add((Component) connector.getTarget());
+                }
+                for(Connectable connectable : component.getBeeingTarget()) {
+                    if(connectable instanceof Component) involved.add((Component) connectable);
+                }
+            }
+            return involved;
+        }
+
+        private void perform(Evaluation evaluation) {
+            if(this.tradeCandidate == null) {
+                if(evaluation != null) evaluation.withAmountOfMigrations(evaluation.getAmountOfMigrations() + 1);
+                new MigrationRequest(this.component).to(this.to).perform();
+            } else {
+                if(evaluation != null) evaluation.withAmountOfTrades(evaluation.getAmountOfTrades() + 1);
+                new TradeRequest(this.component, this.tradeCandidate).perform();
+            }
+        }
+    }
+}
@@ -25,7 +25,7 @@ public class LDSPPFunctions {
 
         for(Route route : applicationHostDevice.getRoutes()) {
             if(route.getTarget() instanceof CloudServer) {
-                father = (ApplicationHostDevice) route.getHops().get(0).getTarget();
+                father = (ApplicationHostDevice) applicationHostDevice.getNextHopTo(route.getTarget());
                 break;
             }
         }
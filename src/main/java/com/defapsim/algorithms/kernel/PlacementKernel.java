@@ -0,0 +1,413 @@
+package com.defapsim.algorithms.kernel;
+
+import com.defapsim.application.Application;
+import com.defapsim.application.Component;
+import com.defapsim.application.Connectable;
+import com.defapsim.application.Connector;
+import com.defapsim.exceptions.InvalidAlgorithmParameterException;
+import com.defapsim.infrastructure.Infrastructure;
+import com.defapsim.infrastructure.devices.ApplicationHostDevice;
+import com.defapsim.infrastructure.devices.Device;
+import com.defapsim.infrastructure.devices.enddevice.EndDevice;
+import com.defapsim.infrastructure.routing.RouteTable;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Class PlacementKernel is a compiled form of an application and an infrastructure for placement algorithms.
+ * The components, the host devices ( cloud servers and fog nodes ) and the end devices are numbered, the connectors are stored
+ * as adjacency arrays (CSR) and the latencies between the devices as a matrix. A placement is an int[] which contains the index
+ * of the host device of each component (-1 if the component is not placed, see getAssignment()).
+ * The routines don't create any objects and compute the same values as the object model:
+ * latency() is bit-identical to Application.getApplicationLatency(), contribution() to FogDecApFunctions.contribution() and
+ * canHost() corresponds to Component.preDeployCheckFor(). The free capacity of a host device is reduced by the components of
+ * other applications that were placed on it when the kernel was compiled.
+ * A connector target is encoded as the component index (>= 0) or as the complement of the end device index (< 0).
+ * The kernel has to be compiled again if the application, the topology or the routes change.
+ */
+public final class PlacementKernel {
+
+    private final Component[] components;
+    private final ApplicationHostDevice[] hosts;
+    private final EndDevice[] endDevices;
+
+    private final Map<Component, Integer> componentIndices = new IdentityHashMap<>();
+    private final Map<Device, Integer> deviceIndices = new IdentityHashMap<>();
+
+    /**
+     * The number of end devices connected to the application ( the first end devices )
+     */
+    private final int applicationEndDevices;
+
+    private final float[] worstCaseExecutionTimes;
+    private final float[] memoryDemands;
+    private final float[] computingPowerDemands;
+
+    private final float[] processingSpeeds;
+    private final float[] memoryCapacities;
+    private final float[] computingPowerCapacities;
+
+    /**
+     * The connectors of each component, in the order of Component.getConnectors()
+     */
+    private final int[] outOffsets;
+    private final int[] outTargets;
+
+    /**
+     * The components and end devices that point to each component, in the order of Component.getBeeingTarget()
+     */
+    private final int[] inOffsets;
+    private final int[] inSources;
+
+    /**
+     * The target components of the connectors of the end devices of the application, in the order of EndDevice.getConnectors()
+     */
+    private final int[] endOffsets;
+    private final int[] endTargets;
+
+    /**
+     * hostLatencies[a * H + b] is the latency from host a to host b ( infinite if there is no route )
+     */
+    private final float[] hostLatencies;
+    private final float[] hostToEndLatencies;
+    private final float[] endToHostLatencies;
+
+    /**
+     * Bitsets of the forbidden host devices of each component and of the pairs of components that must not share a device
+     */
+    private final long[] hostBlacklist;
+    private final long[] componentBlacklist;
+    private final int hostWords;
+    private final int componentWords;
+
+    private static final ThreadLocal<float[][]> LOADS = ThreadLocal.withInitial(() -> new float[2][0]);
+
+    /**
+     * Compile an application and the infrastructure on which it is placed.
+     * @param application       The application
+     * @param infrastructure    The infrastructure, whose routes must be resolved
+     * @return                  The kernel
+     * @throws InvalidAlgorithmParameterException   if a component is connected to a component of another application
+     */
+    public static PlacementKernel compile(Application application, Infrastructure infrastructure) {
+        return new PlacementKernel(application, infrastructure);
+    }
+
+    private PlacementKernel(Application application, Infrastructure infrastructure) {
+        this.components = application.getComponents().toArray(new Component[0]);
+        int c = this.components.length;
+        for(int i = 0; i < c; i++) {
+            this.componentIndices.put(this.components[i], i);
+        }
+
+        List<ApplicationHostDevice> hosts = new ArrayList<>();
+        List<EndDevice> endDevices = new ArrayList<>(application.getEndDevices());
+        for(Device device : infrastructure.getDevices()) {
+            if(device instanceof ApplicationHostDevice) hosts.add((ApplicationHostDevice) device);
+        }
+        this.applicationEndDevices = endDevices.size();
+        for(EndDevice endDevice : endDevices) {
+            this.deviceIndices.putIfAbsent(endDevice, this.deviceIndices.size());
+        }
+        for(Component component : this.components) {
+            for(Connector connector : component.getConnectors()) {
+                if(connector.getTarget() instanceof EndDevice) this.addEndDevice(endDevices, (EndDevice) connector.getTarget());
+            }
+            for(Connectable connectable : component.getBeeingTarget()) {
+                if(connectable instanceof EndDevice) this.addEndDevice(endDevices, (EndDevice) connectable);
+            }
+        }
+        this.hosts = hosts.toArray(new ApplicationHostDevice[0]);
+        this.endDevices = endDevices.toArray(new EndDevice[0]);
+        this.deviceIndices.clear();
+        for(int i = 0; i < this.hosts.length; i++) {
+            this.deviceIndices.put(this.hosts[i], i);
+        }
+        for(int i = 0; i < this.endDevices.length; i++) {
+            this.deviceIndices.put(this.endDevices[i], i);
+        }
+        int h = this.hosts.length;
+        int e = this.endDevices.length;
+
+        this.worstCaseExecutionTimes = new float[c];
+        this.memoryDemands = new float[c];
+        this.computingPowerDemands = new float[c];
+        for(int i = 0; i < c; i++) {
+            this.worstCaseExecutionTimes[i] = this.components[i].getWorstCaseExecutionTime();
+            this.memoryDemands[i] = this.components[i].getMemoryDemand();
+            this.computingPowerDemands[i] = this.components[i].getComputingPowerDemand();
+        }
+
+        this.processingSpeeds = new float[h];
+        this.memoryCapacities = new float[h];
+        this.computingPowerCapacities = new float[h];
+        for(int i = 0; i < h; i++) {
+            ApplicationHostDevice host = this.hosts[i];
+            this.processingSpeeds[i] = host.getProcessingSpeed();
+            float memory = host.getMemory();
+            float computingPower = host.getComputingPower();
+            for(Component component : host.getComponents()) {
+                if(this.componentIndices.containsKey(component)) continue;
+                memory -= component.getMemoryDemand();
+                computingPower -= component.getComputingPowerDemand();
+            }
+            this.memoryCapacities[i] = memory;
+            this.computingPowerCapacities[i] = computingPower;
+        }
+
+        this.outOffsets = new int[c + 1];
+        this.inOffsets = new int[c + 1];
+        for(int i = 0; i < c; i++) {
+            this.outOffsets[i + 1] = this.outOffsets[i] + this.components[i].getConnectors().size();
+            this.inOffsets[i + 1] = this.inOffsets[i] + this.components[i].getBeeingTarget().size();
+        }
+        this.outTargets = new int[this.outOffsets[c]];
+        this.inSources = new int[this.inOffsets[c]];
+        for(int i = 0; i < c; i++) {
+            int k = this.outOffsets[i];
+            for(Connector connector : this.components[i].getConnectors()) {
+                this.outTargets[k++] = this.encode(connector.getTarget());
+            }
+            k = this.inOffsets[i];
+            for(Connectable connectable : this.components[i].getBeeingTarget()) {
+                this.inSources[k++] = this.encode(connectable);
+            }
+        }
+
+        this.endOffsets = new int[this.applicationEndDevices + 1];
+        for(int i = 0; i < this.applicationEndDevices; i++) {
+            this.endOffsets[i + 1] = this.endOffsets[i] + this.endDevices[i].getConnectors().size();
+        }
+        this.endTargets = new int[this.endOffsets[this.applicationEndDevices]];
+        for(int i = 0; i < this.applicationEndDevices; i++) {
+            int k = this.endOffsets[i];
+            for(Connector connector : this.endDevices[i].getConnectors()) {
+                this.endTargets[k++] = this.encode(connector.getTarget());
+            }
+        }
+
+        RouteTable routeTable = infrastructure.getRouteTable();
+        this.hostLatencies = new float[h * h];
+        this.hostToEndLatencies = new float[h * e];
+        this.endToHostLatencies = new float[e * h];
+        for(int a = 0; a < h; a++) {
+            for(int b = 0; b < h; b++) {
+                this.hostLatencies[a * h + b] = routeTable.getLatency(this.hosts[a], this.hosts[b]);
+            }
+            for(int b = 0; b < e; b++) {
+                this.hostToEndLatencies[a * e + b] = routeTable.getLatency(this.hosts[a], this.endDevices[b]);
+                this.endToHostLatencies[b * h + a] = routeTable.getLatency(this.endDevices[b], this.hosts[a]);
+            }
+        }
+
+        this.hostWords = (h + 63) >>> 6;
+        this.componentWords = (c + 63) >>> 6;
+        this.hostBlacklist = new long[c * this.hostWords];
+        this.componentBlacklist = new long[c * this.componentWords];
+        for(int i = 0; i < c; i++) {
+            for(Device device : this.components[i].getHostBlacklist()) {
+                Integer host = device instanceof ApplicationHostDevice ? this.deviceIndices.get(device) : null;
+                if(host != null) this.hostBlacklist[i * this.hostWords + (host >>> 6)] |= 1L << host;
+            }
+            for(Component component : this.components[i].getComponentBlacklist()) {
+                Integer other = this.componentIndices.get(component);
+                if(other == null) continue;
+                this.componentBlacklist[i * this.componentWords + (other >>> 6)] |= 1L << other;
+                this.componentBlacklist[other * this.componentWords + (i >>> 6)] |= 1L << i;
+            }
+        }
+    }
+
+    private void addEndDevice(List<EndDevice> endDevices, EndDevice endDevice) {
+        if(this.deviceIndices.putIfAbsent(endDevice, this.deviceIndices.size()) == null) endDevices.add(endDevice);
+    }
+
+    private int encode(Connectable connectable) {
+        if(connectable instanceof EndDevice) return ~this.deviceIndices.get(connectable);
+        Integer component = this.componentIndices.get(connectable);
+        if(component == null) throw new InvalidAlgorithmParameterException("Component " + ((Component) connectable).getIdentifier() + " is not part of the compiled application.");
+        return component;
+    }
+
+    /**
+     * @return      The current placement of the components ( see Component.getHostDevice() )
+     */
+    public int[] getAssignment() {
+        int[] assignment = new int[this.components.length];
+        for(int i = 0; i < assignment.length; i++) {
+            ApplicationHostDevice host = this.components[i].getHostDevice();
+            assignment[i] = host == null ? -1 : this.indexOf(host);
+        }
+        return assignment;
+    }
+
+    /**
+     * The application latency of a placement, in which all components are placed.
+     * The terms are summed in the same order as by Application.getApplicationLatency().
+     */
+    public float latency(int[] assignment) {
+        int h = this.hosts.length;
+        int e = this.endDevices.length;
+        float latency = 0.F;
+        for(int c = 0; c < this.components.length; c++) {
+            int host = assignment[c];
+            latency += this.worstCaseExecutionTimes[c] * (1 / this.processingSpeeds[host]);
+            for(int k = this.outOffsets[c]; k < this.outOffsets[c + 1]; k++) {
+                int target = this.outTargets[k];
+                if(target < 0) {
+                    latency += this.hostToEndLatencies[host * e + ~target];
+                } else if(host != assignment[target]) {
+                    latency += this.hostLatencies[host * h + assignment[target]];
+                }
+            }
+        }
+        for(int d = 0; d < this.applicationEndDevices; d++) {
+            for(int k = this.endOffsets[d]; k < this.endOffsets[d + 1]; k++) {
+                latency += this.endToHostLatencies[d * h + assignment[this.endTargets[k]]];
+            }
+        }
+        return latency;
+    }
+
+    /**
+     * The contribution of a component to the application latency if it was placed on a host device
+     * ( see FogDecApFunctions.contribution() ). The connected components must be placed.
+     */
+    public float contribution(int[] assignment, int component, int host) {
+        int h = this.hosts.length;
+        int e = this.endDevices.length;
+        float contribution = 0.F;
+        for(int k = this.inOffsets[component]; k < this.inOffsets[component + 1]; k++) {
+            int source = this.inSources[k];
+            if(source < 0) {
+                contribution += this.endToHostLatencies[~source * h + host];
+            } else if(assignment[source] != host) {
+                contribution += this.hostLatencies[assignment[source] * h + host];
+            }
+        }
+        for(int k = this.outOffsets[component]; k < this.outOffsets[component + 1]; k++) {
+            int target = this.outTargets[k];
+            if(target < 0) {
+                contribution += this.hostToEndLatencies[host * e + ~target];
+            } else if(assignment[target] != host) {
+                contribution += this.hostLatencies[host * h + assignment[target]];
+            }
+        }
+        contribution += this.worstCaseExecutionTimes[component] * (1 / this.processingSpeeds[host]);
+        return contribution;
+    }
+
+    /**
+     * Check if a component may be placed on a host device, given the placement of the other components
+     * ( see Component.preDeployCheckFor() ): the free memory and computing power, the blacklists and the routes to the
+     * placed connected components and the connected end devices.
+     */
+    public boolean canHost(int[] assignment, int component, int host) {
+        float memory = this.memoryCapacities[host];
+        float computingPower = this.computingPowerCapacities[host];
+        for(int c = 0; c < this.components.length; c++) {
+            if(c == component || assignment[c] != host) continue;
+            memory -= this.memoryDemands[c];
+            computingPower -= this.computingPowerDemands[c];
+            if((this.componentBlacklist[component * this.componentWords + (c >>> 6)] & (1L << c)) != 0) return false;
+        }
+        if(Float.compare(memory, this.memoryDemands[component]) < 0) return false;
+        if(Float.compare(computingPower, this.computingPowerDemands[component]) < 0) return false;
+        if((this.hostBlacklist[component * this.hostWords + (host >>> 6)] & (1L << host)) != 0) return false;
+        return this.hasRoutes(assignment, component, host);
+    }
+
+    /**
+     * Check if all components are placed and every component may stay on its host device.
+     */
+    public boolean isFeasible(int[] assignment) {
+        int h = this.hosts.length;
+        float[][] loads = LOADS.get();
+        if(loads[0].length < h) {
+            loads[0] = new float[h];
+            loads[1] = new float[h];
+        }
+        float[] memory = loads[0];
+        float[] computingPower = loads[1];
+        System.arraycopy(this.memoryCapacities, 0, memory, 0, h);
+        System.arraycopy(this.computingPowerCapacities, 0, computingPower, 0, h);
+
+        for(int c = 0; c < this.components.length; c++) {
+            int host = assignment[c];
+            if(host < 0) return false;
+            memory[host] -= this.memoryDemands[c];
+            computingPower[host] -= this.computingPowerDemands[c];
+            if((this.hostBlacklist[c * this.hostWords + (host >>> 6)] & (1L << host)) != 0) return false;
+            for(int other = c + 1; other < this.components.length; other++) {
+                if(assignment[other] == host && (this.componentBlacklist[c * this.componentWords + (other >>> 6)] & (1L << other)) != 0) return false;
+            }
+            if(!this.hasRoutes(assignment, c, host)) return false;
+        }
+        for(int host = 0; host < h; host++) {
+            if(Float.compare(memory[host], 0.F) < 0 || Float.compare(computingPower[host], 0.F) < 0) return false;
+        }
+        return true;
+    }
+
+    private boolean hasRoutes(int[] assignment, int component, int host) {
+        int h = this.hosts.length;
+        int e = this.endDevices.length;
+        for(int k = this.inOffsets[component]; k < this.inOffsets[component + 1]; k++) {
+            int source = this.inSources[k];
+            if(source < 0 || assignment[source] < 0 || assignment[source] == host) continue;
+            if(this.hostLatencies[assignment[source] * h + host] == Float.POSITIVE_INFINITY) return false;
+        }
+        for(int k = this.outOffsets[component]; k < this.outOffsets[component + 1]; k++) {
+            int target = this.outTargets[k];
+            if(target < 0) {
+                if(this.hostToEndLatencies[host * e + ~target] == Float.POSITIVE_INFINITY) return false;
+            } else if(assignment[target] >= 0 && assignment[target] != host) {
+                if(this.hostLatencies[host * h + assignment[target]] == Float.POSITIVE_INFINITY) return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @return      The index of a component (-1 if it is not part of the application)
+     */
+    public int indexOf(Component component) {
+        Integer index = this.componentIndices.get(component);
+        return index == null ? -1 : index;
+    }
+
+    /**
+     * @return      The index of a host device (-1 if it can't host components of the application)
+     */
+    public int indexOf(ApplicationHostDevice host) {
+        Integer index = this.deviceIndices.get(host);
+        return index == null ? -1 : index;
+    }
+
+    /**
+     * Getter
+     */
+
+    public int getComponentCount() {
+        return this.components.length;
+    }
+
+    public int getHostCount() {
+        return this.hosts.length;
+    }
+
+    public int getEndDeviceCount() {
+        return this.endDevices.length;
+    }
+
+    public Component getComponent(int index) {
+        return this.components[index];
+    }
+
+    public ApplicationHostDevice getHost(int index) {
+        return this.hosts[index];
+    }
+}
@@ -1,7 +1,9 @@
 package com.defapsim.application;
 
+import com.defapsim.application.migration.PlacementListener;
 import com.defapsim.infrastructure.devices.enddevice.EndDevice;
 
+import java.util.Collection;
 import java.util.LinkedList;
 import java.util.List;
 
@@ -25,6 +27,16 @@ public class Application {
      */
     private List<EndDevice> endDevices = new LinkedList<>();
 
+    /**
+     * The listeners which are notified when components are placed on other devices.
+     */
+    private List<PlacementListener> placementListeners = new LinkedList<>();
+
+    /**
+     * The tracker of the application latency (null if the latency is not tracked).
+     */
+    private ApplicationLatencyTracker latencyTracker = null;
+
     public Application() {
     }
 
@@ -57,6 +69,10 @@ public class Application {
         return this.endDevices;
     }
 
+    public ApplicationLatencyTracker getLatencyTracker() {
+        return this.latencyTracker;
+    }
+
     /**
      * Setter (according to Expression Builder pattern)
      */
@@ -91,8 +107,54 @@ public class Application {
         this.endDevices.add(endDevice);
     }
 
+    public void addPlacementListener(PlacementListener placementListener) {
+        this.placementListeners.add(placementListener);
+    }
+
+    public void removePlacementListener(PlacementListener placementListener) {
+        this.placementListeners.remove(placementListener);
+    }
+
+    /**
+     * Notify the placement listeners that components were placed on other devices ( see MigrationRequest ).
+     * @param components        The components whose host device changed
+     */
+    public void firePlacementChanged(Collection<Component> components) {
+        for(PlacementListener placementListener : this.placementListeners) {
+            placementListener.placementChanged(components);
+        }
+    }
+
+    /**
+     * Track the application latency from now on. The components must be placed already.
+     * A previous tracker is replaced.
+     * @return      The tracker
+     */
+    public ApplicationLatencyTracker trackLatency() {
+        this.stopTrackingLatency();
+        this.latencyTracker = new ApplicationLatencyTracker(this);
+        this.addPlacementListener(this.latencyTracker);
+        return this.latencyTracker;
+    }
+
+    public void stopTrackingLatency() {
+        if(this.latencyTracker == null) return;
+        this.removePlacementListener(this.latencyTracker);
+        this.latencyTracker = null;
+    }
+
+    /**
+     * The current application latency, which is read from the tracker if the latency is tracked ( see trackLatency() )
+     * and computed otherwise ( see getApplicationLatency() ).
+     * @return      The application latency
+     */
+    public Float getCurrentLatency() {
+        if(this.latencyTracker != null) return this.latencyTracker.getLatency();
+        return this.getApplicationLatency();
+    }
+
     /**
-     * The application latency (which must be minimized)
+     * The application latency (which must be minimized), computed from scratch
      * It takes into account the execution time of components on the devices on which they are deployed
      * and the data transfer time of the connectors.
      * @return      The application latency
@@ -106,7 +168,7 @@ public class Application {
             for(Connector connector: component.getConnectors()) {
 
                 if(connector.getTarget() instanceof EndDevice) {
-                    overallLatency += component.getHostDevice().getRouteTo((EndDevice)connector.getTarget()).getLatency();
+                    overallLatency += component.getHostDevice().getLatencyTo((EndDevice)connector.getTarget());
 
                 } else if(connector.getTarget() instanceof Component) {
                     Component target = (Component) connector.getTarget();
@@ -114,7 +176,7 @@ public class Application {
                     if(component.getHostDevice() == target.getHostDevice())
                         continue;
 
-                    overallLatency += component.getHostDevice().getRouteTo(target.getHostDevice()).getLatency();
+                    overallLatency += component.getHostDevice().getLatencyTo(target.getHostDevice());
                 }
             }
         }
@@ -122,7 +184,7 @@ public class Application {
         for (EndDevice endDevice: this.endDevices) {
 
             for(Connector connector: endDevice.getConnectors()) {
-                overallLatency += endDevice.getRouteTo(((Component)connector.getTarget()).getHostDevice()).getLatency();
+                overallLatency += endDevice.getLatencyTo(((Component)connector.getTarget()).getHostDevice());
             }
         }
         return overallLatency;
@@ -0,0 +1,171 @@
+package com.defapsim.application;
+
+import com.defapsim.application.migration.PlacementListener;
+import com.defapsim.exceptions.LatencyMismatchException;
+import com.defapsim.infrastructure.devices.enddevice.EndDevice;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Class ApplicationLatencyTracker keeps the application latency ( see Application.getApplicationLatency() ) up to date while
+ * the components are migrated, so the current latency can be read in O(1).
+ * The latency is the sum of terms: the execution time of each component, the latency of each connector of a component and
+ * the latency of each connector of an end device. When components are placed on other devices ( the tracker is notified by
+ * the MigrationRequest and the TradeRequest ), only the terms which contain one of these components are computed again.
+ * The terms are summed in double precision, so the latency may differ from the one of getApplicationLatency() in the last
+ * bits of float precision.
+ * The tracker has to be created after the components were placed ( see Application.trackLatency() ). If components or
+ * connectors are added or removed, the terms have to be collected again ( see rebuild() ).
+ */
+public class ApplicationLatencyTracker implements PlacementListener {
+
+    /**
+     * The relative difference between the tracked and the recomputed latency that is accepted in the verification mode
+     */
+    private static final double TOLERANCE = 1.E-4;
+
+    /**
+     * A term of the application latency
+     */
+    private static final class Term {
+        private final Component component;
+        private final Connector connector;
+        private final EndDevice endDevice;
+        private float value;
+
+        private Term(Component component, Connector connector, EndDevice endDevice) {
+            this.component = component;
+            this.connector = connector;
+            this.endDevice = endDevice;
+        }
+
+        /**
+         * The same computation as the one of Application.getApplicationLatency()
+         */
+        private float compute() {
+            if(this.endDevice != null) {
+                return this.endDevice.getLatencyTo(this.component.getHostDevice());
+            }
+            if(this.connector == null) {
+                return this.component.getWorstCaseExecutionTime() * (1 / this.component.getHostDevice().getProcessingSpeed());
+            }
+            if(this.connector.getTarget() instanceof EndDevice) {
+                return this.component.getHostDevice().getLatencyTo((EndDevice) this.connector.getTarget());
+            }
+            Component target = (Component) this.connector.getTarget();
+            if(this.component.getHostDevice() == target.getHostDevice()) return 0.F;
+            return this.component.getHostDevice().getLatencyTo(target.getHostDevice());
+        }
+    }
+
+    private final Application application;
+
+    private final List<Term> terms = new ArrayList<>();
+
+    /**
+     * The terms which contain each component
+     */
+    private final Map<Component, List<Term>> termsOfComponent = new IdentityHashMap<>();
+
+    private double latency = 0.;
+
+    private long updates = 0;
+
+    /**
+     * Specifies whether the tracked latency is compared with the recomputed latency after each update
+     */
+    private boolean verification = false;
+
+    /**
+     * Constructor.
+     * @param application       The application whose latency is tracked
+     */
+    public ApplicationLatencyTracker(Application application) {
+        this.application = application;
+        this.rebuild();
+    }
+
+    /**
+     * Compare the tracked latency with the recomputed latency after each update ( for debugging ).
+     * @param verification      specifies whether the latencies are compared
+     * @throws LatencyMismatchException     if the latencies differ after an update
+     */
+    public ApplicationLatencyTracker withVerification(boolean verification) {
+        this.verification = verification;
+        return this;
+    }
+
+    /**
+     * Collect the terms of the application latency again and compute all of them.
+     */
+    public void rebuild() {
+        this.terms.clear();
+        this.termsOfComponent.clear();
+        for(Component component : this.application.getComponents()) {
+            this.addTerm(new Term(component, null, null), component, null);
+            for(Connector connector : component.getConnectors()) {
+                Component target = connector.getTarget() instanceof Component ? (Component) connector.getTarget() : null;
+                this.addTerm(new Term(component, connector, null), component, target);
+            }
+        }
+        for(EndDevice endDevice : this.application.getEndDevices()) {
+            for(Connector connector : endDevice.getConnectors()) {
+                Component component = (Component) connector.getTarget();
+                this.addTerm(new Term(component, connector, endDevice), component, null);
+            }
+        }
+
+        this.latency = 0.;
+        for(Term term : this.terms) {
+            term.value = term.compute();
+            this.latency += term.value;
+        }
+    }
+
+    private void addTerm(Term term, Component component, Component target) {
+        this.terms.add(term);
+        this.termsOfComponent.computeIfAbsent(component, key -> new ArrayList<>()).add(term);
+        if(target != null && target != component) this.termsOfComponent.computeIfAbsent(target, key -> new ArrayList<>()).add(term);
+    }
+
+    /**
+     * Compute the terms which contain the migrated components again.
+     */
+    @Override
+    public void placementChanged(Collection<Component> components) {
+        Map<Term, Boolean> changedTerms = new IdentityHashMap<>();
+        for(Component component : components) {
+            for(Term term : this.termsOfComponent.getOrDefault(component, List.of())) {
+                if(changedTerms.put(term, Boolean.TRUE) != null) continue;
+                float value = term.compute();
+                this.latency += (double) value - term.value;
+                term.value = value;
+            }
+        }
+        this.updates++;
+
+        if(this.verification) {
+            float recomputed = this.application.getApplicationLatency();
+            if(Math.abs(recomputed - this.latency) > TOLERANCE * Math.max(1., Math.abs(recomputed))) {
+                throw new LatencyMismatchException("The tracked latency " + this.latency + " of application " + this.application.getIdentifier()
+                        + " differs from the recomputed latency " + recomputed + ".");
+            }
+        }
+    }
+
+    /**
+     * Getter
+     */
+
+    public float getLatency() {
+        return (float) this.latency;
+    }
+
+    public long getUpdates() {
+        return this.updates;
+    }
+}
@@ -4,7 +4,6 @@ import com.defapsim.exceptions.InvalidDeviceConfigurationException;
 import com.defapsim.infrastructure.devices.ApplicationHostDevice;
 import com.defapsim.infrastructure.devices.Device;
 import com.defapsim.infrastructure.devices.enddevice.EndDevice;
-import com.defapsim.infrastructure.links.Route;
 
 import java.util.LinkedList;
 import java.util.List;
@@ -241,13 +240,7 @@ public class Component implements Connectable {
                             continue;
                     }
 
-                    boolean found = false;
-                    for(Route route: component.getHostDevice().getRoutes()) {
-                        if(route.getTarget().equals(device)) {
-                            found = true;
-                            break;
-                        }
-                    }
+                    boolean found = component.getHostDevice().hasRouteTo(device);
                     if(component.getHostDevice().equals(device)) found = true;
                     if(!found) {
                         return false;
@@ -264,12 +257,7 @@ public class Component implements Connectable {
 
                     EndDevice target = (EndDevice) connector.getTarget();
 
-                    for(Route route: device.getRoutes()) {
-                        if(route.getTarget().equals(target)) {
-                            found = true;
-                            break;
-                        }
-                    }
+                    found = device.hasRouteTo(target);
                     if(!found) {
                         return false;
                     }
@@ -277,12 +265,7 @@ public class Component implements Connectable {
             } else if(connector.getTarget() instanceof  Component) {
                 Component target = (Component) connector.getTarget();
                 if(target.getHostDevice() != null) {
-                    for(Route route: device.getRoutes()) {
-                        if(route.getTarget().equals(target.getHostDevice())) {
-                            found = true;
-                            break;
-                        }
-                    }
+                    found = device.hasRouteTo(target.getHostDevice());
                     if(target.getHostDevice().equals(device)) found = true;
                     if(!found) {
                         return false;
@@ -1,5 +1,6 @@
 package com.defapsim.application.migration;
 
+import com.defapsim.application.Application;
 import com.defapsim.application.Component;
 import com.defapsim.exceptions.AlreadyDeployedException;
 import com.defapsim.exceptions.DeviceCantHostComponentsException;
@@ -7,6 +8,8 @@ import com.defapsim.exceptions.MigrationUnrealizableException;
 import com.defapsim.infrastructure.devices.ApplicationHostDevice;
 import com.defapsim.infrastructure.devices.Device;
 
+import java.util.Arrays;
+
 /**
  * The MigrationRequest is used to migrate a component to another device.
  */
@@ -48,8 +51,17 @@ public class MigrationRequest {
 
     /**
      * Perform a migration of component "this.component" from the device on which it is placed to device "this.possibleTarget"
+     * The placement listeners of the application are notified afterwards.
      */
     public void perform() {
+        this.migrate();
+        this.notifyPlacementChanged(this.component);
+    }
+
+    /**
+     * Migrate component "this.component" to device "this.possibleTarget" without notifying the placement listeners.
+     */
+    protected void migrate() {
         if(this.component.getHostDevice().equals(this.possibleTarget))
             throw new AlreadyDeployedException("Component " + this.component.getIdentifier() + " already deployed on host " + this.possibleTarget.getIdentifier());
 
@@ -63,4 +75,12 @@ public class MigrationRequest {
                 " from " + this.component.getHostDevice().getIdentifier() +
                 " to " + this.possibleTarget.getIdentifier());
     }
+
+    /**
+     * Notify the placement listeners of the application of the components ( see Application.addPlacementListener() ).
+     */
+    protected void notifyPlacementChanged(Component... components) {
+        Application application = this.component.getComponentApplication();
+        if(application != null) application.firePlacementChanged(Arrays.asList(components));
+    }
 }
@@ -0,0 +1,18 @@
+package com.defapsim.application.migration;
+
+import com.defapsim.application.Component;
+
+import java.util.Collection;
+
+/**
+ * A PlacementListener is notified by the MigrationRequest and the TradeRequest after components of an application were placed
+ * on other devices ( see Application.addPlacementListener() ).
+ */
+public interface PlacementListener {
+
+    /**
+     * Called after the components were placed on other devices.
+     * @param components        The components whose host device changed
+     */
+    void placementChanged(Collection<Component> components);
+}
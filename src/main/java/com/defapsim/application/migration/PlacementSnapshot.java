@@ -0,0 +1,64 @@
+package com.defapsim.application.migration;
+
+import com.defapsim.application.Application;
+import com.defapsim.application.Component;
+import com.defapsim.infrastructure.devices.ApplicationHostDevice;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A PlacementSnapshot stores the devices on which the components of an application are placed, so the placement can be
+ * restored later ( e.g. the best placement found by an algorithm ).
+ */
+public class PlacementSnapshot {
+
+    private final Application application;
+
+    private final Map<Component, ApplicationHostDevice> hostDevices = new LinkedHashMap<>();
+
+    /**
+     * Store the current placement of the application.
+     * @param application       The application
+     */
+    public PlacementSnapshot(Application application) {
+        this.application = application;
+        application.getComponents().forEach(component -> this.hostDevices.put(component, component.getHostDevice()));
+    }
+
+    /**
+     * @return      The device on which the component was placed ( null if it was not placed )
+     */
+    public ApplicationHostDevice getHostDevice(Component component) {
+        return this.hostDevices.get(component);
+    }
+
+    /**
+     * Place the components on the devices of the snapshot again. All components that were placed on other devices are removed
+     * first, so the components can be exchanged between devices without exceeding their resources meanwhile.
+     * The placement listeners of the application are notified afterwards ( see Application.addPlacementListener() ).
+     * @return      The components which were placed on other devices
+     */
+    public List<Component> restore() {
+        List<Component> movedComponents = new ArrayList<>();
+        this.hostDevices.forEach((component, device) -> {
+            if(component.getHostDevice() != device) movedComponents.add(component);
+        });
+        if(movedComponents.isEmpty())
+            return movedComponents;
+
+        for(Component component : movedComponents) {
+            if(component.getHostDevice() != null) component.getHostDevice().removeComponent(component);
+        }
+        for(Component component : movedComponents) {
+            ApplicationHostDevice device = this.hostDevices.get(component);
+            if(device == null) continue;
+            component.setHostDevice(device);
+            device.getComponents().add(component);
+        }
+        this.application.firePlacementChanged(movedComponents);
+        return movedComponents;
+    }
+}
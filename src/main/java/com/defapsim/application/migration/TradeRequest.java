@@ -29,15 +29,17 @@ public class TradeRequest extends MigrationRequest {
 
     /**
      * Perform a trade of component "this.component" and "this.toTradeComponent"
+     * The placement listeners are notified once both components were placed.
      */
     @Override
     public void perform() {
         this.toTradeComponent.getHostDevice().removeComponent(this.toTradeComponent);
         ApplicationHostDevice device = this.component.getHostDevice();
-        super.perform();
+        super.migrate();
         if(this.toTradeComponent.preDeployCheckFor(device)) {
             this.toTradeComponent.setHostDevice(device);
             device.getComponents().add(this.toTradeComponent);
+            this.notifyPlacementChanged(this.component, this.toTradeComponent);
             return;
         }
         throw new MigrationUnrealizableException("Can't migrate " + this.component.getIdentifier() +
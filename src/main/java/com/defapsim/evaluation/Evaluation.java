@@ -1,5 +1,10 @@
 package com.defapsim.evaluation;
 
+import com.defapsim.algorithms.decentral.fogdecap.ExecutionType;
+
+import java.util.EnumMap;
+import java.util.Map;
+
 /**
  * Attributes (in this case metrics) can be defined in an evaluation object.
  * The attributes can be filled with data during the execution of an algorithm.
@@ -27,6 +32,12 @@ public class Evaluation {
      */
     private Float executionTimeOfTheAlgorithm = 0.F;
 
+    /**
+     * The execution times in milliseconds of the FogDecAp algorithm per execution type, which are compared to find the
+     * speedup of an execution type on the same problem instance ( see getSpeedupOf() )
+     */
+    private final Map<ExecutionType, Float> executionTimesByType = new EnumMap<>(ExecutionType.class);
+
     /**
      * The number of used application components
      */
@@ -62,6 +73,11 @@ public class Evaluation {
      */
     private Integer amountOfMigrations = 0;
 
+    /**
+     * The reason why the algorithm ended, e.g. a budget that ran out
+     */
+    private TerminationReason terminationReason = TerminationReason.CONVERGED;
+
     /**
      * Getter
      */
@@ -86,6 +102,27 @@ public class Evaluation {
         return this.executionTimeOfTheAlgorithm;
     }
 
+    /**
+     * @param executionType     The execution type of the FogDecAp algorithm
+     * @return                  The execution time in milliseconds of the execution type or null if it was not measured
+     */
+    public Float getExecutionTimeOf(ExecutionType executionType) {
+        return this.executionTimesByType.get(executionType);
+    }
+
+    /**
+     * The wall-clock speedup of an execution type over the sequential execution on the same problem instance.
+     * @param executionType     The execution type of the FogDecAp algorithm
+     * @return                  The execution time of the sequential execution divided by the execution time of the execution
+     *                          type or null if one of them was not measured
+     */
+    public Float getSpeedupOf(ExecutionType executionType) {
+        Float sequential = this.executionTimesByType.get(ExecutionType.SEQUENTIAL);
+        Float executionTime = this.executionTimesByType.get(executionType);
+        if(sequential == null || executionTime == null) return null;
+        return sequential / executionTime;
+    }
+
     public Integer getApplicationComponents() {
         return this.applicationComponents;
     }
@@ -114,6 +151,10 @@ public class Evaluation {
         return this.amountOfAuctions;
     }
 
+    public TerminationReason getTerminationReason() {
+        return this.terminationReason;
+    }
+
 
     /**
      * Setter (according to Expression Builder pattern)
@@ -154,6 +195,21 @@ public class Evaluation {
         return this;
     }
 
+    public Evaluation withExecutionTimeOf(ExecutionType executionType, Float executionTime) {
+        this.executionTimesByType.put(executionType, executionTime);
+        return this;
+    }
+
+    /**
+     * Take over the execution times per execution type of another evaluation, e.g. of the sequential execution on the same
+     * problem instance, so the speedup is computed without mixing the other metrics of both executions.
+     * @param evaluation    The evaluation whose execution times are taken over
+     */
+    public Evaluation withExecutionTimesOf(Evaluation evaluation) {
+        this.executionTimesByType.putAll(evaluation.executionTimesByType);
+        return this;
+    }
+
     public Evaluation withApplicationComponents(Integer components) {
         this.applicationComponents = components;
         return this;
@@ -174,5 +230,10 @@ public class Evaluation {
         return this;
     }
 
+    public Evaluation withTerminationReason(TerminationReason terminationReason) {
+        this.terminationReason = terminationReason;
+        return this;
+    }
+
 
 }
@@ -0,0 +1,33 @@
+package com.defapsim.evaluation;
+
+/**
+ * The reasons why an algorithm ended ( see Evaluation.getTerminationReason() )
+ */
+public enum TerminationReason {
+
+    /**
+     * The algorithm ended by its own termination condition
+     */
+    CONVERGED,
+
+    /**
+     * The wall-clock time of the algorithm ran out
+     */
+    TIME_BUDGET,
+
+    /**
+     * The number of auctions of the algorithm ran out
+     */
+    AUCTION_BUDGET,
+
+    /**
+     * The best application latency did not improve for too many rounds
+     */
+    NO_IMPROVEMENT,
+
+    /**
+     * The concurrent auctions were stopped after their maximum duration without a budget running out
+     * ( see ConcurrentAuctionRuntime.withMaximumDuration() )
+     */
+    MAXIMUM_DURATION
+}
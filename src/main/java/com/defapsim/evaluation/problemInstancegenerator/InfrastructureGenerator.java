@@ -10,12 +10,14 @@ import com.defapsim.infrastructure.devices.clouddevice.CloudServerCreator;
 import com.defapsim.infrastructure.devices.enddevice.EndDeviceCreator;
 import com.defapsim.infrastructure.links.Link;
 import com.defapsim.infrastructure.links.LinkConfiguration;
+import com.defapsim.infrastructure.routing.RouteCache;
 import com.defapsim.misc.distributions.IntervalDistribution;
 import com.defapsim.misc.xlscreator.XLSExporter;
 import org.apache.poi.ss.usermodel.Workbook;
 
 import java.util.LinkedList;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
 import java.util.stream.Collectors;
 
 /**
@@ -53,6 +55,16 @@ public class InfrastructureGenerator {
     private Workbook evaluation_workbook;
     private Integer relativeDistance = 0;
 
+    /**
+     * The executor on which the routes of the generated infrastructure are resolved ( null to resolve them sequentially )
+     */
+    private ExecutorService routeResolutionExecutor;
+
+    /**
+     * The persistent cache from which the routes of the generated infrastructure are loaded ( null to always resolve them )
+     */
+    private RouteCache routeCache;
+
     public List<Device> getOldDevices() {
         return oldDevices;
     }
@@ -144,6 +156,16 @@ public class InfrastructureGenerator {
         return this;
     }
 
+    public InfrastructureGenerator withRouteResolutionExecutor(ExecutorService routeResolutionExecutor) {
+        this.routeResolutionExecutor = routeResolutionExecutor;
+        return this;
+    }
+
+    public InfrastructureGenerator withRouteCache(RouteCache routeCache) {
+        this.routeCache = routeCache;
+        return this;
+    }
+
     private Infrastructure infrastructure;
 
     private ApplicationHostDevice cloud;
@@ -205,7 +227,7 @@ public class InfrastructureGenerator {
         this.boxID = 1;
         this.popID = 1;
 
-        this.infrastructure = new Infrastructure();
+        this.infrastructure = new Infrastructure().withRouteResolutionExecutor(this.routeResolutionExecutor).withRouteCache(this.routeCache);
         this.deviceConfiguration = new DeviceConfiguration().withInfrastructure(infrastructure);
 
         this.intervalDistributionMemoryCapacity = new IntervalDistribution(this.minimumMemory.doubleValue() / 2, this.maximumMemory.doubleValue() / 2  + 1, this.seed);
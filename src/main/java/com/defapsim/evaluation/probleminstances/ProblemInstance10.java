@@ -5,9 +5,11 @@ import com.defapsim.evaluation.Evaluation;
 import com.defapsim.evaluation.problemInstancegenerator.ApplicationGenerator;
 import com.defapsim.evaluation.problemInstancegenerator.InfrastructureGenerator;
 import com.defapsim.infrastructure.Infrastructure;
+import com.defapsim.infrastructure.routing.RouteCache;
 import com.defapsim.misc.xlscreator.XLSExporter;
 import com.defapsim.policies.domain.DomainPolicy;
 import com.defapsim.policies.domain.GlobalDomainPolicy;
+import com.defapsim.policies.domain.HopDomainIndex;
 import com.defapsim.policies.domain.HopDomainPolicy;
 import com.defapsim.policies.initialplacement.InitialPlacementPolicy;
 import com.defapsim.policies.initialplacement.RandomInitialPlacementPolicy;
@@ -24,10 +26,11 @@ import java.util.List;
 public class ProblemInstance10 {
 
     public static void main(String[] args) {
-        runProblemInstance10(1234, 1.F, new XSSFWorkbook(), 0);
+        runProblemInstance10(1234, 1.F, new XSSFWorkbook(), 0, null);
     }
 
-    public static void runProblemInstance10(Integer seed, Float withWorstCaseExcecutionTimeMultiplier, Workbook evaluation_workbook, Integer relativeDistance) {
+    public static void runProblemInstance10(Integer seed, Float withWorstCaseExcecutionTimeMultiplier, Workbook evaluation_workbook, Integer relativeDistance,
+                                            RouteCache routeCache) {
         InfrastructureGenerator infrastructureGenerator = new InfrastructureGenerator()
                 .withMinimumMemory(4.F).withMaximumMemory(16.F)
                 .withMinimumComputingPower(2.F).withMaximumComputingPower(10.F)
@@ -37,11 +40,12 @@ public class ProblemInstance10 {
                 .withMinimumBoxPoPLatency(1.F).withMaximumBoxPoPLatency(20.F)
                 .withMinimumBoxEndDevicesLatency(1.F).withMaximumBoxEndDevicesLatency(2.F)
                 .withSeed(seed).withEvaluationWorkbook(evaluation_workbook)
-                .withRelativeDistance(relativeDistance);
+                .withRelativeDistance(relativeDistance).withRouteCache(routeCache);
 
         InitialPlacementPolicy initialPlacementPolicy = new RandomInitialPlacementPolicy().withSeed(seed);
 
         Infrastructure infrastructure = infrastructureGenerator.createPhase1(9,true);
+        HopDomainIndex hopDomainIndex = new HopDomainIndex(infrastructure, 3, true);
         Application application = new ApplicationGenerator()
                 .withWorstCaseExcecutionTimeMultiplier(withWorstCaseExcecutionTimeMultiplier)
                 .withEvaluationWorkbook(evaluation_workbook)
@@ -75,7 +79,7 @@ public class ProblemInstance10 {
 
 
         // SIMULATION OF THE FogDecAp ALGORITHM 1 HOP DOMAIN
-        DomainPolicy domainPolicy = new HopDomainPolicy().withHops(1);
+        DomainPolicy domainPolicy = new HopDomainPolicy().withHops(1).withHopDomainIndex(hopDomainIndex);
         infrastructure.resetInfrastructure();
         Evaluation evaluationFogDecApAlgorithm1HopDomainPolicy = new Evaluation().withAlgorithmName("FogDecAp 1-Hop DP");
         Simulation fogDecApSimulation1 = new FogDecApSimulation()
@@ -89,7 +93,7 @@ public class ProblemInstance10 {
         fogDecApSimulation1.startSimulation();
 
         // SIMULATION OF THE FogDecAp ALGORITHM 2 HOP DOMAIN
-        domainPolicy = new HopDomainPolicy().withHops(2);
+        domainPolicy = new HopDomainPolicy().withHops(2).withHopDomainIndex(hopDomainIndex);
         infrastructure.resetInfrastructure();
         Evaluation evaluationFogDecApAlgorithm2HopDomainPolicy = new Evaluation().withAlgorithmName("FogDecAp 2-Hop DP");
         Simulation fogDecApSimulation2 = new FogDecApSimulation()
@@ -103,7 +107,7 @@ public class ProblemInstance10 {
         fogDecApSimulation2.startSimulation();
 
         // SIMULATION OF THE FogDecAp ALGORITHM 3 HOP DOMAIN
-        domainPolicy = new HopDomainPolicy().withHops(3);
+        domainPolicy = new HopDomainPolicy().withHops(3).withHopDomainIndex(hopDomainIndex);
         infrastructure.resetInfrastructure();
         Evaluation evaluationFogDecApAlgorithm3HopDomainPolicy = new Evaluation().withAlgorithmName("FogDecAp 3-Hop DP");
         Simulation fogDecApSimulation3 = new FogDecApSimulation()
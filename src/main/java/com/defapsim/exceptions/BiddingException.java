@@ -0,0 +1,12 @@
+package com.defapsim.exceptions;
+
+public class BiddingException extends RuntimeException {
+
+    public BiddingException(String message) {
+        super(message);
+    }
+
+    public BiddingException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
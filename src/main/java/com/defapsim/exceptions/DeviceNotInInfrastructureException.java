@@ -0,0 +1,8 @@
+package com.defapsim.exceptions;
+
+public class DeviceNotInInfrastructureException extends RuntimeException {
+
+    public DeviceNotInInfrastructureException(String message) {
+        super(message);
+    }
+}
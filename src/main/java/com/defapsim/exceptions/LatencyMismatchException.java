@@ -0,0 +1,8 @@
+package com.defapsim.exceptions;
+
+public class LatencyMismatchException extends RuntimeException {
+
+    public LatencyMismatchException(String message) {
+        super(message);
+    }
+}
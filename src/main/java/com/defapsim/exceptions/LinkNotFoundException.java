@@ -0,0 +1,8 @@
+package com.defapsim.exceptions;
+
+public class LinkNotFoundException extends RuntimeException {
+
+    public LinkNotFoundException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,8 @@
+package com.defapsim.exceptions;
+
+public class RouteNotFoundException extends RuntimeException {
+
+    public RouteNotFoundException(String message) {
+        super(message);
+    }
+}
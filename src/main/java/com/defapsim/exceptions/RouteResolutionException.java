@@ -0,0 +1,12 @@
+package com.defapsim.exceptions;
+
+public class RouteResolutionException extends RuntimeException {
+
+    public RouteResolutionException(String message) {
+        super(message);
+    }
+
+    public RouteResolutionException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
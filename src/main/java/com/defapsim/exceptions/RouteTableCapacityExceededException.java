@@ -0,0 +1,8 @@
+package com.defapsim.exceptions;
+
+public class RouteTableCapacityExceededException extends RuntimeException {
+
+    public RouteTableCapacityExceededException(String message) {
+        super(message);
+    }
+}
@@ -1,12 +1,32 @@
 package com.defapsim.infrastructure;
 
+import com.defapsim.algorithms.decentral.IncrementalRouteSolver;
+import com.defapsim.algorithms.decentral.RouteSolverType;
 import com.defapsim.application.Component;
 import com.defapsim.exceptions.AlreadyInDomainException;
+import com.defapsim.exceptions.DeviceNotInInfrastructureException;
+import com.defapsim.exceptions.LinkNotFoundException;
+import com.defapsim.exceptions.RouteResolutionException;
 import com.defapsim.infrastructure.devices.ApplicationHostDevice;
 import com.defapsim.infrastructure.devices.Device;
+import com.defapsim.infrastructure.links.Link;
+import com.defapsim.infrastructure.links.LinkConfiguration;
+import com.defapsim.infrastructure.routing.ListRouteTable;
+import com.defapsim.infrastructure.routing.MatrixRouteTable;
+import com.defapsim.infrastructure.routing.RouteCache;
+import com.defapsim.infrastructure.routing.RouteTable;
+import com.defapsim.infrastructure.routing.ShortestPathTree;
+import com.defapsim.policies.domain.DomainPolicy;
 
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
 
 /**
  * All devices must be associated with an infrastructure.
@@ -25,6 +45,54 @@ public class Infrastructure {
      */
     private List<Device> devices = new ArrayList<>();
 
+    /**
+     * The route solver which is used by the devices to resolve their routes.
+     * The DijkstraRouteSolver resolves the shortest routes. The original RouteSolver does not find all shortest routes in
+     * meshed topologies ( e.g. the PoPs of phase 3 ), so the results of such infrastructures differ from the results
+     * obtained with the original RouteSolver, which are reproduced with RouteSolverType.RECURSIVE.
+     */
+    private RouteSolverType routeSolverType = RouteSolverType.DIJKSTRA;
+
+    /**
+     * The table in which the resolved routes of all devices are stored.
+     */
+    private RouteTable routeTable = new MatrixRouteTable();
+
+    /**
+     * The ordinal which is assigned to the next device added to the infrastructure.
+     */
+    private int nextOrdinal = 0;
+
+    /**
+     * The devices of the infrastructure indexed by their ordinal (null for removed devices).
+     */
+    private List<Device> devicesByOrdinal = new ArrayList<>();
+
+    /**
+     * The executor on which the routes of the devices are resolved in parallel (null to resolve them sequentially).
+     */
+    private ExecutorService routeResolutionExecutor = null;
+
+    /**
+     * The time in milliseconds it took to resolve the routes of each device during the last call of resolveRoutes().
+     */
+    private Map<Device, Float> routeResolutionTimes = new LinkedHashMap<>();
+
+    /**
+     * Specifies whether the routes have been resolved, so that they have to be repaired when the topology changes.
+     */
+    private boolean routesResolved = false;
+
+    /**
+     * The domain policy that was applied to the infrastructure (null if the domains have not been created).
+     */
+    private DomainPolicy domainPolicy = null;
+
+    /**
+     * The persistent cache from which resolveRoutes() loads the routes of a known topology (null to always resolve them).
+     */
+    private RouteCache routeCache = null;
+
     /**
      * Default constructor.
      */
@@ -52,7 +120,99 @@ public class Infrastructure {
     }
 
     /**
-     * Add a device to the infrastructure.
+     * Get the device with the given ordinal.
+     * @param ordinal   The ordinal of the device
+     * @return          The device or null if no device with the ordinal is in the infrastructure
+     */
+    public Device getDeviceByOrdinal(int ordinal) {
+        if(ordinal < 0 || ordinal >= this.devicesByOrdinal.size()) return null;
+        return this.devicesByOrdinal.get(ordinal);
+    }
+
+    /**
+     * @return      The number of ordinals assigned so far, i.e. the highest ordinal of a device + 1
+     */
+    public int getOrdinalCount() {
+        return this.nextOrdinal;
+    }
+
+    public RouteTable getRouteTable() {
+        return this.routeTable;
+    }
+
+    public DomainPolicy getDomainPolicy() {
+        return this.domainPolicy;
+    }
+
+    public ExecutorService getRouteResolutionExecutor() {
+        return this.routeResolutionExecutor;
+    }
+
+    public Map<Device, Float> getRouteResolutionTimes() {
+        return this.routeResolutionTimes;
+    }
+
+    public RouteCache getRouteCache() {
+        return this.routeCache;
+    }
+
+    public RouteSolverType getRouteSolverType() {
+        return this.routeSolverType;
+    }
+
+    /**
+     * Set the route solver which is used by the devices to resolve their routes.
+     * The routes of the original RouteSolver are stored with their hops, so the route table is replaced by a ListRouteTable
+     * if RECURSIVE is set. Another table can be set afterwards, but it rejects routes that don't form a shortest path tree.
+     * @param routeSolverType   The route solver type ( RECURSIVE to use the original RouteSolver )
+     */
+    public Infrastructure withRouteSolverType(RouteSolverType routeSolverType) {
+        this.routeSolverType = routeSolverType;
+        if(routeSolverType == RouteSolverType.RECURSIVE && !this.routeTable.storesHops())
+            this.withRouteTable(new ListRouteTable());
+        return this;
+    }
+
+    /**
+     * Set the executor on which the routes of the devices are resolved in parallel.
+     * @param routeResolutionExecutor   The executor ( null to resolve the routes sequentially )
+     */
+    public Infrastructure withRouteResolutionExecutor(ExecutorService routeResolutionExecutor) {
+        this.routeResolutionExecutor = routeResolutionExecutor;
+        return this;
+    }
+
+    /**
+     * Resolve the routes of the devices in parallel on the common ForkJoinPool or sequentially.
+     * @param parallel      specifies whether the routes are to be resolved in parallel
+     */
+    public Infrastructure withParallelRouteResolution(boolean parallel) {
+        this.routeResolutionExecutor = parallel ? ForkJoinPool.commonPool() : null;
+        return this;
+    }
+
+    /**
+     * Set the persistent cache from which resolveRoutes() loads the routes of a known topology.
+     * @param routeCache        The route cache ( null to always resolve the routes )
+     */
+    public Infrastructure withRouteCache(RouteCache routeCache) {
+        this.routeCache = routeCache;
+        return this;
+    }
+
+    /**
+     * Set the table in which the resolved routes are stored ( e.g. HashRouteTable, MatrixRouteTable, OffHeapRouteTable or LazyRouteTable ).
+     * The routes have to be resolved again after the table was replaced.
+     * @param routeTable        The route table
+     */
+    public Infrastructure withRouteTable(RouteTable routeTable) {
+        this.routeTable = routeTable;
+        this.routesResolved = false;
+        return this;
+    }
+
+    /**
+     * Add a device to the infrastructure. The device receives the next free ordinal.
      * @param device    The device to be added to the infrastructure
      * @throws AlreadyInDomainException if the device is already in the infrastructure
      * @throws NullPointerException    if the device is null
@@ -60,15 +220,169 @@ public class Infrastructure {
     public Infrastructure addDevice(Device device) {
         if(device == null) throw new NullPointerException("Can't add a Null Device to domain " + this.identifier + ".");
         if(this.devices.contains(device)) throw new AlreadyInDomainException("Can't add " + device.getIdentifier() + " to infrastructure " + this.identifier + " because it is already in the infrastructure.");
+        device.setOrdinal(this.nextOrdinal++);
         this.devices.add(device);
+        this.devicesByOrdinal.add(device);
+        if(this.domainPolicy != null) this.domainPolicy.updateDomain(this, List.of(device));
+        return this;
+    }
+
+    /**
+     * Remove a device and all links from and to the device from the infrastructure.
+     * The routes and domains of the remaining devices are repaired.
+     * @param device    The device to be removed from the infrastructure
+     * @throws DeviceNotInInfrastructureException   if the device is not in the infrastructure
+     */
+    public Infrastructure removeDevice(Device device) {
+        if(!this.devices.contains(device)) throw new DeviceNotInInfrastructureException("Can't remove " + device.getIdentifier() + " from infrastructure " + this.identifier + " because it is not in the infrastructure.");
+
+        List<Device> changedDevices = new ArrayList<>(device.getLinkingDevices());
+        changedDevices.add(device);
+        List<Link> links = new ArrayList<>(device.getLinks());
+
+        for(Device linkingDevice : new ArrayList<>(device.getLinkingDevices())) {
+            linkingDevice.removeLink(linkingDevice.getLinkTo(device));
+        }
+        links.forEach(device::removeLink);
+        this.devices.remove(device);
+        device.getDevicesInDomain().clear();
+
+        if(this.routeTable.isLazy()) {
+            this.routeTable.clear();
+        } else if(this.routesResolved) {
+            if(this.routeSolverType == RouteSolverType.RECURSIVE) {
+                this.routeTable.removeRoutes(device);
+                this.resolveRoutes();
+            } else {
+                new IncrementalRouteSolver(this).deviceRemoved(device, links);
+            }
+        }
+        this.devicesByOrdinal.set(device.getOrdinal(), null);
+        if(this.domainPolicy != null) this.domainPolicy.updateDomain(this, changedDevices);
+        return this;
+    }
+
+    /**
+     * Add an undirected link ( see Link.addUndirected() ) and repair the routes and domains.
+     * @param linkConfiguration         The link configuration, which contains the properties that the link should receive
+     */
+    public Infrastructure addLink(LinkConfiguration linkConfiguration) {
+        Link.addUndirected(linkConfiguration);
+        Device deviceA = linkConfiguration.getDeviceA();
+        Device deviceB = linkConfiguration.getDeviceB();
+        this.linkImproved(deviceA, deviceA.getLinkTo(deviceB));
+        this.linkImproved(deviceB, deviceB.getLinkTo(deviceA));
+        if(this.domainPolicy != null) this.domainPolicy.updateDomain(this, List.of(deviceA, deviceB));
+        return this;
+    }
+
+    /**
+     * Add a directed link ( see Link.addDirected() ) and repair the routes and domains.
+     * @param linkConfiguration         The link configuration, which contains the properties that the link should receive
+     */
+    public Infrastructure addDirectedLink(LinkConfiguration linkConfiguration) {
+        Link.addDirected(linkConfiguration);
+        Device deviceA = linkConfiguration.getDeviceA();
+        this.linkImproved(deviceA, deviceA.getLinkTo(linkConfiguration.getDeviceB()));
+        if(this.domainPolicy != null) this.domainPolicy.updateDomain(this, List.of(deviceA));
+        return this;
+    }
+
+    /**
+     * Remove the links between two devices in both directions and repair the routes and domains.
+     * @param deviceA       The first device
+     * @param deviceB       The second device
+     * @throws LinkNotFoundException    if there is no link between the devices
+     */
+    public Infrastructure removeLink(Device deviceA, Device deviceB) {
+        if(deviceA.getLinkTo(deviceB) == null && deviceB.getLinkTo(deviceA) == null)
+            throw new LinkNotFoundException("No link between " + deviceA.getIdentifier() + " and " + deviceB.getIdentifier() + " found.");
+        if(deviceA.getLinkTo(deviceB) != null) this.removeDirectedLink(deviceA, deviceB);
+        if(deviceB.getLinkTo(deviceA) != null) this.removeDirectedLink(deviceB, deviceA);
+        return this;
+    }
+
+    /**
+     * Remove the link from one device to another and repair the routes and domains.
+     * @param from      The device from which the link starts
+     * @param to        The device to which the link leads
+     * @throws LinkNotFoundException    if there is no link from the device "from" to the device "to"
+     */
+    public Infrastructure removeDirectedLink(Device from, Device to) {
+        Link link = this.getLink(from, to);
+        from.removeLink(link);
+        this.linkDeteriorated(from, link);
+        if(this.domainPolicy != null) this.domainPolicy.updateDomain(this, List.of(from));
+        return this;
+    }
+
+    /**
+     * Change the latency of the link from one device to another and repair the routes.
+     * @param from      The device from which the link starts
+     * @param to        The device to which the link leads
+     * @param latency   The new latency of the link
+     * @throws LinkNotFoundException    if there is no link from the device "from" to the device "to"
+     */
+    public Infrastructure changeLinkLatency(Device from, Device to, Float latency) {
+        Link link = this.getLink(from, to);
+        int comparison = Float.compare(latency, link.getLatency());
+        link.setLatency(latency);
+        if(comparison < 0) {
+            this.linkImproved(from, link);
+        } else if(comparison > 0) {
+            this.linkDeteriorated(from, link);
+        }
         return this;
     }
 
+    /**
+     * Apply a domain policy to the infrastructure. The policy is used to update the domains when the topology changes.
+     * @param domainPolicy      The domain policy
+     */
+    public Infrastructure applyDomainPolicy(DomainPolicy domainPolicy) {
+        this.domainPolicy = domainPolicy;
+        domainPolicy.createDomain(this);
+        return this;
+    }
+
+    private Link getLink(Device from, Device to) {
+        Link link = from.getLinkTo(to);
+        if(link == null) throw new LinkNotFoundException("No link from " + from.getIdentifier() + " to " + to.getIdentifier() + " found.");
+        return link;
+    }
+
+    private void linkImproved(Device from, Link link) {
+        if(this.routeTable.isLazy()) {
+            this.routeTable.clear();
+            return;
+        }
+        if(!this.routesResolved) return;
+        if(this.routeSolverType == RouteSolverType.RECURSIVE) {
+            this.resolveRoutes();
+        } else {
+            new IncrementalRouteSolver(this).linkImproved(from, link);
+        }
+    }
+
+    private void linkDeteriorated(Device from, Link link) {
+        if(this.routeTable.isLazy()) {
+            this.routeTable.clear();
+            return;
+        }
+        if(!this.routesResolved) return;
+        if(this.routeSolverType == RouteSolverType.RECURSIVE) {
+            this.resolveRoutes();
+        } else {
+            new IncrementalRouteSolver(this).linkDeteriorated(from, link);
+        }
+    }
+
     /**
      * Remove all components placed on the infrastructure devices
      * Remove the devices in the domain for each device
      */
     public Infrastructure resetInfrastructure() {
+        this.domainPolicy = null;
         for(Device device : this.devices) {
             device.getDevicesInDomain().clear();
             if(device instanceof ApplicationHostDevice) {
@@ -82,10 +396,78 @@ public class Infrastructure {
     }
 
     /**
-     * Resolves all routes of the devices within the infrastructure
+     * Resolves all routes of the devices within the infrastructure.
+     * If the route table is lazy ( see LazyRouteTable ), no routes are computed here and the table is only cleared.
+     * If a route resolution executor is set, the routes of the devices are computed in parallel. They are stored in the
+     * route table in the order of the devices afterwards, so the result is identical to the sequential resolution.
+     * The time needed for each device is recorded ( see getRouteResolutionTimes() ).
+     * If a route cache is set and it contains the routes of the current topology, the routes are loaded instead of being
+     * resolved ( no times are recorded then ). Otherwise the resolved routes are stored in the cache. The cache only keeps
+     * the predecessors of the routes, so it is not used for a table that stores the hops of the routes ( see ListRouteTable ).
+     * @throws RouteResolutionException     if the parallel resolution was interrupted or failed
      */
     public void resolveRoutes() {
-        this.devices.forEach(Device::solveRoutes);
+        this.routesResolved = true;
+
+        if(this.routeTable.isLazy()) {
+            this.routeTable.clear();
+            this.routeResolutionTimes = new LinkedHashMap<>();
+            return;
+        }
+
+        RouteCache routeCache = this.routeTable.storesHops() ? null : this.routeCache;
+        if(routeCache != null && routeCache.load(this)) {
+            this.routeResolutionTimes = new LinkedHashMap<>();
+            return;
+        }
+
+        this.routeResolutionTimes = this.routeResolutionExecutor == null ? this.resolveRoutesSequentially() : this.resolveRoutesInParallel();
+        if(routeCache != null) routeCache.store(this);
+    }
+
+    private Map<Device, Float> resolveRoutesSequentially() {
+        Map<Device, Float> routeResolutionTimes = new LinkedHashMap<>();
+        for(Device device : this.devices) {
+            long start = System.nanoTime();
+            device.solveRoutes();
+            routeResolutionTimes.put(device, (System.nanoTime() - start) / 1000000.F);
+        }
+        return routeResolutionTimes;
+    }
+
+    private Map<Device, Float> resolveRoutesInParallel() {
+        float[] times = new float[this.devices.size()];
+        List<Callable<ShortestPathTree>> tasks = new ArrayList<>(this.devices.size());
+        for(int i = 0; i < this.devices.size(); i++) {
+            final int index = i;
+            final Device device = this.devices.get(i);
+            tasks.add(() -> {
+                long start = System.nanoTime();
+                ShortestPathTree tree = device.computeShortestPathTree();
+                times[index] = (System.nanoTime() - start) / 1000000.F;
+                return tree;
+            });
+        }
+
+        List<Future<ShortestPathTree>> futures;
+        try {
+            futures = this.routeResolutionExecutor.invokeAll(tasks);
+            for(int i = 0; i < this.devices.size(); i++) {
+                this.routeTable.putTree(futures.get(i).get().requireStorableIn(this.routeTable));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RouteResolutionException("The route resolution of infrastructure " + this.identifier + " was interrupted.", e);
+        } catch (ExecutionException e) {
+            if(e.getCause() instanceof RuntimeException) throw (RuntimeException) e.getCause();
+            throw new RouteResolutionException("The route resolution of infrastructure " + this.identifier + " failed.", e.getCause());
+        }
+
+        Map<Device, Float> routeResolutionTimes = new LinkedHashMap<>();
+        for(int i = 0; i < this.devices.size(); i++) {
+            routeResolutionTimes.put(this.devices.get(i), times[i]);
+        }
+        return routeResolutionTimes;
     }
 
 }
@@ -3,7 +3,6 @@ package com.defapsim.infrastructure.devices;
 import com.defapsim.application.Component;
 import com.defapsim.exceptions.HostUnsuitableException;
 
-import java.util.LinkedList;
 import java.util.List;
 /**
  *
@@ -13,11 +12,11 @@ import java.util.List;
 public abstract class ApplicationHostDevice extends Device {
 
     /**
-     * The list of all components placed on the device.
+     * The list of all components placed on the device ( see HostedComponents ).
      */
-    private List<Component> components = new LinkedList<>();
+    private final HostedComponents components = new HostedComponents();
 
-    public List<Component> getComponents() {
+    public HostedComponents getComponents() {
         return components;
     }
 
@@ -26,7 +25,9 @@ public abstract class ApplicationHostDevice extends Device {
      * @return                  free memory
      */
     public Float getFreeMemory() {
-        return this.components.stream().map(Component::getMemoryDemand).reduce(this.getMemory(), (a, b) -> a - b);
+        float freeMemory = this.getMemory();
+        for(Component component : this.components) freeMemory -= component.getMemoryDemand();
+        return freeMemory;
     }
 
     /**
@@ -34,7 +35,9 @@ public abstract class ApplicationHostDevice extends Device {
      * @return                  free storage
      */
     public Float getFreeStorage() {
-        return this.components.stream().map(Component::getStorageDemand).reduce(this.getStorage(), (a,b) -> a - b);
+        float freeStorage = this.getStorage();
+        for(Component component : this.components) freeStorage -= component.getStorageDemand();
+        return freeStorage;
     }
 
     /**
@@ -42,7 +45,9 @@ public abstract class ApplicationHostDevice extends Device {
      * @return                  available computing power
      */
     public Float getFreeComputingPower() {
-        return this.components.stream().map(Component::getComputingPowerDemand).reduce(this.getComputingPower(), (a, b) -> a - b);
+        float freeComputingPower = this.getComputingPower();
+        for(Component component : this.components) freeComputingPower -= component.getComputingPowerDemand();
+        return freeComputingPower;
     }
 
     /**
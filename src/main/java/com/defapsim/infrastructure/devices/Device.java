@@ -1,16 +1,19 @@
 package com.defapsim.infrastructure.devices;
 
 import com.defapsim.algorithms.PlacementAlgorithm;
+import com.defapsim.algorithms.decentral.DijkstraRouteSolver;
 import com.defapsim.algorithms.decentral.RouteSolver;
+import com.defapsim.algorithms.decentral.RouteSolverType;
 import com.defapsim.exceptions.AlreadyInDomainException;
+import com.defapsim.exceptions.RouteNotFoundException;
 import com.defapsim.infrastructure.Infrastructure;
 import com.defapsim.infrastructure.links.Link;
 import com.defapsim.infrastructure.links.Route;
+import com.defapsim.infrastructure.routing.ShortestPathTree;
 
-import java.util.ArrayList;
+import java.util.Collections;
 import java.util.LinkedList;
 import java.util.List;
-import java.util.stream.Collectors;
 
 /**
  * The abstract class Device specifies the properties common to all devices within the infrastructure.
@@ -27,6 +30,12 @@ public abstract class Device {
      */
     private Infrastructure infrastructure;
 
+    /**
+     * The ordinal of the device within its infrastructure (-1 if the device has not been added to an infrastructure).
+     * It is used by the RouteTable of the infrastructure to index the routes.
+     */
+    private int ordinal = -1;
+
     /**
      * ram is specified as a positive floating point value.
      */
@@ -48,19 +57,19 @@ public abstract class Device {
     private Float processingSpeed = 0.F;
 
     /**
-     * The routes to the other devices in the network (if they can be reached by a link).
+     * The links to the connected devices
      */
-    private List<Route> routes = new LinkedList<>();
+    private List<Link> links = new LinkedList<>();
 
     /**
-     * The links to the connected devices
+     * The devices which have a link to this device
      */
-    private List<Link> links = new LinkedList<>();
+    private List<Device> linkingDevices = new LinkedList<>();
 
     /**
-     * List of all devices that are in the domain
+     * The devices that are in the domain
      */
-    private List<Device> domainDevices = new ArrayList<>();
+    private final Domain domainDevices = new Domain(this);
 
     /**
      * Getter
@@ -74,6 +83,10 @@ public abstract class Device {
         return this.infrastructure;
     }
 
+    public int getOrdinal() {
+        return this.ordinal;
+    }
+
     public Float getMemory() {
         return this.memory;
     }
@@ -90,15 +103,24 @@ public abstract class Device {
         return processingSpeed;
     }
 
+    /**
+     * Get the routes to the other devices in the network (if they can be reached by a link).
+     * The routes are stored in the RouteTable of the infrastructure, a device without an infrastructure has no routes.
+     */
     public List<Route> getRoutes() {
-        return this.routes;
+        if(this.infrastructure == null) return Collections.emptyList();
+        return this.infrastructure.getRouteTable().getRoutes(this);
     }
 
     public List<Link> getLinks() {
         return links;
     }
 
-    public List<Device> getDevicesInDomain() {
+    public List<Device> getLinkingDevices() {
+        return this.linkingDevices;
+    }
+
+    public Domain getDevicesInDomain() {
         return this.domainDevices;
     }
 
@@ -114,6 +136,10 @@ public abstract class Device {
         this.infrastructure = infrastructure;
     }
 
+    public void setOrdinal(int ordinal) {
+        this.ordinal = ordinal;
+    }
+
     public void setMemory(Float memory) {
         this.memory = memory;
     }
@@ -137,6 +163,37 @@ public abstract class Device {
 
     public void addLink(Link e) {
         this.links.add(e);
+        e.getTarget().linkingDevices.add(this);
+    }
+
+    public void removeLink(Link e) {
+        if(this.links.remove(e)) e.getTarget().linkingDevices.remove(this);
+    }
+
+    /**
+     * Get the link to the target device
+     * @param device        The target device
+     * @return              The link to the target device or null if there is no such link
+     */
+    public Link getLinkTo(Device device) {
+        for(Link link : this.links) {
+            if(link.getTarget() == device) return link;
+        }
+        return null;
+    }
+
+    /**
+     * Get the link with the lowest latency to the target device, i.e. the link a best route takes if there are parallel
+     * links to the target device
+     * @param device        The target device
+     * @return              The fastest link to the target device or null if there is no such link
+     */
+    public Link getFastestLinkTo(Device device) {
+        Link fastest = null;
+        for(Link link : this.links) {
+            if(link.getTarget() == device && (fastest == null || Float.compare(link.getLatency(), fastest.getLatency()) < 0)) fastest = link;
+        }
+        return fastest;
     }
 
     public void addDeviceToDomain(Device device) {
@@ -152,11 +209,26 @@ public abstract class Device {
     }
 
     /**
-     * Run the RouteSolver to resolve all best routes to reachable nodes within the infrastructure
+     * Resolve all best routes to reachable nodes within the infrastructure.
+     * By default the DijkstraRouteSolver is used, the original RouteSolver can be selected via the RouteSolverType
+     * of the infrastructure. The routes are stored in the RouteTable of the infrastructure.
      */
     public void solveRoutes() {
-        RouteSolver routeSolver = new RouteSolver(this);
-        this.routes = routeSolver.getRoutes();
+        this.infrastructure.getRouteTable().putTree(this.computeShortestPathTree().requireStorableIn(this.infrastructure.getRouteTable()));
+    }
+
+    /**
+     * Resolve all best routes to reachable nodes within the infrastructure without storing them.
+     * Only the links of the devices are read, so the routes of several devices can be computed concurrently.
+     * The routes of the original RouteSolver are kept in the tree, as they don't form a shortest path tree in meshed
+     * topologies ( see ShortestPathTree.fromRoutes() ).
+     * @return      The shortest path tree of the best routes to all reachable devices
+     */
+    public ShortestPathTree computeShortestPathTree() {
+        if(this.infrastructure.getRouteSolverType() == RouteSolverType.RECURSIVE) {
+            return ShortestPathTree.fromRoutes(this, new RouteSolver(this).getRoutes());
+        }
+        return new DijkstraRouteSolver(this).getShortestPathTree();
     }
 
     /**
@@ -173,9 +245,40 @@ public abstract class Device {
      * Find the best route to the target device
      * @param device        The target device
      * @return               Best route to target device
+     * @throws RouteNotFoundException   if the target device can't be reached
      */
     public Route getRouteTo(Device device) {
-        return this.routes.stream().filter(route -> route.getTarget().equals(device)).collect(Collectors.toList()).get(0);
+        Route route = this.infrastructure == null ? null : this.infrastructure.getRouteTable().getRoute(this, device);
+        if(route == null) throw new RouteNotFoundException("No route from " + this.identifier + " to " + device.getIdentifier() + " found.");
+        return route;
+    }
+
+    /**
+     * Get the data transmission latency of the best route to the target device without creating any objects.
+     * @param device        The target device
+     * @return              The latency of the best route to the target device
+     * @throws RouteNotFoundException   if the target device can't be reached
+     */
+    public float getLatencyTo(Device device) {
+        float latency = this.infrastructure == null ? Float.POSITIVE_INFINITY : this.infrastructure.getRouteTable().getLatency(this, device);
+        if(latency == Float.POSITIVE_INFINITY) throw new RouteNotFoundException("No route from " + this.identifier + " to " + device.getIdentifier() + " found.");
+        return latency;
+    }
+
+    /**
+     * Get the first device on the best route to the target device without creating any objects.
+     * @param device        The target device
+     * @return              The next hop on the best route to the target device
+     * @throws RouteNotFoundException   if the target device can't be reached
+     */
+    public Device getNextHopTo(Device device) {
+        Device nextHop = this.infrastructure == null ? null : this.infrastructure.getRouteTable().getNextHop(this, device);
+        if(nextHop == null) throw new RouteNotFoundException("No route from " + this.identifier + " to " + device.getIdentifier() + " found.");
+        return nextHop;
+    }
+
+    public boolean hasRouteTo(Device device) {
+        return this.infrastructure != null && this.infrastructure.getRouteTable().hasRoute(this, device);
     }
 
     public String getDevicesInDomainIdentifier() {
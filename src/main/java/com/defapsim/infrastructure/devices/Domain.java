@@ -0,0 +1,210 @@
+package com.defapsim.infrastructure.devices;
+
+import com.defapsim.infrastructure.Infrastructure;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * The domain of a device, i.e. the devices the device is aware of, in the order in which they were added.
+ * The membership of a device is stored as a bit at its ordinal ( see Device.getOrdinal() ), so contains() is a single bit
+ * probe instead of a search through the list.
+ * A global domain ( see setGlobal() ) contains all devices of the infrastructure except the owner without storing them. It is
+ * a view of the devices of the infrastructure, thus added and removed devices are part of the domain or not automatically.
+ * If a global domain is changed by add() or remove(), its devices are stored explicitly first.
+ */
+public class Domain extends AbstractList<Device> {
+
+    private static final Device[] EMPTY = new Device[0];
+
+    /**
+     * The device whose domain this is
+     */
+    private final Device owner;
+
+    /**
+     * The infrastructure of a global domain (null if the devices of the domain are stored explicitly)
+     */
+    private Infrastructure global = null;
+
+    private Device[] devices = EMPTY;
+
+    private int size = 0;
+
+    /**
+     * The ordinals of the devices in the domain
+     */
+    private final BitSet members = new BitSet();
+
+    /**
+     * The number of devices that had no ordinal when they were added ( they can only be found by a search )
+     */
+    private int devicesWithoutOrdinal = 0;
+
+    /**
+     * Constructor.
+     * @param owner     The device whose domain this is
+     */
+    public Domain(Device owner) {
+        this.owner = owner;
+    }
+
+    /**
+     * Make the domain contain all devices of the infrastructure except the owner.
+     * @param infrastructure    The infrastructure
+     */
+    public void setGlobal(Infrastructure infrastructure) {
+        this.clear();
+        this.global = infrastructure;
+    }
+
+    /**
+     * @return      true if the domain contains all devices of the infrastructure except the owner
+     */
+    public boolean isGlobal() {
+        return this.global != null;
+    }
+
+    @Override
+    public boolean contains(Object object) {
+        if(!(object instanceof Device)) return false;
+        Device device = (Device) object;
+        if(this.global != null) return device != this.owner && this.global.getDeviceByOrdinal(device.getOrdinal()) == device;
+        if(device.getOrdinal() >= 0 && this.members.get(device.getOrdinal())) return true;
+        return this.devicesWithoutOrdinal > 0 && this.indexOf(device) >= 0;
+    }
+
+    @Override
+    public int indexOf(Object object) {
+        if(this.global != null) return super.indexOf(object);
+        for(int i = 0; i < this.size; i++) {
+            if(this.devices[i] == object) return i;
+        }
+        return -1;
+    }
+
+    @Override
+    public int size() {
+        if(this.global == null) return this.size;
+        boolean ownerInInfrastructure = this.global.getDeviceByOrdinal(this.owner.getOrdinal()) == this.owner;
+        return this.global.getDevices().size() - (ownerInInfrastructure ? 1 : 0);
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return this.size() == 0;
+    }
+
+    /**
+     * The devices of a global domain are found by walking the devices of the infrastructure, use iterator() to go through them.
+     */
+    @Override
+    public Device get(int index) {
+        if(this.global != null) {
+            int i = 0;
+            for(Device device : this) {
+                if(i++ == index) return device;
+            }
+            throw new IndexOutOfBoundsException("Index " + index + " is out of bounds for a domain of size " + this.size());
+        }
+        if(index < 0 || index >= this.size) throw new IndexOutOfBoundsException("Index " + index + " is out of bounds for a domain of size " + this.size);
+        return this.devices[index];
+    }
+
+    @Override
+    public Iterator<Device> iterator() {
+        if(this.global == null) return super.iterator();
+        Iterator<Device> devices = this.global.getDevices().iterator();
+        return new Iterator<>() {
+            private Device next = this.advance();
+
+            private Device advance() {
+                while(devices.hasNext()) {
+                    Device device = devices.next();
+                    if(device != owner) return device;
+                }
+                return null;
+            }
+
+            @Override
+            public boolean hasNext() {
+                return this.next != null;
+            }
+
+            @Override
+            public Device next() {
+                if(this.next == null) throw new NoSuchElementException();
+                Device device = this.next;
+                this.next = this.advance();
+                return device;
+            }
+        };
+    }
+
+    @Override
+    public void add(int index, Device device) {
+        if(device == null) throw new NullPointerException("Can't add a Null Device to domain of device " + this.owner.getIdentifier());
+        this.storeExplicitly();
+        if(index < 0 || index > this.size) throw new IndexOutOfBoundsException("Index " + index + " is out of bounds for a domain of size " + this.size);
+        if(this.size == this.devices.length) this.devices = Arrays.copyOf(this.devices, Math.max(8, 2 * this.size));
+        System.arraycopy(this.devices, index, this.devices, index + 1, this.size - index);
+        this.devices[index] = device;
+        this.size++;
+        if(device.getOrdinal() >= 0) this.members.set(device.getOrdinal());
+        else this.devicesWithoutOrdinal++;
+        this.modCount++;
+    }
+
+    @Override
+    public Device remove(int index) {
+        this.storeExplicitly();
+        if(index < 0 || index >= this.size) throw new IndexOutOfBoundsException("Index " + index + " is out of bounds for a domain of size " + this.size);
+        Device device = this.devices[index];
+        System.arraycopy(this.devices, index + 1, this.devices, index, this.size - index - 1);
+        this.devices[--this.size] = null;
+        if(device.getOrdinal() < 0) this.devicesWithoutOrdinal--;
+        else if(this.indexOf(device) < 0) this.members.clear(device.getOrdinal());
+        this.modCount++;
+        return device;
+    }
+
+    @Override
+    public boolean remove(Object object) {
+        if(!this.contains(object)) return false;
+        this.storeExplicitly();
+        int index = this.indexOf(object);
+        if(index < 0) return false;
+        this.remove(index);
+        return true;
+    }
+
+    @Override
+    public void clear() {
+        Arrays.fill(this.devices, 0, this.size, null);
+        this.size = 0;
+        this.members.clear();
+        this.devicesWithoutOrdinal = 0;
+        this.global = null;
+        this.modCount++;
+    }
+
+    /**
+     * Store the devices of a global domain explicitly before it is changed.
+     */
+    private void storeExplicitly() {
+        if(this.global == null) return;
+        List<Device> devices = this.global.getDevices();
+        this.global = null;
+        this.devices = new Device[Math.max(8, devices.size())];
+        for(Device device : devices) {
+            if(device == this.owner) continue;
+            this.devices[this.size++] = device;
+            if(device.getOrdinal() >= 0) this.members.set(device.getOrdinal());
+        }
+        this.modCount++;
+    }
+}
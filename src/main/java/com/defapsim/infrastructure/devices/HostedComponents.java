@@ -0,0 +1,229 @@
+package com.defapsim.infrastructure.devices;
+
+import com.defapsim.application.Component;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.ObjLongConsumer;
+import java.util.function.Predicate;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * The components placed on an ApplicationHostDevice, in the order in which they were placed.
+ * Besides the list, the components are kept in a capacity index, i.e. sorted by their memory demand and sorted by their
+ * computing power demand, so the components that can be traded for another component ( see forEachTradeCandidate() ) are
+ * found by range queries instead of a scan of all components.
+ * The demands of a component must not change while it is placed on the device.
+ */
+public class HostedComponents extends AbstractList<Component> {
+
+    /**
+     * A placed component and its position in the order of placement
+     */
+    private static class Entry {
+        private final Component component;
+        private long sequence;
+
+        private Entry(Component component, long sequence) {
+            this.component = component;
+            this.sequence = sequence;
+        }
+    }
+
+    private final List<Entry> entries = new ArrayList<>();
+
+    private final List<Entry> byMemory = new ArrayList<>();
+
+    private final List<Entry> byComputingPower = new ArrayList<>();
+
+    private long nextSequence = 0;
+
+    @Override
+    public Component get(int index) {
+        return this.entries.get(index).component;
+    }
+
+    @Override
+    public int size() {
+        return this.entries.size();
+    }
+
+    @Override
+    public void add(int index, Component component) {
+        Entry entry = new Entry(component, this.nextSequence++);
+        this.entries.add(index, entry);
+        if(index != this.entries.size() - 1) this.renumber();
+        insert(this.byMemory, entry, Component::getMemoryDemand);
+        insert(this.byComputingPower, entry, Component::getComputingPowerDemand);
+        this.modCount++;
+    }
+
+    @Override
+    public Component set(int index, Component component) {
+        Entry old = this.entries.get(index);
+        Entry entry = new Entry(component, old.sequence);
+        this.entries.set(index, entry);
+        delete(this.byMemory, old, Component::getMemoryDemand);
+        delete(this.byComputingPower, old, Component::getComputingPowerDemand);
+        insert(this.byMemory, entry, Component::getMemoryDemand);
+        insert(this.byComputingPower, entry, Component::getComputingPowerDemand);
+        return old.component;
+    }
+
+    @Override
+    public Component remove(int index) {
+        Entry entry = this.entries.remove(index);
+        delete(this.byMemory, entry, Component::getMemoryDemand);
+        delete(this.byComputingPower, entry, Component::getComputingPowerDemand);
+        this.modCount++;
+        return entry.component;
+    }
+
+    @Override
+    public void clear() {
+        this.entries.clear();
+        this.byMemory.clear();
+        this.byComputingPower.clear();
+        this.nextSequence = 0;
+        this.modCount++;
+    }
+
+    /**
+     * Get the components on this device that can be traded for a component of another device ( see forEachTradeCandidate() ).
+     * @return                          The trade candidates in the order in which they were placed
+     */
+    public List<Component> getTradeCandidates(Component component, float freeMemory, float freeComputingPower,
+                                              float otherFreeMemory, float otherFreeComputingPower) {
+        List<Entry> candidates = new ArrayList<>();
+        this.forEachTradeCandidate(component, freeMemory, freeComputingPower, otherFreeMemory, otherFreeComputingPower,
+                (candidate, placementOrder) -> candidates.add(new Entry(candidate, placementOrder)));
+        candidates.sort(Comparator.comparingLong(entry -> entry.sequence));
+
+        List<Component> tradeCandidates = new ArrayList<>(candidates.size());
+        candidates.forEach(entry -> tradeCandidates.add(entry.component));
+        return tradeCandidates;
+    }
+
+    /**
+     * Pass the components on this device that can be traded for a component of another device to an action, i.e. the
+     * components c with
+     *  component.memory <= c.memory + freeMemory and c.memory <= component.memory + otherFreeMemory and
+     *  component.computingPower <= c.computingPower + freeComputingPower and c.computingPower <= component.computingPower + otherFreeComputingPower
+     * The conditions are evaluated exactly like these float expressions. As they are monotone in the demands of c, the
+     * components satisfying the memory ( computing power ) conditions form a range of the components sorted by memory
+     * ( computing power ) demand. Only the smaller range is checked for the remaining conditions.
+     * The trade candidates are passed in the order of their demand together with their placement order, which sorts them
+     * in the order in which they were placed ( see Bid.addTradeCandidate() ). No objects are allocated.
+     * @param component                 The component of the other device
+     * @param freeMemory                The free memory of this device
+     * @param freeComputingPower        The free computing power of this device
+     * @param otherFreeMemory           The free memory of the other device
+     * @param otherFreeComputingPower   The free computing power of the other device
+     * @param action                    The action that receives each trade candidate and its placement order
+     */
+    public void forEachTradeCandidate(Component component, float freeMemory, float freeComputingPower,
+                                      float otherFreeMemory, float otherFreeComputingPower, ObjLongConsumer<Component> action) {
+        float memory = component.getMemoryDemand();
+        float computingPower = component.getComputingPowerDemand();
+        float memoryLimit = memory + otherFreeMemory;
+        float computingPowerLimit = computingPower + otherFreeComputingPower;
+
+        int memoryFrom = firstFitting(this.byMemory, true, memory, freeMemory);
+        int memoryTo = firstAbove(this.byMemory, true, memoryLimit);
+        int computingPowerFrom = firstFitting(this.byComputingPower, false, computingPower, freeComputingPower);
+        int computingPowerTo = firstAbove(this.byComputingPower, false, computingPowerLimit);
+
+        if(memoryTo - memoryFrom <= computingPowerTo - computingPowerFrom) {
+            for(int i = memoryFrom; i < memoryTo; i++) {
+                Entry entry = this.byMemory.get(i);
+                if(fits(entry.component, false, computingPower, freeComputingPower, computingPowerLimit))
+                    action.accept(entry.component, entry.sequence);
+            }
+        } else {
+            for(int i = computingPowerFrom; i < computingPowerTo; i++) {
+                Entry entry = this.byComputingPower.get(i);
+                if(fits(entry.component, true, memory, freeMemory, memoryLimit))
+                    action.accept(entry.component, entry.sequence);
+            }
+        }
+    }
+
+    private static float demand(Component component, boolean isMemory) {
+        return isMemory ? component.getMemoryDemand() : component.getComputingPowerDemand();
+    }
+
+    /**
+     * @return  true if demand <= c.demand + free and c.demand <= limit
+     */
+    private static boolean fits(Component c, boolean isMemory, float demand, float free, float limit) {
+        return Float.compare(demand, demand(c, isMemory) + free) <= 0 && Float.compare(demand(c, isMemory), limit) <= 0;
+    }
+
+    /**
+     * @return  The index of the first entry with demand <= c.demand + free
+     */
+    private static int firstFitting(List<Entry> sorted, boolean isMemory, float demand, float free) {
+        int low = 0;
+        int high = sorted.size();
+        while(low < high) {
+            int middle = (low + high) >>> 1;
+            if(Float.compare(demand, demand(sorted.get(middle).component, isMemory) + free) <= 0) high = middle;
+            else low = middle + 1;
+        }
+        return low;
+    }
+
+    /**
+     * @return  The index of the first entry with c.demand > limit
+     */
+    private static int firstAbove(List<Entry> sorted, boolean isMemory, float limit) {
+        int low = 0;
+        int high = sorted.size();
+        while(low < high) {
+            int middle = (low + high) >>> 1;
+            if(Float.compare(demand(sorted.get(middle).component, isMemory), limit) > 0) high = middle;
+            else low = middle + 1;
+        }
+        return low;
+    }
+
+    /**
+     * The sequence numbers must follow the order of the list, which is only violated by insertions before the end.
+     */
+    private void renumber() {
+        for(int i = 0; i < this.entries.size(); i++) this.entries.get(i).sequence = i;
+        this.nextSequence = this.entries.size();
+    }
+
+    /**
+     * @return  The index of the first entry of the sorted entries that satisfies the predicate, which has to be false
+     *          for a prefix and true for the rest of the entries
+     */
+    private static int firstIndex(List<Entry> sorted, Predicate<Component> predicate) {
+        int low = 0;
+        int high = sorted.size();
+        while(low < high) {
+            int middle = (low + high) >>> 1;
+            if(predicate.test(sorted.get(middle).component)) high = middle;
+            else low = middle + 1;
+        }
+        return low;
+    }
+
+    private static void insert(List<Entry> sorted, Entry entry, ToDoubleFunction<Component> demand) {
+        float value = (float) demand.applyAsDouble(entry.component);
+        sorted.add(firstIndex(sorted, c -> Float.compare((float) demand.applyAsDouble(c), value) > 0), entry);
+    }
+
+    private static void delete(List<Entry> sorted, Entry entry, ToDoubleFunction<Component> demand) {
+        float value = (float) demand.applyAsDouble(entry.component);
+        for(int i = firstIndex(sorted, c -> Float.compare((float) demand.applyAsDouble(c), value) >= 0); i < sorted.size(); i++) {
+            if(sorted.get(i) == entry) {
+                sorted.remove(i);
+                return;
+            }
+        }
+    }
+}
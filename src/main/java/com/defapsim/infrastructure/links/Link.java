@@ -112,4 +112,14 @@ public class Link {
     public Device getTarget() {
         return this.target;
     }
+
+    /**
+     * Setter
+     * The latency of a link within an infrastructure whose routes are resolved should be changed via
+     * Infrastructure.changeLinkLatency(), so that the routes are repaired.
+     */
+
+    public void setLatency(Float latency) {
+        this.latency = latency;
+    }
 }
@@ -1,11 +1,16 @@
 package com.defapsim.infrastructure.links;
 
 import com.defapsim.infrastructure.devices.Device;
+import com.defapsim.infrastructure.routing.RouteTable;
 
+import java.util.LinkedList;
 import java.util.List;
 
 /**
  * A route in the form of network hops from one device to another.
+ * A route is either created with its hops ( e.g. by a route solver ) or it is a view of a route stored in a RouteTable.
+ * The hops of a view are rebuilt from the predecessors in the RouteTable when they are requested and its latency is read
+ * from the RouteTable.
  */
 public class Route {
 
@@ -19,6 +24,16 @@ public class Route {
      */
     private Device target;
 
+    /**
+     * The route table in which the route is stored (null if the route was created with its hops).
+     */
+    private RouteTable routeTable;
+
+    /**
+     * The device from which the route starts (only known for views of a route table).
+     */
+    private Device source;
+
     /**
      * Route constructor.
      * @param target    The target device to which the route leads.
@@ -29,12 +44,39 @@ public class Route {
         this.hops = hops;
     }
 
+    /**
+     * Constructor for a view of a route stored in a route table.
+     * @param routeTable    The route table in which the route is stored
+     * @param source        The device from which the route starts
+     * @param target        The target device to which the route leads
+     */
+    public Route(RouteTable routeTable, Device source, Device target) {
+        this.routeTable = routeTable;
+        this.source = source;
+        this.target = target;
+    }
+
     /**
      * Getter & Setter
      */
 
+    /**
+     * Get the hops of the route. The hops of a view are rebuilt by following the predecessors back to the source device.
+     * @return      The hops of the route
+     */
     public List<Link> getHops() {
-        return this.hops;
+        if(this.hops != null) return this.hops;
+
+        LinkedList<Link> hops = new LinkedList<>();
+        Device current = this.target;
+        Device predecessor = this.routeTable.getPredecessor(this.source, current);
+        while(predecessor != null) {
+            hops.addFirst(predecessor.getFastestLinkTo(current));
+            if(predecessor == this.source) break;
+            current = predecessor;
+            predecessor = this.routeTable.getPredecessor(this.source, current);
+        }
+        return hops;
     }
 
     public Device getTarget() {
@@ -50,6 +92,7 @@ public class Route {
      * @return      The data transmission latency of the route
      */
     public Float getLatency() {
+        if(this.hops == null) return this.routeTable.getLatency(this.source, this.target);
         return this.hops.stream().map(Link::getLatency).reduce(0.f, Float::sum);
     }
 }
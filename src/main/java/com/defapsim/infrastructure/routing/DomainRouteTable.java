@@ -0,0 +1,276 @@
+package com.defapsim.infrastructure.routing;
+
+import com.defapsim.algorithms.decentral.BoundedDijkstraRouteSolver;
+import com.defapsim.application.Application;
+import com.defapsim.application.Component;
+import com.defapsim.application.Connector;
+import com.defapsim.infrastructure.Infrastructure;
+import com.defapsim.infrastructure.devices.Device;
+import com.defapsim.infrastructure.devices.clouddevice.CloudServer;
+import com.defapsim.infrastructure.devices.enddevice.EndDevice;
+import com.defapsim.infrastructure.links.Route;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * RouteTable backend for the decentralized algorithms, in which each device only keeps the routes it actually uses.
+ * The routes of a device are resolved by the BoundedDijkstraRouteSolver until the devices in its domain ( created by the
+ * DomainPolicy of the infrastructure ), the cloud servers ( needed by the LDSPP to find the father of a device ) and the
+ * additionally required targets ( see withRequiredTargets() and withRequiredTargetsOf() ) are resolved.
+ * If a route to another device is queried, the search is repeated until that device is resolved and at least twice as many
+ * devices as before are resolved. The resolved devices are always the first devices resolved by the DijkstraRouteSolver,
+ * so the latencies and predecessors are identical to the ones of the full route resolution.
+ * getRoutes() only returns the routes resolved so far.
+ * The table is lazy ( see RouteTable.isLazy() ), the routes are resolved on the first query and after a topology change.
+ * The table can be queried concurrently. The scopes of different source devices are resolved in parallel, the queries
+ * for the same source device wait for the one resolution of its scope ( see getScope() ).
+ * The topology must not change while the table is queried.
+ */
+public class DomainRouteTable implements RouteTable {
+
+    /**
+     * The resolved routes of a source device. The ordinals of the resolved devices are sorted to be found by a binary search.
+     */
+    private static final class Scope {
+        private final Device source;
+        private final int[] order;
+        private final float[] distances;
+        private final int[] predecessors;
+        private final int[] sortedOrdinals;
+        private final int[] sortedIndices;
+        private final boolean complete;
+
+        private Scope(Device source, int[] order, float[] distances, int[] predecessors, boolean complete) {
+            this.source = source;
+            this.order = order;
+            this.distances = distances;
+            this.predecessors = predecessors;
+            this.complete = complete;
+
+            long[] keys = new long[order.length];
+            for(int i = 0; i < order.length; i++) {
+                keys[i] = ((long) order[i] << 32) | i;
+            }
+            Arrays.sort(keys);
+            this.sortedOrdinals = new int[order.length];
+            this.sortedIndices = new int[order.length];
+            for(int i = 0; i < keys.length; i++) {
+                this.sortedOrdinals[i] = (int) (keys[i] >>> 32);
+                this.sortedIndices[i] = (int) keys[i];
+            }
+        }
+
+        /**
+         * @return      The index of the device in the order of the resolved devices or -1 if it was not resolved
+         */
+        private int indexOf(int ordinal) {
+            int position = Arrays.binarySearch(this.sortedOrdinals, ordinal);
+            return position < 0 ? -1 : this.sortedIndices[position];
+        }
+
+        private boolean answers(Device target) {
+            return this.complete || target == this.source || this.indexOf(target.getOrdinal()) >= 0;
+        }
+    }
+
+    private final Infrastructure infrastructure;
+
+    private final Map<Device, Scope> scopes = new ConcurrentHashMap<>();
+
+    /**
+     * Targets to which every device needs a route ( e.g. the end devices of an application ), guarded by the set itself.
+     */
+    private final Set<Device> requiredTargets = new LinkedHashSet<>();
+
+    /**
+     * The cloud servers of the infrastructure (null if they have to be collected again).
+     */
+    private volatile List<Device> cloudServers = null;
+
+    private final AtomicLong extensions = new AtomicLong();
+
+    /**
+     * Constructor.
+     * @param infrastructure    The infrastructure whose routes are stored in the table
+     */
+    public DomainRouteTable(Infrastructure infrastructure) {
+        this.infrastructure = infrastructure;
+    }
+
+    /**
+     * Add targets to which every device needs a route.
+     * @param requiredTargets   The required targets
+     */
+    public DomainRouteTable withRequiredTargets(Collection<? extends Device> requiredTargets) {
+        synchronized(this.requiredTargets) {
+            this.requiredTargets.addAll(requiredTargets);
+        }
+        return this;
+    }
+
+    /**
+     * Add the end devices, which are connected to the components of an application, as required targets. The hosts of the
+     * components need the routes to these end devices to compute the application latency and the contributions of the
+     * components ( see FogDecApSimulation.prepareSimulation() ).
+     * @param application       The application whose end devices are required
+     */
+    public DomainRouteTable withRequiredTargetsOf(Application application) {
+        List<Device> endDevices = new ArrayList<>();
+        for(Component component : application.getComponents()) {
+            for(Connector connector : component.getConnectors()) {
+                if(connector.getTarget() instanceof EndDevice) endDevices.add((EndDevice) connector.getTarget());
+            }
+        }
+        return this.withRequiredTargets(endDevices);
+    }
+
+    /**
+     * @return      The number of routes currently stored
+     */
+    public long getRouteCount() {
+        long routes = 0;
+        for(Scope scope : this.scopes.values()) {
+            routes += scope.order.length;
+        }
+        return routes;
+    }
+
+    /**
+     * @return      The number of searches that had to be repeated because a route outside the domain was queried
+     */
+    public long getExtensions() {
+        return this.extensions.get();
+    }
+
+    @Override
+    public boolean isLazy() {
+        return true;
+    }
+
+    @Override
+    public void putTree(ShortestPathTree tree) {
+        int[] order = tree.getOrder();
+        float[] distances = new float[order.length];
+        int[] predecessors = new int[order.length];
+        for(int i = 0; i < order.length; i++) {
+            distances[i] = tree.getDistance(order[i]);
+            predecessors[i] = tree.getPredecessor(order[i]);
+        }
+        this.scopes.put(tree.getSource(), new Scope(tree.getSource(), order, distances, predecessors, true));
+    }
+
+    /**
+     * The routes of the source device are resolved again on the next query.
+     */
+    @Override
+    public void putRoute(Device source, Device target, float latency, Device predecessor) {
+        this.scopes.remove(source);
+    }
+
+    /**
+     * The routes of the source device are resolved again on the next query.
+     */
+    @Override
+    public void removeRoute(Device source, Device target) {
+        this.scopes.remove(source);
+    }
+
+    @Override
+    public void removeRoutes(Device source) {
+        this.scopes.remove(source);
+    }
+
+    @Override
+    public List<Route> getRoutes(Device source) {
+        Scope scope = this.getScope(source, null);
+        if(scope == null) return Collections.emptyList();
+        return new AbstractList<>() {
+            @Override
+            public Route get(int index) {
+                return new Route(DomainRouteTable.this, source, infrastructure.getDeviceByOrdinal(scope.order[index]));
+            }
+
+            @Override
+            public int size() {
+                return scope.order.length;
+            }
+        };
+    }
+
+    @Override
+    public float getLatency(Device source, Device target) {
+        Scope scope = this.getScope(source, target);
+        if(scope == null) return Float.POSITIVE_INFINITY;
+        int index = scope.indexOf(target.getOrdinal());
+        return index < 0 ? Float.POSITIVE_INFINITY : scope.distances[index];
+    }
+
+    @Override
+    public Device getPredecessor(Device source, Device target) {
+        Scope scope = this.getScope(source, target);
+        if(scope == null) return null;
+        int index = scope.indexOf(target.getOrdinal());
+        return index < 0 ? null : this.infrastructure.getDeviceByOrdinal(scope.predecessors[index]);
+    }
+
+    @Override
+    public void clear() {
+        this.scopes.clear();
+        this.cloudServers = null;
+    }
+
+    /**
+     * Get the resolved routes of a source device, which contain a route to the target device if it can be reached.
+     * A scope that answers the query is read without a lock. Otherwise the scope is resolved within compute() of the
+     * ConcurrentHashMap, so the queries for the same source device wait for the one resolution and the other source
+     * devices are not blocked.
+     * @param source    The source device
+     * @param target    The target device (null if no specific target is needed)
+     * @return          The scope or null if the source device is not in the infrastructure
+     */
+    private Scope getScope(Device source, Device target) {
+        if(this.infrastructure.getDeviceByOrdinal(source.getOrdinal()) != source) return null;
+        Scope scope = this.scopes.get(source);
+        if(scope != null && (target == null || scope.answers(target))) return scope;
+
+        return this.scopes.compute(source, (device, current) -> {
+            if(current != null && (target == null || current.answers(target))) return current;
+            List<Device> requiredTargets = this.getRequiredTargets(device);
+            if(target != null) requiredTargets.add(target);
+            int minimumResolved = 0;
+            if(current != null) {
+                minimumResolved = 2 * current.order.length;
+                this.extensions.incrementAndGet();
+            }
+            BoundedDijkstraRouteSolver solver = new BoundedDijkstraRouteSolver(device, requiredTargets, minimumResolved);
+            return new Scope(device, solver.getOrder(), solver.getDistances(), solver.getPredecessors(), solver.isComplete());
+        });
+    }
+
+    private List<Device> getRequiredTargets(Device source) {
+        List<Device> cloudServers = this.cloudServers;
+        if(cloudServers == null) {
+            cloudServers = new ArrayList<>();
+            for(Device device : this.infrastructure.getDevices()) {
+                if(device instanceof CloudServer) cloudServers.add(device);
+            }
+            this.cloudServers = cloudServers;
+        }
+        List<Device> requiredTargets = new ArrayList<>(source.getDevicesInDomain());
+        requiredTargets.addAll(cloudServers);
+        synchronized(this.requiredTargets) {
+            requiredTargets.addAll(this.requiredTargets);
+        }
+        return requiredTargets;
+    }
+}
@@ -0,0 +1,121 @@
+package com.defapsim.infrastructure.routing;
+
+import com.defapsim.infrastructure.devices.Device;
+import com.defapsim.infrastructure.links.Route;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * RouteTable backend, which stores the latency and the predecessor of each route in hash maps keyed by the devices.
+ * Only the routes that were actually resolved occupy memory, which suits sparse infrastructures.
+ */
+public class HashRouteTable implements RouteTable {
+
+    /**
+     * The latency and the predecessor of a route.
+     */
+    private static final class Entry {
+        private float latency;
+        private Device predecessor;
+
+        private Entry(float latency, Device predecessor) {
+            this.latency = latency;
+            this.predecessor = predecessor;
+        }
+    }
+
+    /**
+     * The routes of each source device in the order in which they were resolved, or in the order of the target ordinals
+     * after a target was added or removed ( see sortByOrdinal() ).
+     */
+    private final Map<Device, Map<Device, Entry>> entries = new IdentityHashMap<>();
+
+    @Override
+    public void putTree(ShortestPathTree tree) {
+        Device source = tree.getSource();
+        Map<Device, Entry> row = new LinkedHashMap<>();
+        for(int ordinal : tree.getOrder()) {
+            Device target = source.getInfrastructure().getDeviceByOrdinal(ordinal);
+            Device predecessor = source.getInfrastructure().getDeviceByOrdinal(tree.getPredecessor(ordinal));
+            row.put(target, new Entry(tree.getDistance(ordinal), predecessor));
+        }
+        this.entries.put(source, row);
+    }
+
+    @Override
+    public void putRoute(Device source, Device target, float latency, Device predecessor) {
+        Map<Device, Entry> row = this.entries.computeIfAbsent(source, device -> new LinkedHashMap<>());
+        Entry entry = row.get(target);
+        if(entry == null) {
+            row.put(target, new Entry(latency, predecessor));
+            this.entries.put(source, sortByOrdinal(row));
+        } else {
+            entry.latency = latency;
+            entry.predecessor = predecessor;
+        }
+    }
+
+    @Override
+    public void removeRoute(Device source, Device target) {
+        Map<Device, Entry> row = this.entries.get(source);
+        if(row != null && row.remove(target) != null) this.entries.put(source, sortByOrdinal(row));
+    }
+
+    @Override
+    public void removeRoutes(Device source) {
+        this.entries.remove(source);
+    }
+
+    @Override
+    public List<Route> getRoutes(Device source) {
+        Map<Device, Entry> row = this.entries.get(source);
+        if(row == null) return Collections.emptyList();
+
+        List<Route> routes = new ArrayList<>(row.size());
+        for(Device target : row.keySet()) {
+            routes.add(new Route(this, source, target));
+        }
+        return routes;
+    }
+
+    @Override
+    public float getLatency(Device source, Device target) {
+        Entry entry = this.getEntry(source, target);
+        return entry == null ? Float.POSITIVE_INFINITY : entry.latency;
+    }
+
+    @Override
+    public Device getPredecessor(Device source, Device target) {
+        Entry entry = this.getEntry(source, target);
+        return entry == null ? null : entry.predecessor;
+    }
+
+    @Override
+    public void clear() {
+        this.entries.clear();
+    }
+
+    /**
+     * @return      A copy of the row, whose routes are ordered by the ordinals of their target devices
+     */
+    private static Map<Device, Entry> sortByOrdinal(Map<Device, Entry> row) {
+        List<Device> targets = new ArrayList<>(row.keySet());
+        targets.sort(Comparator.comparingInt(Device::getOrdinal));
+        Map<Device, Entry> sorted = new LinkedHashMap<>();
+        for(Device target : targets) {
+            sorted.put(target, row.get(target));
+        }
+        return sorted;
+    }
+
+    private Entry getEntry(Device source, Device target) {
+        Map<Device, Entry> row = this.entries.get(source);
+        return row == null ? null : row.get(target);
+    }
+}
@@ -0,0 +1,367 @@
+package com.defapsim.infrastructure.routing;
+
+import com.defapsim.infrastructure.Infrastructure;
+import com.defapsim.infrastructure.devices.Device;
+import com.defapsim.infrastructure.links.Link;
+import com.defapsim.infrastructure.links.Route;
+import com.defapsim.misc.IndexedMinHeap;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * RouteTable backend for very large infrastructures, which answers point-to-point latency queries from hub labels instead of
+ * storing all routes.
+ * Every device receives an outgoing label (hubs it can reach and their latency) and an incoming label (hubs that can reach it
+ * and their latency). The latency between two devices is the minimum of label_out(source)[h] + label_in(target)[h] over the
+ * common hubs h, which is found by merging two short sorted arrays.
+ * The labels are built by pruned landmark labeling: the devices are processed in the order of descending degree and a pruned
+ * Dijkstra search in both directions adds a device as hub to all labels that can't already answer the latency to it.
+ * The index is built on the first query ( see getBuildTime() and getIndexSize() ) and rebuilt after the topology changed.
+ * The latencies are summed in double precision, so they may differ from the ones of the route solvers in the last bit of
+ * float precision. The predecessor of a target device is a neighbour on a shortest route, so for routes of equal latency
+ * another route than the one of the route solvers may be chosen.
+ */
+public class HubLabelRouteTable implements RouteTable {
+
+    /**
+     * Relative tolerance to compare latencies that were summed in a different order
+     */
+    private static final double EPSILON = 1.E-9;
+
+    private final Infrastructure infrastructure;
+
+    /**
+     * Routes that are stored explicitly ( they are not used to answer queries ).
+     */
+    private final MatrixRouteTable storedRoutes = new MatrixRouteTable();
+
+    private volatile Index index = null;
+
+    /**
+     * Constructor.
+     * @param infrastructure    The infrastructure whose routes are stored in the table
+     */
+    public HubLabelRouteTable(Infrastructure infrastructure) {
+        this.infrastructure = infrastructure;
+    }
+
+    /**
+     * @return      The number of label entries of the index
+     */
+    public long getIndexSize() {
+        return this.getIndex().entries;
+    }
+
+    /**
+     * @return      The approximate memory needed by the labels in bytes ( 12 bytes per entry )
+     */
+    public long getIndexBytes() {
+        return 12L * this.getIndexSize();
+    }
+
+    /**
+     * @return      The average number of entries of the outgoing and incoming label of a device
+     */
+    public double getAverageLabelSize() {
+        Index index = this.getIndex();
+        return index.devices == 0 ? 0. : index.entries / (2. * index.devices);
+    }
+
+    /**
+     * @return      The time in milliseconds it took to build the index
+     */
+    public float getBuildTime() {
+        return this.getIndex().buildTime;
+    }
+
+    /**
+     * @return      A short report of the size and the build time of the index
+     */
+    public String getReport() {
+        return String.format("Hub labels: %d devices, %d entries (%.1f per label, %.1f KB), built in %.2f ms",
+                this.getIndex().devices, this.getIndexSize(), this.getAverageLabelSize(), this.getIndexBytes() / 1024., this.getBuildTime());
+    }
+
+    @Override
+    public boolean isLazy() {
+        return true;
+    }
+
+    @Override
+    public void putTree(ShortestPathTree tree) {
+        this.storedRoutes.putTree(tree);
+    }
+
+    @Override
+    public void putRoute(Device source, Device target, float latency, Device predecessor) {
+        this.storedRoutes.putRoute(source, target, latency, predecessor);
+    }
+
+    @Override
+    public void removeRoute(Device source, Device target) {
+        this.storedRoutes.removeRoute(source, target);
+    }
+
+    @Override
+    public void removeRoutes(Device source) {
+        this.storedRoutes.removeRoutes(source);
+    }
+
+    @Override
+    public List<Route> getRoutes(Device source) {
+        Index index = this.getIndex();
+        if(!index.contains(source.getOrdinal())) return Collections.emptyList();
+
+        int count = 0;
+        int[] targets = new int[index.labelOutHubs.length];
+        for(Device target : this.infrastructure.getDevices()) {
+            if(index.query(source.getOrdinal(), target.getOrdinal()) != Double.POSITIVE_INFINITY) targets[count++] = target.getOrdinal();
+        }
+        Arrays.sort(targets, 0, count);
+        int[] reachable = Arrays.copyOf(targets, count);
+        return new AbstractList<>() {
+            @Override
+            public Route get(int i) {
+                return new Route(HubLabelRouteTable.this, source, infrastructure.getDeviceByOrdinal(reachable[i]));
+            }
+
+            @Override
+            public int size() {
+                return reachable.length;
+            }
+        };
+    }
+
+    @Override
+    public float getLatency(Device source, Device target) {
+        return (float) this.getIndex().query(source.getOrdinal(), target.getOrdinal());
+    }
+
+    @Override
+    public Device getPredecessor(Device source, Device target) {
+        Index index = this.getIndex();
+        double latency = index.query(source.getOrdinal(), target.getOrdinal());
+        if(latency == Double.POSITIVE_INFINITY) return null;
+
+        for(Device predecessor : target.getLinkingDevices()) {
+            double candidate = (predecessor == source ? 0. : index.query(source.getOrdinal(), predecessor.getOrdinal())) + predecessor.getFastestLinkTo(target).getLatency();
+            if(equal(candidate, latency)) return predecessor;
+        }
+        return null;
+    }
+
+    @Override
+    public Device getNextHop(Device source, Device target) {
+        Index index = this.getIndex();
+        double latency = index.query(source.getOrdinal(), target.getOrdinal());
+        if(latency == Double.POSITIVE_INFINITY) return null;
+
+        for(Link link : source.getLinks()) {
+            Device nextHop = link.getTarget();
+            double candidate = link.getLatency() + (nextHop == target ? 0. : index.query(nextHop.getOrdinal(), target.getOrdinal()));
+            if(equal(candidate, latency)) return nextHop;
+        }
+        return null;
+    }
+
+    @Override
+    public synchronized void clear() {
+        this.index = null;
+        this.storedRoutes.clear();
+    }
+
+    private static boolean equal(double a, double b) {
+        return Math.abs(a - b) <= EPSILON * Math.max(1., Math.abs(b));
+    }
+
+    private Index getIndex() {
+        Index index = this.index;
+        if(index != null) return index;
+        synchronized (this) {
+            if(this.index == null) this.index = Index.build(this.infrastructure);
+            return this.index;
+        }
+    }
+
+    /**
+     * The hub labels of all devices, indexed by the device ordinals. The hubs of a label are the ranks of the hub devices
+     * in ascending order.
+     */
+    private static final class Index {
+
+        private final int[][] labelOutHubs;
+        private final double[][] labelOutLatencies;
+        private final int[] labelOutSizes;
+
+        private final int[][] labelInHubs;
+        private final double[][] labelInLatencies;
+        private final int[] labelInSizes;
+
+        private long entries = 0;
+
+        private int devices = 0;
+
+        private float buildTime = 0.F;
+
+        private Index(int size) {
+            this.labelOutHubs = new int[size][];
+            this.labelOutLatencies = new double[size][];
+            this.labelOutSizes = new int[size];
+            this.labelInHubs = new int[size][];
+            this.labelInLatencies = new double[size][];
+            this.labelInSizes = new int[size];
+        }
+
+        private boolean contains(int ordinal) {
+            return ordinal >= 0 && ordinal < this.labelOutHubs.length && this.labelOutHubs[ordinal] != null;
+        }
+
+        /**
+         * Get the latency between two devices by merging the outgoing label of the source and the incoming label of the target.
+         */
+        private double query(int source, int target) {
+            if(source == target || !this.contains(source) || !this.contains(target)) return Double.POSITIVE_INFINITY;
+            int[] outHubs = this.labelOutHubs[source];
+            double[] outLatencies = this.labelOutLatencies[source];
+            int outSize = this.labelOutSizes[source];
+            int[] inHubs = this.labelInHubs[target];
+            double[] inLatencies = this.labelInLatencies[target];
+            int inSize = this.labelInSizes[target];
+
+            double latency = Double.POSITIVE_INFINITY;
+            int i = 0;
+            int j = 0;
+            while(i < outSize && j < inSize) {
+                if(outHubs[i] == inHubs[j]) {
+                    latency = Math.min(latency, outLatencies[i++] + inLatencies[j++]);
+                } else if(outHubs[i] < inHubs[j]) {
+                    i++;
+                } else {
+                    j++;
+                }
+            }
+            return latency;
+        }
+
+        private static Index build(Infrastructure infrastructure) {
+            long start = System.nanoTime();
+            int size = infrastructure.getOrdinalCount();
+            Index index = new Index(size);
+
+            Device[] hubs = infrastructure.getDevices().toArray(new Device[0]);
+            Arrays.sort(hubs, Comparator.comparingInt((Device device) -> -(device.getLinks().size() + device.getLinkingDevices().size()))
+                    .thenComparingInt(Device::getOrdinal));
+            for(Device device : hubs) {
+                int ordinal = device.getOrdinal();
+                index.labelOutHubs[ordinal] = new int[2];
+                index.labelOutLatencies[ordinal] = new double[2];
+                index.labelInHubs[ordinal] = new int[2];
+                index.labelInLatencies[ordinal] = new double[2];
+            }
+            index.devices = hubs.length;
+
+            Workspace workspace = new Workspace(size);
+            for(int rank = 0; rank < hubs.length; rank++) {
+                index.prunedDijkstra(hubs[rank], rank, true, workspace);
+                index.prunedDijkstra(hubs[rank], rank, false, workspace);
+            }
+
+            index.buildTime = (System.nanoTime() - start) / 1000000.F;
+            return index;
+        }
+
+        /**
+         * Run a pruned Dijkstra search from a hub, forward along the links to fill the incoming labels or backward to fill
+         * the outgoing labels. The latencies of the visited devices are reset afterwards, so the workspace can be reused.
+         */
+        private void prunedDijkstra(Device hub, int rank, boolean forward, Workspace workspace) {
+            int h = hub.getOrdinal();
+            double[] latencies = workspace.latencies;
+
+            latencies[h] = 0.;
+            workspace.visited[workspace.visitedCount++] = h;
+            workspace.heap.insertOrDecrease(h, 0.F);
+
+            while(!workspace.heap.isEmpty()) {
+                int v = workspace.heap.poll();
+                double latency = latencies[v];
+
+                // Prune if the current labels already answer the latency between the hub and v
+                double known = forward ? this.query(h, v) : this.query(v, h);
+                if(known <= latency) continue;
+                if(forward) {
+                    this.addLabel(this.labelInHubs, this.labelInLatencies, this.labelInSizes, v, rank, latency);
+                } else {
+                    this.addLabel(this.labelOutHubs, this.labelOutLatencies, this.labelOutSizes, v, rank, latency);
+                }
+
+                Device device = hub.getInfrastructure().getDeviceByOrdinal(v);
+                if(forward) {
+                    for(Link link : device.getLinks()) {
+                        workspace.relax(link.getTarget().getOrdinal(), latency + link.getLatency());
+                    }
+                } else {
+                    for(Device linkingDevice : device.getLinkingDevices()) {
+                        workspace.relax(linkingDevice.getOrdinal(), latency + linkingDevice.getFastestLinkTo(device).getLatency());
+                    }
+                }
+            }
+            workspace.reset();
+        }
+
+        private void addLabel(int[][] hubs, double[][] latencies, int[] sizes, int device, int rank, double latency) {
+            int size = sizes[device];
+            if(size == hubs[device].length) {
+                hubs[device] = Arrays.copyOf(hubs[device], size * 2);
+                latencies[device] = Arrays.copyOf(latencies[device], size * 2);
+            }
+            hubs[device][size] = rank;
+            latencies[device][size] = latency;
+            sizes[device] = size + 1;
+            this.entries++;
+        }
+    }
+
+    /**
+     * The heap and the arrays of the pruned Dijkstra searches, which are allocated once per build of the index.
+     * The heap orders the devices by their latency in float precision, the latencies themselves are kept in double precision.
+     */
+    private static final class Workspace {
+        private final IndexedMinHeap heap;
+        private final double[] latencies;
+        private final int[] visited;
+        private int visitedCount = 0;
+
+        private Workspace(int size) {
+            this.heap = new IndexedMinHeap(size);
+            this.latencies = new double[size];
+            this.visited = new int[size];
+            Arrays.fill(this.latencies, Double.POSITIVE_INFINITY);
+        }
+
+        /**
+         * Decrease the latency of a device that was not settled yet ( a settled device has a latency but is not in the heap ).
+         */
+        private void relax(int target, double latency) {
+            if(latency >= this.latencies[target]) return;
+            if(this.latencies[target] == Double.POSITIVE_INFINITY) this.visited[this.visitedCount++] = target;
+            else if(!this.heap.contains(target)) return;
+            this.latencies[target] = latency;
+            this.heap.insertOrDecrease(target, (float) latency);
+        }
+
+        /**
+         * Reset the latencies of the visited devices.
+         */
+        private void reset() {
+            for(int i = 0; i < this.visitedCount; i++) {
+                this.latencies[this.visited[i]] = Double.POSITIVE_INFINITY;
+            }
+            this.visitedCount = 0;
+        }
+    }
+}
@@ -0,0 +1,222 @@
+package com.defapsim.infrastructure.routing;
+
+import com.defapsim.exceptions.NoNegativeValueException;
+import com.defapsim.infrastructure.devices.Device;
+import com.defapsim.infrastructure.links.Route;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * RouteTable backend, which computes the shortest path tree of a source device the first time one of its routes is queried.
+ * At most "capacity" trees are kept, the least recently used tree is evicted when another one is needed. An evicted tree
+ * is computed again on its next query. Thus infrastructures whose full route table does not fit in memory can be simulated,
+ * as long as the queries concentrate on a limited number of source devices ( e.g. the devices within a domain ).
+ * resolveRoutes() does not compute any routes if this table is used, and all trees are invalidated when the topology changes.
+ * The table can be queried concurrently. A tree is computed outside of any lock, the queries for the same source device
+ * wait for the one computation of its tree ( see getTree() ). Only the order of the last accesses is kept under a lock.
+ * The topology must not change while the table is queried.
+ */
+public class LazyRouteTable implements RouteTable {
+
+    private final int capacity;
+
+    private long hits = 0;
+
+    private long misses = 0;
+
+    private long evictions = 0;
+
+    /**
+     * The cached trees, which are completed when their computation has finished.
+     */
+    private final Map<Device, CompletableFuture<ShortestPathTree>> trees = new ConcurrentHashMap<>();
+
+    /**
+     * The source devices of the cached trees in the order of their last access, which decides the evicted tree.
+     * The order and the counters are guarded by this map.
+     */
+    private final Map<Device, Boolean> accessOrder;
+
+    /**
+     * Constructor.
+     * @param capacity      The maximum number of shortest path trees kept in the cache
+     * @throws NoNegativeValueException if the capacity is smaller than 1
+     */
+    public LazyRouteTable(int capacity) {
+        if(capacity < 1) throw new NoNegativeValueException("The capacity of a LazyRouteTable must be at least 1 but was " + capacity + ".");
+        this.capacity = capacity;
+        this.accessOrder = new LinkedHashMap<>(16, 0.75F, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Device, Boolean> eldest) {
+                if(this.size() <= LazyRouteTable.this.capacity) return false;
+                LazyRouteTable.this.trees.remove(eldest.getKey());
+                LazyRouteTable.this.evictions++;
+                return true;
+            }
+        };
+    }
+
+    /**
+     * Getter
+     */
+
+    public int getCapacity() {
+        return this.capacity;
+    }
+
+    /**
+     * @return      The number of queries answered by a cached tree
+     */
+    public long getHits() {
+        synchronized(this.accessOrder) {
+            return this.hits;
+        }
+    }
+
+    /**
+     * @return      The number of queries for which the tree had to be computed
+     */
+    public long getMisses() {
+        synchronized(this.accessOrder) {
+            return this.misses;
+        }
+    }
+
+    /**
+     * @return      The number of trees evicted from the cache
+     */
+    public long getEvictions() {
+        synchronized(this.accessOrder) {
+            return this.evictions;
+        }
+    }
+
+    /**
+     * @return      The number of trees currently cached
+     */
+    public int size() {
+        return this.trees.size();
+    }
+
+    @Override
+    public boolean isLazy() {
+        return true;
+    }
+
+    @Override
+    public void putTree(ShortestPathTree tree) {
+        this.trees.put(tree.getSource(), CompletableFuture.completedFuture(tree));
+        synchronized(this.accessOrder) {
+            this.accessOrder.put(tree.getSource(), Boolean.TRUE);
+        }
+    }
+
+    /**
+     * Only cached trees are updated, the other trees are computed with the new route when they are queried.
+     */
+    @Override
+    public void putRoute(Device source, Device target, float latency, Device predecessor) {
+        ShortestPathTree tree = this.getCachedTree(source);
+        if(tree != null) tree.update(target.getOrdinal(), latency, predecessor.getOrdinal());
+    }
+
+    @Override
+    public void removeRoute(Device source, Device target) {
+        ShortestPathTree tree = this.getCachedTree(source);
+        if(tree != null) tree.remove(target.getOrdinal());
+    }
+
+    @Override
+    public void removeRoutes(Device source) {
+        synchronized(this.accessOrder) {
+            this.trees.remove(source);
+            this.accessOrder.remove(source);
+        }
+    }
+
+    @Override
+    public List<Route> getRoutes(Device source) {
+        return this.getTree(source).getRoutes(this);
+    }
+
+    @Override
+    public float getLatency(Device source, Device target) {
+        return this.getTree(source).getDistance(target.getOrdinal());
+    }
+
+    @Override
+    public Device getPredecessor(Device source, Device target) {
+        int predecessor = this.getTree(source).getPredecessor(target.getOrdinal());
+        return predecessor < 0 ? null : source.getInfrastructure().getDeviceByOrdinal(predecessor);
+    }
+
+    @Override
+    public Device getNextHop(Device source, Device target) {
+        int nextHop = this.getTree(source).getNextHop(target.getOrdinal());
+        return nextHop < 0 ? null : source.getInfrastructure().getDeviceByOrdinal(nextHop);
+    }
+
+    @Override
+    public void clear() {
+        synchronized(this.accessOrder) {
+            this.trees.clear();
+            this.accessOrder.clear();
+        }
+    }
+
+    /**
+     * Get the tree of a source device from the cache or compute it.
+     * The first query of a source device registers the computation of its tree and computes it without holding a lock,
+     * the other queries of the source device wait until the computation has finished.
+     * @throws RuntimeException     the exception of the computation of the tree ( e.g. RouteResolutionException )
+     */
+    private ShortestPathTree getTree(Device source) {
+        CompletableFuture<ShortestPathTree> tree = this.trees.get(source);
+        if(tree == null) {
+            CompletableFuture<ShortestPathTree> computation = new CompletableFuture<>();
+            tree = this.trees.putIfAbsent(source, computation);
+            if(tree == null) return this.compute(source, computation);
+        }
+        synchronized(this.accessOrder) {
+            this.hits++;
+            this.accessOrder.get(source);
+        }
+        try {
+            return tree.join();
+        } catch (CompletionException e) {
+            if(e.getCause() instanceof RuntimeException) throw (RuntimeException) e.getCause();
+            throw e;
+        }
+    }
+
+    private ShortestPathTree compute(Device source, CompletableFuture<ShortestPathTree> computation) {
+        synchronized(this.accessOrder) {
+            this.misses++;
+            this.accessOrder.put(source, Boolean.TRUE);
+        }
+        try {
+            ShortestPathTree tree = source.computeShortestPathTree().requireStorableIn(this);
+            computation.complete(tree);
+            return tree;
+        } catch (RuntimeException e) {
+            synchronized(this.accessOrder) {
+                if(this.trees.remove(source, computation)) this.accessOrder.remove(source);
+            }
+            computation.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    /**
+     * @return      The tree of the source device if it is cached and computed, otherwise null
+     */
+    private ShortestPathTree getCachedTree(Device source) {
+        CompletableFuture<ShortestPathTree> tree = this.trees.get(source);
+        return tree == null || tree.isCompletedExceptionally() ? null : tree.getNow(null);
+    }
+}
@@ -0,0 +1,148 @@
+package com.defapsim.infrastructure.routing;
+
+import com.defapsim.infrastructure.devices.Device;
+import com.defapsim.infrastructure.links.Link;
+import com.defapsim.infrastructure.links.Route;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * RouteTable backend, which stores each route with its hops like the devices did before the route tables were introduced.
+ * The routes of the RouteSolver don't form a shortest path tree in meshed topologies, i.e. the route to a device does not
+ * always continue the route to its predecessor, so their hops can't be rebuilt from the predecessors. This table keeps them
+ * as they were resolved and is used with RouteSolverType.RECURSIVE ( see Infrastructure.withRouteSolverType() ).
+ */
+public class ListRouteTable implements RouteTable {
+
+    /**
+     * A route with its hops and its latency.
+     */
+    private static final class Entry {
+        private final Route route;
+        private final float latency;
+
+        private Entry(Route route, float latency) {
+            this.route = route;
+            this.latency = latency;
+        }
+    }
+
+    /**
+     * The routes of each source device in the order in which they were resolved.
+     */
+    private final Map<Device, Map<Device, Entry>> entries = new IdentityHashMap<>();
+
+    @Override
+    public void putRoutes(Device source, List<Route> routes) {
+        Map<Device, Entry> row = new LinkedHashMap<>();
+        for(Route route : routes) {
+            row.put(route.getTarget(), new Entry(route, route.getLatency()));
+        }
+        this.entries.put(source, row);
+    }
+
+    /**
+     * Store the routes of a tree. The resolved routes of the tree are stored with their hops, otherwise the hops are
+     * rebuilt from the predecessors.
+     */
+    @Override
+    public void putTree(ShortestPathTree tree) {
+        Device source = tree.getSource();
+        if(tree.getResolvedRoutes() != null) {
+            this.putRoutes(source, tree.getResolvedRoutes());
+            return;
+        }
+
+        Map<Device, Entry> row = new LinkedHashMap<>();
+        for(int ordinal : tree.getOrder()) {
+            Device target = source.getInfrastructure().getDeviceByOrdinal(ordinal);
+            LinkedList<Link> hops = new LinkedList<>();
+            Device current = target;
+            while(current != source) {
+                Device predecessor = source.getInfrastructure().getDeviceByOrdinal(tree.getPredecessor(current.getOrdinal()));
+                hops.addFirst(predecessor.getFastestLinkTo(current));
+                current = predecessor;
+            }
+            row.put(target, new Entry(new Route(target, hops), tree.getDistance(ordinal)));
+        }
+        this.entries.put(source, row);
+    }
+
+    @Override
+    public void putRoute(Device source, Device target, float latency, Device predecessor) {
+        List<Link> hops = new LinkedList<>();
+        if(predecessor != source) hops.addAll(this.getEntry(source, predecessor).route.getHops());
+        hops.add(predecessor.getFastestLinkTo(target));
+        this.entries.computeIfAbsent(source, device -> new LinkedHashMap<>()).put(target, new Entry(new Route(target, hops), latency));
+    }
+
+    @Override
+    public void removeRoute(Device source, Device target) {
+        Map<Device, Entry> row = this.entries.get(source);
+        if(row != null) row.remove(target);
+    }
+
+    @Override
+    public void removeRoutes(Device source) {
+        this.entries.remove(source);
+    }
+
+    @Override
+    public List<Route> getRoutes(Device source) {
+        Map<Device, Entry> row = this.entries.get(source);
+        if(row == null) return Collections.emptyList();
+
+        List<Route> routes = new ArrayList<>(row.size());
+        for(Entry entry : row.values()) {
+            routes.add(entry.route);
+        }
+        return routes;
+    }
+
+    @Override
+    public Route getRoute(Device source, Device target) {
+        Entry entry = this.getEntry(source, target);
+        return entry == null ? null : entry.route;
+    }
+
+    @Override
+    public float getLatency(Device source, Device target) {
+        Entry entry = this.getEntry(source, target);
+        return entry == null ? Float.POSITIVE_INFINITY : entry.latency;
+    }
+
+    @Override
+    public Device getPredecessor(Device source, Device target) {
+        Entry entry = this.getEntry(source, target);
+        if(entry == null) return null;
+        List<Link> hops = entry.route.getHops();
+        return hops.size() < 2 ? source : hops.get(hops.size() - 2).getTarget();
+    }
+
+    @Override
+    public Device getNextHop(Device source, Device target) {
+        Entry entry = this.getEntry(source, target);
+        return entry == null ? null : entry.route.getHops().get(0).getTarget();
+    }
+
+    @Override
+    public void clear() {
+        this.entries.clear();
+    }
+
+    @Override
+    public boolean storesHops() {
+        return true;
+    }
+
+    private Entry getEntry(Device source, Device target) {
+        Map<Device, Entry> row = this.entries.get(source);
+        return row == null ? null : row.get(target);
+    }
+}
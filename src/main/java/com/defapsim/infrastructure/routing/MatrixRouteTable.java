@@ -0,0 +1,90 @@
+package com.defapsim.infrastructure.routing;
+
+import com.defapsim.infrastructure.devices.Device;
+import com.defapsim.infrastructure.links.Route;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * RouteTable backend, which stores the shortest path trees in an array indexed by the ordinals of the source devices.
+ * The distances and predecessors of the trees form dense matrices, so that a query is answered by two array accesses.
+ */
+public class MatrixRouteTable implements RouteTable {
+
+    private ShortestPathTree[] trees = new ShortestPathTree[0];
+
+    @Override
+    public void putTree(ShortestPathTree tree) {
+        int ordinal = tree.getSource().getOrdinal();
+        this.ensureCapacity(ordinal + 1);
+        this.trees[ordinal] = tree;
+    }
+
+    @Override
+    public void putRoute(Device source, Device target, float latency, Device predecessor) {
+        ShortestPathTree tree = this.getTree(source);
+        if(tree == null) {
+            tree = new ShortestPathTree(source, new float[0], new int[0], new int[0]);
+            this.putTree(tree);
+        }
+        tree.update(target.getOrdinal(), latency, predecessor.getOrdinal());
+    }
+
+    @Override
+    public void removeRoute(Device source, Device target) {
+        ShortestPathTree tree = this.getTree(source);
+        if(tree != null) tree.remove(target.getOrdinal());
+    }
+
+    @Override
+    public void removeRoutes(Device source) {
+        int ordinal = source.getOrdinal();
+        if(ordinal >= 0 && ordinal < this.trees.length) this.trees[ordinal] = null;
+    }
+
+    @Override
+    public List<Route> getRoutes(Device source) {
+        ShortestPathTree tree = this.getTree(source);
+        return tree == null ? Collections.emptyList() : tree.getRoutes(this);
+    }
+
+    @Override
+    public float getLatency(Device source, Device target) {
+        ShortestPathTree tree = this.getTree(source);
+        return tree == null ? Float.POSITIVE_INFINITY : tree.getDistance(target.getOrdinal());
+    }
+
+    @Override
+    public Device getPredecessor(Device source, Device target) {
+        ShortestPathTree tree = this.getTree(source);
+        if(tree == null) return null;
+        int predecessor = tree.getPredecessor(target.getOrdinal());
+        return predecessor < 0 ? null : source.getInfrastructure().getDeviceByOrdinal(predecessor);
+    }
+
+    @Override
+    public Device getNextHop(Device source, Device target) {
+        ShortestPathTree tree = this.getTree(source);
+        if(tree == null) return null;
+        int nextHop = tree.getNextHop(target.getOrdinal());
+        return nextHop < 0 ? null : source.getInfrastructure().getDeviceByOrdinal(nextHop);
+    }
+
+    @Override
+    public void clear() {
+        this.trees = new ShortestPathTree[0];
+    }
+
+    private ShortestPathTree getTree(Device source) {
+        int ordinal = source.getOrdinal();
+        if(ordinal < 0 || ordinal >= this.trees.length) return null;
+        return this.trees[ordinal];
+    }
+
+    private void ensureCapacity(int capacity) {
+        if(capacity <= this.trees.length) return;
+        this.trees = Arrays.copyOf(this.trees, Math.max(capacity, this.trees.length * 2));
+    }
+}
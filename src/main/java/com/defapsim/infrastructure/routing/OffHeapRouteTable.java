@@ -0,0 +1,190 @@
+package com.defapsim.infrastructure.routing;
+
+import com.defapsim.exceptions.RouteTableCapacityExceededException;
+import com.defapsim.infrastructure.devices.Device;
+import com.defapsim.infrastructure.links.Route;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * RouteTable backend, which stores the latencies and predecessors in a dense matrix outside of the heap, either in direct
+ * ByteBuffers or in a memory-mapped file. It is meant for infrastructures whose route matrix does not fit into the heap.
+ * getRoutes() returns the routes in the order of the device ordinals.
+ */
+public class OffHeapRouteTable implements RouteTable, Closeable {
+
+    /**
+     * Each cell consists of the latency (float) and the ordinal of the predecessor (int).
+     */
+    private static final int CELL_BYTES = 8;
+
+    private static final int PREDECESSOR_OFFSET = 4;
+
+    /**
+     * The maximum number of devices the table can hold.
+     */
+    private final int capacity;
+
+    private final int rowsPerBuffer;
+
+    private final ByteBuffer[] buffers;
+
+    private final FileChannel channel;
+
+    /**
+     * Specifies for each source device whether its routes are stored.
+     */
+    private final boolean[] stored;
+
+    /**
+     * Create a route table in direct ByteBuffers.
+     * @param capacity      The maximum number of devices (the highest device ordinal + 1)
+     */
+    public OffHeapRouteTable(int capacity) {
+        this(capacity, null);
+    }
+
+    /**
+     * Create a route table in a memory-mapped file. The file is created if it does not exist.
+     * @param capacity      The maximum number of devices (the highest device ordinal + 1)
+     * @param file          The file in which the matrix is stored (null to use direct ByteBuffers)
+     */
+    public OffHeapRouteTable(int capacity, Path file) {
+        long rowBytes = (long) capacity * CELL_BYTES;
+        this.capacity = capacity;
+        this.rowsPerBuffer = (int) Math.max(1, Math.min(capacity, Integer.MAX_VALUE / Math.max(rowBytes, 1)));
+        this.buffers = new ByteBuffer[(capacity + this.rowsPerBuffer - 1) / this.rowsPerBuffer];
+        this.stored = new boolean[capacity];
+
+        try {
+            this.channel = file == null ? null : FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            for(int i = 0; i < this.buffers.length; i++) {
+                int rows = Math.min(this.rowsPerBuffer, capacity - i * this.rowsPerBuffer);
+                int bytes = (int) (rows * rowBytes);
+                ByteBuffer buffer = this.channel == null ? ByteBuffer.allocateDirect(bytes)
+                        : this.channel.map(FileChannel.MapMode.READ_WRITE, i * this.rowsPerBuffer * rowBytes, bytes);
+                this.buffers[i] = buffer.order(ByteOrder.nativeOrder());
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public int getCapacity() {
+        return this.capacity;
+    }
+
+    @Override
+    public void putTree(ShortestPathTree tree) {
+        int row = this.checkCapacity(tree.getSource());
+        this.clearRow(row);
+        for(int column : tree.getOrder()) {
+            if(column >= this.capacity)
+                throw new RouteTableCapacityExceededException("Ordinal " + column + " exceeds the capacity of the route table (" + this.capacity + " devices).");
+            this.putCell(row, column, tree.getDistance(column), tree.getPredecessor(column));
+        }
+        this.stored[row] = true;
+    }
+
+    @Override
+    public void putRoute(Device source, Device target, float latency, Device predecessor) {
+        int row = this.checkCapacity(source);
+        if(!this.stored[row]) {
+            this.clearRow(row);
+            this.stored[row] = true;
+        }
+        this.putCell(row, this.checkCapacity(target), latency, this.checkCapacity(predecessor));
+    }
+
+    @Override
+    public void removeRoute(Device source, Device target) {
+        if(!this.hasRoute(source, target)) return;
+        this.putCell(source.getOrdinal(), target.getOrdinal(), Float.POSITIVE_INFINITY, -1);
+    }
+
+    @Override
+    public void removeRoutes(Device source) {
+        int row = source.getOrdinal();
+        if(row >= 0 && row < this.capacity) this.stored[row] = false;
+    }
+
+    @Override
+    public List<Route> getRoutes(Device source) {
+        int row = source.getOrdinal();
+        if(row < 0 || row >= this.capacity || !this.stored[row]) return Collections.emptyList();
+
+        List<Route> routes = new ArrayList<>();
+        for(int column = 0; column < this.capacity; column++) {
+            if(this.getPredecessorOrdinal(row, column) >= 0) {
+                routes.add(new Route(this, source, source.getInfrastructure().getDeviceByOrdinal(column)));
+            }
+        }
+        return routes;
+    }
+
+    @Override
+    public float getLatency(Device source, Device target) {
+        int row = source.getOrdinal();
+        int column = target.getOrdinal();
+        if(row < 0 || row >= this.capacity || column < 0 || column >= this.capacity || !this.stored[row]) return Float.POSITIVE_INFINITY;
+        return this.buffers[row / this.rowsPerBuffer].getFloat(this.position(row, column));
+    }
+
+    @Override
+    public Device getPredecessor(Device source, Device target) {
+        int row = source.getOrdinal();
+        int column = target.getOrdinal();
+        if(row < 0 || row >= this.capacity || column < 0 || column >= this.capacity || !this.stored[row]) return null;
+        int predecessor = this.getPredecessorOrdinal(row, column);
+        return predecessor < 0 ? null : source.getInfrastructure().getDeviceByOrdinal(predecessor);
+    }
+
+    @Override
+    public void clear() {
+        Arrays.fill(this.stored, false);
+    }
+
+    @Override
+    public void close() throws IOException {
+        if(this.channel != null) this.channel.close();
+    }
+
+    private void clearRow(int row) {
+        for(int column = 0; column < this.capacity; column++) {
+            this.putCell(row, column, Float.POSITIVE_INFINITY, -1);
+        }
+    }
+
+    private int getPredecessorOrdinal(int row, int column) {
+        return this.buffers[row / this.rowsPerBuffer].getInt(this.position(row, column) + PREDECESSOR_OFFSET);
+    }
+
+    private void putCell(int row, int column, float latency, int predecessor) {
+        ByteBuffer buffer = this.buffers[row / this.rowsPerBuffer];
+        int position = this.position(row, column);
+        buffer.putFloat(position, latency);
+        buffer.putInt(position + PREDECESSOR_OFFSET, predecessor);
+    }
+
+    private int position(int row, int column) {
+        return ((row % this.rowsPerBuffer) * this.capacity + column) * CELL_BYTES;
+    }
+
+    private int checkCapacity(Device device) {
+        int ordinal = device.getOrdinal();
+        if(ordinal < 0 || ordinal >= this.capacity)
+            throw new RouteTableCapacityExceededException("Device " + device.getIdentifier() + " (ordinal " + ordinal + ") exceeds the capacity of the route table (" + this.capacity + " devices).");
+        return ordinal;
+    }
+}
@@ -0,0 +1,210 @@
+package com.defapsim.infrastructure.routing;
+
+import com.defapsim.infrastructure.Infrastructure;
+import com.defapsim.infrastructure.devices.Device;
+import com.defapsim.infrastructure.links.Link;
+import com.defapsim.infrastructure.links.Route;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * A persistent cache of resolved routes on disk.
+ * The routes of an infrastructure are stored in a file named after the fingerprint of its topology ( see fingerprint() ),
+ * so an infrastructure with the same devices, links and latencies can load its routes instead of resolving them again,
+ * even in another JVM. The files are loaded by memory mapping.
+ * File format (big endian): magic, ordinal count, tree count and for each tree the source ordinal, the number of routes and
+ * for each route the target ordinal, the latency and the predecessor ordinal, in the order of Device.getRoutes().
+ */
+public class RouteCache {
+
+    private static final int MAGIC = 0x44524331;
+
+    private static final String FILE_EXTENSION = ".routes";
+
+    /**
+     * The directory in which the route files are stored.
+     */
+    private final Path directory;
+
+    private long hits = 0;
+
+    private long misses = 0;
+
+    /**
+     * Constructor.
+     * @param directory     The directory in which the route files are stored (is created if it does not exist)
+     */
+    public RouteCache(Path directory) {
+        this.directory = directory;
+    }
+
+    /**
+     * Getter
+     */
+
+    public Path getDirectory() {
+        return this.directory;
+    }
+
+    public synchronized long getHits() {
+        return this.hits;
+    }
+
+    public synchronized long getMisses() {
+        return this.misses;
+    }
+
+    /**
+     * Compute the fingerprint of the topology of an infrastructure. It covers the route solver type, the devices (ordinal,
+     * type and identifier) and their links (target and latency) in the order in which they were added.
+     * @param infrastructure    The infrastructure
+     * @return                  The SHA-256 hash of the topology as hex string
+     */
+    public static String fingerprint(Infrastructure infrastructure) {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+
+        ByteBuffer buffer = ByteBuffer.allocate(12);
+        digest.update(infrastructure.getRouteSolverType().name().getBytes(StandardCharsets.UTF_8));
+        digest.update(buffer.clear().putInt(infrastructure.getOrdinalCount()).putInt(infrastructure.getDevices().size()).array(), 0, 8);
+        for(Device device : infrastructure.getDevices()) {
+            digest.update(buffer.clear().putInt(device.getOrdinal()).putInt(device.getLinks().size()).array(), 0, 8);
+            digest.update(device.getClass().getName().getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) 0);
+            digest.update(device.getIdentifier().getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) 0);
+            for(Link link : device.getLinks()) {
+                digest.update(buffer.clear().putInt(link.getTarget().getOrdinal()).putInt(Float.floatToIntBits(link.getLatency())).array(), 0, 8);
+            }
+        }
+
+        StringBuilder hex = new StringBuilder();
+        for(byte b : digest.digest()) {
+            hex.append(String.format("%02x", b));
+        }
+        return hex.toString();
+    }
+
+    /**
+     * Get the file in which the routes of an infrastructure are stored.
+     * @param infrastructure    The infrastructure
+     * @return                  The path of the route file
+     */
+    public Path getFile(Infrastructure infrastructure) {
+        return this.directory.resolve(fingerprint(infrastructure) + FILE_EXTENSION);
+    }
+
+    /**
+     * Load the routes of an infrastructure into its route table, if routes for its topology are cached.
+     * A missing, truncated or otherwise unreadable file is treated as a cache miss.
+     * @param infrastructure    The infrastructure
+     * @return                  true if the routes were loaded
+     */
+    public boolean load(Infrastructure infrastructure) {
+        Path file = this.getFile(infrastructure);
+        List<ShortestPathTree> trees = null;
+        if(Files.isRegularFile(file)) {
+            try(FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+                trees = this.read(infrastructure, channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+            } catch (IOException | BufferUnderflowException | IndexOutOfBoundsException e) {
+                trees = null;
+            }
+        }
+
+        synchronized (this) {
+            if(trees == null) {
+                this.misses++;
+                return false;
+            }
+            this.hits++;
+        }
+        trees.forEach(infrastructure.getRouteTable()::putTree);
+        return true;
+    }
+
+    private List<ShortestPathTree> read(Infrastructure infrastructure, MappedByteBuffer buffer) {
+        if(buffer.getInt() != MAGIC) return null;
+        int ordinalCount = buffer.getInt();
+        int treeCount = buffer.getInt();
+        if(ordinalCount != infrastructure.getOrdinalCount() || treeCount != infrastructure.getDevices().size()) return null;
+
+        ShortestPathTree[] trees = new ShortestPathTree[treeCount];
+        for(int i = 0; i < treeCount; i++) {
+            Device source = infrastructure.getDeviceByOrdinal(buffer.getInt());
+            if(source == null) return null;
+            int size = buffer.getInt();
+            float[] distances = new float[ordinalCount];
+            int[] predecessors = new int[ordinalCount];
+            int[] order = new int[size];
+            Arrays.fill(distances, Float.POSITIVE_INFINITY);
+            Arrays.fill(predecessors, -1);
+            for(int j = 0; j < size; j++) {
+                int target = buffer.getInt();
+                distances[target] = buffer.getFloat();
+                predecessors[target] = buffer.getInt();
+                order[j] = target;
+            }
+            trees[i] = new ShortestPathTree(source, distances, predecessors, order);
+        }
+        return Arrays.asList(trees);
+    }
+
+    /**
+     * Store the routes of an infrastructure. The file is written to a temporary file first and moved into place afterwards,
+     * so that concurrent readers never see a partially written file.
+     * @param infrastructure    The infrastructure whose routes have been resolved
+     * @throws UncheckedIOException if the file can't be written
+     */
+    public void store(Infrastructure infrastructure) {
+        RouteTable routeTable = infrastructure.getRouteTable();
+        List<Device> devices = infrastructure.getDevices();
+
+        long bytes = 12;
+        for(Device source : devices) {
+            bytes += 8 + 12L * routeTable.getRoutes(source).size();
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(Math.toIntExact(bytes));
+        buffer.putInt(MAGIC).putInt(infrastructure.getOrdinalCount()).putInt(devices.size());
+        for(Device source : devices) {
+            List<Route> routes = routeTable.getRoutes(source);
+            buffer.putInt(source.getOrdinal()).putInt(routes.size());
+            for(Route route : routes) {
+                Device target = route.getTarget();
+                buffer.putInt(target.getOrdinal())
+                        .putFloat(routeTable.getLatency(source, target))
+                        .putInt(routeTable.getPredecessor(source, target).getOrdinal());
+            }
+        }
+        buffer.flip();
+
+        Path file = this.getFile(infrastructure);
+        try {
+            Files.createDirectories(this.directory);
+            Path temporaryFile = Files.createTempFile(this.directory, file.getFileName().toString(), ".tmp");
+            try(FileChannel channel = FileChannel.open(temporaryFile, StandardOpenOption.WRITE)) {
+                while(buffer.hasRemaining()) channel.write(buffer);
+            }
+            Files.move(temporaryFile, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,137 @@
+package com.defapsim.infrastructure.routing;
+
+import com.defapsim.infrastructure.devices.Device;
+import com.defapsim.infrastructure.links.Route;
+
+import java.util.List;
+
+/**
+ * A RouteTable stores the resolved routes of all devices within an infrastructure.
+ * The routes of each source device are stored as a shortest path tree, i.e. only the latency and the predecessor of each
+ * target device are kept. The Route objects returned by the table are views whose hops are rebuilt from the predecessors.
+ * The latency, the predecessor and the next hop of a route can be queried without allocating objects, so that the tables
+ * can be used in the hot paths of the placement algorithms.
+ * The devices are addressed by their ordinal within the infrastructure ( see Infrastructure.addDevice() ).
+ * Routes that don't form a shortest path tree ( e.g. of the RouteSolver in meshed topologies ) can only be stored in a
+ * table which stores the hops of each route ( see ListRouteTable ).
+ */
+public interface RouteTable {
+
+    /**
+     * Store the shortest path tree of a source device. Previously stored routes of the source device are replaced.
+     * @param tree      The shortest path tree
+     */
+    void putTree(ShortestPathTree tree);
+
+    /**
+     * Store the routes of a source device. Previously stored routes of the source device are replaced.
+     * @param source    The device from which the routes start
+     * @param routes    The best routes to all devices that can be reached by the source device
+     * @throws com.defapsim.exceptions.RouteResolutionException     if the routes don't form a shortest path tree and the
+     *                                                              table does not store hops ( see storesHops() )
+     */
+    default void putRoutes(Device source, List<Route> routes) {
+        this.putTree(ShortestPathTree.fromRoutes(source, routes).requireStorableIn(this));
+    }
+
+    /**
+     * Store a single route of a source device, replacing the previous route to the same target device.
+     * It is used to repair the routes after the topology of the infrastructure has changed. If a target device is added
+     * or removed, getRoutes() returns the routes of the source device in the order of the device ordinals afterwards.
+     * @param source        The device from which the route starts
+     * @param target        The device to which the route leads
+     * @param latency       The latency of the new route
+     * @param predecessor   The device preceding the target device on the new route
+     */
+    void putRoute(Device source, Device target, float latency, Device predecessor);
+
+    /**
+     * Remove the route between two devices.
+     * @param source    The device from which the route starts
+     * @param target    The device to which the route leads
+     */
+    void removeRoute(Device source, Device target);
+
+    /**
+     * Remove all routes of a source device.
+     * @param source    The device whose routes are to be removed
+     */
+    void removeRoutes(Device source);
+
+    /**
+     * Get the routes of a source device.
+     * @param source    The device from which the routes start
+     * @return          The routes of the source device (an empty list if no routes were stored)
+     */
+    List<Route> getRoutes(Device source);
+
+    /**
+     * Get the best route between two devices.
+     * @param source    The device from which the route starts
+     * @param target    The device to which the route leads
+     * @return          A view of the best route or null if the target device can't be reached
+     */
+    default Route getRoute(Device source, Device target) {
+        return this.hasRoute(source, target) ? new Route(this, source, target) : null;
+    }
+
+    default boolean hasRoute(Device source, Device target) {
+        return this.getLatency(source, target) != Float.POSITIVE_INFINITY;
+    }
+
+    /**
+     * Get the data transmission latency of the best route between two devices.
+     * @param source    The device from which the route starts
+     * @param target    The device to which the route leads
+     * @return          The latency of the route or Float.POSITIVE_INFINITY if the target device can't be reached
+     */
+    float getLatency(Device source, Device target);
+
+    /**
+     * Get the device preceding the target device on the best route between two devices.
+     * @param source    The device from which the route starts
+     * @param target    The device to which the route leads
+     * @return          The predecessor or null if the target device can't be reached
+     */
+    Device getPredecessor(Device source, Device target);
+
+    /**
+     * Get the first device on the best route between two devices.
+     * @param source    The device from which the route starts
+     * @param target    The device to which the route leads
+     * @return          The next hop or null if the target device can't be reached
+     */
+    default Device getNextHop(Device source, Device target) {
+        Device current = target;
+        Device predecessor = this.getPredecessor(source, current);
+        if(predecessor == null) return null;
+        while(predecessor != source) {
+            current = predecessor;
+            predecessor = this.getPredecessor(source, current);
+        }
+        return current;
+    }
+
+    /**
+     * Remove all stored routes.
+     */
+    void clear();
+
+    /**
+     * Specifies whether the table computes the routes of a source device on demand ( see LazyRouteTable ).
+     * A lazy table is not filled by Infrastructure.resolveRoutes() and is cleared when the topology changes.
+     * @return      true if the routes are computed on demand
+     */
+    default boolean isLazy() {
+        return false;
+    }
+
+    /**
+     * Specifies whether the table stores the hops of each route instead of rebuilding them from the predecessors
+     * ( see ListRouteTable ).
+     * @return      true if the hops are stored
+     */
+    default boolean storesHops() {
+        return false;
+    }
+}
@@ -0,0 +1,255 @@
+package com.defapsim.infrastructure.routing;
+
+import com.defapsim.exceptions.RouteResolutionException;
+import com.defapsim.infrastructure.devices.Device;
+import com.defapsim.infrastructure.links.Link;
+import com.defapsim.infrastructure.links.Route;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The routes of a source device, stored as a shortest path tree.
+ * For each device (indexed by its ordinal) only the latency of the best route and the ordinal of the predecessor on that
+ * route are stored. The hops of a route are rebuilt from the predecessors when they are requested ( see Route ).
+ */
+public class ShortestPathTree {
+
+    /**
+     * The device from which the routes start
+     */
+    private final Device source;
+
+    /**
+     * The latency of the best route to each device (Float.POSITIVE_INFINITY if the device can't be reached)
+     */
+    private float[] distances;
+
+    /**
+     * The ordinal of the predecessor of each device on its best route (-1 if the device can't be reached)
+     */
+    private int[] predecessors;
+
+    /**
+     * The ordinals of the reachable devices in the order in which they were resolved (null if single routes were changed
+     * afterwards, then the devices are ordered by their ordinal)
+     */
+    private int[] order;
+
+    private int size;
+
+    /**
+     * The routes from which the tree was created ( see fromRoutes() ), null if the tree was resolved as a tree
+     */
+    private List<Route> resolvedRoutes = null;
+
+    /**
+     * Specifies whether the hops rebuilt from the predecessors are the hops of the resolved routes
+     */
+    private boolean isConsistent = true;
+
+    public ShortestPathTree(Device source, float[] distances, int[] predecessors, int[] order) {
+        this.source = source;
+        this.distances = distances;
+        this.predecessors = predecessors;
+        this.order = order;
+        this.size = order.length;
+    }
+
+    /**
+     * Create a shortest path tree from a list of routes ( e.g. resolved by the RouteSolver ).
+     * The predecessor of each target device is the device from which the last hop of its route starts. The routes are only
+     * consistent with the tree if the route to each predecessor is the route to its target device without the last hop.
+     * The routes of the RouteSolver violate this in meshed topologies, then the tree keeps the routes, so that they can be
+     * stored with their hops ( see ListRouteTable and requireStorableIn() ).
+     * @param source    The device from which the routes start
+     * @param routes    The best routes to all devices that can be reached by the source device
+     * @return          The shortest path tree of the routes
+     */
+    public static ShortestPathTree fromRoutes(Device source, List<Route> routes) {
+        int capacity = source.getOrdinal() + 1;
+        for(Route route : routes) {
+            capacity = Math.max(capacity, route.getTarget().getOrdinal() + 1);
+        }
+        float[] distances = new float[capacity];
+        int[] predecessors = new int[capacity];
+        int[] order = new int[routes.size()];
+        Arrays.fill(distances, Float.POSITIVE_INFINITY);
+        Arrays.fill(predecessors, -1);
+
+        int i = 0;
+        for(Route route : routes) {
+            Device predecessor = source;
+            for(Link link : route.getHops()) {
+                if(link.getTarget() != route.getTarget()) predecessor = link.getTarget();
+            }
+            int ordinal = route.getTarget().getOrdinal();
+            distances[ordinal] = route.getLatency();
+            predecessors[ordinal] = predecessor.getOrdinal();
+            order[i++] = ordinal;
+        }
+        ShortestPathTree tree = new ShortestPathTree(source, distances, predecessors, order);
+        tree.resolvedRoutes = routes;
+        tree.isConsistent = isConsistent(source, routes);
+        return tree;
+    }
+
+    private static boolean isConsistent(Device source, List<Route> routes) {
+        Map<Device, List<Link>> hops = new IdentityHashMap<>();
+        for(Route route : routes) {
+            hops.put(route.getTarget(), route.getHops());
+        }
+        for(Route route : routes) {
+            List<Link> routeHops = route.getHops();
+            if(routeHops.size() < 2) continue;
+            Device predecessor = routeHops.get(routeHops.size() - 2).getTarget();
+            if(predecessor == source) return false;
+            List<Link> predecessorHops = hops.get(predecessor);
+            if(predecessorHops == null || !predecessorHops.equals(routeHops.subList(0, routeHops.size() - 1))) return false;
+        }
+        return true;
+    }
+
+    /**
+     * Check whether the tree can be stored in a route table, i.e. whether the table rebuilds the hops of the resolved routes.
+     * @param routeTable    The route table in which the tree is to be stored
+     * @return              this tree
+     * @throws RouteResolutionException     if the routes are not consistent with the tree and the table does not store hops
+     */
+    public ShortestPathTree requireStorableIn(RouteTable routeTable) {
+        if(!this.isConsistent && !routeTable.storesHops())
+            throw new RouteResolutionException("The routes of " + this.source.getIdentifier() + " don't form a shortest path tree, "
+                    + "so they can only be stored in a route table which stores their hops ( see ListRouteTable ).");
+        return this;
+    }
+
+    /**
+     * Getter
+     */
+
+    public Device getSource() {
+        return this.source;
+    }
+
+    public List<Route> getResolvedRoutes() {
+        return this.resolvedRoutes;
+    }
+
+    public boolean isConsistent() {
+        return this.isConsistent;
+    }
+
+    /**
+     * @return      The number of devices that can be reached by the source device
+     */
+    public int size() {
+        return this.size;
+    }
+
+    /**
+     * @return      The highest device ordinal that can be stored in the tree + 1
+     */
+    public int getCapacity() {
+        return this.distances.length;
+    }
+
+    public float getDistance(int ordinal) {
+        if(ordinal < 0 || ordinal >= this.distances.length) return Float.POSITIVE_INFINITY;
+        return this.distances[ordinal];
+    }
+
+    public int getPredecessor(int ordinal) {
+        if(ordinal < 0 || ordinal >= this.predecessors.length) return -1;
+        return this.predecessors[ordinal];
+    }
+
+    /**
+     * Get the ordinal of the first device on the best route, by following the predecessors back to the source device.
+     * @param ordinal   The ordinal of the target device
+     * @return          The ordinal of the next hop or -1 if the device can't be reached
+     */
+    public int getNextHop(int ordinal) {
+        if(this.getPredecessor(ordinal) < 0) return -1;
+        int current = ordinal;
+        while(this.predecessors[current] != this.source.getOrdinal()) {
+            current = this.predecessors[current];
+        }
+        return current;
+    }
+
+    /**
+     * Get the ordinals of the reachable devices.
+     * @return      The ordinals in the order in which they were resolved, or ordered by the ordinal if single routes were changed
+     */
+    public int[] getOrder() {
+        if(this.order == null) {
+            int[] order = new int[this.size];
+            int i = 0;
+            for(int ordinal = 0; ordinal < this.predecessors.length; ordinal++) {
+                if(this.predecessors[ordinal] >= 0) order[i++] = ordinal;
+            }
+            this.order = order;
+        }
+        return this.order;
+    }
+
+    /**
+     * Get views of the routes of the tree, in the order of getOrder().
+     * @param routeTable    The route table in which the tree is stored
+     * @return              The routes to all devices that can be reached by the source device
+     */
+    public List<Route> getRoutes(RouteTable routeTable) {
+        int[] order = this.getOrder();
+        return new AbstractList<>() {
+            @Override
+            public Route get(int index) {
+                return new Route(routeTable, source, source.getInfrastructure().getDeviceByOrdinal(order[index]));
+            }
+
+            @Override
+            public int size() {
+                return order.length;
+            }
+        };
+    }
+
+    /**
+     * Store a new best route to a device.
+     * @param ordinal       The ordinal of the target device
+     * @param distance      The latency of the new route
+     * @param predecessor   The ordinal of the predecessor of the target device on the new route
+     */
+    public void update(int ordinal, float distance, int predecessor) {
+        if(ordinal >= this.distances.length) {
+            int length = this.distances.length;
+            int capacity = Math.max(ordinal + 1, length * 2);
+            this.distances = Arrays.copyOf(this.distances, capacity);
+            this.predecessors = Arrays.copyOf(this.predecessors, capacity);
+            Arrays.fill(this.distances, length, capacity, Float.POSITIVE_INFINITY);
+            Arrays.fill(this.predecessors, length, capacity, -1);
+        }
+        if(this.predecessors[ordinal] < 0) {
+            this.size++;
+            this.order = null;
+        }
+        this.resolvedRoutes = null;
+        this.distances[ordinal] = distance;
+        this.predecessors[ordinal] = predecessor;
+    }
+
+    /**
+     * Remove the route to a device.
+     * @param ordinal       The ordinal of the target device
+     */
+    public void remove(int ordinal) {
+        if(this.getPredecessor(ordinal) < 0) return;
+        this.distances[ordinal] = Float.POSITIVE_INFINITY;
+        this.predecessors[ordinal] = -1;
+        this.resolvedRoutes = null;
+        this.size--;
+        this.order = null;
+    }
+}
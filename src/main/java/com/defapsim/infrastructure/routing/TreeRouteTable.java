@@ -0,0 +1,363 @@
+package com.defapsim.infrastructure.routing;
+
+import com.defapsim.infrastructure.Infrastructure;
+import com.defapsim.infrastructure.devices.Device;
+import com.defapsim.infrastructure.links.Link;
+import com.defapsim.infrastructure.links.Route;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * RouteTable backend for infrastructures whose topology is a tree or a forest, like the infrastructures created by the
+ * InfrastructureGenerator ( Cloud - PoP - Box - end devices ).
+ * On a tree the latency between two devices is depth(a) + depth(b) - 2 * depth(LCA(a, b)), so no routes have to be resolved.
+ * The lowest common ancestor (LCA) is answered in O(1) by a sparse table over the Euler tour of the tree, which is built in
+ * O(N log N) on the first query. Predecessors and next hops are found by binary lifting in O(log N).
+ * The topology is a tree if every link has a reverse link with the same latency and the links contain no cycle. Otherwise
+ * the routes are resolved on demand by a LazyRouteTable without capacity limit.
+ * The depths are summed in double precision, so the latencies may differ from the ones of the route solvers in the last
+ * bit of float precision.
+ * The table is lazy ( see RouteTable.isLazy() ), it is rebuilt on the next query after the topology changed.
+ */
+public class TreeRouteTable implements RouteTable {
+
+    private final Infrastructure infrastructure;
+
+    /**
+     * The table used if the topology is not a tree.
+     */
+    private final LazyRouteTable fallback = new LazyRouteTable(Integer.MAX_VALUE);
+
+    /**
+     * The LCA oracle of the current topology (null if it has to be built, NO_TREE if the topology is not a tree).
+     */
+    private volatile Oracle oracle = null;
+
+    private static final Oracle NO_TREE = new Oracle(0);
+
+    /**
+     * Constructor.
+     * @param infrastructure    The infrastructure whose routes are stored in the table
+     */
+    public TreeRouteTable(Infrastructure infrastructure) {
+        this.infrastructure = infrastructure;
+    }
+
+    /**
+     * @return      true if the topology of the infrastructure is a tree or a forest, false if the fallback table is used
+     */
+    public boolean isTreeTopology() {
+        return this.getOracle() != NO_TREE;
+    }
+
+    @Override
+    public boolean isLazy() {
+        return true;
+    }
+
+    /**
+     * Routes that are stored explicitly are kept by the fallback table, they are only used if the topology is not a tree.
+     */
+    @Override
+    public void putTree(ShortestPathTree tree) {
+        this.fallback.putTree(tree);
+    }
+
+    @Override
+    public void putRoute(Device source, Device target, float latency, Device predecessor) {
+        this.fallback.putRoute(source, target, latency, predecessor);
+    }
+
+    @Override
+    public void removeRoute(Device source, Device target) {
+        this.fallback.removeRoute(source, target);
+    }
+
+    @Override
+    public void removeRoutes(Device source) {
+        this.fallback.removeRoutes(source);
+    }
+
+    @Override
+    public List<Route> getRoutes(Device source) {
+        Oracle oracle = this.getOracle();
+        if(oracle == NO_TREE) return this.fallback.getRoutes(source);
+        if(!oracle.contains(source.getOrdinal())) return Collections.emptyList();
+
+        int[] targets = oracle.getReachableDevices(source.getOrdinal());
+        return new AbstractList<>() {
+            @Override
+            public Route get(int index) {
+                return new Route(TreeRouteTable.this, source, infrastructure.getDeviceByOrdinal(targets[index]));
+            }
+
+            @Override
+            public int size() {
+                return targets.length;
+            }
+        };
+    }
+
+    @Override
+    public float getLatency(Device source, Device target) {
+        Oracle oracle = this.getOracle();
+        if(oracle == NO_TREE) return this.fallback.getLatency(source, target);
+        return oracle.getLatency(source.getOrdinal(), target.getOrdinal());
+    }
+
+    @Override
+    public Device getPredecessor(Device source, Device target) {
+        Oracle oracle = this.getOracle();
+        if(oracle == NO_TREE) return this.fallback.getPredecessor(source, target);
+        int predecessor = oracle.getPredecessor(source.getOrdinal(), target.getOrdinal());
+        return predecessor < 0 ? null : this.infrastructure.getDeviceByOrdinal(predecessor);
+    }
+
+    @Override
+    public Device getNextHop(Device source, Device target) {
+        Oracle oracle = this.getOracle();
+        if(oracle == NO_TREE) return this.fallback.getNextHop(source, target);
+        int nextHop = oracle.getNextHop(source.getOrdinal(), target.getOrdinal());
+        return nextHop < 0 ? null : this.infrastructure.getDeviceByOrdinal(nextHop);
+    }
+
+    @Override
+    public synchronized void clear() {
+        this.oracle = null;
+        this.fallback.clear();
+    }
+
+    private Oracle getOracle() {
+        Oracle oracle = this.oracle;
+        if(oracle != null) return oracle;
+        synchronized (this) {
+            if(this.oracle == null) {
+                Oracle built = Oracle.build(this.infrastructure);
+                this.oracle = built == null ? NO_TREE : built;
+            }
+            return this.oracle;
+        }
+    }
+
+    /**
+     * The LCA oracle of a tree or forest topology. All arrays are indexed by the device ordinals.
+     */
+    private static final class Oracle {
+
+        /**
+         * The tree of each device (-1 if there is no device with the ordinal)
+         */
+        private final int[] component;
+
+        /**
+         * The parent of each device (-1 for the roots)
+         */
+        private final int[] parent;
+
+        /**
+         * The number of links between each device and its root
+         */
+        private final int[] level;
+
+        /**
+         * The latency between each device and its root
+         */
+        private final double[] depth;
+
+        /**
+         * The index of the first occurrence of each device in the Euler tour
+         */
+        private final int[] first;
+
+        /**
+         * sparse[k][i] is the device with the lowest level in the Euler tour between i and i + 2^k - 1
+         */
+        private int[][] sparse;
+
+        /**
+         * up[k][v] is the 2^k-th ancestor of v (or the root)
+         */
+        private int[][] up;
+
+        private Oracle(int size) {
+            this.component = new int[size];
+            this.parent = new int[size];
+            this.level = new int[size];
+            this.depth = new double[size];
+            this.first = new int[size];
+            Arrays.fill(this.component, -1);
+            Arrays.fill(this.parent, -1);
+        }
+
+        /**
+         * Build the oracle of the topology of an infrastructure.
+         * @return      The oracle or null if the topology is not a tree or a forest
+         */
+        private static Oracle build(Infrastructure infrastructure) {
+            int size = infrastructure.getOrdinalCount();
+            Oracle oracle = new Oracle(size);
+
+            for(Device device : infrastructure.getDevices()) {
+                for(Link link : device.getLinks()) {
+                    Link reverse = link.getTarget().getLinkTo(device);
+                    if(reverse == null || Float.compare(reverse.getLatency(), link.getLatency()) != 0) return null;
+                    if(infrastructure.getDeviceByOrdinal(link.getTarget().getOrdinal()) != link.getTarget()) return null;
+                }
+            }
+
+            int[] euler = new int[Math.max(1, 2 * size)];
+            int eulerSize = 0;
+            int[] stack = new int[size];
+            List<Iterator<Link>> iterators = new ArrayList<>(Collections.nCopies(size, null));
+            boolean[] parentSeen = new boolean[size];
+            int components = 0;
+
+            // Iterative depth first search, which records the Euler tour and detects cycles
+            for(Device root : infrastructure.getDevices()) {
+                int r = root.getOrdinal();
+                if(oracle.component[r] >= 0) continue;
+                oracle.component[r] = components;
+                oracle.first[r] = eulerSize;
+                euler[eulerSize++] = r;
+                int top = 0;
+                stack[0] = r;
+                iterators.set(r, root.getLinks().iterator());
+
+                while(top >= 0) {
+                    int u = stack[top];
+                    if(iterators.get(u).hasNext()) {
+                        Link link = iterators.get(u).next();
+                        Device target = link.getTarget();
+                        int v = target.getOrdinal();
+                        if(v == oracle.parent[u] && !parentSeen[u]) {
+                            parentSeen[u] = true;
+                            continue;
+                        }
+                        if(oracle.component[v] >= 0) return null;
+
+                        oracle.component[v] = components;
+                        oracle.parent[v] = u;
+                        oracle.level[v] = oracle.level[u] + 1;
+                        oracle.depth[v] = oracle.depth[u] + link.getLatency();
+                        oracle.first[v] = eulerSize;
+                        euler[eulerSize++] = v;
+                        stack[++top] = v;
+                        iterators.set(v, target.getLinks().iterator());
+                    } else {
+                        iterators.set(u, null);
+                        top--;
+                        if(top >= 0) euler[eulerSize++] = stack[top];
+                    }
+                }
+                components++;
+            }
+
+            oracle.buildSparseTable(euler, eulerSize);
+            oracle.buildAncestors(size);
+            return oracle;
+        }
+
+        private void buildSparseTable(int[] euler, int eulerSize) {
+            int levels = 32 - Integer.numberOfLeadingZeros(Math.max(1, eulerSize));
+            this.sparse = new int[levels][];
+            this.sparse[0] = Arrays.copyOf(euler, eulerSize);
+            for(int k = 1; k < levels; k++) {
+                int half = 1 << (k - 1);
+                int[] previous = this.sparse[k - 1];
+                int[] current = new int[eulerSize - (1 << k) + 1];
+                for(int i = 0; i < current.length; i++) {
+                    current[i] = this.minLevel(previous[i], previous[i + half]);
+                }
+                this.sparse[k] = current;
+            }
+        }
+
+        private void buildAncestors(int size) {
+            int maxLevel = 0;
+            for(int v = 0; v < size; v++) maxLevel = Math.max(maxLevel, this.level[v]);
+            int levels = 32 - Integer.numberOfLeadingZeros(Math.max(1, maxLevel));
+            this.up = new int[levels][size];
+            for(int v = 0; v < size; v++) {
+                this.up[0][v] = this.parent[v] < 0 ? v : this.parent[v];
+            }
+            for(int k = 1; k < levels; k++) {
+                for(int v = 0; v < size; v++) {
+                    this.up[k][v] = this.up[k - 1][this.up[k - 1][v]];
+                }
+            }
+        }
+
+        private int minLevel(int a, int b) {
+            return this.level[a] <= this.level[b] ? a : b;
+        }
+
+        private boolean contains(int ordinal) {
+            return ordinal >= 0 && ordinal < this.component.length && this.component[ordinal] >= 0;
+        }
+
+        /**
+         * @return      true if there is a route between two different devices
+         */
+        private boolean connected(int source, int target) {
+            return source != target && this.contains(source) && this.contains(target) && this.component[source] == this.component[target];
+        }
+
+        private int lca(int a, int b) {
+            int left = Math.min(this.first[a], this.first[b]);
+            int right = Math.max(this.first[a], this.first[b]);
+            int k = 31 - Integer.numberOfLeadingZeros(right - left + 1);
+            return this.minLevel(this.sparse[k][left], this.sparse[k][right - (1 << k) + 1]);
+        }
+
+        /**
+         * Get the ancestor of a device on the given level.
+         */
+        private int ancestor(int device, int level) {
+            int distance = this.level[device] - level;
+            for(int k = 0; distance > 0; k++, distance >>= 1) {
+                if((distance & 1) != 0) device = this.up[k][device];
+            }
+            return device;
+        }
+
+        private float getLatency(int source, int target) {
+            if(!this.connected(source, target)) return Float.POSITIVE_INFINITY;
+            return (float) (this.depth[source] + this.depth[target] - 2 * this.depth[this.lca(source, target)]);
+        }
+
+        private int getPredecessor(int source, int target) {
+            if(!this.connected(source, target)) return -1;
+            // If the target is an ancestor of the source, the route leads upwards to the target
+            if(this.lca(source, target) == target) return this.ancestor(source, this.level[target] + 1);
+            return this.parent[target];
+        }
+
+        private int getNextHop(int source, int target) {
+            if(!this.connected(source, target)) return -1;
+            // If the source is an ancestor of the target, the route leads downwards from the source
+            if(this.lca(source, target) == source) return this.ancestor(target, this.level[source] + 1);
+            return this.parent[source];
+        }
+
+        /**
+         * @return      The ordinals of the devices in the tree of the source device (without the source device)
+         */
+        private int[] getReachableDevices(int source) {
+            int count = 0;
+            for(int v = 0; v < this.component.length; v++) {
+                if(this.connected(source, v)) count++;
+            }
+            int[] devices = new int[count];
+            int i = 0;
+            for(int v = 0; v < this.component.length; v++) {
+                if(this.connected(source, v)) devices[i++] = v;
+            }
+            return devices;
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package com.defapsim.misc;
+
+import java.util.Arrays;
+
+/**
+ * A binary min-heap over integer indices with float keys.
+ * In contrast to a PriorityQueue, the key of an index that is already in the heap can be decreased in place,
+ * so that no entry objects have to be created while a shortest path is computed.
+ */
+public class IndexedMinHeap {
+
+    /**
+     * The indices in heap order.
+     */
+    private int[] heap;
+
+    /**
+     * The position of each index within the heap (-1 if the index is not in the heap).
+     */
+    private int[] positions;
+
+    /**
+     * The key of each index.
+     */
+    private float[] keys;
+
+    private int size = 0;
+
+    public IndexedMinHeap(int capacity) {
+        int initialCapacity = Math.max(capacity, 1);
+        this.heap = new int[initialCapacity];
+        this.positions = new int[initialCapacity];
+        this.keys = new float[initialCapacity];
+        Arrays.fill(this.positions, -1);
+    }
+
+    public boolean isEmpty() {
+        return this.size == 0;
+    }
+
+    public int size() {
+        return this.size;
+    }
+
+    public boolean contains(int index) {
+        return index < this.positions.length && this.positions[index] >= 0;
+    }
+
+    public float getKey(int index) {
+        return this.keys[index];
+    }
+
+    /**
+     * Insert an index or decrease its key if it is already in the heap.
+     * @param index     The index to be inserted
+     * @param key       The (new) key of the index
+     */
+    public void insertOrDecrease(int index, float key) {
+        this.ensureCapacity(index + 1);
+        if(this.positions[index] < 0) {
+            this.heap[this.size] = index;
+            this.positions[index] = this.size;
+            this.keys[index] = key;
+            this.siftUp(this.size++);
+        } else if(Float.compare(key, this.keys[index]) < 0) {
+            this.keys[index] = key;
+            this.siftUp(this.positions[index]);
+        }
+    }
+
+    /**
+     * Remove the index with the smallest key from the heap.
+     * @return      The index with the smallest key
+     */
+    public int poll() {
+        int min = this.heap[0];
+        this.positions[min] = -1;
+        if(--this.size > 0) {
+            this.heap[0] = this.heap[this.size];
+            this.positions[this.heap[0]] = 0;
+            this.siftDown(0);
+        }
+        return min;
+    }
+
+    /**
+     * Remove all indices from the heap, while keeping the allocated arrays.
+     */
+    public void clear() {
+        for(int i = 0; i < this.size; i++) {
+            this.positions[this.heap[i]] = -1;
+        }
+        this.size = 0;
+    }
+
+    private void siftUp(int position) {
+        int index = this.heap[position];
+        float key = this.keys[index];
+        while(position > 0) {
+            int parent = (position - 1) >>> 1;
+            if(Float.compare(key, this.keys[this.heap[parent]]) >= 0) break;
+            this.heap[position] = this.heap[parent];
+            this.positions[this.heap[position]] = position;
+            position = parent;
+        }
+        this.heap[position] = index;
+        this.positions[index] = position;
+    }
+
+    private void siftDown(int position) {
+        int index = this.heap[position];
+        float key = this.keys[index];
+        int half = this.size >>> 1;
+        while(position < half) {
+            int child = 2 * position + 1;
+            int right = child + 1;
+            if(right < this.size && Float.compare(this.keys[this.heap[right]], this.keys[this.heap[child]]) < 0) child = right;
+            if(Float.compare(key, this.keys[this.heap[child]]) <= 0) break;
+            this.heap[position] = this.heap[child];
+            this.positions[this.heap[position]] = position;
+            position = child;
+        }
+        this.heap[position] = index;
+        this.positions[index] = position;
+    }
+
+    private void ensureCapacity(int capacity) {
+        if(capacity <= this.positions.length) return;
+        int newCapacity = Math.max(capacity, this.positions.length * 2);
+        int oldCapacity = this.positions.length;
+        this.heap = Arrays.copyOf(this.heap, newCapacity);
+        this.keys = Arrays.copyOf(this.keys, newCapacity);
+        this.positions = Arrays.copyOf(this.positions, newCapacity);
+        Arrays.fill(this.positions, oldCapacity, newCapacity, -1);
+    }
+}
@@ -1,10 +1,9 @@
 package com.defapsim.misc.print.algorithm;
 
+import com.defapsim.algorithms.decentral.fogdecap.BidMessage;
 import com.defapsim.algorithms.decentral.fogdecap.Bidder;
-import com.defapsim.algorithms.decentral.fogdecap.Message;
 import com.defapsim.application.Component;
 import com.defapsim.infrastructure.devices.ApplicationHostDevice;
-import com.defapsim.misc.Tupel;
 import com.defapsim.misc.print.ConsoleFormatter;
 import com.defapsim.misc.print.Printer;
 
@@ -20,7 +19,7 @@ public class FogDecApPrinter implements Printer {
     private Component componentToBeAuctioned;
     private ApplicationHostDevice host;
     private Float maxBid;
-    private List<Message> answersAfterAuctionStart = new LinkedList<>();
+    private List<BidMessage> answersAfterAuctionStart = new LinkedList<>();
 
     public Map <Bidder, Component> getBiddersBestTradableComponents() {
         return biddersBestTradableComponents;
@@ -54,7 +53,7 @@ public class FogDecApPrinter implements Printer {
         return this;
     }
 
-    public FogDecApPrinter withAnswersAfterAuctionStart(List<Message> answersAfterAuctionStart) {
+    public FogDecApPrinter withAnswersAfterAuctionStart(List<BidMessage> answersAfterAuctionStart) {
         this.answersAfterAuctionStart = answersAfterAuctionStart;
         return this;
     }
@@ -91,7 +90,7 @@ public class FogDecApPrinter implements Printer {
         System.out.println("|\t" + ConsoleFormatter.rightPad("Bids from Bidders after AUCTION_START:", (columnSize * columns) + columns) + "|");
         this.answersAfterAuctionStart.forEach(answer ->
                 System.out.println("|\t" + ConsoleFormatter.rightPad("    bid(" + ((Bidder)answer.getSender()).getHost().getIdentifier() +
-                        ") = " + ((Tupel)answer.getBody()).getAttributeA(), (columnSize * columns) + columns) + "|"));
+                        ") = " + answer.getBid().getValue(), (columnSize * columns) + columns) + "|"));
 
         if(this.biddersBestTradableComponents != null && this.biddersBestTradableComponents.size() > 0) {
 
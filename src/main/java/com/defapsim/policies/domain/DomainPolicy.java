@@ -1,6 +1,9 @@
 package com.defapsim.policies.domain;
 
 import com.defapsim.infrastructure.Infrastructure;
+import com.defapsim.infrastructure.devices.Device;
+
+import java.util.Collection;
 
 /**
  * The DomainPolicy specifies how the domains (limited awareness) of the devices are set within the infrastructure
@@ -12,4 +15,15 @@ public interface DomainPolicy {
      * @param infrastructure        The infrastructure in which the devices are located
      */
     void createDomain(Infrastructure infrastructure);
+
+    /**
+     * Updates the domains after the topology of the infrastructure has changed.
+     * By default, the domains of all devices are created again.
+     * @param infrastructure        The infrastructure in which the devices are located
+     * @param changedDevices        The devices that were added or removed or whose links were changed
+     */
+    default void updateDomain(Infrastructure infrastructure, Collection<Device> changedDevices) {
+        infrastructure.getDevices().forEach(device -> device.getDevicesInDomain().clear());
+        this.createDomain(infrastructure);
+    }
 }
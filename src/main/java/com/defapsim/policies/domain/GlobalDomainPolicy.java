@@ -3,17 +3,31 @@ package com.defapsim.policies.domain;
 import com.defapsim.infrastructure.Infrastructure;
 import com.defapsim.infrastructure.devices.Device;
 
+import java.util.Collection;
+
 /**
- * The GlobalDomainPolicy places each device in the domain of every other device
+ * The GlobalDomainPolicy places each device in the domain of every other device.
+ * The domains are global domains ( see Domain.setGlobal() ), which don't store the devices but are a view of the devices
+ * of the infrastructure.
  */
 public class GlobalDomainPolicy implements DomainPolicy {
 
     @Override
     public void createDomain(Infrastructure infrastructure) {
         for(Device device : infrastructure.getDevices()) {
-            infrastructure.getDevices().stream()
-                    .filter(o -> !o.equals(device))
-                    .forEach(device::addDeviceToDomain);
+            device.getDevicesInDomain().setGlobal(infrastructure);
+        }
+    }
+
+    /**
+     * The global domains contain the added devices and lose the removed devices automatically, only the domains of the
+     * added devices have to be created. The links don't affect the global domain.
+     */
+    @Override
+    public void updateDomain(Infrastructure infrastructure, Collection<Device> changedDevices) {
+        for(Device changedDevice : changedDevices) {
+            if(changedDevice.getInfrastructure() != infrastructure || infrastructure.getDeviceByOrdinal(changedDevice.getOrdinal()) != changedDevice) continue;
+            if(changedDevice.getDevicesInDomain().isEmpty()) changedDevice.getDevicesInDomain().setGlobal(infrastructure);
         }
     }
 }
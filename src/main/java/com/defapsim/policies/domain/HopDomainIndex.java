@@ -0,0 +1,173 @@
+package com.defapsim.policies.domain;
+
+import com.defapsim.exceptions.NoNegativeValueException;
+import com.defapsim.infrastructure.Infrastructure;
+import com.defapsim.infrastructure.devices.Device;
+import com.defapsim.infrastructure.links.Link;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Class HopDomainIndex computes the hop domains of all devices of an infrastructure for every radius up to "maxHops" in a
+ * single search per device, so a HopDomainPolicy can be applied with different hops without searching again
+ * ( see HopDomainPolicy.withHopDomainIndex() ).
+ * The devices of a domain are in the same order in which the original HopDomainPolicy added them, i.e. in the order in which
+ * a depth first walk along the links first reaches them. The domain order decides e.g. which devices are asked first in the
+ * FogDecAp, thus a breadth first order would change the results.
+ * The search only continues from a device if it was not already completely searched from the same or a lower hop distance,
+ * so every device is searched at most once per hop distance instead of once per path.
+ * The index is only valid as long as the topology of the infrastructure does not change.
+ */
+public class HopDomainIndex {
+
+    /**
+     * The arrays of the search, indexed by the device ordinals. Only the entries of the visited devices are reset.
+     */
+    private static final class Workspace {
+        /**
+         * The lowest hop distance at which each device was reached
+         */
+        private int[] reached = new int[0];
+
+        /**
+         * The lowest hop distance from which each device was completely searched
+         */
+        private int[] searched = new int[0];
+
+        private int[] visited = new int[0];
+        private int visitedCount = 0;
+
+        private void ensureCapacity(int capacity) {
+            if(capacity <= this.reached.length) return;
+            int length = this.reached.length;
+            int newCapacity = Math.max(capacity, 2 * length);
+            this.reached = Arrays.copyOf(this.reached, newCapacity);
+            this.searched = Arrays.copyOf(this.searched, newCapacity);
+            this.visited = Arrays.copyOf(this.visited, newCapacity);
+            Arrays.fill(this.reached, length, newCapacity, Integer.MAX_VALUE);
+            Arrays.fill(this.searched, length, newCapacity, Integer.MAX_VALUE);
+        }
+
+        private void visit(int ordinal) {
+            if(this.reached[ordinal] == Integer.MAX_VALUE) this.visited[this.visitedCount++] = ordinal;
+        }
+
+        private void reset() {
+            for(int i = 0; i < this.visitedCount; i++) {
+                this.reached[this.visited[i]] = Integer.MAX_VALUE;
+                this.searched[this.visited[i]] = Integer.MAX_VALUE;
+            }
+            this.visitedCount = 0;
+        }
+    }
+
+    private static final ThreadLocal<Workspace> WORKSPACE = ThreadLocal.withInitial(Workspace::new);
+
+    private final Infrastructure infrastructure;
+
+    private final int maxHops;
+
+    /**
+     * The domains of each device, the domain with radius r is at index r - 1
+     */
+    private final Map<Device, List<List<Device>>> domains = new IdentityHashMap<>();
+
+    /**
+     * Compute the domains of all devices of an infrastructure for the radii 1 to maxHops.
+     * @param infrastructure    The infrastructure
+     * @param maxHops           The largest radius
+     * @param parallel          specifies whether the devices are searched in parallel on the common ForkJoinPool
+     */
+    public HopDomainIndex(Infrastructure infrastructure, int maxHops, boolean parallel) {
+        if(maxHops < 0) throw new NoNegativeValueException("The number of hops must not be negative.");
+        this.infrastructure = infrastructure;
+        this.maxHops = maxHops;
+
+        List<Device> devices = infrastructure.getDevices();
+        List<List<List<Device>>> domains = (parallel ? devices.parallelStream() : devices.stream())
+                .map(device -> computeDomains(device, maxHops))
+                .collect(Collectors.toList());
+        for(int i = 0; i < devices.size(); i++) {
+            this.domains.put(devices.get(i), domains.get(i));
+        }
+    }
+
+    /**
+     * Get the domain of a device.
+     * @param device    The device
+     * @param hops      The radius of the domain (at most maxHops)
+     * @return          The devices in the domain or an empty list if the device is not indexed
+     */
+    public List<Device> getDomain(Device device, int hops) {
+        if(hops < 0 || hops > this.maxHops) throw new IllegalArgumentException("The index contains the domains for at most " + this.maxHops + " hops.");
+        List<List<Device>> domains = this.domains.get(device);
+        if(domains == null || hops == 0) return Collections.emptyList();
+        return Collections.unmodifiableList(domains.get(hops - 1));
+    }
+
+    /**
+     * Compute the domains of a device for the radii 1 to maxHops in one search.
+     * @param source    The device whose domains are computed
+     * @param maxHops   The largest radius
+     * @return          The domain with radius r at index r - 1
+     */
+    public static List<List<Device>> computeDomains(Device source, int maxHops) {
+        List<List<Device>> domains = new ArrayList<>(maxHops);
+        for(int i = 0; i < maxHops; i++) {
+            domains.add(new ArrayList<>());
+        }
+        if(maxHops == 0) return domains;
+
+        Workspace workspace = WORKSPACE.get();
+        workspace.ensureCapacity(source.getOrdinal() + 1);
+        // The source is reached at hop distance 0, so it is never added to its own domain
+        workspace.visit(source.getOrdinal());
+        workspace.reached[source.getOrdinal()] = 0;
+        search(source, 0, maxHops, domains, workspace);
+        workspace.reset();
+        return domains;
+    }
+
+    private static void search(Device device, int hops, int maxHops, List<List<Device>> domains, Workspace workspace) {
+        for(Link link : device.getLinks()) {
+            Device target = link.getTarget();
+            int ordinal = target.getOrdinal();
+            int distance = hops + 1;
+            workspace.ensureCapacity(ordinal + 1);
+            workspace.visit(ordinal);
+
+            // The target is new in every domain whose radius lies between this and the lowest previous hop distance
+            if(distance < workspace.reached[ordinal]) {
+                int previous = Math.min(workspace.reached[ordinal], maxHops + 1);
+                for(int radius = distance; radius < previous; radius++) {
+                    domains.get(radius - 1).add(target);
+                }
+                workspace.reached[ordinal] = distance;
+            }
+
+            // A device that was completely searched from a lower hop distance adds nothing new to any domain
+            if(distance < maxHops && distance < workspace.searched[ordinal]) {
+                search(target, distance, maxHops, domains, workspace);
+                workspace.searched[ordinal] = Math.min(workspace.searched[ordinal], distance);
+            }
+        }
+    }
+
+    /**
+     * Getter
+     */
+
+    public Infrastructure getInfrastructure() {
+        return this.infrastructure;
+    }
+
+    public int getMaxHops() {
+        return this.maxHops;
+    }
+}
@@ -1,51 +1,118 @@
 package com.defapsim.policies.domain;
 
-import com.defapsim.infrastructure.links.Link;
 import com.defapsim.infrastructure.Infrastructure;
 import com.defapsim.infrastructure.devices.Device;
+import com.defapsim.infrastructure.devices.Domain;
 
+import java.util.Collection;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.LinkedList;
 import java.util.List;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 /**
  * The HopDomainPolicy places each device in the domain of every other device that is "hops" network hops away.
+ * The domains are computed by the HopDomainIndex, either by a search per device or, if an index with enough hops is set
+ * ( see withHopDomainIndex() ), taken from the index. An index can be shared by policies with different hops.
  */
 public class HopDomainPolicy implements DomainPolicy {
 
     private Integer hops;
 
+    /**
+     * The precomputed domains (null if the domains are computed when the policy is applied)
+     */
+    private HopDomainIndex hopDomainIndex = null;
+
+    /**
+     * Specifies whether the domains of the devices are computed in parallel on the common ForkJoinPool
+     */
+    private boolean parallel = false;
+
     public HopDomainPolicy withHops(Integer hops) {
         this.hops = hops;
         return this;
     }
 
+    /**
+     * Use precomputed domains. The index is only used for the infrastructure it was computed for and is dropped as soon as
+     * the topology changes ( see updateDomain() ).
+     * @param hopDomainIndex    The index
+     */
+    public HopDomainPolicy withHopDomainIndex(HopDomainIndex hopDomainIndex) {
+        this.hopDomainIndex = hopDomainIndex;
+        return this;
+    }
+
+    public HopDomainPolicy withParallelDomainCreation(boolean parallel) {
+        this.parallel = parallel;
+        return this;
+    }
+
     @Override
     public void createDomain(Infrastructure infrastructure) {
         if(hops == 0) return;
-        for(Device device : infrastructure.getDevices()) {
-            get1HopLinkedDevices(device).forEach(
-                    device1 -> {
-                        if (!device.getDevicesInDomain().contains(device1) && !device1.equals(device)) {
-                            device.addDeviceToDomain(device1);
-                        }
-                        addDependentDevice(device, device1, hops-1);
-                    }
-            );
+        List<Device> devices = infrastructure.getDevices();
+        if(this.hopDomainIndex != null && this.hopDomainIndex.getInfrastructure() == infrastructure && this.hopDomainIndex.getMaxHops() >= hops) {
+            for(Device device : devices) {
+                addDevicesToDomain(device, this.hopDomainIndex.getDomain(device, hops));
+            }
+            return;
+        }
+
+        List<List<Device>> domains = (this.parallel ? devices.parallelStream() : devices.stream())
+                .map(this::computeDomain)
+                .collect(Collectors.toList());
+        for(int i = 0; i < devices.size(); i++) {
+            addDevicesToDomain(devices.get(i), domains.get(i));
         }
     }
 
-    private void addDependentDevice(Device root, Device device, Integer i) {
-        if (i != 0) {
-            get1HopLinkedDevices(device).forEach(device2 -> {
-                if (!root.getDevicesInDomain().contains(device2) && !device2.equals(root)) {
-                    root.addDeviceToDomain(device2);
+    /**
+     * Only the domains of the devices from which a changed device can be reached within "hops" network hops are created again.
+     * The index is not valid anymore after the topology changed, so it is not used anymore.
+     */
+    @Override
+    public void updateDomain(Infrastructure infrastructure, Collection<Device> changedDevices) {
+        this.hopDomainIndex = null;
+        if(hops == 0) return;
+
+        Set<Device> affectedDevices = Collections.newSetFromMap(new IdentityHashMap<>());
+        List<Device> frontier = new LinkedList<>();
+        for(Device changedDevice : changedDevices) {
+            if(affectedDevices.add(changedDevice)) frontier.add(changedDevice);
+        }
+        for(int i = 0; i < hops && !frontier.isEmpty(); i++) {
+            List<Device> nextFrontier = new LinkedList<>();
+            for(Device device : frontier) {
+                for(Device linkingDevice : device.getLinkingDevices()) {
+                    if(affectedDevices.add(linkingDevice)) nextFrontier.add(linkingDevice);
                 }
-                addDependentDevice(root, device2, i - 1);
-            });
+            }
+            frontier = nextFrontier;
+        }
+
+        for(Device device : infrastructure.getDevices()) {
+            if(affectedDevices.contains(device)) {
+                device.getDevicesInDomain().clear();
+                addDevicesToDomain(device, computeDomain(device));
+            }
         }
     }
 
-    private List<Device> get1HopLinkedDevices(Device device){
-        return device.getLinks().stream().map(Link::getTarget).collect(Collectors.toList());
+    private List<Device> computeDomain(Device device) {
+        return HopDomainIndex.computeDomains(device, hops).get(hops - 1);
+    }
+
+    /**
+     * The devices of a computed domain are distinct, so they are only checked against the devices already in the domain.
+     */
+    private void addDevicesToDomain(Device device, List<Device> domain) {
+        Domain devicesInDomain = device.getDevicesInDomain();
+        for(Device domainDevice : domain) {
+            if(!devicesInDomain.contains(domainDevice)) devicesInDomain.add(domainDevice);
+        }
     }
 }
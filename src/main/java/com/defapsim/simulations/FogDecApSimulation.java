@@ -1,10 +1,18 @@
 package com.defapsim.simulations;
 
 
+import com.defapsim.algorithms.decentral.fogdecap.AuctionBudget;
+import com.defapsim.algorithms.decentral.fogdecap.AuctionWorklist;
 import com.defapsim.algorithms.decentral.fogdecap.Auctioneer;
 import com.defapsim.algorithms.decentral.fogdecap.Bidder;
+import com.defapsim.algorithms.decentral.fogdecap.ConcurrentAuctionRuntime;
+import com.defapsim.algorithms.decentral.fogdecap.ContributionBounds;
+import com.defapsim.algorithms.decentral.fogdecap.ContributionCache;
+import com.defapsim.algorithms.decentral.fogdecap.ExecutionType;
+import com.defapsim.algorithms.decentral.fogdecap.FogDecApContext;
 import com.defapsim.algorithms.decentral.fogdecap.Status;
-import com.defapsim.application.Component;
+import com.defapsim.algorithms.decentral.fogdecap.SynchronousRounds;
+import com.defapsim.evaluation.TerminationReason;
 import com.defapsim.exceptions.ApplicationNeededException;
 import com.defapsim.exceptions.DomainPolicyNeededException;
 import com.defapsim.exceptions.InfrastructureNeededException;
@@ -13,6 +21,7 @@ import com.defapsim.infrastructure.devices.ApplicationHostDevice;
 import com.defapsim.infrastructure.devices.clouddevice.CloudServer;
 import com.defapsim.infrastructure.devices.enddevice.EndDevice;
 import com.defapsim.infrastructure.devices.fognode.FogNode;
+import com.defapsim.infrastructure.routing.DomainRouteTable;
 import com.defapsim.misc.print.ComponentPrinter;
 import com.defapsim.misc.print.ConsoleFormatter;
 import com.defapsim.misc.print.InfrastructurePrinter;
@@ -22,6 +31,8 @@ import java.util.LinkedHashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
 import java.util.stream.Collectors;
 
 /**
@@ -29,17 +40,15 @@ import java.util.stream.Collectors;
  */
 public class FogDecApSimulation extends Simulation {
 
-    // Devices in simulator do not hold information about the bidder since it is only for FogDecAp algorithm
-    public static Map<ApplicationHostDevice, Bidder> bidderMap          = new LinkedHashMap<>();
-    // Devices in simulator do not have a status field since it is only for FogDecAp algorithm
-    public static Map<ApplicationHostDevice, Status> statusMap          = new LinkedHashMap<>();
-    // Components in simulator do not have a Sweet-Spot field since it is only for FogDecAp algorithm
-    public static Map<Component, Boolean> sweetSpotsDetermination       = new LinkedHashMap<>();
+    // The state of the algorithm, which is shared by the auctioneers and bidders of this simulation
+    private FogDecApContext context                                     = new FogDecApContext(false);
     // Devices in simulator do not hold information about the auctioneer since it is only for FogDecAp algorithm
     private Map<ApplicationHostDevice, Auctioneer> auctioneerMap        = new LinkedHashMap<>();
     private List<ApplicationHostDevice> applicationHostDevicesList      = new LinkedList<>();
 
-    public static List<Float> results = new LinkedList<>();
+    public FogDecApContext getContext() {
+        return this.context;
+    }
 
     public boolean isBeingDebugged() {
         return isBeingDebugged;
@@ -52,6 +61,116 @@ public class FogDecApSimulation extends Simulation {
         return this;
     }
 
+    // The executor on which the bids of an auction are computed ( null to compute them sequentially )
+    private ExecutorService biddingExecutor = null;
+
+    public ExecutorService getBiddingExecutor() {
+        return this.biddingExecutor;
+    }
+
+    private ExecutionType executionType = ExecutionType.SEQUENTIAL;
+
+    // The driver of the synchronous rounds ( null if the auctions are executed sequentially )
+    private SynchronousRounds synchronousRounds = null;
+
+    public SynchronousRounds getSynchronousRounds() {
+        return this.synchronousRounds;
+    }
+
+    // The runtime of the concurrent auctions
+    private ConcurrentAuctionRuntime concurrentAuctionRuntime = new ConcurrentAuctionRuntime();
+
+    public ConcurrentAuctionRuntime getConcurrentAuctionRuntime() {
+        return this.concurrentAuctionRuntime;
+    }
+
+    /**
+     * Set the runtime which executes the auctions concurrently, e.g. to configure the times of the protocol.
+     * It is used if the execution type is CONCURRENT.
+     * @param concurrentAuctionRuntime  The runtime of the concurrent auctions
+     */
+    public FogDecApSimulation withConcurrentAuctionRuntime(ConcurrentAuctionRuntime concurrentAuctionRuntime) {
+        this.concurrentAuctionRuntime = concurrentAuctionRuntime;
+        return this;
+    }
+
+    /**
+     * Set the way in which the auctions are executed.
+     * @param executionType     The execution type ( SEQUENTIAL to execute the auctions one after another )
+     */
+    public FogDecApSimulation withExecutionType(ExecutionType executionType) {
+        this.executionType = executionType;
+        return this;
+    }
+
+    /**
+     * Set the executor on which the bidders of an auction compute their bids and the auctioneer adjusts the bids for the
+     * trade candidates in parallel. The answers are still evaluated in the order of the bidders, so the winner is the same
+     * as with the sequential computation. In synchronous rounds, the auctions of a round are computed on the executor.
+     * @param biddingExecutor   The executor ( null to compute the bids sequentially )
+     */
+    public FogDecApSimulation withBiddingExecutor(ExecutorService biddingExecutor) {
+        this.biddingExecutor = biddingExecutor;
+        return this;
+    }
+
+    // The worklist which schedules the auctions ( null to auction all components again after each migration or trade )
+    private AuctionWorklist worklist = null;
+
+    private boolean isWorklistScheduled = false;
+
+    public AuctionWorklist getWorklist() {
+        return this.worklist;
+    }
+
+    /**
+     * Only auction the components again whose auction can have another result after a migration or trade
+     * ( see AuctionWorklist ) instead of auctioning the whole application again.
+     * @param isWorklistScheduled   specifies whether the auctions are scheduled by a worklist
+     */
+    public FogDecApSimulation withWorklistScheduling(boolean isWorklistScheduled) {
+        this.isWorklistScheduled = isWorklistScheduled;
+        return this;
+    }
+
+    // The budget which stops the auctions before all components are in their sweet spot ( null to run until they are )
+    private AuctionBudget budget = null;
+
+    public AuctionBudget getBudget() {
+        return this.budget;
+    }
+
+    /**
+     * Limit the wall-clock time, the auctions or the rounds without improvement of the simulation ( see AuctionBudget ).
+     * If the budget runs out, the best placement so far is restored.
+     * @param budget        The budget ( null to run until all components are in their sweet spot )
+     */
+    public FogDecApSimulation withBudget(AuctionBudget budget) {
+        this.budget = budget;
+        return this;
+    }
+
+    private boolean isBoundPruned = true;
+
+    /**
+     * Skip the bids and auctions whose lower bound of the contribution shows that they cannot lead to a migration or
+     * trade ( see ContributionBounds ). The result of the simulation does not change.
+     * @param isBoundPruned     specifies whether hopeless bids and auctions are pruned
+     */
+    public FogDecApSimulation withBoundPruning(boolean isBoundPruned) {
+        this.isBoundPruned = isBoundPruned;
+        return this;
+    }
+
+    /**
+     * Compute the bids of an auction in parallel on the common ForkJoinPool or sequentially.
+     * @param parallel      specifies whether the bids are to be computed in parallel
+     */
+    public FogDecApSimulation withParallelBidding(boolean parallel) {
+        this.biddingExecutor = parallel ? ForkJoinPool.commonPool() : null;
+        return this;
+    }
+
     /**
      * Preparation before a FogDecAp simulation can be performed
      * This requires specifying an Infrastructure, an Application, a DomainPolicy, and an InitialPlacementPolicy.
@@ -59,12 +178,8 @@ public class FogDecApSimulation extends Simulation {
     @Override
     public void prepareSimulation() {
 
-        bidderMap                   = new LinkedHashMap<>();
+        this.context                = new FogDecApContext(this.executionType == ExecutionType.CONCURRENT, this.isBoundPruned);
         auctioneerMap               = new LinkedHashMap<>();
-        statusMap                   = new LinkedHashMap<>();
-        sweetSpotsDetermination     = new LinkedHashMap<>();
-
-        results                     = new LinkedList<>();
 
         this.applicationHostDevicesList = this.infrastructure.getDevices().stream()
                 .filter(o -> o instanceof CloudServer || o instanceof FogNode)
@@ -83,13 +198,18 @@ public class FogDecApSimulation extends Simulation {
         if(this.initialPlacementPolicy == null)
             throw new InitialPlacementPolicyNeededException("To perform a FogDecAp simulation an initial placement policy must be defined");
 
-        this.domainPolicy.createDomain(this.infrastructure);
+        this.infrastructure.applyDomainPolicy(this.domainPolicy);
+        if(this.infrastructure.getRouteTable() instanceof DomainRouteTable)
+            ((DomainRouteTable) this.infrastructure.getRouteTable()).withRequiredTargetsOf(this.applications.get(0));
         this.initialPlacementPolicy.placeApplication(this.infrastructure, this.applications.get(0));
+        this.applications.get(0).trackLatency().withVerification(this.isBeingDebugged);
+        this.applications.get(0).addPlacementListener(this.context.getContributionCache());
 
-        applicationHostDevicesList.forEach(device -> bidderMap.put(device, new Bidder()));
-        applicationHostDevicesList.forEach(device -> auctioneerMap.put(device, new Auctioneer()));
-        applicationHostDevicesList.forEach(device -> statusMap.put(device, Status.FREE));
-        this.applications.get(0).getComponents().forEach(component -> sweetSpotsDetermination.put(component, false));
+        applicationHostDevicesList.forEach(device -> this.context.getBidderMap().put(device, new Bidder(this.context)));
+        applicationHostDevicesList.forEach(device -> auctioneerMap.put(device, new Auctioneer(this.context)));
+        applicationHostDevicesList.forEach(device -> this.context.getStatusMap().put(device, Status.FREE));
+        this.applications.get(0).getComponents().forEach(component -> this.context.getSweetSpotsDetermination().put(component, false));
+        this.worklist = this.isWorklistScheduled ? new AuctionWorklist(this.context.getSweetSpotsDetermination()) : null;
 
     }
 
@@ -123,22 +243,79 @@ public class FogDecApSimulation extends Simulation {
 
         Timer t = new Timer();
         t.start();
+        if(this.budget != null) this.budget.start(this.applications.get(0));
 
-        while(sweetSpotsDetermination.containsValue(false)) {
-            for(ApplicationHostDevice applicationHostDevice : this.applicationHostDevicesList) {
-                applicationHostDevice.algorithm(auctioneerMap.get(applicationHostDevice)).start(this, this.evaluation);
+        if(this.executionType == ExecutionType.CONCURRENT) {
+            this.synchronousRounds = null;
+            this.concurrentAuctionRuntime.run(this, this.applications.get(0), this.applicationHostDevicesList, this.evaluation);
+        } else if(this.executionType == ExecutionType.SYNCHRONOUS_ROUNDS) {
+            this.synchronousRounds = new SynchronousRounds(this, this.applications.get(0), this.applicationHostDevicesList)
+                    .withEvaluation(this.evaluation);
+            this.synchronousRounds.run();
+        } else {
+            this.synchronousRounds = null;
+            while(this.context.getSweetSpotsDetermination().containsValue(false) && (this.budget == null || !this.budget.isExhausted())) {
+                for(ApplicationHostDevice applicationHostDevice : this.applicationHostDevicesList) {
+                    if(this.budget != null && this.budget.isExhausted())
+                        break;
+                    applicationHostDevice.algorithm(auctioneerMap.get(applicationHostDevice)).start(this, this.evaluation);
+                }
+                if(this.budget != null) this.budget.roundFinished();
             }
         }
 
+        boolean isConverged = !this.context.getSweetSpotsDetermination().containsValue(false);
+        // Without a budget, only the maximum duration of the concurrent runtime stops the auctions before they converge
+        TerminationReason terminationReason = isConverged ? TerminationReason.CONVERGED : TerminationReason.MAXIMUM_DURATION;
+        if(this.budget != null) terminationReason = this.budget.finish(isConverged);
         t.stop();
+        this.applications.get(0).stopTrackingLatency();
+        ContributionCache contributionCache = this.context.getContributionCache();
+        this.applications.get(0).removePlacementListener(contributionCache);
         System.out.println("FogDecAp simulation ended");
         System.out.println("Simulation execution time: " + t.getTimeMS());
+        System.out.println("Contribution cache: " + contributionCache.getHits() + " hits, " + contributionCache.getMisses()
+                + " misses (hit rate " + String.format("%.1f", 100 * contributionCache.getHitRate()) + " %)");
+        ContributionBounds contributionBounds = this.context.getContributionBounds();
+        if(contributionBounds != null) {
+            System.out.println("Contribution bounds: " + contributionBounds.getPrunedBids() + " of " + contributionBounds.getBids()
+                    + " bids pruned, " + contributionBounds.getPrunedAuctions() + " hopeless auctions skipped");
+        }
+        if(this.executionType == ExecutionType.CONCURRENT) {
+            ConcurrentAuctionRuntime runtime = this.concurrentAuctionRuntime;
+            System.out.println("Concurrent auctions: " + (runtime.isConverged() ? "converged" : "stopped") + " after "
+                    + String.format("%.1f", runtime.getConvergenceTime() / 1000000.F) + " ms, " + runtime.getAuctions() + " auctions, "
+                    + runtime.getMigrations() + " migrations, " + runtime.getTrades() + " trades, " + runtime.getCancellations()
+                    + " cancelled, " + runtime.getBusyWaits() + " busy waits, " + runtime.getLateAnswers() + " late answers, "
+                    + runtime.getStaleBids() + " outdated bids");
+        }
+        if(this.synchronousRounds != null) {
+            System.out.println("Synchronous rounds: " + this.synchronousRounds.getRounds() + " rounds, "
+                    + this.synchronousRounds.getCommittedMoves() + " moves committed, " + this.synchronousRounds.getConflicts()
+                    + " conflicting moves deferred, auction parallelism " + String.format("%.2f", this.synchronousRounds.getAuctionParallelism()));
+        }
+        if(this.budget != null) {
+            System.out.println("Auction budget: " + terminationReason + " after " + this.budget.getAuctions() + " auctions and "
+                    + this.budget.getRounds() + " rounds, best application latency " + this.budget.getBestLatency());
+        }
+        if(this.worklist != null) {
+            System.out.println("Auction worklist: " + this.worklist.getAvoidedAuctions() + " auctions avoided, "
+                    + this.worklist.getReenqueuedComponents() + " components re-enqueued");
+        }
         System.out.println("\nFinal state:");
         System.out.println("\tApplication latency: " + applications.get(0).getApplicationLatency());
 
         if(this.evaluation != null) {
             this.evaluation.withApplicationLatencyAfterOptimization(applications.get(0).getApplicationLatency());
             this.evaluation.withExecutionTimeOfTheAlgorithm(t.getTimeInNanoseconds());
+            this.evaluation.withExecutionTimeOf(this.executionType, t.getTimeInNanoseconds());
+            Float speedup = this.evaluation.getSpeedupOf(this.executionType);
+            if(this.executionType != ExecutionType.SEQUENTIAL && speedup != null) {
+                System.out.println("Speedup over the sequential execution: " + String.format("%.2f", speedup) + " ("
+                        + String.format("%.1f", this.evaluation.getExecutionTimeOf(ExecutionType.SEQUENTIAL)) + " ms sequential, "
+                        + String.format("%.1f", t.getTimeInNanoseconds()) + " ms " + this.executionType + ")");
+            }
+            this.evaluation.withTerminationReason(terminationReason);
         }
 
         InfrastructurePrinter.getInstance().printInfrastructureDevicesComponents(this.infrastructure);
@@ -0,0 +1,98 @@
+package fogdecaptests;
+
+import com.defapsim.application.Application;
+import com.defapsim.application.ApplicationLatencyTracker;
+import com.defapsim.application.Component;
+import com.defapsim.application.migration.MigrationRequest;
+import com.defapsim.evaluation.problemInstancegenerator.ApplicationGenerator;
+import com.defapsim.infrastructure.Infrastructure;
+import com.defapsim.infrastructure.devices.ApplicationHostDevice;
+import com.defapsim.policies.domain.HopDomainPolicy;
+import com.defapsim.policies.initialplacement.RandomInitialPlacementPolicy;
+import com.defapsim.simulations.FogDecApSimulation;
+import com.defapsim.simulations.Simulation;
+import org.junit.jupiter.api.Test;
+
+import org.assertj.core.api.Assertions;
+
+import testfixtures.InfrastructureFixture;
+import org.assertj.core.data.Offset;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+/**
+ * This test case checks if the latency of the ApplicationLatencyTracker matches the recomputed application latency after
+ * migrations and trades
+ */
+
+public class ApplicationLatencyTrackerTest {
+
+    private static Infrastructure createInfrastructure() {
+        return InfrastructureFixture.generator().createPhase2(true);
+    }
+
+    private static Offset<Float> tolerance(Application application) {
+        return Offset.offset(1.E-4F * Math.max(1.F, application.getApplicationLatency()));
+    }
+
+    @Test
+    void testTrackedLatencyAfterMigrations() {
+        Infrastructure infrastructure = createInfrastructure();
+        Application application = new ApplicationGenerator().createApplication(infrastructure, 12);
+        new RandomInitialPlacementPolicy().withSeed(361).placeApplication(infrastructure, application);
+        ApplicationLatencyTracker tracker = application.trackLatency().withVerification(true);
+        Assertions.assertThat(tracker.getLatency()).isCloseTo(application.getApplicationLatency(), tolerance(application));
+
+        List<ApplicationHostDevice> hosts = infrastructure.getDevices().stream()
+                .filter(device -> device instanceof ApplicationHostDevice)
+                .map(ApplicationHostDevice.class::cast)
+                .collect(Collectors.toList());
+        Random random = new Random(7);
+        int migrations = 0;
+        for(int i = 0; i < 500; i++) {
+            Component component = application.getComponents().get(random.nextInt(application.getComponents().size()));
+            ApplicationHostDevice host = hosts.get(random.nextInt(hosts.size()));
+            if(host == component.getHostDevice() || !component.preDeployCheckFor(host)) continue;
+
+            new MigrationRequest(component).to(host).perform();
+            migrations++;
+            Assertions.assertThat(application.getCurrentLatency()).isCloseTo(application.getApplicationLatency(), tolerance(application));
+        }
+        Assertions.assertThat(migrations).isPositive();
+        Assertions.assertThat(tracker.getUpdates()).isEqualTo(migrations);
+
+        application.stopTrackingLatency();
+        Assertions.assertThat(application.getLatencyTracker()).isNull();
+        Assertions.assertThat(application.getCurrentLatency()).isEqualTo(application.getApplicationLatency());
+    }
+
+    @Test
+    void testTrackedLatencyDuringFogDecAp() {
+        Infrastructure infrastructure = createInfrastructure();
+        Application application = new ApplicationGenerator().createApplication(infrastructure, 12);
+        Simulation simulation = new FogDecApSimulation()
+                .isBeingDebugged(false)
+                .withInfrastructure(infrastructure)
+                .withApplication(application)
+                .withDomainPolicy(new HopDomainPolicy().withHops(2))
+                .withInitialPlacementPolicy(new RandomInitialPlacementPolicy().withSeed(361));
+        simulation.prepareSimulation();
+
+        // The listener is notified after the tracker
+        AtomicInteger placements = new AtomicInteger();
+        application.addPlacementListener(components -> {
+            placements.incrementAndGet();
+            Assertions.assertThat(application.getLatencyTracker().getLatency()).isCloseTo(application.getApplicationLatency(), tolerance(application));
+        });
+        simulation.startSimulation();
+
+        Assertions.assertThat(placements.get()).isPositive();
+        Assertions.assertThat(application.getLatencyTracker()).isNull();
+        List<Float> results = ((FogDecApSimulation) simulation).getContext().getResults();
+        Assertions.assertThat(results.get(results.size() - 1))
+                .isCloseTo(application.getApplicationLatency(), tolerance(application));
+    }
+}
@@ -0,0 +1,161 @@
+package fogdecaptests;
+
+import com.defapsim.algorithms.decentral.fogdecap.AuctionBudget;
+import com.defapsim.algorithms.decentral.fogdecap.ConcurrentAuctionRuntime;
+import com.defapsim.algorithms.decentral.fogdecap.ExecutionType;
+import com.defapsim.application.Application;
+import com.defapsim.application.Component;
+import com.defapsim.application.migration.MigrationRequest;
+import com.defapsim.application.migration.PlacementSnapshot;
+import com.defapsim.evaluation.Evaluation;
+import com.defapsim.evaluation.TerminationReason;
+import com.defapsim.evaluation.problemInstancegenerator.ApplicationGenerator;
+import com.defapsim.infrastructure.Infrastructure;
+import com.defapsim.infrastructure.devices.ApplicationHostDevice;
+import com.defapsim.policies.domain.GlobalDomainPolicy;
+import com.defapsim.policies.initialplacement.RandomInitialPlacementPolicy;
+import com.defapsim.simulations.FogDecApSimulation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import org.assertj.core.api.Assertions;
+
+import testfixtures.InfrastructureFixture;
+import org.assertj.core.data.Offset;
+
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+/**
+ * This test case checks if the AuctionBudget stops FogDecAp when a budget runs out and if the best placement so far is kept
+ */
+
+public class AuctionBudgetTest {
+
+    private Infrastructure infrastructure;
+    private Application application;
+
+    @BeforeEach
+    void initSimulationEnvironment() {
+        this.infrastructure = InfrastructureFixture.generator(5401).createPhase2(true);
+        this.application = new ApplicationGenerator().withSeed(5401).createApplication(this.infrastructure, 12);
+    }
+
+    // The best latency is the tracked latency, which can differ from the computed latency by rounding errors
+    private static Offset<Float> tolerance(Float latency) {
+        return Offset.offset(1.E-4F * latency);
+    }
+
+    private Evaluation simulate(ExecutionType executionType, AuctionBudget budget) {
+        return this.simulate(executionType, budget, null);
+    }
+
+    private Evaluation simulate(ExecutionType executionType, AuctionBudget budget, ConcurrentAuctionRuntime runtime) {
+        Evaluation evaluation = new Evaluation();
+        FogDecApSimulation simulation = new FogDecApSimulation()
+                .isBeingDebugged(false)
+                .withExecutionType(executionType)
+                .withBudget(budget);
+        if(runtime != null) simulation.withConcurrentAuctionRuntime(runtime);
+        simulation.withEvaluation(evaluation)
+                .withInfrastructure(this.infrastructure)
+                .withApplication(this.application)
+                .withDomainPolicy(new GlobalDomainPolicy())
+                .withInitialPlacementPolicy(new RandomInitialPlacementPolicy().withSeed(5401));
+        simulation.prepareSimulation();
+        simulation.startSimulation();
+        return evaluation;
+    }
+
+    @Test
+    void testWithoutBudget() {
+        Evaluation evaluation = this.simulate(ExecutionType.SEQUENTIAL, null);
+        Assertions.assertThat(evaluation.getTerminationReason()).isEqualTo(TerminationReason.CONVERGED);
+    }
+
+    @Test
+    void testAuctionBudget() {
+        AuctionBudget budget = new AuctionBudget().withMaximumAuctions(20);
+        Evaluation evaluation = this.simulate(ExecutionType.SEQUENTIAL, budget);
+
+        Assertions.assertThat(evaluation.getTerminationReason()).isEqualTo(TerminationReason.AUCTION_BUDGET);
+        Assertions.assertThat(evaluation.getAmountOfAuctions()).isEqualTo(20);
+        Assertions.assertThat(evaluation.getApplicationLatencyAfterOptimization()).isCloseTo(budget.getBestLatency(), tolerance(budget.getBestLatency()));
+        Assertions.assertThat(evaluation.getApplicationLatencyAfterOptimization()).isLessThan(evaluation.getApplicationLatencyInitial());
+    }
+
+    @Test
+    void testAuctionBudgetOfSynchronousRounds() {
+        AuctionBudget budget = new AuctionBudget().withMaximumAuctions(15);
+        Evaluation evaluation = this.simulate(ExecutionType.SYNCHRONOUS_ROUNDS, budget);
+
+        Assertions.assertThat(evaluation.getTerminationReason()).isEqualTo(TerminationReason.AUCTION_BUDGET);
+        Assertions.assertThat(evaluation.getAmountOfAuctions()).isEqualTo(15);
+        Assertions.assertThat(evaluation.getApplicationLatencyAfterOptimization()).isCloseTo(budget.getBestLatency(), tolerance(budget.getBestLatency()));
+    }
+
+    @Test
+    void testTimeBudget() {
+        Evaluation evaluation = this.simulate(ExecutionType.SEQUENTIAL, new AuctionBudget().withMaximumTime(0));
+
+        Assertions.assertThat(evaluation.getTerminationReason()).isEqualTo(TerminationReason.TIME_BUDGET);
+        Assertions.assertThat(evaluation.getApplicationLatencyAfterOptimization()).isEqualTo(evaluation.getApplicationLatencyInitial());
+    }
+
+    @Test
+    void testMaximumDurationWithoutBudget() {
+        Evaluation evaluation = this.simulate(ExecutionType.CONCURRENT, null, new ConcurrentAuctionRuntime().withMaximumDuration(0));
+
+        Assertions.assertThat(evaluation.getTerminationReason()).isEqualTo(TerminationReason.MAXIMUM_DURATION);
+    }
+
+    @Test
+    void testMaximumDurationBeforeBudget() {
+        Evaluation evaluation = this.simulate(ExecutionType.CONCURRENT, new AuctionBudget(), new ConcurrentAuctionRuntime().withMaximumDuration(0));
+
+        Assertions.assertThat(evaluation.getTerminationReason()).isEqualTo(TerminationReason.MAXIMUM_DURATION);
+        Assertions.assertThat(evaluation.getApplicationLatencyAfterOptimization()).isLessThanOrEqualTo(evaluation.getApplicationLatencyInitial());
+    }
+
+    @Test
+    void testRoundsWithoutImprovement() {
+        new RandomInitialPlacementPolicy().withSeed(5401).placeApplication(this.infrastructure, this.application);
+        AuctionBudget budget = new AuctionBudget().withMaximumRoundsWithoutImprovement(2);
+        budget.start(this.application);
+
+        budget.roundFinished();
+        Assertions.assertThat(budget.isExhausted()).isFalse();
+        budget.roundFinished();
+        Assertions.assertThat(budget.isExhausted()).isTrue();
+        Assertions.assertThat(budget.finish(false)).isEqualTo(TerminationReason.NO_IMPROVEMENT);
+    }
+
+    @Test
+    void testRestoreBestPlacement() {
+        new RandomInitialPlacementPolicy().withSeed(5401).placeApplication(this.infrastructure, this.application);
+        this.application.trackLatency();
+        PlacementSnapshot snapshot = new PlacementSnapshot(this.application);
+        Float latency = this.application.getApplicationLatency();
+
+        List<ApplicationHostDevice> hosts = this.infrastructure.getDevices().stream()
+                .filter(device -> device instanceof ApplicationHostDevice)
+                .map(ApplicationHostDevice.class::cast)
+                .collect(Collectors.toList());
+        Random random = new Random(3);
+        for(int i = 0; i < 30; i++) {
+            Component component = this.application.getComponents().get(random.nextInt(this.application.getComponents().size()));
+            ApplicationHostDevice host = hosts.get(random.nextInt(hosts.size()));
+            if(host != component.getHostDevice() && component.preDeployCheckFor(host)) new MigrationRequest(component).to(host).perform();
+        }
+
+        snapshot.restore();
+        for(Component component : this.application.getComponents()) {
+            Assertions.assertThat(component.getHostDevice()).isSameAs(snapshot.getHostDevice(component));
+            Assertions.assertThat(component.getHostDevice().getComponents()).contains(component);
+        }
+        Assertions.assertThat(this.application.getApplicationLatency()).isEqualTo(latency);
+        Assertions.assertThat(this.application.getCurrentLatency()).isCloseTo(latency, tolerance(latency));
+        this.application.stopTrackingLatency();
+    }
+}
@@ -0,0 +1,116 @@
+package fogdecaptests;
+
+import com.defapsim.algorithms.decentral.fogdecap.AuctionWorklist;
+import com.defapsim.application.Application;
+import com.defapsim.application.Component;
+import com.defapsim.evaluation.Evaluation;
+import com.defapsim.evaluation.problemInstancegenerator.ApplicationGenerator;
+import com.defapsim.infrastructure.Infrastructure;
+import com.defapsim.infrastructure.devices.ApplicationHostDevice;
+import com.defapsim.policies.domain.HopDomainPolicy;
+import com.defapsim.policies.initialplacement.RandomInitialPlacementPolicy;
+import com.defapsim.simulations.FogDecApSimulation;
+import org.junit.jupiter.api.Test;
+
+import org.assertj.core.api.Assertions;
+
+import testfixtures.InfrastructureFixture;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * This test case checks if the FogDecAp algorithm with an AuctionWorklist converges with fewer auctions and
+ * without deteriorating the application latency
+ */
+
+public class AuctionWorklistTest {
+
+    private static FogDecApSimulation simulate(boolean isWorklistScheduled, Evaluation evaluation) {
+        Infrastructure infrastructure = InfrastructureFixture.generator().createPhase2(true);
+        Application application = new ApplicationGenerator().createApplication(infrastructure, 12);
+        FogDecApSimulation simulation = new FogDecApSimulation()
+                .isBeingDebugged(false)
+                .withWorklistScheduling(isWorklistScheduled);
+        simulation.withInfrastructure(infrastructure)
+                .withApplication(application)
+                .withDomainPolicy(new HopDomainPolicy().withHops(2))
+                .withInitialPlacementPolicy(new RandomInitialPlacementPolicy().withSeed(361))
+                .withEvaluation(evaluation);
+        simulation.prepareSimulation();
+        simulation.startSimulation();
+        return simulation;
+    }
+
+    @Test
+    void testWorklistAvoidsAuctions() {
+        Evaluation fullEvaluation = new Evaluation();
+        FogDecApSimulation full = simulate(false, fullEvaluation);
+        Assertions.assertThat(full.getWorklist()).isNull();
+
+        Evaluation worklistEvaluation = new Evaluation();
+        FogDecApSimulation scheduled = simulate(true, worklistEvaluation);
+
+        Assertions.assertThat(scheduled.getContext().getSweetSpotsDetermination()).doesNotContainValue(false);
+        Assertions.assertThat(scheduled.getWorklist().getAvoidedAuctions()).isPositive();
+        Assertions.assertThat(worklistEvaluation.getAmountOfAuctions()).isLessThan(fullEvaluation.getAmountOfAuctions());
+        Assertions.assertThat(worklistEvaluation.getApplicationLatencyAfterOptimization())
+                .isLessThanOrEqualTo(worklistEvaluation.getApplicationLatencyInitial());
+    }
+
+    @Test
+    void testUnscheduledPassAfterWorklistCommitsNoMove() {
+        for(int placementSeed : new int[] {361, 7, 42, 1009}) {
+            Infrastructure infrastructure = InfrastructureFixture.generator().createPhase2(true);
+            Application application = new ApplicationGenerator().createApplication(infrastructure, 12);
+            FogDecApSimulation scheduled = new FogDecApSimulation()
+                    .isBeingDebugged(false)
+                    .withWorklistScheduling(true);
+            scheduled.withInfrastructure(infrastructure)
+                    .withApplication(application)
+                    .withDomainPolicy(new HopDomainPolicy().withHops(2))
+                    .withInitialPlacementPolicy(new RandomInitialPlacementPolicy().withSeed(placementSeed))
+                    .withEvaluation(new Evaluation());
+            scheduled.prepareSimulation();
+            scheduled.startSimulation();
+
+            Evaluation evaluation = new Evaluation();
+            FogDecApSimulation unscheduled = new FogDecApSimulation()
+                    .isBeingDebugged(false)
+                    .withWorklistScheduling(false);
+            unscheduled.withInfrastructure(infrastructure)
+                    .withApplication(application)
+                    .withDomainPolicy(new HopDomainPolicy().withHops(2))
+                    .withInitialPlacementPolicy((placedInfrastructure, placedApplication) -> { })
+                    .withEvaluation(evaluation);
+            unscheduled.prepareSimulation();
+            unscheduled.startSimulation();
+
+            Assertions.assertThat(evaluation.getAmountOfMigrations()).isZero();
+            Assertions.assertThat(evaluation.getAmountOfTrades()).isZero();
+            Assertions.assertThat(evaluation.getAmountOfAuctions()).isEqualTo(application.getComponents().size());
+        }
+    }
+
+    @Test
+    void testComponentsOfDevicesAskingForBidsAreReenqueued() {
+        Infrastructure infrastructure = InfrastructureFixture.generator().createPhase2(true);
+        Application application = new ApplicationGenerator().createApplication(infrastructure, 12);
+        infrastructure.applyDomainPolicy(new HopDomainPolicy().withHops(2));
+        new RandomInitialPlacementPolicy().withSeed(361).placeApplication(infrastructure, application);
+
+        Map<Component, Boolean> sweetSpots = new LinkedHashMap<>();
+        application.getComponents().forEach(component -> sweetSpots.put(component, true));
+        AuctionWorklist worklist = new AuctionWorklist(sweetSpots);
+        ApplicationHostDevice changed = application.getComponents().get(0).getHostDevice();
+        worklist.placementChanged(Collections.emptyList(), Collections.singletonList(changed));
+
+        for(Component component : application.getComponents()) {
+            ApplicationHostDevice host = component.getHostDevice();
+            boolean asksForBids = host == changed || host.getDevicesInDomain().contains(changed);
+            Assertions.assertThat(sweetSpots.get(component)).isEqualTo(!asksForBids);
+        }
+        Assertions.assertThat(worklist.getReenqueuedComponents()).isGreaterThan(changed.getComponents().size());
+    }
+}
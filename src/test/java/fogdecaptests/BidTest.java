@@ -0,0 +1,68 @@
+package fogdecaptests;
+
+import com.defapsim.algorithms.decentral.fogdecap.Bid;
+import com.defapsim.algorithms.decentral.fogdecap.ContributionCache;
+import com.defapsim.algorithms.decentral.fogdecap.FogDecApFunctions;
+import com.defapsim.application.Application;
+import com.defapsim.application.Component;
+import com.defapsim.evaluation.problemInstancegenerator.ApplicationGenerator;
+import com.defapsim.infrastructure.Infrastructure;
+import com.defapsim.infrastructure.devices.ApplicationHostDevice;
+import com.defapsim.policies.initialplacement.RandomInitialPlacementPolicy;
+import org.junit.jupiter.api.Test;
+
+import org.assertj.core.api.Assertions;
+
+import testfixtures.InfrastructureFixture;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * This test case checks if a Bid that is reused for all bids of a bidder ( see BidMessage ) gives the same bids as a new Bid
+ * for each bid
+ */
+
+public class BidTest {
+
+    @Test
+    void testReusedBidEqualsNewBid() {
+        Infrastructure infrastructure = InfrastructureFixture.generator()
+                .withMinimumMemory(2.F).withMaximumMemory(8.F)
+                .withMinimumComputingPower(2.F).withMaximumComputingPower(6.F)
+                .createPhase2(true);
+        Application application = new ApplicationGenerator().createApplication(infrastructure, 12);
+        new RandomInitialPlacementPolicy().withSeed(361).placeApplication(infrastructure, application);
+        ContributionCache cache = new ContributionCache();
+
+        List<ApplicationHostDevice> hosts = infrastructure.getDevices().stream()
+                .filter(device -> device instanceof ApplicationHostDevice)
+                .map(ApplicationHostDevice.class::cast)
+                .collect(Collectors.toList());
+
+        Bid reused = new Bid();
+        int tradeCandidates = 0;
+        for(Component component : application.getComponents()) {
+            ApplicationHostDevice auctioneerHost = component.getHostDevice();
+            float maxBid = cache.get(component, auctioneerHost);
+            for(ApplicationHostDevice bidderHost : hosts) {
+                if(bidderHost == auctioneerHost) continue;
+                Bid bid = FogDecApFunctions.bid(component, auctioneerHost, bidderHost, maxBid, cache, new Bid());
+                FogDecApFunctions.adjustBid(bid, auctioneerHost, component, maxBid);
+                FogDecApFunctions.bid(component, auctioneerHost, bidderHost, maxBid, cache, reused);
+                FogDecApFunctions.adjustBid(reused, auctioneerHost, component, maxBid);
+
+                Assertions.assertThat(reused.getValue()).isEqualTo(bid.getValue());
+                Assertions.assertThat(reused.getTradeCandidateCount()).isEqualTo(bid.getTradeCandidateCount());
+                for(int i = 0; i < bid.getTradeCandidateCount(); i++) {
+                    Assertions.assertThat(reused.getTradeCandidate(i)).isSameAs(bid.getTradeCandidate(i));
+                    Assertions.assertThat(reused.getContribution(i)).isEqualTo(bid.getContribution(i));
+                }
+                Assertions.assertThat(reused.getBestTradeCandidate()).isSameAs(bid.getBestTradeCandidate());
+                Assertions.assertThat(reused.getFixedValue()).isEqualTo(bid.getFixedValue());
+                tradeCandidates += bid.getTradeCandidateCount();
+            }
+        }
+        Assertions.assertThat(tradeCandidates).isPositive();
+    }
+}
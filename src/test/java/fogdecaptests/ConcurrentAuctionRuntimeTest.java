@@ -0,0 +1,73 @@
+package fogdecaptests;
+
+import com.defapsim.algorithms.decentral.fogdecap.ConcurrentAuctionRuntime;
+import com.defapsim.algorithms.decentral.fogdecap.ExecutionType;
+import com.defapsim.algorithms.decentral.fogdecap.Status;
+import com.defapsim.application.Application;
+import com.defapsim.evaluation.Evaluation;
+import com.defapsim.evaluation.problemInstancegenerator.ApplicationGenerator;
+import com.defapsim.infrastructure.Infrastructure;
+import com.defapsim.policies.domain.DomainPolicy;
+import com.defapsim.policies.domain.GlobalDomainPolicy;
+import com.defapsim.policies.domain.HopDomainPolicy;
+import com.defapsim.policies.initialplacement.RandomInitialPlacementPolicy;
+import com.defapsim.simulations.FogDecApSimulation;
+import org.junit.jupiter.api.Test;
+
+import org.assertj.core.api.Assertions;
+
+import testfixtures.InfrastructureFixture;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * This test case checks if the FogDecAp algorithm converges with concurrent auctioneers, releases all devices and
+ * does not deteriorate the application latency
+ */
+
+public class ConcurrentAuctionRuntimeTest {
+
+    private static void simulate(DomainPolicy domainPolicy) {
+        Infrastructure infrastructure = InfrastructureFixture.generator().createPhase2(true);
+        Application application = new ApplicationGenerator().createApplication(infrastructure, 12);
+        // The answers of the bidders and the run are given timeouts that cannot expire, so the run has to converge on any machine
+        long timeout = TimeUnit.HOURS.toMillis(1);
+        ConcurrentAuctionRuntime runtime = new ConcurrentAuctionRuntime()
+                .withTime2(timeout)
+                .withTime3(timeout)
+                .withMaximumDuration(timeout)
+                .withSeed(3);
+        Evaluation evaluation = new Evaluation();
+        FogDecApSimulation simulation = new FogDecApSimulation()
+                .isBeingDebugged(true)
+                .withExecutionType(ExecutionType.CONCURRENT)
+                .withConcurrentAuctionRuntime(runtime);
+        simulation.withInfrastructure(infrastructure)
+                .withApplication(application)
+                .withDomainPolicy(domainPolicy)
+                .withInitialPlacementPolicy(new RandomInitialPlacementPolicy().withSeed(361))
+                .withEvaluation(evaluation);
+        simulation.prepareSimulation();
+        simulation.startSimulation();
+
+        Assertions.assertThat(runtime.isConverged()).isTrue();
+        Assertions.assertThat(runtime.getLateAnswers()).isZero();
+        Assertions.assertThat(simulation.getContext().getSweetSpotsDetermination()).doesNotContainValue(false);
+        Assertions.assertThat(simulation.getContext().getStatusMap()).allSatisfy((device, status) -> Assertions.assertThat(status).isEqualTo(Status.FREE));
+        Assertions.assertThat(runtime.getMigrations() + runtime.getTrades()).isPositive();
+        Assertions.assertThat(evaluation.getAmountOfMigrations() + evaluation.getAmountOfTrades())
+                .isEqualTo((int) (runtime.getMigrations() + runtime.getTrades()));
+        Assertions.assertThat(evaluation.getApplicationLatencyAfterOptimization())
+                .isLessThanOrEqualTo(evaluation.getApplicationLatencyInitial());
+    }
+
+    @Test
+    void testConcurrentAuctionsWithHopDomains() {
+        simulate(new HopDomainPolicy().withHops(2));
+    }
+
+    @Test
+    void testConcurrentAuctionsWithGlobalDomains() {
+        simulate(new GlobalDomainPolicy());
+    }
+}
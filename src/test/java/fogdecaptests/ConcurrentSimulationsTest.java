@@ -0,0 +1,54 @@
+package fogdecaptests;
+
+import com.defapsim.policies.domain.DomainPolicy;
+import com.defapsim.policies.domain.GlobalDomainPolicy;
+import com.defapsim.policies.domain.HopDomainPolicy;
+import com.defapsim.simulations.FogDecApSimulation;
+import org.junit.jupiter.api.Test;
+
+import org.assertj.core.api.Assertions;
+
+import testfixtures.FogDecApFixture;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * This test case checks if FogDecAp simulations which run at the same time don't interfere with each other,
+ * i.e. if each of them computes the same auctions and placement as when it runs alone
+ */
+
+public class ConcurrentSimulationsTest {
+
+    private static List<Object> simulate(int seed) {
+        DomainPolicy domainPolicy = seed % 3 == 0 ? new GlobalDomainPolicy() : new HopDomainPolicy().withHops(seed % 3);
+        return FogDecApFixture.simulate(new FogDecApSimulation().isBeingDebugged(false), domainPolicy, seed);
+    }
+
+    @Test
+    void testSimulationsDontInterfere() throws Exception {
+        int[] seeds = { 361, 362, 363, 364, 365, 366 };
+        List<List<Object>> expected = new ArrayList<>();
+        for(int seed : seeds) {
+            expected.add(simulate(seed));
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(seeds.length);
+        try {
+            List<Callable<List<Object>>> tasks = new ArrayList<>();
+            for(int seed : seeds) {
+                tasks.add(() -> simulate(seed));
+            }
+            List<Future<List<Object>>> futures = executor.invokeAll(tasks);
+            for(int i = 0; i < seeds.length; i++) {
+                Assertions.assertThat(futures.get(i).get()).isEqualTo(expected.get(i));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
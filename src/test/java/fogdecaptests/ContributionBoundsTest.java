@@ -0,0 +1,97 @@
+package fogdecaptests;
+
+import com.defapsim.algorithms.decentral.fogdecap.ContributionBounds;
+import com.defapsim.algorithms.decentral.fogdecap.ExecutionType;
+import com.defapsim.algorithms.decentral.fogdecap.FogDecApFunctions;
+import com.defapsim.application.Application;
+import com.defapsim.application.Component;
+import com.defapsim.application.migration.MigrationRequest;
+import com.defapsim.evaluation.Evaluation;
+import com.defapsim.evaluation.problemInstancegenerator.ApplicationGenerator;
+import com.defapsim.infrastructure.Infrastructure;
+import com.defapsim.infrastructure.devices.ApplicationHostDevice;
+import com.defapsim.policies.domain.GlobalDomainPolicy;
+import com.defapsim.policies.initialplacement.RandomInitialPlacementPolicy;
+import com.defapsim.simulations.FogDecApSimulation;
+import org.junit.jupiter.api.Test;
+
+import org.assertj.core.api.Assertions;
+
+import testfixtures.InfrastructureFixture;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+/**
+ * This test case checks if the ContributionBounds are lower bounds of the contributions and if the pruning of the bids and
+ * auctions does not change the result of FogDecAp
+ */
+
+public class ContributionBoundsTest {
+
+    private Infrastructure infrastructure;
+    private Application application;
+
+    private void initSimulationEnvironment() {
+        this.infrastructure = InfrastructureFixture.generator(5401).createPhase2(true);
+        this.application = new ApplicationGenerator().withSeed(5401).createApplication(this.infrastructure, 12);
+    }
+
+    private FogDecApSimulation simulate(ExecutionType executionType, boolean isBoundPruned, Evaluation evaluation) {
+        this.initSimulationEnvironment();
+        FogDecApSimulation simulation = new FogDecApSimulation()
+                .isBeingDebugged(false)
+                .withExecutionType(executionType)
+                .withBoundPruning(isBoundPruned);
+        simulation.withEvaluation(evaluation)
+                .withInfrastructure(this.infrastructure)
+                .withApplication(this.application)
+                .withDomainPolicy(new GlobalDomainPolicy())
+                .withInitialPlacementPolicy(new RandomInitialPlacementPolicy().withSeed(5401));
+        simulation.prepareSimulation();
+        simulation.startSimulation();
+        return simulation;
+    }
+
+    @Test
+    void testBoundsAreLowerBounds() {
+        this.initSimulationEnvironment();
+        new RandomInitialPlacementPolicy().withSeed(5401).placeApplication(this.infrastructure, this.application);
+        List<ApplicationHostDevice> hosts = this.infrastructure.getDevices().stream()
+                .filter(device -> device instanceof ApplicationHostDevice)
+                .map(ApplicationHostDevice.class::cast)
+                .collect(Collectors.toList());
+        ContributionBounds bounds = new ContributionBounds();
+
+        Random random = new Random(11);
+        for(int round = 0; round < 20; round++) {
+            for(Component component : this.application.getComponents()) {
+                for(ApplicationHostDevice host : hosts) {
+                    Assertions.assertThat(bounds.get(component, host)).isLessThanOrEqualTo(FogDecApFunctions.contribution(component, host));
+                }
+            }
+            Component component = this.application.getComponents().get(random.nextInt(this.application.getComponents().size()));
+            ApplicationHostDevice host = hosts.get(random.nextInt(hosts.size()));
+            if(host != component.getHostDevice() && component.preDeployCheckFor(host)) new MigrationRequest(component).to(host).perform();
+        }
+    }
+
+    @Test
+    void testPruningKeepsTheResult() {
+        for(ExecutionType executionType : new ExecutionType[] { ExecutionType.SEQUENTIAL, ExecutionType.SYNCHRONOUS_ROUNDS }) {
+            Evaluation unpruned = new Evaluation();
+            List<Float> unprunedResults = new ArrayList<>(this.simulate(executionType, false, unpruned).getContext().getResults());
+            Evaluation pruned = new Evaluation();
+            FogDecApSimulation simulation = this.simulate(executionType, true, pruned);
+
+            Assertions.assertThat(simulation.getContext().getResults()).containsExactlyElementsOf(unprunedResults);
+            Assertions.assertThat(pruned.getApplicationLatencyAfterOptimization()).isEqualTo(unpruned.getApplicationLatencyAfterOptimization());
+            Assertions.assertThat(pruned.getAmountOfAuctions()).isEqualTo(unpruned.getAmountOfAuctions());
+            Assertions.assertThat(pruned.getAmountOfMigrations()).isEqualTo(unpruned.getAmountOfMigrations());
+            Assertions.assertThat(pruned.getAmountOfTrades()).isEqualTo(unpruned.getAmountOfTrades());
+            Assertions.assertThat(simulation.getContext().getContributionBounds().getPrunedBids()).isPositive();
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package fogdecaptests;
+
+import com.defapsim.algorithms.decentral.fogdecap.ContributionCache;
+import com.defapsim.algorithms.decentral.fogdecap.FogDecApFunctions;
+import com.defapsim.application.Application;
+import com.defapsim.application.Component;
+import com.defapsim.application.migration.MigrationRequest;
+import com.defapsim.evaluation.problemInstancegenerator.ApplicationGenerator;
+import com.defapsim.infrastructure.Infrastructure;
+import com.defapsim.infrastructure.devices.ApplicationHostDevice;
+import com.defapsim.policies.domain.HopDomainPolicy;
+import com.defapsim.policies.initialplacement.RandomInitialPlacementPolicy;
+import com.defapsim.simulations.FogDecApSimulation;
+import com.defapsim.simulations.Simulation;
+import org.junit.jupiter.api.Test;
+
+import org.assertj.core.api.Assertions;
+
+import testfixtures.InfrastructureFixture;
+
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+/**
+ * This test case checks if the ContributionCache returns the same contributions as FogDecApFunctions.contribution()
+ * while components are migrated
+ */
+
+public class ContributionCacheTest {
+
+    private static Infrastructure createInfrastructure() {
+        return InfrastructureFixture.generator().createPhase2(true);
+    }
+
+    @Test
+    void testCachedContributionsAfterMigrations() {
+        Infrastructure infrastructure = createInfrastructure();
+        Application application = new ApplicationGenerator().createApplication(infrastructure, 12);
+        new RandomInitialPlacementPolicy().withSeed(361).placeApplication(infrastructure, application);
+        ContributionCache cache = new ContributionCache();
+        application.addPlacementListener(cache);
+
+        List<ApplicationHostDevice> hosts = infrastructure.getDevices().stream()
+                .filter(device -> device instanceof ApplicationHostDevice)
+                .map(ApplicationHostDevice.class::cast)
+                .collect(Collectors.toList());
+        Random random = new Random(5);
+        for(int round = 0; round < 30; round++) {
+            for(Component component : application.getComponents()) {
+                for(ApplicationHostDevice host : hosts) {
+                    Assertions.assertThat(cache.get(component, host)).isEqualTo(FogDecApFunctions.contribution(component, host));
+                }
+            }
+
+            Component component = application.getComponents().get(random.nextInt(application.getComponents().size()));
+            ApplicationHostDevice host = hosts.get(random.nextInt(hosts.size()));
+            if(host != component.getHostDevice() && component.preDeployCheckFor(host)) new MigrationRequest(component).to(host).perform();
+        }
+        Assertions.assertThat(cache.getHits()).isPositive();
+        Assertions.assertThat(cache.getInvalidations()).isPositive();
+        Assertions.assertThat(cache.getHitRate()).isBetween(0.F, 1.F);
+    }
+
+    @Test
+    void testCacheIsUsedByFogDecAp() {
+        Infrastructure infrastructure = createInfrastructure();
+        Application application = new ApplicationGenerator().createApplication(infrastructure, 12);
+        Simulation simulation = new FogDecApSimulation()
+                .isBeingDebugged(false)
+                .withInfrastructure(infrastructure)
+                .withApplication(application)
+                .withDomainPolicy(new HopDomainPolicy().withHops(2))
+                .withInitialPlacementPolicy(new RandomInitialPlacementPolicy().withSeed(361));
+        simulation.prepareSimulation();
+        simulation.startSimulation();
+
+        ContributionCache contributionCache = ((FogDecApSimulation) simulation).getContext().getContributionCache();
+        Assertions.assertThat(contributionCache.getMisses()).isPositive();
+        Assertions.assertThat(contributionCache.getHits()).isPositive();
+    }
+}
@@ -0,0 +1,84 @@
+package fogdecaptests;
+
+import com.defapsim.infrastructure.Infrastructure;
+import com.defapsim.infrastructure.devices.Device;
+import com.defapsim.infrastructure.devices.Domain;
+import com.defapsim.policies.domain.GlobalDomainPolicy;
+import com.defapsim.policies.domain.HopDomainPolicy;
+import org.junit.jupiter.api.Test;
+
+import org.assertj.core.api.Assertions;
+
+import testfixtures.InfrastructureFixture;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * This test case checks if the global domains are views of the devices of the infrastructure and if the membership of the
+ * devices in a domain is stored correctly
+ */
+
+public class DomainTest {
+
+    private static Infrastructure createInfrastructure() {
+        return InfrastructureFixture.generator().createPhase1(3, true);
+    }
+
+    @Test
+    void testGlobalDomainContainsAllOtherDevices() {
+        Infrastructure infrastructure = createInfrastructure();
+        infrastructure.applyDomainPolicy(new GlobalDomainPolicy());
+
+        for(Device device : infrastructure.getDevices()) {
+            List<Device> expected = new ArrayList<>(infrastructure.getDevices());
+            expected.remove(device);
+            Domain domain = device.getDevicesInDomain();
+
+            Assertions.assertThat(domain.isGlobal()).isTrue();
+            Assertions.assertThat(domain).containsExactlyElementsOf(expected);
+            Assertions.assertThat(domain).hasSameSizeAs(expected);
+            Assertions.assertThat(domain.get(expected.size() - 1)).isSameAs(expected.get(expected.size() - 1));
+            Assertions.assertThat(domain.contains(device)).isFalse();
+            for(Device other : expected) {
+                Assertions.assertThat(domain.contains(other)).isTrue();
+            }
+        }
+    }
+
+    @Test
+    void testChangedGlobalDomainIsStoredExplicitly() {
+        Infrastructure infrastructure = createInfrastructure();
+        infrastructure.applyDomainPolicy(new GlobalDomainPolicy());
+
+        Device device = infrastructure.getDevices().get(0);
+        Device removed = infrastructure.getDevices().get(1);
+        Domain domain = device.getDevicesInDomain();
+        List<Device> expected = new ArrayList<>(domain);
+        expected.remove(removed);
+
+        Assertions.assertThat(domain.remove(removed)).isTrue();
+        Assertions.assertThat(domain.isGlobal()).isFalse();
+        Assertions.assertThat(domain).containsExactlyElementsOf(expected);
+        Assertions.assertThat(domain.contains(removed)).isFalse();
+
+        device.addDeviceToDomain(removed);
+        expected.add(removed);
+        Assertions.assertThat(domain).containsExactlyElementsOf(expected);
+        Assertions.assertThat(domain.contains(removed)).isTrue();
+    }
+
+    @Test
+    void testHopDomainMembership() {
+        Infrastructure infrastructure = createInfrastructure();
+        infrastructure.applyDomainPolicy(new HopDomainPolicy().withHops(2));
+
+        for(Device device : infrastructure.getDevices()) {
+            Domain domain = device.getDevicesInDomain();
+            Assertions.assertThat(domain.isGlobal()).isFalse();
+            for(Device other : infrastructure.getDevices()) {
+                Assertions.assertThat(domain.contains(other)).isEqualTo(new ArrayList<>(domain).contains(other));
+            }
+        }
+    }
+}
@@ -14,6 +14,8 @@ import com.defapsim.simulations.Simulation;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.util.List;
+
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.*;
 
@@ -60,12 +62,13 @@ public class FogDecApEvaluationTest {
                 .withInitialPlacementPolicy(initialPlacementPolicy);
         fogDecApSimulation.prepareSimulation();
         fogDecApSimulation.startSimulation();
+        List<Float> results = ((FogDecApSimulation) fogDecApSimulation).getContext().getResults();
 
-        if(FogDecApSimulation.results.size() > 0) {
-            Float current = FogDecApSimulation.results.get(0);
-            for(int i = 1; i < FogDecApSimulation.results.size(); i++) {
-                assertThat(FogDecApSimulation.results.get(i), lessThanOrEqualTo(current + 0.1F));
-                current = FogDecApSimulation.results.get(i);
+        if(results.size() > 0) {
+            Float current = results.get(0);
+            for(int i = 1; i < results.size(); i++) {
+                assertThat(results.get(i), lessThanOrEqualTo(current + 0.1F));
+                current = results.get(i);
             }
         }
     }
@@ -83,12 +86,13 @@ public class FogDecApEvaluationTest {
                 .withInitialPlacementPolicy(initialPlacementPolicy);
         fogDecApSimulation.prepareSimulation();
         fogDecApSimulation.startSimulation();
+        List<Float> results = ((FogDecApSimulation) fogDecApSimulation).getContext().getResults();
 
-        if(FogDecApSimulation.results.size() > 0) {
-            Float current = FogDecApSimulation.results.get(0);
-            for(int i = 1; i < FogDecApSimulation.results.size(); i++) {
-                assertThat(FogDecApSimulation.results.get(i), lessThanOrEqualTo(current + 0.1F));
-                current = FogDecApSimulation.results.get(i);
+        if(results.size() > 0) {
+            Float current = results.get(0);
+            for(int i = 1; i < results.size(); i++) {
+                assertThat(results.get(i), lessThanOrEqualTo(current + 0.1F));
+                current = results.get(i);
             }
         }
     }
@@ -106,12 +110,13 @@ public class FogDecApEvaluationTest {
                 .withInitialPlacementPolicy(initialPlacementPolicy);
         fogDecApSimulation.prepareSimulation();
         fogDecApSimulation.startSimulation();
+        List<Float> results = ((FogDecApSimulation) fogDecApSimulation).getContext().getResults();
 
-        if(FogDecApSimulation.results.size() > 0) {
-            Float current = FogDecApSimulation.results.get(0);
-            for(int i = 1; i < FogDecApSimulation.results.size(); i++) {
-                assertThat(FogDecApSimulation.results.get(i), lessThanOrEqualTo(current + 0.1F));
-                current = FogDecApSimulation.results.get(i);
+        if(results.size() > 0) {
+            Float current = results.get(0);
+            for(int i = 1; i < results.size(); i++) {
+                assertThat(results.get(i), lessThanOrEqualTo(current + 0.1F));
+                current = results.get(i);
             }
         }
     }
@@ -129,12 +134,13 @@ public class FogDecApEvaluationTest {
                 .withInitialPlacementPolicy(initialPlacementPolicy);
         fogDecApSimulation.prepareSimulation();
         fogDecApSimulation.startSimulation();
+        List<Float> results = ((FogDecApSimulation) fogDecApSimulation).getContext().getResults();
 
-        if(FogDecApSimulation.results.size() > 0) {
-            Float current = FogDecApSimulation.results.get(0);
-            for(int i = 1; i < FogDecApSimulation.results.size(); i++) {
-                assertThat(FogDecApSimulation.results.get(i), lessThanOrEqualTo(current + 0.1F));
-                current = FogDecApSimulation.results.get(i);
+        if(results.size() > 0) {
+            Float current = results.get(0);
+            for(int i = 1; i < results.size(); i++) {
+                assertThat(results.get(i), lessThanOrEqualTo(current + 0.1F));
+                current = results.get(i);
             }
         }
     }
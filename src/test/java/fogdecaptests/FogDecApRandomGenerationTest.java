@@ -14,6 +14,8 @@ import com.defapsim.simulations.FogDecApSimulation;
 import com.defapsim.simulations.Simulation;
 import org.junit.jupiter.api.*;
 
+import java.util.List;
+
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.lessThanOrEqualTo;
 import static org.hamcrest.Matchers.hasItem;
@@ -68,13 +70,14 @@ public class FogDecApRandomGenerationTest {
         applicationLatency = application.getApplicationLatency();
 
         fogDecApSimulation.startSimulation();
+        List<Float> results = ((FogDecApSimulation) fogDecApSimulation).getContext().getResults();
         assertThat(application.getApplicationLatency(), lessThanOrEqualTo(applicationLatency));
 
-        if(FogDecApSimulation.results.size() > 0) {
-            Float current = FogDecApSimulation.results.get(0);
-            for(int i = 1; i < FogDecApSimulation.results.size(); i++) {
-                assertThat(FogDecApSimulation.results.get(i), lessThanOrEqualTo(current + 0.1F));
-                current = FogDecApSimulation.results.get(i);
+        if(results.size() > 0) {
+            Float current = results.get(0);
+            for(int i = 1; i < results.size(); i++) {
+                assertThat(results.get(i), lessThanOrEqualTo(current + 0.1F));
+                current = results.get(i);
             }
         }
 
@@ -0,0 +1,77 @@
+package fogdecaptests;
+
+import com.defapsim.infrastructure.Infrastructure;
+import com.defapsim.infrastructure.devices.Device;
+import com.defapsim.infrastructure.links.Link;
+import com.defapsim.policies.domain.HopDomainIndex;
+import com.defapsim.policies.domain.HopDomainPolicy;
+import org.junit.jupiter.api.Test;
+
+import org.assertj.core.api.Assertions;
+
+import testfixtures.InfrastructureFixture;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * This test case checks if the domains of the HopDomainPolicy and the HopDomainIndex contain the same devices in the same
+ * order as the domains of the original recursive walk over all paths
+ */
+
+public class HopDomainPolicyTest {
+
+    private static Infrastructure createInfrastructure() {
+        return InfrastructureFixture.generator().createPhase2(true);
+    }
+
+    /**
+     * The domain as it was created by walking every path of at most "hops" links
+     */
+    private static List<Device> walkAllPaths(Device root, int hops) {
+        List<Device> domain = new ArrayList<>();
+        walk(root, root, hops, domain);
+        return domain;
+    }
+
+    private static void walk(Device root, Device device, int hops, List<Device> domain) {
+        if(hops == 0) return;
+        for(Link link : device.getLinks()) {
+            Device target = link.getTarget();
+            if(!domain.contains(target) && target != root) domain.add(target);
+            walk(root, target, hops - 1, domain);
+        }
+    }
+
+    @Test
+    void testDomainsMatchTheWalkOverAllPaths() {
+        Infrastructure infrastructure = createInfrastructure();
+        HopDomainIndex index = new HopDomainIndex(infrastructure, 4, true);
+
+        for(int hops = 1; hops <= 4; hops++) {
+            for(boolean parallel : new boolean[] { false, true }) {
+                infrastructure.resetInfrastructure();
+                infrastructure.applyDomainPolicy(new HopDomainPolicy().withHops(hops).withParallelDomainCreation(parallel));
+                for(Device device : infrastructure.getDevices()) {
+                    List<Device> expected = walkAllPaths(device, hops);
+                    Assertions.assertThat(device.getDevicesInDomain()).containsExactlyElementsOf(expected);
+                    Assertions.assertThat(index.getDomain(device, hops)).containsExactlyElementsOf(expected);
+                }
+            }
+        }
+    }
+
+    @Test
+    void testIndexIsNotUsedAfterTopologyChange() {
+        Infrastructure infrastructure = createInfrastructure();
+        HopDomainIndex index = new HopDomainIndex(infrastructure, 2, false);
+        infrastructure.applyDomainPolicy(new HopDomainPolicy().withHops(2).withHopDomainIndex(index));
+
+        Device removed = infrastructure.getDevices().get(infrastructure.getDevices().size() / 2);
+        infrastructure.removeDevice(removed);
+        for(Device device : infrastructure.getDevices()) {
+            Assertions.assertThat(device.getDevicesInDomain()).containsExactlyElementsOf(walkAllPaths(device, 2));
+            Assertions.assertThat(device.getDevicesInDomain()).doesNotContain(removed);
+        }
+    }
+}
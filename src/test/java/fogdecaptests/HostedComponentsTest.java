@@ -0,0 +1,121 @@
+package fogdecaptests;
+
+import com.defapsim.algorithms.decentral.fogdecap.Bid;
+import com.defapsim.application.Application;
+import com.defapsim.application.Component;
+import com.defapsim.application.migration.MigrationRequest;
+import com.defapsim.evaluation.problemInstancegenerator.ApplicationGenerator;
+import com.defapsim.infrastructure.Infrastructure;
+import com.defapsim.infrastructure.devices.ApplicationHostDevice;
+import com.defapsim.infrastructure.devices.HostedComponents;
+import com.defapsim.policies.initialplacement.RandomInitialPlacementPolicy;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import org.assertj.core.api.Assertions;
+
+import testfixtures.InfrastructureFixture;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+/**
+ * This test case checks if the capacity index of the HostedComponents finds the same trade candidates in the same order
+ * as a scan of all components placed on a device
+ */
+
+public class HostedComponentsTest {
+
+    private Infrastructure infrastructure;
+    private Application application;
+    private List<ApplicationHostDevice> hosts;
+
+    @BeforeEach
+    void initSimulationEnvironment() {
+        this.infrastructure = InfrastructureFixture.generator().createPhase2(true);
+        this.application = new ApplicationGenerator().createApplication(this.infrastructure, 12);
+        new RandomInitialPlacementPolicy().withSeed(361).placeApplication(this.infrastructure, this.application);
+        this.hosts = this.infrastructure.getDevices().stream()
+                .filter(device -> device instanceof ApplicationHostDevice)
+                .map(ApplicationHostDevice.class::cast)
+                .collect(Collectors.toList());
+    }
+
+    private static List<Component> scan(List<Component> components, Component component, float freeMemory, float freeComputingPower,
+                                         float otherFreeMemory, float otherFreeComputingPower) {
+        List<Component> tradeCandidates = new ArrayList<>();
+        for(Component c : components) {
+            if(Float.compare(component.getMemoryDemand(), c.getMemoryDemand() + freeMemory) <= 0
+                    && Float.compare(c.getMemoryDemand(), component.getMemoryDemand() + otherFreeMemory) <= 0
+                    && Float.compare(component.getComputingPowerDemand(), c.getComputingPowerDemand() + freeComputingPower) <= 0
+                    && Float.compare(c.getComputingPowerDemand(), component.getComputingPowerDemand() + otherFreeComputingPower) <= 0)
+                tradeCandidates.add(c);
+        }
+        return tradeCandidates;
+    }
+
+    private void assertSameTradeCandidates() {
+        for(Component component : this.application.getComponents()) {
+            ApplicationHostDevice other = component.getHostDevice();
+            for(ApplicationHostDevice host : this.hosts) {
+                if(host == other) continue;
+                Assertions.assertThat(host.getComponents().getTradeCandidates(component, host.getFreeMemory(), host.getFreeComputingPower(),
+                        other.getFreeMemory(), other.getFreeComputingPower()))
+                        .containsExactlyElementsOf(scan(host.getComponents(), component, host.getFreeMemory(), host.getFreeComputingPower(),
+                                other.getFreeMemory(), other.getFreeComputingPower()));
+            }
+        }
+    }
+
+    @Test
+    void testTradeCandidatesAfterMigrations() {
+        Random random = new Random(7);
+        for(int round = 0; round < 40; round++) {
+            this.assertSameTradeCandidates();
+
+            Component component = this.application.getComponents().get(random.nextInt(this.application.getComponents().size()));
+            ApplicationHostDevice host = this.hosts.get(random.nextInt(this.hosts.size()));
+            if(host != component.getHostDevice() && component.preDeployCheckFor(host)) new MigrationRequest(component).to(host).perform();
+        }
+    }
+
+    @Test
+    void testTradeCandidatesKeepTheOrderOfTheList() {
+        HostedComponents components = new HostedComponents();
+        List<Component> expected = new ArrayList<>();
+        for(Component component : this.application.getComponents()) {
+            components.add(component);
+            expected.add(component);
+        }
+        components.add(2, components.remove(7));
+        expected.add(2, expected.remove(7));
+        components.set(4, expected.get(0));
+        expected.set(4, expected.get(0));
+        components.remove(expected.get(5));
+        expected.remove(5);
+        Assertions.assertThat(components).containsExactlyElementsOf(expected);
+
+        Random random = new Random(3);
+        Bid bid = new Bid();
+        for(int i = 0; i < 100; i++) {
+            Component component = this.application.getComponents().get(random.nextInt(this.application.getComponents().size()));
+            float freeMemory = random.nextFloat() * 4.F - 1.F;
+            float freeComputingPower = random.nextFloat() * 4.F - 1.F;
+            float otherFreeMemory = random.nextFloat() * 4.F;
+            float otherFreeComputingPower = random.nextFloat() * 4.F;
+            List<Component> scanned = scan(expected, component, freeMemory, freeComputingPower, otherFreeMemory, otherFreeComputingPower);
+            Assertions.assertThat(components.getTradeCandidates(component, freeMemory, freeComputingPower, otherFreeMemory, otherFreeComputingPower))
+                    .containsExactlyElementsOf(scanned);
+
+            // The reused Bid collects the same trade candidates in the same order from the index
+            bid.reset(0.F).collectTradeCandidates(components, component, freeMemory, freeComputingPower, otherFreeMemory, otherFreeComputingPower);
+            List<Component> collected = new ArrayList<>();
+            for(int j = 0; j < bid.getTradeCandidateCount(); j++) collected.add(bid.getTradeCandidate(j));
+            Assertions.assertThat(collected).containsExactlyElementsOf(scanned);
+        }
+        components.clear();
+        Assertions.assertThat(components.getTradeCandidates(expected.get(0), 10.F, 10.F, 10.F, 10.F)).isEmpty();
+    }
+}
@@ -0,0 +1,97 @@
+package fogdecaptests;
+
+import com.defapsim.algorithms.decentral.fogdecap.FogDecApFunctions;
+import com.defapsim.algorithms.decentral.fogdecap.HypotheticalPlacement;
+import com.defapsim.application.Application;
+import com.defapsim.application.Component;
+import com.defapsim.evaluation.problemInstancegenerator.ApplicationGenerator;
+import com.defapsim.infrastructure.Infrastructure;
+import com.defapsim.infrastructure.devices.ApplicationHostDevice;
+import com.defapsim.policies.initialplacement.RandomInitialPlacementPolicy;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import org.assertj.core.api.Assertions;
+
+import testfixtures.InfrastructureFixture;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * This test case checks if the HypotheticalPlacement computes the same contributions and latencies as actually moving
+ * the components, and that it does not change the placement
+ */
+
+public class HypotheticalPlacementTest {
+
+    private Infrastructure infrastructure;
+    private Application application;
+    private List<ApplicationHostDevice> hosts;
+
+    @BeforeEach
+    void initSimulationEnvironment() {
+        this.infrastructure = InfrastructureFixture.generator().createPhase2(true);
+        this.application = new ApplicationGenerator().createApplication(this.infrastructure, 12);
+        new RandomInitialPlacementPolicy().withSeed(361).placeApplication(this.infrastructure, this.application);
+        this.hosts = this.infrastructure.getDevices().stream()
+                .filter(device -> device instanceof ApplicationHostDevice)
+                .map(ApplicationHostDevice.class::cast)
+                .collect(Collectors.toList());
+    }
+
+    private static void place(Component component, ApplicationHostDevice device) {
+        component.getHostDevice().getComponents().remove(component);
+        component.setHostDevice(device);
+        device.getComponents().add(component);
+    }
+
+    @Test
+    void testHypotheticalMoveMatchesRealMove() {
+        for(Component moved : this.application.getComponents().subList(0, 3)) {
+            ApplicationHostDevice realHost = moved.getHostDevice();
+            for(ApplicationHostDevice target : this.hosts) {
+                HypotheticalPlacement placement = new HypotheticalPlacement().move(moved, target);
+                List<Float> hypothetical = new ArrayList<>();
+                for(Component component : this.application.getComponents()) {
+                    for(ApplicationHostDevice host : this.hosts) hypothetical.add(placement.contribution(component, host));
+                }
+                Float hypotheticalLatency = placement.applicationLatency(this.application);
+                Assertions.assertThat(moved.getHostDevice()).isSameAs(realHost);
+
+                place(moved, target);
+                List<Float> real = new ArrayList<>();
+                for(Component component : this.application.getComponents()) {
+                    for(ApplicationHostDevice host : this.hosts) real.add(FogDecApFunctions.contribution(component, host));
+                }
+                Assertions.assertThat(hypothetical).isEqualTo(real);
+                Assertions.assertThat(hypotheticalLatency).isEqualTo(this.application.getApplicationLatency());
+                place(moved, realHost);
+            }
+        }
+    }
+
+    @Test
+    void testCalcDifDoesNotChangePlacement() {
+        Component c_a = this.application.getComponents().get(0);
+        ApplicationHostDevice host_a = c_a.getHostDevice();
+        List<Component> components = new ArrayList<>(host_a.getComponents());
+        Float latency = this.application.getApplicationLatency();
+
+        for(Component c_x : this.application.getComponents()) {
+            if(c_x.getHostDevice() == host_a) continue;
+            for(ApplicationHostDevice device : this.hosts) {
+                Float dif = FogDecApFunctions.calcDif(c_x, device, c_a);
+                ApplicationHostDevice host_x = c_x.getHostDevice();
+                place(c_a, host_x);
+                Float expected = FogDecApFunctions.contribution(c_x, device) - FogDecApFunctions.contribution(c_x, host_x);
+                place(c_a, host_a);
+                Assertions.assertThat(dif).isEqualTo(expected);
+            }
+        }
+        Assertions.assertThat(c_a.getHostDevice()).isSameAs(host_a);
+        Assertions.assertThat(this.application.getApplicationLatency()).isEqualTo(latency);
+        Assertions.assertThat(host_a.getComponents()).containsExactlyInAnyOrderElementsOf(components);
+    }
+}
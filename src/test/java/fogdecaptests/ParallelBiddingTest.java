@@ -0,0 +1,52 @@
+package fogdecaptests;
+
+import com.defapsim.policies.domain.DomainPolicy;
+import com.defapsim.policies.domain.GlobalDomainPolicy;
+import com.defapsim.policies.domain.HopDomainPolicy;
+import com.defapsim.simulations.FogDecApSimulation;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import org.assertj.core.api.Assertions;
+
+import testfixtures.FogDecApFixture;
+
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Supplier;
+
+/**
+ * This test case checks if the FogDecAp algorithm computes the same auctions and placement if the bids are computed in
+ * parallel
+ */
+
+public class ParallelBiddingTest {
+
+    private final ExecutorService executor = Executors.newFixedThreadPool(4);
+
+    @AfterEach
+    void shutdownExecutor() {
+        this.executor.shutdownNow();
+    }
+
+    private static List<Object> simulate(DomainPolicy domainPolicy, ExecutorService biddingExecutor) {
+        return FogDecApFixture.simulate(new FogDecApSimulation().isBeingDebugged(false).withBiddingExecutor(biddingExecutor), domainPolicy, 361);
+    }
+
+    private void assertSameResults(Supplier<DomainPolicy> domainPolicy) {
+        List<Object> sequential = simulate(domainPolicy.get(), null);
+        List<Object> parallel = simulate(domainPolicy.get(), this.executor);
+        Assertions.assertThat(parallel).isEqualTo(sequential);
+    }
+
+    @Test
+    void testParallelBiddingWithHopDomains() {
+        this.assertSameResults(() -> new HopDomainPolicy().withHops(2));
+    }
+
+    @Test
+    void testParallelBiddingWithGlobalDomains() {
+        this.assertSameResults(GlobalDomainPolicy::new);
+    }
+}
@@ -0,0 +1,84 @@
+package fogdecaptests;
+
+import com.defapsim.algorithms.decentral.fogdecap.FogDecApFunctions;
+import com.defapsim.algorithms.kernel.PlacementKernel;
+import com.defapsim.application.Application;
+import com.defapsim.application.Component;
+import com.defapsim.application.migration.MigrationRequest;
+import com.defapsim.evaluation.problemInstancegenerator.ApplicationGenerator;
+import com.defapsim.infrastructure.Infrastructure;
+import com.defapsim.infrastructure.devices.ApplicationHostDevice;
+import com.defapsim.policies.initialplacement.RandomInitialPlacementPolicy;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import org.assertj.core.api.Assertions;
+
+import testfixtures.InfrastructureFixture;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * This test case checks if the compiled PlacementKernel computes the same latencies, contributions and placement checks as
+ * the object model of the application
+ */
+
+public class PlacementKernelTest {
+
+    private Infrastructure infrastructure;
+    private Application application;
+
+    @BeforeEach
+    void initSimulationEnvironment() {
+        this.infrastructure = InfrastructureFixture.generator().createPhase2(true);
+        this.application = new ApplicationGenerator().createApplication(this.infrastructure, 12);
+        new RandomInitialPlacementPolicy().withSeed(361).placeApplication(this.infrastructure, this.application);
+    }
+
+    @Test
+    void testKernelMatchesObjectModel() {
+        Random random = new Random(11);
+        for(int round = 0; round < 20; round++) {
+            PlacementKernel kernel = PlacementKernel.compile(this.application, this.infrastructure);
+            int[] assignment = kernel.getAssignment();
+
+            Assertions.assertThat(kernel.isFeasible(assignment)).isTrue();
+            Assertions.assertThat(kernel.latency(assignment)).isEqualTo(this.application.getApplicationLatency());
+            for(int c = 0; c < kernel.getComponentCount(); c++) {
+                Component component = kernel.getComponent(c);
+                for(int h = 0; h < kernel.getHostCount(); h++) {
+                    ApplicationHostDevice host = kernel.getHost(h);
+                    Assertions.assertThat(kernel.contribution(assignment, c, h)).isEqualTo(FogDecApFunctions.contribution(component, host));
+                    if(host != component.getHostDevice()) {
+                        Assertions.assertThat(kernel.canHost(assignment, c, h)).isEqualTo(component.preDeployCheckFor(host));
+                    }
+                }
+            }
+
+            // Migrate a random component to change the placement
+            Component component = this.application.getComponents().get(random.nextInt(this.application.getComponents().size()));
+            ApplicationHostDevice host = kernel.getHost(random.nextInt(kernel.getHostCount()));
+            if(host != component.getHostDevice() && component.preDeployCheckFor(host)) new MigrationRequest(component).to(host).perform();
+        }
+    }
+
+    @Test
+    void testInfeasibleAssignments() {
+        PlacementKernel kernel = PlacementKernel.compile(this.application, this.infrastructure);
+        int[] assignment = kernel.getAssignment();
+
+        int[] unplaced = assignment.clone();
+        unplaced[0] = -1;
+        Assertions.assertThat(kernel.isFeasible(unplaced)).isFalse();
+
+        // All components on the host device with the smallest memory exceed its memory
+        int smallest = 0;
+        for(int h = 1; h < kernel.getHostCount(); h++) {
+            if(kernel.getHost(h).getMemory() < kernel.getHost(smallest).getMemory()) smallest = h;
+        }
+        int[] crowded = new int[kernel.getComponentCount()];
+        Arrays.fill(crowded, smallest);
+        Assertions.assertThat(kernel.isFeasible(crowded)).isFalse();
+    }
+}
@@ -0,0 +1,82 @@
+package fogdecaptests;
+
+import com.defapsim.algorithms.decentral.fogdecap.ExecutionType;
+import com.defapsim.evaluation.Evaluation;
+import com.defapsim.policies.domain.GlobalDomainPolicy;
+import com.defapsim.simulations.FogDecApSimulation;
+import org.junit.jupiter.api.Test;
+
+import org.assertj.core.api.Assertions;
+
+import testfixtures.FogDecApFixture;
+
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * This test case checks if the FogDecAp algorithm in synchronous rounds converges and computes the same rounds for any
+ * number of threads
+ */
+
+public class SynchronousRoundsTest {
+
+    private Evaluation evaluation;
+    private FogDecApSimulation simulation;
+
+    private List<Object> simulate(int threads) {
+        return this.simulate(ExecutionType.SYNCHRONOUS_ROUNDS, threads, new Evaluation());
+    }
+
+    private List<Object> simulate(ExecutionType executionType, int threads, Evaluation evaluation) {
+        ExecutorService executor = threads == 0 ? null : Executors.newFixedThreadPool(threads);
+        this.evaluation = evaluation;
+        this.simulation = new FogDecApSimulation()
+                .isBeingDebugged(false)
+                .withExecutionType(executionType)
+                .withBiddingExecutor(executor);
+        this.simulation.withEvaluation(this.evaluation);
+        try {
+            return FogDecApFixture.simulate(this.simulation, new GlobalDomainPolicy(), 361);
+        } finally {
+            if(executor != null) executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void testRoundsConverge() {
+        this.simulate(0);
+
+        Assertions.assertThat(this.simulation.getContext().getSweetSpotsDetermination()).doesNotContainValue(false);
+        Assertions.assertThat(this.simulation.getSynchronousRounds().getCommittedMoves()).isPositive();
+        Assertions.assertThat(this.evaluation.getAmountOfMigrations() + this.evaluation.getAmountOfTrades())
+                .isEqualTo((int) this.simulation.getSynchronousRounds().getCommittedMoves());
+        Assertions.assertThat(this.evaluation.getApplicationLatencyAfterOptimization())
+                .isLessThanOrEqualTo(this.evaluation.getApplicationLatencyInitial());
+    }
+
+    @Test
+    void testRoundsAreIndependentOfThreads() {
+        List<Object> sequential = this.simulate(0);
+        Assertions.assertThat(this.simulate(2)).isEqualTo(sequential);
+        Assertions.assertThat(this.simulate(4)).isEqualTo(sequential);
+    }
+
+    @Test
+    void testSpeedupOverTheSequentialExecutionIsMeasured() {
+        Evaluation sequential = new Evaluation();
+        this.simulate(ExecutionType.SEQUENTIAL, 0, sequential);
+        Evaluation rounds = new Evaluation().withExecutionTimesOf(sequential);
+        this.simulate(ExecutionType.SYNCHRONOUS_ROUNDS, 2, rounds);
+
+        Assertions.assertThat(sequential.getExecutionTimeOf(ExecutionType.SEQUENTIAL)).isEqualTo(sequential.getExecutionTimeOfTheAlgorithm());
+        Assertions.assertThat(sequential.getSpeedupOf(ExecutionType.SYNCHRONOUS_ROUNDS)).isNull();
+        Assertions.assertThat(rounds.getExecutionTimeOf(ExecutionType.SEQUENTIAL)).isEqualTo(sequential.getExecutionTimeOfTheAlgorithm());
+        Assertions.assertThat(rounds.getExecutionTimeOf(ExecutionType.SYNCHRONOUS_ROUNDS)).isEqualTo(rounds.getExecutionTimeOfTheAlgorithm()).isPositive();
+        Assertions.assertThat(rounds.getSpeedupOf(ExecutionType.SYNCHRONOUS_ROUNDS))
+                .isEqualTo(sequential.getExecutionTimeOfTheAlgorithm() / rounds.getExecutionTimeOfTheAlgorithm());
+        Assertions.assertThat(rounds.getSpeedupOf(ExecutionType.CONCURRENT)).isNull();
+        Assertions.assertThat(rounds.getAmountOfMigrations() + rounds.getAmountOfTrades())
+                .isEqualTo((int) this.simulation.getSynchronousRounds().getCommittedMoves());
+    }
+}
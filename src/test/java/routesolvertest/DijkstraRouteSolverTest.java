@@ -0,0 +1,70 @@
+package routesolvertest;
+
+import com.defapsim.algorithms.decentral.RouteSolver;
+import com.defapsim.algorithms.decentral.RouteSolverType;
+import com.defapsim.infrastructure.Infrastructure;
+import com.defapsim.infrastructure.devices.Device;
+import com.defapsim.infrastructure.links.Route;
+import org.junit.jupiter.api.Test;
+
+import org.assertj.core.api.Assertions;
+
+import testfixtures.InfrastructureFixture;
+
+/**
+ * This test case checks if the DijkstraRouteSolver resolves the same routes as the original (recursive) RouteSolver where
+ * the latter finds the shortest routes, and never worse routes otherwise
+ */
+
+public class DijkstraRouteSolverTest {
+
+    @Test
+    void testDijkstraRouteSolverMatchesRecursiveRouteSolver() {
+        Infrastructure infrastructure = InfrastructureFixture.generator(5401).createPhase1(1, false);
+        Assertions.assertThat(infrastructure.getRouteSolverType()).isEqualTo(RouteSolverType.DIJKSTRA);
+        infrastructure.resolveRoutes();
+
+        for(Device source : infrastructure.getDevices()) {
+            RouteSolver routeSolver = new RouteSolver(source);
+            Assertions.assertThat(source.getRoutes()).hasSameSizeAs(routeSolver.getRoutes());
+
+            for(Route expected : routeSolver.getRoutes()) {
+                Route route = source.getRouteTo(expected.getTarget());
+                Assertions.assertThat(route.getLatency()).isEqualTo(expected.getLatency());
+                Assertions.assertThat(route.getHops()).hasSameSizeAs(expected.getHops());
+                Assertions.assertThat(route.getHops().get(route.getHops().size() - 1).getTarget()).isSameAs(expected.getTarget());
+            }
+        }
+    }
+
+    @Test
+    void testDijkstraRouteSolverIsNeverWorseThanRecursiveRouteSolver() {
+        Infrastructure infrastructure = InfrastructureFixture.generator(5401).createPhase3(1);
+
+        int shorterRoutes = 0;
+        for(Device source : infrastructure.getDevices()) {
+            for(Route expected : new RouteSolver(source).getRoutes()) {
+                Route route = source.getRouteTo(expected.getTarget());
+                Assertions.assertThat(route.getLatency()).isLessThanOrEqualTo(expected.getLatency());
+                Assertions.assertThat(source.getLatencyTo(expected.getTarget())).isEqualTo(route.getLatency());
+                if(Float.compare(route.getLatency(), expected.getLatency()) < 0) shorterRoutes++;
+            }
+        }
+        // The original RouteSolver misses shortest routes between the PoPs of phase 3
+        Assertions.assertThat(shorterRoutes).isPositive();
+    }
+
+    @Test
+    void testRecursiveRouteSolverCanBeSelected() {
+        Infrastructure infrastructure = InfrastructureFixture.generator(9245).createPhase1(1, false)
+                .withRouteSolverType(RouteSolverType.RECURSIVE);
+        infrastructure.resolveRoutes();
+
+        Device source = infrastructure.getDevices().get(0);
+        RouteSolver routeSolver = new RouteSolver(source);
+        Assertions.assertThat(source.getRoutes()).hasSameSizeAs(routeSolver.getRoutes());
+        for(int i = 0; i < routeSolver.getRoutes().size(); i++) {
+            Assertions.assertThat(source.getRoutes().get(i).getTarget()).isSameAs(routeSolver.getRoutes().get(i).getTarget());
+        }
+    }
+}
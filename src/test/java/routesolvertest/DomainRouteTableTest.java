@@ -0,0 +1,172 @@
+package routesolvertest;
+
+import com.defapsim.application.Application;
+import com.defapsim.application.Component;
+import com.defapsim.application.Connector;
+import com.defapsim.evaluation.problemInstancegenerator.ApplicationGenerator;
+import com.defapsim.infrastructure.Infrastructure;
+import com.defapsim.infrastructure.devices.ApplicationHostDevice;
+import com.defapsim.infrastructure.devices.Device;
+import com.defapsim.infrastructure.devices.enddevice.EndDevice;
+import com.defapsim.infrastructure.routing.DomainRouteTable;
+import com.defapsim.infrastructure.routing.MatrixRouteTable;
+import com.defapsim.infrastructure.routing.RouteTable;
+import com.defapsim.policies.domain.HopDomainPolicy;
+import com.defapsim.policies.initialplacement.RandomInitialPlacementPolicy;
+import com.defapsim.simulations.FogDecApSimulation;
+import com.defapsim.simulations.Simulation;
+import org.junit.jupiter.api.Test;
+
+import org.assertj.core.api.Assertions;
+
+import testfixtures.InfrastructureFixture;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * This test case checks if the routes resolved by the DomainRouteTable are identical to the routes of the full route
+ * resolution and if it stores fewer routes
+ */
+
+public class DomainRouteTableTest {
+
+    private static Infrastructure createInfrastructure() {
+        return InfrastructureFixture.generator().createPhase2(true);
+    }
+
+    @Test
+    void testDomainRoutesMatchFullResolution() {
+        Infrastructure infrastructure = createInfrastructure();
+        List<Device> devices = infrastructure.getDevices();
+        RouteTable expected = infrastructure.getRouteTable();
+        infrastructure.applyDomainPolicy(new HopDomainPolicy().withHops(2));
+
+        DomainRouteTable routeTable = new DomainRouteTable(infrastructure);
+        infrastructure.withRouteTable(routeTable).resolveRoutes();
+
+        for(Device source : devices) {
+            for(Device target : source.getDevicesInDomain()) {
+                Assertions.assertThat(source.getLatencyTo(target)).isEqualTo(expected.getLatency(source, target));
+                Assertions.assertThat(routeTable.getPredecessor(source, target)).isSameAs(expected.getPredecessor(source, target));
+            }
+        }
+        Assertions.assertThat(routeTable.getExtensions()).isZero();
+        Assertions.assertThat(routeTable.getRouteCount()).isLessThan((long) devices.size() * (devices.size() - 1));
+
+        for(Device source : devices) {
+            for(Device target : devices) {
+                if(source == target) continue;
+                Assertions.assertThat(routeTable.getLatency(source, target)).isEqualTo(expected.getLatency(source, target));
+                Assertions.assertThat(routeTable.getNextHop(source, target)).isSameAs(expected.getNextHop(source, target));
+            }
+        }
+        Assertions.assertThat(routeTable.getExtensions()).isPositive();
+    }
+
+    @Test
+    void testConcurrentQueriesMatchFullResolution() throws Exception {
+        Infrastructure infrastructure = createInfrastructure();
+        List<Device> devices = infrastructure.getDevices();
+        RouteTable expected = infrastructure.getRouteTable();
+        infrastructure.applyDomainPolicy(new HopDomainPolicy().withHops(2));
+
+        DomainRouteTable routeTable = new DomainRouteTable(infrastructure);
+        infrastructure.withRouteTable(routeTable).resolveRoutes();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> queries = new ArrayList<>();
+            for(int thread = 0; thread < 8; thread++) {
+                queries.add(executor.submit(() -> {
+                    for(Device source : devices) {
+                        for(Device target : source.getDevicesInDomain()) {
+                            Assertions.assertThat(source.getLatencyTo(target)).isEqualTo(expected.getLatency(source, target));
+                            Assertions.assertThat(routeTable.getPredecessor(source, target)).isSameAs(expected.getPredecessor(source, target));
+                        }
+                    }
+                }));
+            }
+            for(Future<?> query : queries) query.get();
+        } finally {
+            executor.shutdown();
+        }
+        Assertions.assertThat(routeTable.getExtensions()).isZero();
+
+        executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> queries = new ArrayList<>();
+            for(int thread = 0; thread < 8; thread++) {
+                queries.add(executor.submit(() -> {
+                    for(Device source : devices) {
+                        for(Device target : devices) {
+                            if(source == target) continue;
+                            Assertions.assertThat(routeTable.getLatency(source, target)).isEqualTo(expected.getLatency(source, target));
+                        }
+                    }
+                }));
+            }
+            for(Future<?> query : queries) query.get();
+        } finally {
+            executor.shutdown();
+        }
+        Assertions.assertThat(routeTable.getExtensions()).isPositive();
+    }
+
+    @Test
+    void testFogDecApPlacementIsIdentical() {
+        List<List<Float>> results = new ArrayList<>();
+        for(boolean domainRoutes : new boolean[] { false, true }) {
+            Infrastructure infrastructure = createInfrastructure();
+            if(domainRoutes) infrastructure.withRouteTable(new DomainRouteTable(infrastructure)).resolveRoutes();
+            else infrastructure.withRouteTable(new MatrixRouteTable()).resolveRoutes();
+            Application application = new ApplicationGenerator().createApplication(infrastructure, 12);
+
+            Simulation simulation = new FogDecApSimulation()
+                    .isBeingDebugged(false)
+                    .withInfrastructure(infrastructure)
+                    .withApplication(application)
+                    .withDomainPolicy(new HopDomainPolicy().withHops(1))
+                    .withInitialPlacementPolicy(new RandomInitialPlacementPolicy().withSeed(361));
+            simulation.prepareSimulation();
+            simulation.startSimulation();
+            results.add(new ArrayList<>(((FogDecApSimulation) simulation).getContext().getResults()));
+        }
+        Assertions.assertThat(results.get(1)).isNotEmpty().containsExactlyElementsOf(results.get(0));
+    }
+
+    @Test
+    void testFogDecApRequiresTheEndDevicesOfTheApplication() {
+        Infrastructure infrastructure = createInfrastructure();
+        DomainRouteTable routeTable = new DomainRouteTable(infrastructure);
+        infrastructure.withRouteTable(routeTable).resolveRoutes();
+        Application application = new ApplicationGenerator().createApplication(infrastructure, 12);
+
+        new FogDecApSimulation()
+                .isBeingDebugged(false)
+                .withInfrastructure(infrastructure)
+                .withApplication(application)
+                .withDomainPolicy(new HopDomainPolicy().withHops(1))
+                .withInitialPlacementPolicy(new RandomInitialPlacementPolicy().withSeed(361))
+                .prepareSimulation();
+        routeTable.clear();
+
+        List<EndDevice> endDevices = new ArrayList<>();
+        for(Component component : application.getComponents()) {
+            for(Connector connector : component.getConnectors()) {
+                if(connector.getTarget() instanceof EndDevice) endDevices.add((EndDevice) connector.getTarget());
+            }
+        }
+        Assertions.assertThat(endDevices).isNotEmpty();
+        for(Device device : infrastructure.getDevices()) {
+            if(!(device instanceof ApplicationHostDevice)) continue;
+            routeTable.getRoutes(device);
+            for(EndDevice endDevice : endDevices) {
+                Assertions.assertThat(device.getLatencyTo(endDevice)).isFinite();
+            }
+        }
+        Assertions.assertThat(routeTable.getExtensions()).isZero();
+    }
+}
@@ -0,0 +1,197 @@
+package routesolvertest;
+
+import com.defapsim.algorithms.decentral.DijkstraRouteSolver;
+import com.defapsim.exceptions.LinkNotFoundException;
+import com.defapsim.infrastructure.Infrastructure;
+import com.defapsim.infrastructure.devices.Device;
+import com.defapsim.infrastructure.devices.DeviceConfiguration;
+import com.defapsim.infrastructure.devices.fognode.FogNodeCreator;
+import com.defapsim.infrastructure.links.Link;
+import com.defapsim.infrastructure.links.LinkConfiguration;
+import com.defapsim.infrastructure.links.Route;
+import com.defapsim.infrastructure.routing.HashRouteTable;
+import com.defapsim.infrastructure.routing.MatrixRouteTable;
+import com.defapsim.infrastructure.routing.RouteTable;
+import com.defapsim.policies.domain.DomainPolicy;
+import com.defapsim.policies.domain.GlobalDomainPolicy;
+import com.defapsim.policies.domain.HopDomainPolicy;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import org.assertj.core.api.Assertions;
+
+import testfixtures.InfrastructureFixture;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * This test case checks if the routes and domains, which are repaired after a change of the topology, are identical to
+ * the routes and domains that are created from scratch
+ */
+
+public class DynamicTopologyTest {
+
+    public static Infrastructure infrastructure;
+
+    @BeforeEach
+    void initDynamicTopologyTest() {
+        infrastructure = InfrastructureFixture.generator(9245).createPhase1(2, true);
+    }
+
+    private static Device getDevice(String identifier) {
+        return infrastructure.getDevices().stream().filter(device -> device.getIdentifier().equals(identifier)).findFirst().get();
+    }
+
+    private static Device createFogNode(String identifier) {
+        return new FogNodeCreator().register(new DeviceConfiguration().withIdentifier(identifier).withInfrastructure(infrastructure)
+                .withMemory(8.F).withComputingPower(4.F).withProcessingSpeed(2.F));
+    }
+
+    /**
+     * Compare the stored routes of all devices with the routes resolved from scratch
+     */
+    private static void assertRoutesMatchFullResolution() {
+        for(Device source : infrastructure.getDevices()) {
+            List<Route> expectedRoutes = new DijkstraRouteSolver(source).getRoutes();
+            Assertions.assertThat(source.getRoutes()).hasSameSizeAs(expectedRoutes);
+            for(Route expected : expectedRoutes) {
+                Assertions.assertThat(source.getLatencyTo(expected.getTarget())).isEqualTo(expected.getLatency());
+                Assertions.assertThat(source.getRouteTo(expected.getTarget()).getLatency()).isEqualTo(expected.getLatency());
+            }
+        }
+    }
+
+    /**
+     * Compare the domains of all devices with the domains created from scratch
+     */
+    private static void assertDomainsMatchFreshDomains(DomainPolicy domainPolicy) {
+        List<List<Device>> domains = new ArrayList<>();
+        for(Device device : infrastructure.getDevices()) {
+            domains.add(new ArrayList<>(device.getDevicesInDomain()));
+            device.getDevicesInDomain().clear();
+        }
+        domainPolicy.createDomain(infrastructure);
+        for(int i = 0; i < domains.size(); i++) {
+            Assertions.assertThat(domains.get(i)).containsExactlyElementsOf(infrastructure.getDevices().get(i).getDevicesInDomain());
+        }
+    }
+
+    @Test
+    void testGrowTopologyByOneDevice() {
+        DomainPolicy domainPolicy = new HopDomainPolicy().withHops(2);
+        infrastructure.applyDomainPolicy(domainPolicy);
+
+        Device box = getDevice("Box 1");
+        Device fogNode = createFogNode("Mobile X");
+        infrastructure.addLink(new LinkConfiguration().from(box).to(fogNode).withNameFromTo("LINK-X1").withNameToFrom("LINK-X2").withLatencyFromTo(3.F));
+
+        Assertions.assertThat(fogNode.getRouteTo(box).getHops()).hasSize(1);
+        Assertions.assertThat(getDevice("Cloud-Server").getLatencyTo(fogNode)).isEqualTo(getDevice("Cloud-Server").getLatencyTo(box) + 3.F);
+        assertRoutesMatchFullResolution();
+        assertDomainsMatchFreshDomains(domainPolicy);
+    }
+
+    @Test
+    void testRoutesAreOrderedByOrdinalAfterGrowth() {
+        for(RouteTable routeTable : new RouteTable[] { new HashRouteTable(), new MatrixRouteTable() }) {
+            initDynamicTopologyTest();
+            infrastructure.withRouteTable(routeTable).resolveRoutes();
+            List<Device> sources = new ArrayList<>(infrastructure.getDevices());
+
+            Device fogNode = createFogNode("Mobile X");
+            infrastructure.addLink(new LinkConfiguration().from(getDevice("Box 1")).to(fogNode).withNameFromTo("LINK-X1").withNameToFrom("LINK-X2").withLatencyFromTo(3.F));
+
+            for(Device source : sources) {
+                List<Integer> ordinals = new ArrayList<>();
+                source.getRoutes().forEach(route -> ordinals.add(route.getTarget().getOrdinal()));
+                Assertions.assertThat(ordinals).contains(fogNode.getOrdinal()).isSorted();
+            }
+            assertRoutesMatchFullResolution();
+        }
+    }
+
+    @Test
+    void testRoutesTakeTheFastestParallelLink() {
+        Device box = getDevice("Box 1");
+        Device neighbour = box.getLinks().get(0).getTarget();
+        box.addLink(new Link("LINK-P", 0.01F, neighbour));
+        infrastructure.resolveRoutes();
+
+        Assertions.assertThat(box.getRouteTo(neighbour).getHops()).containsExactly(box.getFastestLinkTo(neighbour));
+        for(Device source : infrastructure.getDevices()) {
+            for(Route route : source.getRoutes()) {
+                float latency = 0.F;
+                for(Link hop : route.getHops()) latency += hop.getLatency();
+                Assertions.assertThat(latency).isEqualTo(route.getLatency());
+            }
+        }
+    }
+
+    @Test
+    void testChangeLinkLatency() {
+        DomainPolicy domainPolicy = new HopDomainPolicy().withHops(3);
+        infrastructure.applyDomainPolicy(domainPolicy);
+
+        Device pop = getDevice("PoP 1");
+        Device cloud = getDevice("Cloud-Server");
+
+        infrastructure.changeLinkLatency(pop, cloud, 0.5F);
+        assertRoutesMatchFullResolution();
+
+        infrastructure.changeLinkLatency(pop, cloud, 500.F);
+        assertRoutesMatchFullResolution();
+        assertDomainsMatchFreshDomains(domainPolicy);
+    }
+
+    @Test
+    void testAddAndRemoveLink() {
+        DomainPolicy domainPolicy = new HopDomainPolicy().withHops(2);
+        infrastructure.applyDomainPolicy(domainPolicy);
+
+        Device box1 = getDevice("Box 1");
+        Device box2 = getDevice("Box 2");
+
+        infrastructure.addDirectedLink(new LinkConfiguration().from(box1).to(box2).withNameFromTo("LINK-B").withLatencyFromTo(0.1F));
+        Assertions.assertThat(box1.getRouteTo(box2).getHops()).hasSize(1);
+        assertRoutesMatchFullResolution();
+        assertDomainsMatchFreshDomains(domainPolicy);
+
+        infrastructure.removeLink(box1, box2);
+        Assertions.assertThat(box1.getRouteTo(box2).getHops()).hasSizeGreaterThan(1);
+        assertRoutesMatchFullResolution();
+        assertDomainsMatchFreshDomains(domainPolicy);
+
+        Assertions.assertThatThrownBy(() -> infrastructure.removeLink(box1, box2)).isInstanceOf(LinkNotFoundException.class);
+    }
+
+    @Test
+    void testRemoveDevice() {
+        DomainPolicy domainPolicy = new HopDomainPolicy().withHops(2);
+        infrastructure.applyDomainPolicy(domainPolicy);
+
+        Device pop = getDevice("PoP 2");
+        Device box = getDevice("Box 2");
+        infrastructure.removeDevice(pop);
+
+        Assertions.assertThat(infrastructure.getDevices()).doesNotContain(pop);
+        Assertions.assertThat(box.hasRouteTo(pop)).isFalse();
+        Assertions.assertThat(pop.getLinkingDevices()).isEmpty();
+        assertRoutesMatchFullResolution();
+        assertDomainsMatchFreshDomains(domainPolicy);
+    }
+
+    @Test
+    void testGlobalDomainPolicy() {
+        DomainPolicy domainPolicy = new GlobalDomainPolicy();
+        infrastructure.applyDomainPolicy(domainPolicy);
+
+        Device fogNode = createFogNode("Mobile Y");
+        infrastructure.addLink(new LinkConfiguration().from(getDevice("Box 3")).to(fogNode).withNameFromTo("LINK-Y1").withNameToFrom("LINK-Y2").withLatencyFromTo(1.F));
+        assertDomainsMatchFreshDomains(domainPolicy);
+
+        infrastructure.removeDevice(getDevice("Mobile 1"));
+        assertRoutesMatchFullResolution();
+        assertDomainsMatchFreshDomains(domainPolicy);
+    }
+}
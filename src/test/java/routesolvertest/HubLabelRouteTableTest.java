@@ -0,0 +1,85 @@
+package routesolvertest;
+
+import com.defapsim.infrastructure.Infrastructure;
+import com.defapsim.infrastructure.devices.Device;
+import com.defapsim.infrastructure.links.Link;
+import com.defapsim.infrastructure.links.LinkConfiguration;
+import com.defapsim.infrastructure.routing.HubLabelRouteTable;
+import com.defapsim.infrastructure.routing.MatrixRouteTable;
+import org.assertj.core.data.Offset;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import org.assertj.core.api.Assertions;
+
+import testfixtures.InfrastructureFixture;
+
+import java.util.List;
+
+/**
+ * This test case checks if the latencies answered by the hub labels are identical to the latencies of the route solver
+ */
+
+public class HubLabelRouteTableTest {
+
+    public static Infrastructure infrastructure;
+    public static List<Device> devices;
+
+    @BeforeEach
+    void initHubLabelRouteTableTest() {
+        infrastructure = InfrastructureFixture.generator(8594).createPhase2(false);
+        devices = infrastructure.getDevices();
+    }
+
+    private static Device getDevice(String identifier) {
+        return devices.stream().filter(device -> device.getIdentifier().equals(identifier)).findFirst().get();
+    }
+
+    /**
+     * Resolve the routes with the route solver and compare them with the routes of the HubLabelRouteTable
+     */
+    private static void assertHubLabelsMatchRouteSolver(HubLabelRouteTable routeTable) {
+        MatrixRouteTable expected = new MatrixRouteTable();
+        infrastructure.withRouteTable(expected).resolveRoutes();
+        infrastructure.withRouteTable(routeTable).resolveRoutes();
+
+        for(Device source : devices) {
+            Assertions.assertThat(routeTable.getRoutes(source)).hasSameSizeAs(expected.getRoutes(source));
+            for(Device target : devices) {
+                if(source == target || !expected.hasRoute(source, target)) continue;
+                float latency = expected.getLatency(source, target);
+                Assertions.assertThat(routeTable.getLatency(source, target)).isCloseTo(latency, Offset.offset(1.E-4F));
+
+                List<Link> hops = source.getRouteTo(target).getHops();
+                Assertions.assertThat(hops.get(0).getTarget()).isSameAs(routeTable.getNextHop(source, target));
+                Assertions.assertThat(hops.get(hops.size() - 1).getTarget()).isSameAs(target);
+                Assertions.assertThat(hops.stream().map(Link::getLatency).reduce(0.F, Float::sum)).isCloseTo(latency, Offset.offset(1.E-4F));
+            }
+        }
+    }
+
+    @Test
+    void testHubLabelsMatchRouteSolver() {
+        HubLabelRouteTable routeTable = new HubLabelRouteTable(infrastructure);
+        assertHubLabelsMatchRouteSolver(routeTable);
+
+        Assertions.assertThat(routeTable.getIndexSize()).isPositive();
+        Assertions.assertThat(routeTable.getAverageLabelSize()).isLessThan(devices.size());
+        Assertions.assertThat(routeTable.getBuildTime()).isNotNegative();
+        Assertions.assertThat(routeTable.getReport()).contains(String.valueOf(routeTable.getIndexSize()));
+    }
+
+    @Test
+    void testHubLabelsOfCyclicAndDirectedTopology() {
+        HubLabelRouteTable routeTable = new HubLabelRouteTable(infrastructure);
+        infrastructure.withRouteTable(routeTable);
+        infrastructure.addLink(new LinkConfiguration().from(getDevice("PoP 2")).to(getDevice("PoP 3"))
+                .withNameFromTo("LINK-C1").withNameToFrom("LINK-C2").withLatencyFromTo(4.F));
+        infrastructure.addDirectedLink(new LinkConfiguration().from(getDevice("Box 1")).to(getDevice("Box 3"))
+                .withNameFromTo("LINK-D").withLatencyFromTo(0.5F));
+
+        assertHubLabelsMatchRouteSolver(routeTable);
+        Assertions.assertThat(getDevice("Box 1").getNextHopTo(getDevice("Box 3"))).isSameAs(getDevice("Box 3"));
+        Assertions.assertThat(getDevice("Box 3").getNextHopTo(getDevice("Box 1"))).isNotSameAs(getDevice("Box 1"));
+    }
+}
@@ -0,0 +1,130 @@
+package routesolvertest;
+
+import com.defapsim.algorithms.decentral.DijkstraRouteSolver;
+import com.defapsim.infrastructure.Infrastructure;
+import com.defapsim.infrastructure.devices.Device;
+import com.defapsim.infrastructure.links.Route;
+import com.defapsim.infrastructure.routing.LazyRouteTable;
+import com.defapsim.infrastructure.routing.MatrixRouteTable;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import org.assertj.core.api.Assertions;
+
+import testfixtures.InfrastructureFixture;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * This test case checks if the LazyRouteTable computes the same routes on demand as the eager route resolution
+ */
+
+public class LazyRouteTableTest {
+
+    public static Infrastructure infrastructure;
+    public static List<Device> devices;
+
+    @BeforeEach
+    void initLazyRouteTableTest() {
+        infrastructure = InfrastructureFixture.generator(1589).createPhase1(2, false);
+        devices = infrastructure.getDevices();
+    }
+
+    @Test
+    void testLazyRoutesMatchEagerRoutes() {
+        MatrixRouteTable expected = new MatrixRouteTable();
+        infrastructure.withRouteTable(expected).resolveRoutes();
+
+        LazyRouteTable routeTable = new LazyRouteTable(devices.size());
+        infrastructure.withRouteTable(routeTable).resolveRoutes();
+        Assertions.assertThat(routeTable.size()).isZero();
+        Assertions.assertThat(routeTable.getMisses()).isZero();
+
+        for(Device source : devices) {
+            Assertions.assertThat(source.getRoutes()).hasSameSizeAs(expected.getRoutes(source));
+            for(Device target : devices) {
+                if(source == target) continue;
+                Assertions.assertThat(source.getLatencyTo(target)).isEqualTo(expected.getLatency(source, target));
+                Assertions.assertThat(source.getNextHopTo(target)).isSameAs(expected.getNextHop(source, target));
+                Assertions.assertThat(source.getRouteTo(target).getHops()).containsExactlyElementsOf(expected.getRoute(source, target).getHops());
+            }
+        }
+        Assertions.assertThat(routeTable.getMisses()).isEqualTo(devices.size());
+        Assertions.assertThat(routeTable.getEvictions()).isZero();
+        Assertions.assertThat(routeTable.getHits()).isPositive();
+    }
+
+    @Test
+    void testLeastRecentlyUsedTreesAreEvicted() {
+        LazyRouteTable routeTable = new LazyRouteTable(2);
+        infrastructure.withRouteTable(routeTable);
+        Device first = devices.get(0);
+        Device second = devices.get(1);
+        Device third = devices.get(2);
+
+        first.getLatencyTo(third);
+        second.getLatencyTo(third);
+        first.getLatencyTo(second);
+        third.getLatencyTo(first);
+        Assertions.assertThat(routeTable.size()).isEqualTo(2);
+        Assertions.assertThat(routeTable.getMisses()).isEqualTo(3);
+        Assertions.assertThat(routeTable.getHits()).isEqualTo(1);
+        Assertions.assertThat(routeTable.getEvictions()).isEqualTo(1);
+
+        // The tree of the second device was evicted, the tree of the first device is still cached
+        first.getLatencyTo(third);
+        Assertions.assertThat(routeTable.getHits()).isEqualTo(2);
+        second.getLatencyTo(third);
+        Assertions.assertThat(routeTable.getMisses()).isEqualTo(4);
+        Assertions.assertThat(routeTable.getEvictions()).isEqualTo(2);
+    }
+
+    @Test
+    void testTopologyChangeInvalidatesTrees() {
+        LazyRouteTable routeTable = new LazyRouteTable(4);
+        infrastructure.withRouteTable(routeTable).resolveRoutes();
+        Device source = devices.get(0);
+        Device target = source.getLinks().get(0).getTarget();
+        source.getLatencyTo(target);
+        Assertions.assertThat(routeTable.size()).isEqualTo(1);
+
+        infrastructure.changeLinkLatency(source, target, 0.01F);
+        Assertions.assertThat(routeTable.size()).isZero();
+
+        for(Route route : new DijkstraRouteSolver(source).getRoutes()) {
+            Assertions.assertThat(source.getLatencyTo(route.getTarget())).isEqualTo(route.getLatency());
+        }
+    }
+
+    @Test
+    void testConcurrentQueriesComputeEachTreeOnce() throws Exception {
+        MatrixRouteTable expected = new MatrixRouteTable();
+        infrastructure.withRouteTable(expected).resolveRoutes();
+
+        LazyRouteTable routeTable = new LazyRouteTable(devices.size());
+        infrastructure.withRouteTable(routeTable);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> queries = new ArrayList<>();
+            for(int thread = 0; thread < 8; thread++) {
+                queries.add(executor.submit(() -> {
+                    for(Device source : devices) {
+                        for(Device target : devices) {
+                            if(source == target) continue;
+                            Assertions.assertThat(source.getLatencyTo(target)).isEqualTo(expected.getLatency(source, target));
+                        }
+                    }
+                }));
+            }
+            for(Future<?> query : queries) query.get();
+        } finally {
+            executor.shutdown();
+        }
+        Assertions.assertThat(routeTable.getMisses()).isEqualTo(devices.size());
+        Assertions.assertThat(routeTable.size()).isEqualTo(devices.size());
+    }
+}
@@ -0,0 +1,80 @@
+package routesolvertest;
+
+import com.defapsim.infrastructure.Infrastructure;
+import com.defapsim.infrastructure.devices.Device;
+import com.defapsim.infrastructure.links.Route;
+import org.junit.jupiter.api.Test;
+
+import org.assertj.core.api.Assertions;
+
+import testfixtures.InfrastructureFixture;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * This test case checks if the parallel route resolution stores exactly the same routes as the sequential route resolution
+ */
+
+public class ParallelRouteResolutionTest {
+
+    /**
+     * Copy the stored routes of all devices
+     */
+    private static List<List<Route>> getRoutes(Infrastructure infrastructure) {
+        List<List<Route>> routes = new ArrayList<>();
+        for(Device device : infrastructure.getDevices()) {
+            List<Route> deviceRoutes = new ArrayList<>();
+            for(Route route : device.getRoutes()) {
+                deviceRoutes.add(new Route(route.getTarget(), new ArrayList<>(route.getHops())));
+            }
+            routes.add(deviceRoutes);
+        }
+        return routes;
+    }
+
+    private static void assertSameRoutes(List<List<Route>> expected, List<List<Route>> actual) {
+        Assertions.assertThat(actual).hasSameSizeAs(expected);
+        for(int i = 0; i < expected.size(); i++) {
+            Assertions.assertThat(actual.get(i)).hasSameSizeAs(expected.get(i));
+            for(int j = 0; j < expected.get(i).size(); j++) {
+                Route expectedRoute = expected.get(i).get(j);
+                Route actualRoute = actual.get(i).get(j);
+                Assertions.assertThat(actualRoute.getTarget()).isSameAs(expectedRoute.getTarget());
+                Assertions.assertThat(actualRoute.getHops()).containsExactlyElementsOf(expectedRoute.getHops());
+            }
+        }
+    }
+
+    @Test
+    void testForkJoinRouteResolutionIsIdenticalToSequentialRouteResolution() {
+        Infrastructure infrastructure = InfrastructureFixture.generator(5401).createPhase2(true);
+        List<List<Route>> sequentialRoutes = getRoutes(infrastructure);
+
+        infrastructure.withParallelRouteResolution(true).resolveRoutes();
+        assertSameRoutes(sequentialRoutes, getRoutes(infrastructure));
+
+        Map<Device, Float> times = infrastructure.getRouteResolutionTimes();
+        Assertions.assertThat(times.keySet()).containsExactlyElementsOf(infrastructure.getDevices());
+        Assertions.assertThat(times.values()).allMatch(time -> time >= 0.F);
+    }
+
+    @Test
+    void testExecutorRouteResolutionIsIdenticalToSequentialRouteResolution() {
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            Infrastructure infrastructure = InfrastructureFixture.generator(5401).withRouteResolutionExecutor(executor).createPhase2(true);
+            Assertions.assertThat(infrastructure.getRouteResolutionExecutor()).isSameAs(executor);
+            List<List<Route>> parallelRoutes = getRoutes(infrastructure);
+
+            infrastructure.withRouteResolutionExecutor(null).resolveRoutes();
+            assertSameRoutes(getRoutes(infrastructure), parallelRoutes);
+            Assertions.assertThat(infrastructure.getRouteResolutionTimes()).hasSameSizeAs(infrastructure.getDevices());
+        } finally {
+            executor.shutdown();
+        }
+    }
+}
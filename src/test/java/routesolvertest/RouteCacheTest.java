@@ -0,0 +1,82 @@
+package routesolvertest;
+
+import com.defapsim.evaluation.problemInstancegenerator.InfrastructureGenerator;
+import com.defapsim.infrastructure.Infrastructure;
+import com.defapsim.infrastructure.devices.Device;
+import com.defapsim.infrastructure.links.Route;
+import com.defapsim.infrastructure.routing.RouteCache;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import org.assertj.core.api.Assertions;
+
+import testfixtures.InfrastructureFixture;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * This test case checks if the routes loaded from the RouteCache are identical to the resolved routes
+ */
+
+public class RouteCacheTest {
+
+    private static InfrastructureGenerator createInfrastructureGenerator(RouteCache routeCache) {
+        return InfrastructureFixture.generator(9245).withRouteCache(routeCache);
+    }
+
+    @Test
+    void testCachedRoutesAreIdenticalToResolvedRoutes(@TempDir Path directory) {
+        RouteCache routeCache = new RouteCache(directory);
+        Infrastructure resolved = createInfrastructureGenerator(null).createPhase1(2, true);
+
+        Infrastructure stored = createInfrastructureGenerator(routeCache).createPhase1(2, true);
+        Assertions.assertThat(routeCache.getFile(stored)).exists();
+        long misses = routeCache.getMisses();
+        Assertions.assertThat(misses).isPositive();
+        Assertions.assertThat(stored.getRouteResolutionTimes()).isNotEmpty();
+
+        Infrastructure loaded = createInfrastructureGenerator(routeCache).createPhase1(2, true);
+        Assertions.assertThat(RouteCache.fingerprint(loaded)).isEqualTo(RouteCache.fingerprint(resolved));
+        Assertions.assertThat(routeCache.getHits()).isPositive();
+        Assertions.assertThat(routeCache.getMisses()).isEqualTo(misses);
+        Assertions.assertThat(loaded.getRouteResolutionTimes()).isEmpty();
+
+        List<Device> devices = loaded.getDevices();
+        for(int i = 0; i < devices.size(); i++) {
+            List<Route> expectedRoutes = resolved.getDevices().get(i).getRoutes();
+            List<Route> actualRoutes = devices.get(i).getRoutes();
+            Assertions.assertThat(actualRoutes).hasSameSizeAs(expectedRoutes);
+            for(int j = 0; j < expectedRoutes.size(); j++) {
+                Assertions.assertThat(actualRoutes.get(j).getTarget().getIdentifier()).isEqualTo(expectedRoutes.get(j).getTarget().getIdentifier());
+                Assertions.assertThat(actualRoutes.get(j).getLatency()).isEqualTo(expectedRoutes.get(j).getLatency());
+                Assertions.assertThat(actualRoutes.get(j).getHops()).hasSameSizeAs(expectedRoutes.get(j).getHops());
+            }
+        }
+    }
+
+    @Test
+    void testFingerprintChangesWithLatency() {
+        Infrastructure infrastructure = createInfrastructureGenerator(null).createPhase1(2, false);
+        String fingerprint = RouteCache.fingerprint(infrastructure);
+        Device device = infrastructure.getDevices().get(0);
+        Device target = device.getLinks().get(0).getTarget();
+
+        infrastructure.changeLinkLatency(device, target, device.getLinkTo(target).getLatency() + 1.F);
+        Assertions.assertThat(RouteCache.fingerprint(infrastructure)).isNotEqualTo(fingerprint);
+    }
+
+    @Test
+    void testCorruptFileIsACacheMiss(@TempDir Path directory) throws Exception {
+        RouteCache routeCache = new RouteCache(directory);
+        Infrastructure infrastructure = createInfrastructureGenerator(null).createPhase1(2, false);
+        Path file = routeCache.getFile(infrastructure);
+        Files.write(file, new byte[] { 0x44, 0x52, 0x43, 0x31, 0, 0 });
+
+        Assertions.assertThat(routeCache.load(infrastructure)).isFalse();
+        infrastructure.withRouteCache(routeCache).resolveRoutes();
+        Assertions.assertThat(routeCache.load(infrastructure)).isTrue();
+        Assertions.assertThat(routeCache.getHits()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,185 @@
+package routesolvertest;
+
+import com.defapsim.algorithms.decentral.RouteSolver;
+import com.defapsim.algorithms.decentral.RouteSolverType;
+import com.defapsim.exceptions.RouteNotFoundException;
+import com.defapsim.exceptions.RouteResolutionException;
+import com.defapsim.exceptions.RouteTableCapacityExceededException;
+import com.defapsim.infrastructure.Infrastructure;
+import com.defapsim.infrastructure.devices.Device;
+import com.defapsim.infrastructure.devices.fognode.FogNode;
+import com.defapsim.infrastructure.links.Link;
+import com.defapsim.infrastructure.links.Route;
+import com.defapsim.infrastructure.routing.HashRouteTable;
+import com.defapsim.infrastructure.routing.ListRouteTable;
+import com.defapsim.infrastructure.routing.MatrixRouteTable;
+import com.defapsim.infrastructure.routing.OffHeapRouteTable;
+import com.defapsim.infrastructure.routing.RouteTable;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import org.assertj.core.api.Assertions;
+
+import testfixtures.InfrastructureFixture;
+
+import java.lang.management.ManagementFactory;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * This test case checks if all RouteTable backends answer the same queries for the routes of a generated infrastructure
+ */
+
+public class RouteTableTest {
+
+    public static Infrastructure infrastructure;
+    public static List<Device> devices;
+
+    @BeforeAll
+    static void initRouteTableTest() {
+        infrastructure = InfrastructureFixture.generator(1589).createPhase1(2, false);
+        devices = infrastructure.getDevices();
+    }
+
+    /**
+     * Resolve the routes of the infrastructure into the given route table and compare all queries with the HashRouteTable
+     */
+    private void assertRouteTableMatchesHashRouteTable(RouteTable routeTable) {
+        HashRouteTable expected = new HashRouteTable();
+        infrastructure.withRouteTable(expected).resolveRoutes();
+        infrastructure.withRouteTable(routeTable).resolveRoutes();
+
+        for(Device source : devices) {
+            Assertions.assertThat(routeTable.getRoutes(source)).hasSameSizeAs(expected.getRoutes(source));
+            Assertions.assertThat(routeTable.hasRoute(source, source)).isFalse();
+
+            for(Device target : devices) {
+                if(source == target) continue;
+                Route route = routeTable.getRoute(source, target);
+                Assertions.assertThat(routeTable.getLatency(source, target)).isEqualTo(expected.getLatency(source, target));
+                Assertions.assertThat(routeTable.getNextHop(source, target)).isSameAs(expected.getNextHop(source, target));
+                Assertions.assertThat(route.getLatency()).isEqualTo(source.getRouteTo(target).getLatency());
+                Assertions.assertThat(route.getHops()).containsExactlyElementsOf(expected.getRoute(source, target).getHops());
+            }
+        }
+    }
+
+    @Test
+    void testMatrixRouteTable() {
+        this.assertRouteTableMatchesHashRouteTable(new MatrixRouteTable());
+    }
+
+    @Test
+    void testOffHeapRouteTable() {
+        this.assertRouteTableMatchesHashRouteTable(new OffHeapRouteTable(devices.size()));
+    }
+
+    @Test
+    void testMemoryMappedRouteTable(@TempDir Path directory) throws Exception {
+        try(OffHeapRouteTable routeTable = new OffHeapRouteTable(devices.size(), directory.resolve("routes.bin"))) {
+            this.assertRouteTableMatchesHashRouteTable(routeTable);
+        }
+    }
+
+    @Test
+    void testOffHeapRouteTableCapacity() {
+        Assertions.assertThatThrownBy(() -> infrastructure.withRouteTable(new OffHeapRouteTable(devices.size() - 1)).resolveRoutes())
+                .isInstanceOf(RouteTableCapacityExceededException.class);
+    }
+
+    @Test
+    void testMissingRoute() {
+        infrastructure.withRouteTable(new MatrixRouteTable());
+        Device source = devices.get(0);
+        Device target = devices.get(1);
+
+        Assertions.assertThat(source.getRoutes()).isEmpty();
+        Assertions.assertThat(source.hasRouteTo(target)).isFalse();
+        Assertions.assertThatThrownBy(() -> source.getRouteTo(target)).isInstanceOf(RouteNotFoundException.class);
+        Assertions.assertThatThrownBy(() -> source.getLatencyTo(target)).isInstanceOf(RouteNotFoundException.class);
+    }
+
+    @Test
+    void testDeviceWithoutInfrastructureHasNoRoutes() {
+        Device source = new FogNode();
+        Device target = devices.get(0);
+
+        Assertions.assertThat(source.getRoutes()).isEmpty();
+        Assertions.assertThat(source.hasRouteTo(target)).isFalse();
+        Assertions.assertThatThrownBy(() -> source.getRouteTo(target)).isInstanceOf(RouteNotFoundException.class);
+        Assertions.assertThatThrownBy(() -> source.getLatencyTo(target)).isInstanceOf(RouteNotFoundException.class);
+        Assertions.assertThatThrownBy(() -> source.getNextHopTo(target)).isInstanceOf(RouteNotFoundException.class);
+    }
+
+    @Test
+    void testRecursiveRoutesAreStoredAsShortestPathTrees() {
+        RouteTable expected = new MatrixRouteTable();
+        infrastructure.withRouteTable(expected).resolveRoutes();
+        infrastructure.withRouteSolverType(RouteSolverType.RECURSIVE).withRouteTable(new MatrixRouteTable()).resolveRoutes();
+        infrastructure.withRouteSolverType(RouteSolverType.DIJKSTRA);
+
+        for(Device source : devices) {
+            Assertions.assertThat(source.getRoutes()).hasSameSizeAs(expected.getRoutes(source));
+            for(Route route : source.getRoutes()) {
+                List<Link> hops = route.getHops();
+                Assertions.assertThat(route.getLatency()).isEqualTo(expected.getLatency(source, route.getTarget()));
+                Assertions.assertThat(hops.get(hops.size() - 1).getTarget()).isSameAs(route.getTarget());
+                Assertions.assertThat(source.getLinkTo(hops.get(0).getTarget())).isSameAs(hops.get(0));
+            }
+        }
+    }
+
+    @Test
+    void testRecursiveRoutesKeepTheirHops() {
+        Infrastructure meshed = InfrastructureFixture.generator(5401)
+                .createPhase3(1)
+                .withRouteSolverType(RouteSolverType.RECURSIVE);
+        Assertions.assertThat(meshed.getRouteTable()).isInstanceOf(ListRouteTable.class);
+        meshed.resolveRoutes();
+
+        for(Device source : meshed.getDevices()) {
+            List<Route> expected = new RouteSolver(source).getRoutes();
+            Assertions.assertThat(source.getRoutes()).hasSameSizeAs(expected);
+            for(Route route : expected) {
+                Route stored = source.getRouteTo(route.getTarget());
+                Assertions.assertThat(stored.getHops()).containsExactlyElementsOf(route.getHops());
+                Assertions.assertThat(source.getLatencyTo(route.getTarget())).isEqualTo(route.getLatency());
+                Assertions.assertThat(source.getNextHopTo(route.getTarget())).isSameAs(route.getHops().get(0).getTarget());
+            }
+        }
+
+        // The routes of the RouteSolver don't form shortest path trees in phase 3, so a table of trees rejects them
+        Assertions.assertThatThrownBy(() -> meshed.withRouteTable(new MatrixRouteTable()).resolveRoutes())
+                .isInstanceOf(RouteResolutionException.class);
+    }
+
+    @Test
+    void testLatencyQueriesDoNotAllocate() {
+        com.sun.management.ThreadMXBean threadMXBean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().getId();
+
+        for(RouteTable routeTable : new RouteTable[] { new HashRouteTable(), new MatrixRouteTable(), new OffHeapRouteTable(devices.size()) }) {
+            infrastructure.withRouteTable(routeTable).resolveRoutes();
+
+            float sum = 0.F;
+            int nextHops = 0;
+            long before = threadMXBean.getThreadAllocatedBytes(threadId);
+            for(int i = 0; i < 10; i++) {
+                for(Device source : devices) {
+                    for(Device target : devices) {
+                        if(source == target) continue;
+                        sum += routeTable.getLatency(source, target);
+                        if(routeTable.getNextHop(source, target) != null) nextHops++;
+                    }
+                }
+            }
+            long allocated = threadMXBean.getThreadAllocatedBytes(threadId) - before;
+
+            Assertions.assertThat(sum).isPositive();
+            Assertions.assertThat(nextHops).isEqualTo(10 * devices.size() * (devices.size() - 1));
+            // The iterators of the device list are the only allocations of the loop
+            Assertions.assertThat(allocated).isLessThan(64L * 1024L);
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package routesolvertest;
+
+import com.defapsim.infrastructure.Infrastructure;
+import com.defapsim.infrastructure.devices.Device;
+import com.defapsim.infrastructure.links.LinkConfiguration;
+import com.defapsim.infrastructure.routing.MatrixRouteTable;
+import com.defapsim.infrastructure.routing.TreeRouteTable;
+import org.assertj.core.data.Offset;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import org.assertj.core.api.Assertions;
+
+import testfixtures.InfrastructureFixture;
+
+import java.util.List;
+
+/**
+ * This test case checks if the TreeRouteTable answers the same queries as the route solver, for tree topologies by its
+ * LCA oracle and for other topologies by its fallback
+ */
+
+public class TreeRouteTableTest {
+
+    public static Infrastructure infrastructure;
+    public static List<Device> devices;
+
+    @BeforeEach
+    void initTreeRouteTableTest() {
+        infrastructure = InfrastructureFixture.generator(5401).build(false);
+        devices = infrastructure.getDevices();
+    }
+
+    private static Device getDevice(String identifier) {
+        return devices.stream().filter(device -> device.getIdentifier().equals(identifier)).findFirst().get();
+    }
+
+    /**
+     * Resolve the routes with the route solver and compare them with the routes of the TreeRouteTable
+     */
+    private static void assertTreeRouteTableMatchesRouteSolver(TreeRouteTable routeTable, boolean exact) {
+        MatrixRouteTable expected = new MatrixRouteTable();
+        infrastructure.withRouteTable(expected).resolveRoutes();
+        infrastructure.withRouteTable(routeTable).resolveRoutes();
+
+        for(Device source : devices) {
+            Assertions.assertThat(routeTable.getRoutes(source)).hasSameSizeAs(expected.getRoutes(source));
+            Assertions.assertThat(routeTable.hasRoute(source, source)).isFalse();
+            for(Device target : devices) {
+                if(source == target) continue;
+                if(exact) {
+                    Assertions.assertThat(routeTable.getLatency(source, target)).isEqualTo(expected.getLatency(source, target));
+                } else {
+                    Assertions.assertThat(routeTable.getLatency(source, target)).isCloseTo(expected.getLatency(source, target), Offset.offset(1.E-4F));
+                }
+                Assertions.assertThat(routeTable.getPredecessor(source, target)).isSameAs(expected.getPredecessor(source, target));
+                Assertions.assertThat(routeTable.getNextHop(source, target)).isSameAs(expected.getNextHop(source, target));
+                if(!expected.hasRoute(source, target)) continue;
+                Assertions.assertThat(source.getRouteTo(target).getHops()).containsExactlyElementsOf(expected.getRoute(source, target).getHops());
+            }
+        }
+    }
+
+    @Test
+    void testTreeTopologyIsAnsweredByTheOracle() {
+        TreeRouteTable routeTable = new TreeRouteTable(infrastructure);
+        Assertions.assertThat(routeTable.isTreeTopology()).isTrue();
+        assertTreeRouteTableMatchesRouteSolver(routeTable, false);
+    }
+
+    @Test
+    void testForestTopology() {
+        TreeRouteTable routeTable = new TreeRouteTable(infrastructure);
+        infrastructure.withRouteTable(routeTable);
+        infrastructure.removeLink(getDevice("PoP 1"), getDevice("PoP 2"));
+
+        Assertions.assertThat(routeTable.isTreeTopology()).isTrue();
+        Assertions.assertThat(getDevice("Box 1").hasRouteTo(getDevice("Cloud-Server"))).isFalse();
+        assertTreeRouteTableMatchesRouteSolver(routeTable, false);
+    }
+
+    @Test
+    void testCyclicTopologyFallsBackToRouteSolver() {
+        TreeRouteTable routeTable = new TreeRouteTable(infrastructure);
+        infrastructure.withRouteTable(routeTable);
+        Assertions.assertThat(routeTable.isTreeTopology()).isTrue();
+
+        infrastructure.addLink(new LinkConfiguration().from(getDevice("PoP 2")).to(getDevice("PoP 3"))
+                .withNameFromTo("LINK-C1").withNameToFrom("LINK-C2").withLatencyFromTo(4.F));
+        Assertions.assertThat(routeTable.isTreeTopology()).isFalse();
+        assertTreeRouteTableMatchesRouteSolver(routeTable, true);
+    }
+
+    @Test
+    void testAsymmetricLatencyFallsBackToRouteSolver() {
+        TreeRouteTable routeTable = new TreeRouteTable(infrastructure);
+        infrastructure.withRouteTable(routeTable);
+        infrastructure.changeLinkLatency(getDevice("Box 2"), getDevice("PoP 2"), 0.5F);
+
+        Assertions.assertThat(routeTable.isTreeTopology()).isFalse();
+        assertTreeRouteTableMatchesRouteSolver(routeTable, true);
+    }
+}
@@ -0,0 +1,49 @@
+package testfixtures;
+
+import com.defapsim.application.Application;
+import com.defapsim.application.Component;
+import com.defapsim.evaluation.problemInstancegenerator.ApplicationGenerator;
+import com.defapsim.infrastructure.Infrastructure;
+import com.defapsim.policies.domain.DomainPolicy;
+import com.defapsim.policies.initialplacement.RandomInitialPlacementPolicy;
+import com.defapsim.simulations.FogDecApSimulation;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * The FogDecAp simulation shared by the test cases, which places an application with 12 components on a phase 2
+ * infrastructure ( see InfrastructureFixture )
+ */
+
+public class FogDecApFixture {
+
+    private FogDecApFixture() {
+    }
+
+    /**
+     * Run a simulation on a new infrastructure and application.
+     * @param simulation        The simulation configured by the test case ( e.g. its execution type or evaluation )
+     * @param domainPolicy      The domain policy of the simulation
+     * @param placementSeed     The seed of the random initial placement
+     * @return                  The latencies of all auctions followed by the identifiers of the final host devices
+     */
+    public static List<Object> simulate(FogDecApSimulation simulation, DomainPolicy domainPolicy, int placementSeed) {
+        Infrastructure infrastructure = InfrastructureFixture.generator().createPhase2(true);
+        Application application = new ApplicationGenerator().createApplication(infrastructure, 12);
+        simulation.withInfrastructure(infrastructure)
+                .withApplication(application)
+                .withDomainPolicy(domainPolicy)
+                .withInitialPlacementPolicy(new RandomInitialPlacementPolicy().withSeed(placementSeed));
+        simulation.prepareSimulation();
+        simulation.startSimulation();
+
+        List<Object> result = new ArrayList<>(simulation.getContext().getResults());
+        result.addAll(application.getComponents().stream()
+                .map(Component::getHostDevice)
+                .map(device -> device.getIdentifier())
+                .collect(Collectors.toList()));
+        return result;
+    }
+}
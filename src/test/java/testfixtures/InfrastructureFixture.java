@@ -0,0 +1,36 @@
+package testfixtures;
+
+import com.defapsim.evaluation.problemInstancegenerator.InfrastructureGenerator;
+
+/**
+ * The InfrastructureGenerator shared by the test cases, which creates the devices and links with the parameters of the
+ * problem instances ( see FogDecApEvaluationTest )
+ */
+
+public class InfrastructureFixture {
+
+    private InfrastructureFixture() {
+    }
+
+    /**
+     * @return      A generator with the parameters of the problem instances and the default seed
+     */
+    public static InfrastructureGenerator generator() {
+        return new InfrastructureGenerator()
+                .withMinimumMemory(4.F).withMaximumMemory(16.F)
+                .withMinimumComputingPower(2.F).withMaximumComputingPower(10.F)
+                .withMinimumProcessingSpeed(1.9F).withMaximumProcessingSpeed(3.1F)
+                .withMinimumCloudPoPLatency(30.F).withMaximumCloudPoPLatency(100.F)
+                .withMinimumPoPPoPLatency(3.F).withMaximumPoPPoPLatency(7.F)
+                .withMinimumBoxPoPLatency(1.F).withMaximumBoxPoPLatency(20.F)
+                .withMinimumBoxEndDevicesLatency(1.F).withMaximumBoxEndDevicesLatency(2.F);
+    }
+
+    /**
+     * @param seed  The seed of the random distributions
+     * @return      A generator with the parameters of the problem instances and the given seed
+     */
+    public static InfrastructureGenerator generator(Integer seed) {
+        return generator().withSeed(seed);
+    }
+}